@@ -80,6 +80,16 @@ const config: PackageConfig = {
       reason:
         'RN Firebase native bridge helper — sets a native string preference.',
     },
+    {
+      name: 'executorGetStats',
+      reason:
+        'RN Firebase native bridge helper — reads usage statistics of the shared Android task executor.',
+    },
+    {
+      name: 'metricsGetAll',
+      reason:
+        'RN Firebase native bridge helper — reads opt-in native executor and event emitter metrics.',
+    },
     {
       name: 'getUtils',
       reason:
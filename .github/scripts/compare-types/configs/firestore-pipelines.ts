@@ -22,7 +22,46 @@ import type { PackageConfig } from '../src/types';
 const config: PackageConfig = {
   nameMapping: {},
   missingInRN: [],
-  extraInRN: [],
+  extraInRN: [
+    {
+      name: 'getPipelineCacheStats',
+      reason:
+        'Reports how often Android reused a compiled native pipeline. The firebase-js-sdk ' +
+        'has no native compilation step to cache.',
+    },
+    {
+      name: 'PipelineCacheStats',
+      reason: 'Return type of getPipelineCacheStats(), which is RN Firebase only.',
+    },
+    {
+      name: 'executeStream',
+      reason:
+        'Reads pipeline results in chunks so a large result does not cross the React Native ' +
+        'bridge as one response. The firebase-js-sdk has no bridge to bound.',
+    },
+    {
+      name: 'PipelineStreamOptions',
+      reason: 'Options of executeStream(), which is RN Firebase only.',
+    },
+    {
+      name: 'PipelineResultStream',
+      reason: 'Return type of executeStream(), which is RN Firebase only.',
+    },
+    {
+      name: 'onPipelineSnapshot',
+      reason:
+        'Listens to a pipeline on Android by evaluating it again when its source changes, ' +
+        'sending only the rows that changed across the bridge.',
+    },
+    {
+      name: 'PipelineChangeSnapshot',
+      reason: 'Snapshot passed to onPipelineSnapshot() listeners, which is RN Firebase only.',
+    },
+    {
+      name: 'PipelineResultChange',
+      reason: 'Row change of a PipelineChangeSnapshot, which is RN Firebase only.',
+    },
+  ],
   differentShape: [],
 };
 
@@ -258,6 +258,71 @@ const config: PackageConfig = {
         'filters. Provides a convenience API on top of the standard `where`, ' +
         '`and`, and `or` filter functions.',
     },
+    {
+      name: 'GetDocsOptions',
+      reason:
+        'RN Firebase-only options for reading query results over the native bridge: ' +
+        '`lazyData` reads document data from native when first accessed, and ' +
+        '`chunkSize`/`onChunk` deliver large results in chunks. The firebase-js-sdk reads ' +
+        'results in-process and has no bridge transfer to tune.',
+    },
+    {
+      name: 'getDocsInPages',
+      reason:
+        'RN Firebase-only paginated reader for large queries, backed by a native cursor ' +
+        'so pages are fetched and sent over the bridge one at a time. The firebase-js-sdk ' +
+        'reads results in-process and has no bridge to page over.',
+    },
+    {
+      name: 'GetDocsInPagesOptions',
+      reason:
+        'Options of the RN Firebase-only `getDocsInPages`.',
+    },
+    {
+      name: 'QueryPageReader',
+      reason:
+        'Returned by the RN Firebase-only `getDocsInPages`.',
+    },
+    {
+      name: 'bulkWriter',
+      reason:
+        'RN Firebase-only writer that commits large numbers of writes natively in ' +
+        'parallel batches, so each write does not cross the bridge on its own. The ' +
+        'firebase-js-sdk has no bulk writer in its client API.',
+    },
+    {
+      name: 'BulkWriter',
+      reason:
+        'Returned by the RN Firebase-only `bulkWriter`.',
+    },
+    {
+      name: 'BulkWriterOptions',
+      reason:
+        'Options of the RN Firebase-only `bulkWriter`.',
+    },
+    {
+      name: 'BulkWriterResult',
+      reason:
+        'Result of the RN Firebase-only `bulkWriter`.',
+    },
+    {
+      name: 'BulkWriterProgress',
+      reason:
+        'Progress of the RN Firebase-only `bulkWriter`.',
+    },
+    {
+      name: 'loadBundleFromFile',
+      reason:
+        'RN Firebase-only: streams a bundle from a file natively instead of passing its ' +
+        'contents over the bridge as `loadBundle` does. The firebase-js-sdk has no file ' +
+        'system access.',
+    },
+    {
+      name: 'loadBundleFromUri',
+      reason:
+        'RN Firebase-only: streams a bundle from a URI natively instead of passing its ' +
+        'contents over the bridge as `loadBundle` does.',
+    },
   ],
 
   // ---------------------------------------------------------------------------
@@ -389,6 +454,32 @@ const config: PackageConfig = {
         'RN Firebase exposes internal members (_query, _data, _isGetCountFromServer, _fieldsProto) ' +
         'for implementation; public data() API equivalent.',
     },
+    {
+      name: 'SnapshotListenOptions',
+      reason:
+        'RN Firebase adds the `deltaSnapshots` and `fieldDiffs` listener options, which ' +
+        'let native listeners send only the documents and fields that changed over the ' +
+        'React Native bridge. The firebase-js-sdk has no bridge to optimize, so it has no ' +
+        'such options.',
+    },
+    {
+      name: 'getDocs',
+      reason:
+        'Takes an optional RN Firebase-only `GetDocsOptions` argument, see ' +
+        '`GetDocsOptions`.',
+    },
+    {
+      name: 'getDocsFromCache',
+      reason:
+        'Takes an optional RN Firebase-only `GetDocsOptions` argument, see ' +
+        '`GetDocsOptions`.',
+    },
+    {
+      name: 'getDocsFromServer',
+      reason:
+        'Takes an optional RN Firebase-only `GetDocsOptions` argument, see ' +
+        '`GetDocsOptions`.',
+    },
   ],
 };
 
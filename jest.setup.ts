@@ -254,8 +254,9 @@ jest.doMock('react-native', () => {
           didCrashOnPreviousExecution: jest.fn(),
           log: jest.fn(),
           logPromise: jest.fn(),
+          logBatch: jest.fn(),
           setAttribute: jest.fn(),
-          setAttributes: jest.fn(),
+          setAttributes: jest.fn(() => Promise.resolve(null)),
           setUserId: jest.fn(),
           recordError: jest.fn(),
           recordErrorPromise: jest.fn(),
@@ -273,6 +274,15 @@ jest.doMock('react-native', () => {
               documentsLoaded: 0,
             }),
           ),
+          loadBundleFromUri: jest.fn(() =>
+            Promise.resolve({
+              taskState: 'Success',
+              totalBytes: 0,
+              totalDocuments: 0,
+              bytesLoaded: 0,
+              documentsLoaded: 0,
+            }),
+          ),
           clearPersistence: jest.fn(),
           waitForPendingWrites: jest.fn(),
           terminate: jest.fn(),
@@ -312,6 +322,19 @@ jest.doMock('react-native', () => {
               executionTime: Date.now(),
             }),
           ),
+          pipelineCacheStats: jest.fn(() =>
+            Promise.resolve({ hits: 0, misses: 0, size: 0, maxSize: 0 }),
+          ),
+          collectionSnapshotData: jest.fn(() => ({})),
+          collectionSnapshotRelease: jest.fn(),
+          collectionCursorOpen: jest.fn(),
+          collectionCursorRequest: jest.fn(),
+          collectionCursorClose: jest.fn(),
+          pipelineStreamOpen: jest.fn(),
+          pipelineStreamRequest: jest.fn(),
+          pipelineStreamClose: jest.fn(),
+          pipelineOnSnapshot: jest.fn(),
+          pipelineOffSnapshot: jest.fn(),
         },
         NativeRNFBTurboFirestoreDocument: {
           documentDelete: jest.fn(() => Promise.resolve()),
@@ -328,6 +351,7 @@ jest.doMock('react-native', () => {
           documentSet: jest.fn(() => Promise.resolve()),
           documentUpdate: jest.fn(() => Promise.resolve()),
           documentBatch: jest.fn(),
+          documentBulkWrite: jest.fn(),
         },
         NativeRNFBTurboFirestoreTransaction: {
           transactionApplyBuffer: jest.fn(),
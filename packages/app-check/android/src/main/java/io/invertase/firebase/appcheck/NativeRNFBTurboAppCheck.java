@@ -30,11 +30,10 @@ import com.facebook.react.bridge.WritableMap;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.appcheck.FirebaseAppCheck;
+import io.invertase.firebase.common.ReactNativeFirebaseConfig;
 import io.invertase.firebase.common.ReactNativeFirebaseEvent;
 import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
 import io.invertase.firebase.common.ReactNativeFirebaseJSON;
-import io.invertase.firebase.common.ReactNativeFirebaseMeta;
-import io.invertase.firebase.common.ReactNativeFirebasePreferences;
 import io.invertase.firebase.common.TaskExecutorService;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -54,23 +53,17 @@ public class NativeRNFBTurboAppCheck extends NativeRNFBTurboAppCheckSpec {
       new ReactNativeFirebaseAppCheckProviderFactory();
 
   static boolean isAppCheckTokenRefreshEnabled() {
-    boolean enabled;
-    ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
-    ReactNativeFirebaseMeta meta = ReactNativeFirebaseMeta.getSharedInstance();
-    ReactNativeFirebasePreferences prefs = ReactNativeFirebasePreferences.getSharedInstance();
-
-    if (prefs.contains(KEY_APPCHECK_TOKEN_REFRESH_ENABLED)) {
-      enabled = prefs.getBooleanValue(KEY_APPCHECK_TOKEN_REFRESH_ENABLED, true);
-      Log.d(LOGTAG, "isAppCheckCollectionEnabled via RNFBPreferences: " + enabled);
-    } else if (json.contains(KEY_APPCHECK_TOKEN_REFRESH_ENABLED)) {
-      enabled = json.getBooleanValue(KEY_APPCHECK_TOKEN_REFRESH_ENABLED, true);
-      Log.d(LOGTAG, "isAppCheckCollectionEnabled via RNFBJSON: " + enabled);
-    } else {
-      enabled = meta.getBooleanValue(KEY_APPCHECK_TOKEN_REFRESH_ENABLED, true);
-      Log.d(LOGTAG, "isAppCheckCollectionEnabled via RNFBMeta: " + enabled);
-    }
+    ReactNativeFirebaseConfig config = ReactNativeFirebaseConfig.getSharedInstance();
+    boolean enabled = config.getBooleanValue(KEY_APPCHECK_TOKEN_REFRESH_ENABLED, true);
+    Log.d(
+        LOGTAG,
+        "isAppCheckCollectionEnabled via "
+            + config.getSource(KEY_APPCHECK_TOKEN_REFRESH_ENABLED)
+            + ": "
+            + enabled);
 
     if (BuildConfig.DEBUG) {
+      ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
       if (!json.getBooleanValue(KEY_APPCHECK_TOKEN_REFRESH_ENABLED, false)) {
         enabled = false;
       }
@@ -0,0 +1,661 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import android.content.SharedPreferences;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * {@link SharedPreferences} stored as an append-only, memory-mapped log of binary records instead
+ * of an XML file that is rewritten in full on every write.
+ *
+ * <p>Each editor commit appends one record: a length, a CRC32 and the changed entries. Records are
+ * written into the mapping, so an {@code apply()} survives process death without a file write;
+ * {@code commit()} also forces the mapping to disk. On load the records are replayed up to the
+ * first torn or corrupt one. Once the log is more than twice the size of its live entries it is
+ * compacted into a single record in a new file.
+ *
+ * <p>Unlike the platform implementation, change listeners are called on the writing thread.
+ */
+public class MappedLogPreferences implements SharedPreferences {
+  private static final String TAG = "RNFBMappedPreferences";
+  static final String FILE_SUFFIX = ".rnfbkv";
+
+  private static final int MAGIC = 0x524e4642; // RNFB
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 8;
+  // Record length and CRC32.
+  private static final int RECORD_HEADER_BYTES = 8;
+  private static final int PAGE_BYTES = 4096;
+  static final int COMPACTION_MIN_BYTES = 64 * 1024;
+
+  private static final byte TYPE_REMOVED = 0;
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_BOOLEAN = 2;
+  private static final byte TYPE_INT = 3;
+  private static final byte TYPE_LONG = 4;
+  private static final byte TYPE_FLOAT = 5;
+  private static final byte TYPE_STRING_SET = 6;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final Object REMOVED = new Object();
+  private static final Object LISTENER_PRESENT = new Object();
+  private static final HashMap<String, MappedLogPreferences> instances = new HashMap<>();
+
+  private final Object lock = new Object();
+  private final File file;
+  private final HashMap<String, Object> values = new HashMap<>();
+  // Encoded size of each live entry, to decide when compaction is worthwhile.
+  private final HashMap<String, Integer> entryBytes = new HashMap<>();
+  private final WeakHashMap<OnSharedPreferenceChangeListener, Object> listeners =
+      new WeakHashMap<>();
+  private RandomAccessFile randomAccessFile;
+  private MappedByteBuffer buffer;
+  private int tail;
+  private long liveBytes;
+  private long bytesWritten;
+
+  /**
+   * Opens the log at {@code file}. The first time, the log is created from the entries in {@code
+   * legacy}, which is then cleared.
+   */
+  static MappedLogPreferences open(File file, SharedPreferences legacy) throws IOException {
+    synchronized (instances) {
+      MappedLogPreferences instance = instances.get(file.getAbsolutePath());
+      if (instance != null) return instance;
+
+      if (!file.exists()) {
+        Map<String, ?> entries = legacy.getAll();
+        writeSnapshot(file, entries);
+        legacy.edit().clear().commit();
+        Log.i(TAG, "Migrated " + entries.size() + " preferences to " + file.getName());
+      }
+      instance = new MappedLogPreferences(file);
+      instances.put(file.getAbsolutePath(), instance);
+      return instance;
+    }
+  }
+
+  /**
+   * Copies the entries in the log at {@code file}, if there is one, into {@code target} and
+   * deletes the log, so switching back to SharedPreferences keeps existing values.
+   */
+  static void migrateBack(File file, SharedPreferences target) throws IOException {
+    synchronized (instances) {
+      if (!file.exists()) return;
+
+      MappedLogPreferences instance = instances.remove(file.getAbsolutePath());
+      if (instance == null) instance = new MappedLogPreferences(file);
+      Map<String, ?> entries = instance.getAll();
+      SharedPreferences.Editor editor = target.edit();
+      for (Map.Entry<String, ?> entry : entries.entrySet()) {
+        putValue(editor, entry.getKey(), entry.getValue());
+      }
+      if (!editor.commit()) {
+        throw new IOException("Failed to write preferences migrated from " + file.getName());
+      }
+      instance.close();
+      if (!file.delete()) {
+        Log.w(TAG, "Failed to delete " + file.getName() + " after migrating it");
+      }
+      Log.i(TAG, "Migrated " + entries.size() + " preferences from " + file.getName());
+    }
+  }
+
+  MappedLogPreferences(File file) throws IOException {
+    this.file = file;
+    synchronized (lock) {
+      mapFile();
+      if (buffer.getInt(0) == 0) {
+        buffer.putInt(0, MAGIC).putInt(4, VERSION);
+      } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+        close();
+        throw new IOException("Unsupported preferences file " + file.getName());
+      }
+      replay();
+    }
+  }
+
+  @Override
+  public Map<String, ?> getAll() {
+    synchronized (lock) {
+      return new HashMap<>(values);
+    }
+  }
+
+  @Nullable
+  @Override
+  public String getString(String key, @Nullable String defValue) {
+    synchronized (lock) {
+      String value = (String) values.get(key);
+      return value != null ? value : defValue;
+    }
+  }
+
+  @Nullable
+  @Override
+  @SuppressWarnings("unchecked")
+  public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+    synchronized (lock) {
+      Set<String> value = (Set<String>) values.get(key);
+      return value != null ? value : defValues;
+    }
+  }
+
+  @Override
+  public int getInt(String key, int defValue) {
+    synchronized (lock) {
+      Integer value = (Integer) values.get(key);
+      return value != null ? value : defValue;
+    }
+  }
+
+  @Override
+  public long getLong(String key, long defValue) {
+    synchronized (lock) {
+      Long value = (Long) values.get(key);
+      return value != null ? value : defValue;
+    }
+  }
+
+  @Override
+  public float getFloat(String key, float defValue) {
+    synchronized (lock) {
+      Float value = (Float) values.get(key);
+      return value != null ? value : defValue;
+    }
+  }
+
+  @Override
+  public boolean getBoolean(String key, boolean defValue) {
+    synchronized (lock) {
+      Boolean value = (Boolean) values.get(key);
+      return value != null ? value : defValue;
+    }
+  }
+
+  @Override
+  public boolean contains(String key) {
+    synchronized (lock) {
+      return values.containsKey(key);
+    }
+  }
+
+  @Override
+  public Editor edit() {
+    return new LogEditor();
+  }
+
+  @Override
+  public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+    synchronized (listeners) {
+      listeners.put(listener, LISTENER_PRESENT);
+    }
+  }
+
+  @Override
+  public void unregisterOnSharedPreferenceChangeListener(
+      OnSharedPreferenceChangeListener listener) {
+    synchronized (listeners) {
+      listeners.remove(listener);
+    }
+  }
+
+  /** Bytes appended to, or rewritten by compacting, the log since it was opened. */
+  long getBytesWritten() {
+    synchronized (lock) {
+      return bytesWritten;
+    }
+  }
+
+  void close() {
+    synchronized (lock) {
+      buffer = null;
+      try {
+        if (randomAccessFile != null) randomAccessFile.close();
+      } catch (IOException e) {
+        Log.w(TAG, "Failed to close " + file.getName(), e);
+      }
+      randomAccessFile = null;
+    }
+  }
+
+  private boolean write(LogEditor editor, boolean force) {
+    List<String> changedKeys = new ArrayList<>();
+    synchronized (lock) {
+      if (buffer == null) return false;
+
+      HashMap<String, Object> changes = new HashMap<>();
+      for (Map.Entry<String, Object> change : editor.changes.entrySet()) {
+        Object current = editor.clear ? null : values.get(change.getKey());
+        Object next = change.getValue() == REMOVED ? null : change.getValue();
+        if (current == null ? next != null : !current.equals(next)) {
+          changes.put(change.getKey(), change.getValue());
+        }
+      }
+
+      if (editor.clear || !changes.isEmpty()) {
+        HashMap<String, Integer> changeBytes = new HashMap<>();
+        try {
+          append(encode(editor.clear, changes, changeBytes));
+        } catch (IOException e) {
+          Log.e(TAG, "Failed to write " + file.getName(), e);
+          return false;
+        }
+
+        if (editor.clear) {
+          values.clear();
+          entryBytes.clear();
+          liveBytes = 0;
+        }
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+          String key = change.getKey();
+          Integer previousBytes = entryBytes.remove(key);
+          if (previousBytes != null) liveBytes -= previousBytes;
+          if (change.getValue() == REMOVED) {
+            values.remove(key);
+          } else {
+            values.put(key, change.getValue());
+            entryBytes.put(key, changeBytes.get(key));
+            liveBytes += changeBytes.get(key);
+          }
+          changedKeys.add(key);
+        }
+        maybeCompact();
+      }
+      if (force) buffer.force();
+    }
+
+    notifyListeners(editor.clear, changedKeys);
+    return true;
+  }
+
+  private void notifyListeners(boolean cleared, List<String> changedKeys) {
+    List<OnSharedPreferenceChangeListener> snapshot;
+    synchronized (listeners) {
+      if (listeners.isEmpty()) return;
+      snapshot = new ArrayList<>(listeners.keySet());
+    }
+    for (OnSharedPreferenceChangeListener listener : snapshot) {
+      if (cleared) listener.onSharedPreferenceChanged(this, null);
+      for (String key : changedKeys) {
+        listener.onSharedPreferenceChanged(this, key);
+      }
+    }
+  }
+
+  // Must hold lock.
+  private void append(byte[] payload) throws IOException {
+    int recordBytes = RECORD_HEADER_BYTES + payload.length;
+    // Leave room for the zero length that marks the end of the log.
+    ensureCapacity(tail + recordBytes + RECORD_HEADER_BYTES);
+    buffer.position(tail + RECORD_HEADER_BYTES);
+    buffer.put(payload);
+    buffer.putInt(tail + 4, crc(payload, 0, payload.length));
+    buffer.putInt(tail, payload.length);
+    tail += recordBytes;
+    bytesWritten += recordBytes;
+  }
+
+  // Must hold lock.
+  private void ensureCapacity(int capacity) throws IOException {
+    if (capacity <= buffer.capacity()) return;
+    long length = roundToPage(Math.max((long) buffer.capacity() * 2, capacity));
+    randomAccessFile.setLength(length);
+    buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+  }
+
+  // Must hold lock.
+  private void maybeCompact() {
+    long compactedBytes = HEADER_BYTES + RECORD_HEADER_BYTES + liveBytes;
+    if (tail < COMPACTION_MIN_BYTES || tail < 2 * compactedBytes) return;
+    try {
+      bytesWritten += writeSnapshot(file, values);
+      close();
+      mapFile();
+      replay();
+    } catch (IOException e) {
+      // The current log is still intact; compaction is retried on the next write.
+      Log.w(TAG, "Failed to compact " + file.getName(), e);
+      if (buffer == null) {
+        try {
+          mapFile();
+          replay();
+        } catch (IOException reopenError) {
+          Log.e(TAG, "Failed to reopen " + file.getName(), reopenError);
+        }
+      }
+    }
+  }
+
+  // Must hold lock.
+  private void mapFile() throws IOException {
+    randomAccessFile = new RandomAccessFile(file, "rw");
+    long length = randomAccessFile.length();
+    long capacity = roundToPage(Math.max(length + RECORD_HEADER_BYTES, HEADER_BYTES));
+    if (capacity > Integer.MAX_VALUE) {
+      close();
+      throw new IOException("Preferences file too large: " + file.getName());
+    }
+    if (capacity != length) randomAccessFile.setLength(capacity);
+    buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+  }
+
+  // Must hold lock.
+  private void replay() throws IOException {
+    values.clear();
+    entryBytes.clear();
+    liveBytes = 0;
+
+    int position = HEADER_BYTES;
+    int capacity = buffer.capacity();
+    while (position + RECORD_HEADER_BYTES <= capacity) {
+      int length = buffer.getInt(position);
+      if (length <= 0 || length > capacity - position - RECORD_HEADER_BYTES) break;
+      byte[] payload = new byte[length];
+      buffer.position(position + RECORD_HEADER_BYTES);
+      buffer.get(payload);
+      if (crc(payload, 0, length) != buffer.getInt(position + 4)) break;
+      decode(ByteBuffer.wrap(payload));
+      position += RECORD_HEADER_BYTES + length;
+    }
+    tail = position;
+
+    if (tail + RECORD_HEADER_BYTES <= capacity && buffer.getInt(tail) != 0) {
+      // A record torn by process death; zero it so it cannot be mistaken for one later.
+      Log.w(TAG, "Discarding incomplete record at the end of " + file.getName());
+      for (int i = tail; i < capacity; i++) {
+        buffer.put(i, (byte) 0);
+      }
+    }
+  }
+
+  // Must hold lock.
+  private void decode(ByteBuffer payload) throws IOException {
+    if (payload.get() != 0) {
+      values.clear();
+      entryBytes.clear();
+      liveBytes = 0;
+    }
+    int count = payload.getInt();
+    for (int i = 0; i < count; i++) {
+      int start = payload.position();
+      String key = readString(payload);
+      Object value = readValue(payload);
+      Integer previousBytes = entryBytes.remove(key);
+      if (previousBytes != null) liveBytes -= previousBytes;
+      if (value == REMOVED) {
+        values.remove(key);
+      } else {
+        int bytes = payload.position() - start;
+        values.put(key, value);
+        entryBytes.put(key, bytes);
+        liveBytes += bytes;
+      }
+    }
+  }
+
+  /** Writes {@code entries} as a new single-record log at {@code target}, replacing any file. */
+  private static long writeSnapshot(File target, Map<String, ?> entries) throws IOException {
+    HashMap<String, Object> changes = new HashMap<>();
+    for (Map.Entry<String, ?> entry : entries.entrySet()) {
+      if (entry.getValue() != null) changes.put(entry.getKey(), entry.getValue());
+    }
+    byte[] payload = encode(true, changes, new HashMap<>());
+
+    File temp = new File(target.getPath() + ".tmp");
+    try (RandomAccessFile out = new RandomAccessFile(temp, "rw")) {
+      out.setLength(0);
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(payload.length);
+      out.writeInt(crc(payload, 0, payload.length));
+      out.write(payload);
+      out.getFD().sync();
+    }
+    if (!temp.renameTo(target)) {
+      temp.delete();
+      throw new IOException("Failed to replace " + target.getName());
+    }
+    return HEADER_BYTES + RECORD_HEADER_BYTES + payload.length;
+  }
+
+  private static byte[] encode(
+      boolean clear, Map<String, Object> changes, Map<String, Integer> changeBytes)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(clear ? 1 : 0);
+    out.writeInt(changes.size());
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      int start = out.size();
+      writeString(out, change.getKey());
+      writeValue(out, change.getValue());
+      changeBytes.put(change.getKey(), out.size() - start);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == REMOVED) {
+      out.writeByte(TYPE_REMOVED);
+    } else if (value instanceof String) {
+      out.writeByte(TYPE_STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(TYPE_BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(TYPE_INT);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(TYPE_LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Float) {
+      out.writeByte(TYPE_FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Set) {
+      Set<String> set = (Set<String>) value;
+      out.writeByte(TYPE_STRING_SET);
+      out.writeInt(set.size());
+      for (String item : set) {
+        writeString(out, item);
+      }
+    } else {
+      throw new IOException("Unsupported preference value type: " + value.getClass().getName());
+    }
+  }
+
+  private static Object readValue(ByteBuffer in) throws IOException {
+    byte type = in.get();
+    switch (type) {
+      case TYPE_REMOVED:
+        return REMOVED;
+      case TYPE_STRING:
+        return readString(in);
+      case TYPE_BOOLEAN:
+        return in.get() != 0;
+      case TYPE_INT:
+        return in.getInt();
+      case TYPE_LONG:
+        return in.getLong();
+      case TYPE_FLOAT:
+        return in.getFloat();
+      case TYPE_STRING_SET:
+        int size = in.getInt();
+        HashSet<String> set = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+          set.add(readString(in));
+        }
+        return set;
+      default:
+        throw new IOException("Unknown preference value type: " + type);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer in) {
+    byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void putValue(SharedPreferences.Editor editor, String key, Object value) {
+    if (value instanceof String) {
+      editor.putString(key, (String) value);
+    } else if (value instanceof Boolean) {
+      editor.putBoolean(key, (Boolean) value);
+    } else if (value instanceof Integer) {
+      editor.putInt(key, (Integer) value);
+    } else if (value instanceof Long) {
+      editor.putLong(key, (Long) value);
+    } else if (value instanceof Float) {
+      editor.putFloat(key, (Float) value);
+    } else if (value instanceof Set) {
+      editor.putStringSet(key, (Set<String>) value);
+    }
+  }
+
+  private static int crc(byte[] bytes, int offset, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, offset, length);
+    return (int) crc.getValue();
+  }
+
+  private static long roundToPage(long bytes) {
+    return (bytes + PAGE_BYTES - 1) / PAGE_BYTES * PAGE_BYTES;
+  }
+
+  private final class LogEditor implements Editor {
+    private final HashMap<String, Object> changes = new HashMap<>();
+    private boolean clear;
+
+    @Override
+    public Editor putString(String key, @Nullable String value) {
+      synchronized (this) {
+        changes.put(key, value == null ? REMOVED : value);
+      }
+      return this;
+    }
+
+    @Override
+    public Editor putStringSet(String key, @Nullable Set<String> values) {
+      synchronized (this) {
+        changes.put(key, values == null ? REMOVED : new HashSet<>(values));
+      }
+      return this;
+    }
+
+    @Override
+    public Editor putInt(String key, int value) {
+      synchronized (this) {
+        changes.put(key, value);
+      }
+      return this;
+    }
+
+    @Override
+    public Editor putLong(String key, long value) {
+      synchronized (this) {
+        changes.put(key, value);
+      }
+      return this;
+    }
+
+    @Override
+    public Editor putFloat(String key, float value) {
+      synchronized (this) {
+        changes.put(key, value);
+      }
+      return this;
+    }
+
+    @Override
+    public Editor putBoolean(String key, boolean value) {
+      synchronized (this) {
+        changes.put(key, value);
+      }
+      return this;
+    }
+
+    @Override
+    public Editor remove(String key) {
+      synchronized (this) {
+        changes.put(key, REMOVED);
+      }
+      return this;
+    }
+
+    @Override
+    public Editor clear() {
+      synchronized (this) {
+        clear = true;
+      }
+      return this;
+    }
+
+    @Override
+    public boolean commit() {
+      synchronized (this) {
+        boolean written = write(this, true);
+        reset();
+        return written;
+      }
+    }
+
+    @Override
+    public void apply() {
+      // The record is in the mapping, and so in the page cache, once write returns.
+      synchronized (this) {
+        write(this, false);
+        reset();
+      }
+    }
+
+    private void reset() {
+      changes.clear();
+      clear = false;
+    }
+  }
+}
@@ -0,0 +1,429 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process-wide worker pool shared by every module's non-transactional executor and by keyed
+ * serial lanes.
+ *
+ * <p>Each module gets a {@link ModuleExecutor} with its own bounded queue that may occupy at most
+ * {@code moduleConcurrency} workers at once. A worker runs one task and then re-queues the module
+ * behind every other module waiting for a worker, so a burst from one module (e.g. a large
+ * Firestore query serialization) cannot starve the callbacks of another.
+ *
+ * <p>A serial lane is the same executor limited to one worker and an unbounded queue: tasks run one
+ * at a time in submission order, so any number of listeners can each keep their own ordering while
+ * sharing the pool's threads.
+ */
+final class TaskExecutorPool {
+  private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+
+  /** Leaves a core for the UI and JS threads on small devices, capped for big.LITTLE parts. */
+  static final int DEFAULT_POOL_SIZE = Math.max(2, Math.min(CPU_COUNT - 1, 4));
+
+  static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final ThreadPoolExecutor workers;
+  private final int poolSize;
+  private final int moduleConcurrency;
+  private final int queueCapacity;
+  private final ConcurrentHashMap<String, ModuleStats> moduleStats = new ConcurrentHashMap<>();
+  private final UniversalFirebaseMetrics metrics;
+
+  TaskExecutorPool(int poolSize, int keepAliveSeconds, int moduleConcurrency, int queueCapacity) {
+    this(
+        poolSize,
+        keepAliveSeconds,
+        moduleConcurrency,
+        queueCapacity,
+        UniversalFirebaseMetrics.DISABLED);
+  }
+
+  TaskExecutorPool(
+      int poolSize,
+      int keepAliveSeconds,
+      int moduleConcurrency,
+      int queueCapacity,
+      UniversalFirebaseMetrics metrics) {
+    this.poolSize = poolSize;
+    this.metrics = metrics;
+    this.moduleConcurrency = Math.max(1, Math.min(moduleConcurrency, poolSize));
+    this.queueCapacity = Math.max(1, queueCapacity);
+    // The shared queue is unbounded but holds at most one entry per busy module slot, so its size
+    // is bounded by (modules * moduleConcurrency); the per-module queues bound the actual work.
+    this.workers =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            Math.max(1, keepAliveSeconds),
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new WorkerThreadFactory());
+    this.workers.allowCoreThreadTimeOut(true);
+  }
+
+  static int defaultModuleConcurrency(int poolSize) {
+    return Math.max(1, poolSize - 1);
+  }
+
+  /**
+   * A module's concurrent executor. Tasks submitted while its queue is full are handed to {@code
+   * overflow}, which must not run them on the submitting thread.
+   */
+  ModuleExecutor newModuleExecutor(String moduleName, Executor overflow) {
+    return new ModuleExecutor(
+        moduleName, getModuleStats(moduleName), moduleConcurrency, queueCapacity, overflow);
+  }
+
+  /**
+   * A FIFO lane for one listener of a module. Lanes of the same module share one set of counters,
+   * reported under {@code "<moduleName>:lanes"}.
+   */
+  ModuleExecutor newSerialLane(String moduleName) {
+    return new ModuleExecutor(
+        moduleName, getModuleStats(moduleName + ":lanes"), 1, Integer.MAX_VALUE, null);
+  }
+
+  /**
+   * Extra workers for a module task that splits its own work, such as serializing the partitions of
+   * a large snapshot. The task does the work itself when a helper is rejected, so a full queue
+   * rejects rather than overflows. Reported under {@code "<moduleName>:helpers"}.
+   */
+  ModuleExecutor newHelperExecutor(String moduleName) {
+    return new ModuleExecutor(
+        moduleName,
+        getModuleStats(moduleName + ":helpers"),
+        moduleConcurrency,
+        queueCapacity,
+        null);
+  }
+
+  private ModuleStats getModuleStats(String key) {
+    ModuleStats stats = moduleStats.get(key);
+    if (stats == null) {
+      stats = new ModuleStats();
+      ModuleStats existing = moduleStats.putIfAbsent(key, stats);
+      if (existing != null) {
+        stats = existing;
+      }
+    }
+    return stats;
+  }
+
+  /** A snapshot of the pool configuration and per-module counters, keyed by module name. */
+  Map<String, Object> getStats() {
+    Map<String, Object> modules = new HashMap<>();
+    for (Map.Entry<String, ModuleStats> entry : moduleStats.entrySet()) {
+      modules.put(entry.getKey(), entry.getValue().toMap());
+    }
+
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("poolSize", poolSize);
+    stats.put("moduleConcurrency", moduleConcurrency);
+    stats.put("queueCapacity", queueCapacity);
+    stats.put("activeThreads", workers.getActiveCount());
+    stats.put("threads", workers.getPoolSize());
+    stats.put("modules", modules);
+    return stats;
+  }
+
+  private static final class WorkerThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "RNFBTaskExecutor-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /** Counters outlive a module's executor so they survive a React Native reload. */
+  static final class ModuleStats {
+    final AtomicLong submitted = new AtomicLong();
+    final AtomicLong completed = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+    final AtomicLong queueWaitTotalNanos = new AtomicLong();
+    final AtomicLong queueWaitMaxNanos = new AtomicLong();
+    final AtomicInteger queued = new AtomicInteger();
+    final AtomicInteger active = new AtomicInteger();
+
+    void recordQueueWait(long waitNanos) {
+      queueWaitTotalNanos.addAndGet(waitNanos);
+      long max = queueWaitMaxNanos.get();
+      while (waitNanos > max && !queueWaitMaxNanos.compareAndSet(max, waitNanos)) {
+        max = queueWaitMaxNanos.get();
+      }
+    }
+
+    Map<String, Object> toMap() {
+      long started = completed.get() + active.get();
+      Map<String, Object> map = new HashMap<>();
+      map.put("submitted", submitted.get());
+      map.put("completed", completed.get());
+      map.put("rejected", rejected.get());
+      map.put("queued", queued.get());
+      map.put("active", active.get());
+      map.put(
+          "queueWaitAvgMs",
+          started == 0 ? 0d : queueWaitTotalNanos.get() / (double) started / 1_000_000d);
+      map.put("queueWaitMaxMs", queueWaitMaxNanos.get() / 1_000_000d);
+      return map;
+    }
+  }
+
+  private static final class QueuedTask {
+    final Runnable command;
+    final long enqueuedAtNanos = System.nanoTime();
+    // Submitting method, only resolved while metrics are enabled.
+    @Nullable final String label;
+
+    QueuedTask(Runnable command, @Nullable String label) {
+      this.command = command;
+      this.label = label;
+    }
+  }
+
+  /**
+   * A module's (or lane's) view of the shared pool.
+   *
+   * <p>When the queue is full the task is handed to the overflow executor and counted as rejected,
+   * rather than dropped or run on the submitting thread, which may be the JS or main thread. Helper
+   * executors have no overflow and reject the task instead. Lanes are unbounded and never overflow.
+   * Shutting down discards queued tasks but does not interrupt tasks that are already running, and
+   * never tears down a thread.
+   */
+  final class ModuleExecutor extends AbstractExecutorService {
+    private final Object lock = new Object();
+    private final ArrayDeque<QueuedTask> pending = new ArrayDeque<>();
+    private final String moduleName;
+    private final ModuleStats stats;
+    private final int concurrency;
+    private final int capacity;
+    @Nullable private final Executor overflow;
+    private final Runnable runNextTask = this::runNext;
+    // Workers currently running, or queued on the shared pool to run, a task for this executor.
+    private int slots;
+    private boolean shutdown;
+
+    private ModuleExecutor(
+        String moduleName,
+        ModuleStats stats,
+        int concurrency,
+        int capacity,
+        @Nullable Executor overflow) {
+      this.moduleName = moduleName;
+      this.stats = stats;
+      this.concurrency = concurrency;
+      this.capacity = capacity;
+      this.overflow = overflow;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      String label = metrics.isEnabled() ? UniversalFirebaseMetrics.callerLabel() : null;
+      boolean schedule = false;
+      boolean overflowed = false;
+      synchronized (lock) {
+        if (shutdown) {
+          throw new RejectedExecutionException("Executor has been shut down");
+        }
+        stats.submitted.incrementAndGet();
+        if (pending.size() >= capacity) {
+          stats.rejected.incrementAndGet();
+          if (overflow == null) {
+            throw new RejectedExecutionException("Executor queue is full");
+          }
+          overflowed = true;
+        } else {
+          pending.addLast(new QueuedTask(command, label));
+          stats.queued.incrementAndGet();
+          if (slots < concurrency) {
+            slots++;
+            schedule = true;
+          }
+        }
+      }
+
+      if (overflowed) {
+        overflow.execute(() -> runOverflow(command, label));
+      } else if (schedule) {
+        workers.execute(runNextTask);
+      }
+    }
+
+    private void runOverflow(Runnable command, @Nullable String label) {
+      long startedAtNanos = System.nanoTime();
+      stats.active.incrementAndGet();
+      try {
+        command.run();
+      } finally {
+        stats.active.decrementAndGet();
+        stats.completed.incrementAndGet();
+        recordRun(label, 0, startedAtNanos);
+      }
+    }
+
+    private void runNext() {
+      QueuedTask task = pollNext();
+      while (task != null) {
+        boolean ran = false;
+        try {
+          runTask(task);
+          ran = true;
+        } finally {
+          if (!ran) {
+            yieldSlot();
+          }
+        }
+        // Keep draining on this worker only while nobody else is waiting for one.
+        if (!workers.getQueue().isEmpty()) {
+          yieldSlot();
+          return;
+        }
+        task = pollNext();
+      }
+    }
+
+    /** Returns the oldest queued task, or releases this worker's slot when there is none. */
+    @Nullable
+    private QueuedTask pollNext() {
+      synchronized (lock) {
+        QueuedTask task = pending.pollFirst();
+        if (task == null) {
+          releaseSlot();
+          return null;
+        }
+        stats.queued.decrementAndGet();
+        return task;
+      }
+    }
+
+    /** Goes to the back of the shared queue while work remains, so others get a turn first. */
+    private void yieldSlot() {
+      boolean more;
+      synchronized (lock) {
+        more = !pending.isEmpty();
+        if (!more) {
+          releaseSlot();
+        }
+      }
+      if (more) {
+        workers.execute(runNextTask);
+      }
+    }
+
+    private void runTask(QueuedTask task) {
+      long startedAtNanos = System.nanoTime();
+      long waitNanos = startedAtNanos - task.enqueuedAtNanos;
+      stats.recordQueueWait(waitNanos);
+      stats.active.incrementAndGet();
+      try {
+        task.command.run();
+      } finally {
+        stats.active.decrementAndGet();
+        stats.completed.incrementAndGet();
+        recordRun(task.label, waitNanos, startedAtNanos);
+      }
+    }
+
+    private void recordRun(@Nullable String label, long waitNanos, long startedAtNanos) {
+      if (label == null) {
+        return;
+      }
+      long runNanos = System.nanoTime() - startedAtNanos;
+      metrics.record(moduleName, label, UniversalFirebaseMetrics.QUEUE_WAIT, waitNanos / 1000);
+      metrics.record(moduleName, label, UniversalFirebaseMetrics.RUN_TIME, runNanos / 1000);
+    }
+
+    // Must hold lock.
+    private void releaseSlot() {
+      slots--;
+      if (slots == 0) {
+        lock.notifyAll();
+      }
+    }
+
+    @Override
+    public void shutdown() {
+      synchronized (lock) {
+        shutdown = true;
+      }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      List<Runnable> dropped = new ArrayList<>();
+      synchronized (lock) {
+        shutdown = true;
+        for (QueuedTask task : pending) {
+          dropped.add(task.command);
+        }
+        stats.queued.addAndGet(-pending.size());
+        pending.clear();
+      }
+      return dropped;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      synchronized (lock) {
+        return shutdown;
+      }
+    }
+
+    @Override
+    public boolean isTerminated() {
+      synchronized (lock) {
+        return shutdown && slots == 0;
+      }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      synchronized (lock) {
+        while (!(shutdown && slots == 0)) {
+          long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+          if (remainingMillis <= 0) {
+            return false;
+          }
+          lock.wait(remainingMillis);
+        }
+        return true;
+      }
+    }
+  }
+}
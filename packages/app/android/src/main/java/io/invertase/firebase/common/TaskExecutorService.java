@@ -23,27 +23,64 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 public class TaskExecutorService {
   private static final String MAXIMUM_POOL_SIZE_KEY = "android_task_executor_maximum_pool_size";
   private static final String KEEP_ALIVE_SECONDS_KEY = "android_task_executor_keep_alive_seconds";
+  private static final String MODULE_CONCURRENCY_KEY = "android_task_executor_module_concurrency";
+  private static final String QUEUE_CAPACITY_KEY = "android_task_executor_queue_capacity";
 
   private final String name;
   private final int maximumPoolSize;
-  private final int keepAliveSeconds;
   private static final Map<String, ExecutorService> executors = new HashMap<>();
+  private static TaskExecutorPool sharedPool;
 
   public TaskExecutorService(String name) {
     this.name = name;
     ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
-    this.maximumPoolSize = json.getIntValue(MAXIMUM_POOL_SIZE_KEY, 1);
-    this.keepAliveSeconds = json.getIntValue(KEEP_ALIVE_SECONDS_KEY, 3);
+    this.maximumPoolSize =
+        json.getIntValue(MAXIMUM_POOL_SIZE_KEY, TaskExecutorPool.DEFAULT_POOL_SIZE);
   }
 
+  /**
+   * Pool configuration and per-module counters (submitted, completed, rejected, queued, active and
+   * queue wait) for the shared executor. Empty until a module first uses a pooled executor.
+   */
+  public static Map<String, Object> getExecutorStats() {
+    synchronized (executors) {
+      if (sharedPool == null) {
+        return new HashMap<>();
+      }
+      return sharedPool.getStats();
+    }
+  }
+
+  private static TaskExecutorPool getSharedPool(int maximumPoolSize) {
+    // Called with the executors lock held. firebase.json is read once per process, so the first
+    // module to need the pool configures it for everyone. With a pool size of 1 or 0, modules run
+    // their tasks in serial and the pool only runs listener lanes and helpers.
+    if (sharedPool == null) {
+      ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
+      int poolSize = maximumPoolSize > 1 ? maximumPoolSize : TaskExecutorPool.DEFAULT_POOL_SIZE;
+      sharedPool =
+          new TaskExecutorPool(
+              poolSize,
+              json.getIntValue(KEEP_ALIVE_SECONDS_KEY, 3),
+              json.getIntValue(
+                  MODULE_CONCURRENCY_KEY,
+                  TaskExecutorPool.defaultModuleConcurrency(poolSize)),
+              json.getIntValue(QUEUE_CAPACITY_KEY, TaskExecutorPool.DEFAULT_QUEUE_CAPACITY),
+              UniversalFirebaseMetrics.getSharedInstance());
+    }
+    return sharedPool;
+  }
+
+  /**
+   * The module's executor, running tasks concurrently on the shared pool. Tasks are not run in
+   * submission order, so work whose results must stay in order, such as the events of one listener,
+   * belongs on {@link #getTransactionalExecutor(String)}. Setting {@code
+   * android_task_executor_maximum_pool_size} to 1 or 0 makes this the module's serial thread.
+   */
   public ExecutorService getExecutor() {
     boolean isTransactional = maximumPoolSize <= 1;
     return getExecutor(isTransactional, "");
@@ -53,17 +90,39 @@ public class TaskExecutorService {
     return getExecutor(true, "");
   }
 
+  /**
+   * A serial executor for one listener. Tasks for the same identifier run in submission order on
+   * the shared pool, so live listeners do not each hold a thread.
+   */
   public ExecutorService getTransactionalExecutor(String identifier) {
     String executorIdentifier = maximumPoolSize != 0 ? identifier : "";
     return getExecutor(true, executorIdentifier);
   }
 
+  /**
+   * Helpers that one of the module's tasks can split its work over, such as the partitions of a
+   * large Firestore snapshot. Always on the shared pool, whatever the pool size, so helpers never
+   * queue behind the task waiting for them. Tasks are rejected when the queue is full.
+   */
+  public ExecutorService getHelperExecutor() {
+    String executorName = name + "HelperExecutor";
+    synchronized (executors) {
+      ExecutorService existingExecutor = executors.get(executorName);
+      if (existingExecutor == null) {
+        ExecutorService newExecutor = getSharedPool(maximumPoolSize).newHelperExecutor(name);
+        executors.put(executorName, newExecutor);
+        return newExecutor;
+      }
+      return existingExecutor;
+    }
+  }
+
   public ExecutorService getExecutor(boolean isTransactional, String identifier) {
     String executorName = getExecutorName(isTransactional, identifier);
     synchronized (executors) {
       ExecutorService existingExecutor = executors.get(executorName);
       if (existingExecutor == null) {
-        ExecutorService newExecutor = getNewExecutor(isTransactional);
+        ExecutorService newExecutor = getNewExecutor(isTransactional, identifier);
         executors.put(executorName, newExecutor);
         return newExecutor;
       }
@@ -71,27 +130,20 @@ public class TaskExecutorService {
     }
   }
 
-  private ExecutorService getNewExecutor(boolean isTransactional) {
+  private ExecutorService getNewExecutor(boolean isTransactional, String identifier) {
     if (isTransactional) {
-      return Executors.newSingleThreadExecutor();
-    } else {
-      ThreadPoolExecutor threadPoolExecutor =
-          new ThreadPoolExecutor(
-              0, maximumPoolSize, keepAliveSeconds, TimeUnit.SECONDS, new SynchronousQueue<>());
-      threadPoolExecutor.setRejectedExecutionHandler(executeInFallback);
-      return threadPoolExecutor;
+      // The module-wide transactional executor keeps a dedicated thread, as it may run blocking
+      // work such as Firestore transactions that must not tie up a shared worker.
+      if (identifier.isEmpty()) {
+        return Executors.newSingleThreadExecutor();
+      }
+      return getSharedPool(maximumPoolSize).newSerialLane(name);
     }
+    // Overflow goes to the module's transactional thread, never to the submitting thread.
+    return getSharedPool(maximumPoolSize)
+        .newModuleExecutor(name, command -> getTransactionalExecutor().execute(command));
   }
 
-  private final RejectedExecutionHandler executeInFallback =
-      (r, executor) -> {
-        if (executor.isShutdown() || executor.isTerminated() || executor.isTerminating()) {
-          return;
-        }
-        ExecutorService fallbackExecutor = getTransactionalExecutor();
-        fallbackExecutor.execute(r);
-      };
-
   public String getExecutorName(boolean isTransactional, String identifier) {
     if (isTransactional) {
       return name + "TransactionalExecutor" + identifier;
@@ -0,0 +1,374 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import android.util.Log;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Opt-in timing and size histograms for native module work, keyed by module and method.
+ *
+ * <p>Disabled unless {@code android_metrics_enabled} is set in firebase.json; when disabled every
+ * recording call returns after a single field read. Histograms use power-of-two buckets updated
+ * with atomic increments, so recording never allocates or locks once a module/method pair has
+ * been seen.
+ *
+ * <p>When {@code android_metrics_performance_traces_enabled} is also set and Firebase Performance
+ * is on the classpath, each interval's activity is forwarded as one custom trace per
+ * module/method, with the histogram summaries as trace metrics.
+ */
+public class UniversalFirebaseMetrics {
+  private static final String TAG = "RNFBMetrics";
+  private static final String ENABLED_KEY = "android_metrics_enabled";
+  private static final String PERFORMANCE_TRACES_KEY = "android_metrics_performance_traces_enabled";
+  private static final String PERFORMANCE_TRACE_INTERVAL_KEY =
+      "android_metrics_performance_trace_interval_seconds";
+
+  public static final String QUEUE_WAIT = "queueWaitUs";
+  public static final String RUN_TIME = "runTimeUs";
+  public static final String PAYLOAD_NODES = "payloadNodes";
+  public static final String EMIT_LATENCY = "emitLatencyUs";
+
+  private static final String[] HISTOGRAMS = {QUEUE_WAIT, RUN_TIME, PAYLOAD_NODES, EMIT_LATENCY};
+
+  static final UniversalFirebaseMetrics DISABLED = new UniversalFirebaseMetrics(false);
+
+  private static volatile UniversalFirebaseMetrics sharedInstance;
+
+  private final boolean enabled;
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, MethodMetrics>> modules =
+      new ConcurrentHashMap<>();
+
+  UniversalFirebaseMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public static UniversalFirebaseMetrics getSharedInstance() {
+    UniversalFirebaseMetrics instance = sharedInstance;
+    if (instance == null) {
+      synchronized (UniversalFirebaseMetrics.class) {
+        instance = sharedInstance;
+        if (instance == null) {
+          ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
+          instance = new UniversalFirebaseMetrics(json.getBooleanValue(ENABLED_KEY, false));
+          if (instance.enabled && json.getBooleanValue(PERFORMANCE_TRACES_KEY, false)) {
+            instance.startPerformanceForwarding(
+                Math.max(10, json.getIntValue(PERFORMANCE_TRACE_INTERVAL_KEY, 60)));
+          }
+          sharedInstance = instance;
+        }
+      }
+    }
+    return instance;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Records one sample; {@code value} is in microseconds for timings. No-op when disabled. */
+  public void record(String module, String method, String histogram, long value) {
+    if (!enabled) {
+      return;
+    }
+    getMethodMetrics(module, method).get(histogram).record(value);
+  }
+
+  /**
+   * Best-effort label for the code submitting work from the current thread: the first stack frame
+   * outside the executor and task plumbing, as {@code SimpleClassName.method}. Only call this
+   * while enabled; walking the stack costs a few microseconds.
+   */
+  public static String callerLabel() {
+    for (StackTraceElement frame : new Throwable().getStackTrace()) {
+      String className = frame.getClassName();
+      if (className.startsWith("io.invertase.firebase.common.")
+          || className.startsWith("java.")
+          || className.startsWith("com.google.android.gms.tasks.")) {
+        continue;
+      }
+      String simpleName = className.substring(className.lastIndexOf('.') + 1);
+      int inner = simpleName.indexOf('$');
+      if (inner > 0) {
+        simpleName = simpleName.substring(0, inner);
+      }
+      return simpleName + "." + stripLambda(frame.getMethodName());
+    }
+    return "unknown";
+  }
+
+  // "lambda$collectionOnSnapshot$2" -> "collectionOnSnapshot"
+  private static String stripLambda(String methodName) {
+    if (!methodName.startsWith("lambda$")) {
+      return methodName;
+    }
+    int end = methodName.indexOf('$', 7);
+    return end > 7 ? methodName.substring(7, end) : methodName;
+  }
+
+  /**
+   * {@code {enabled, modules: {module: {method: {histogram: summary}}}}}, where each summary has
+   * count, mean, p50, p90, p99 and max. Percentiles are bucket upper bounds, so within 2x.
+   *
+   * <p>A reset only starts a new window for this reader: later reads cover the activity since the
+   * reset, with max as a bucket bound, while the recorded counts are kept for the performance
+   * forwarding, which keeps its own window.
+   */
+  public Map<String, Object> getAll(boolean reset) {
+    Map<String, Object> modulesMap = new HashMap<>();
+    for (Map.Entry<String, ConcurrentHashMap<String, MethodMetrics>> module : modules.entrySet()) {
+      Map<String, Object> methodsMap = new HashMap<>();
+      for (Map.Entry<String, MethodMetrics> method : module.getValue().entrySet()) {
+        Map<String, Object> histogramsMap = new HashMap<>();
+        for (Map.Entry<String, Snapshot> histogram : method.getValue().read(reset).entrySet()) {
+          histogramsMap.put(histogram.getKey(), histogram.getValue().toMap());
+        }
+        methodsMap.put(method.getKey(), histogramsMap);
+      }
+      modulesMap.put(module.getKey(), methodsMap);
+    }
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("enabled", enabled);
+    result.put("modules", modulesMap);
+    return result;
+  }
+
+  MethodMetrics getMethodMetrics(String module, String method) {
+    ConcurrentHashMap<String, MethodMetrics> methods = modules.get(module);
+    if (methods == null) {
+      ConcurrentHashMap<String, MethodMetrics> created = new ConcurrentHashMap<>();
+      methods = modules.putIfAbsent(module, created);
+      if (methods == null) {
+        methods = created;
+      }
+    }
+    MethodMetrics metrics = methods.get(method);
+    if (metrics == null) {
+      MethodMetrics created = new MethodMetrics();
+      metrics = methods.putIfAbsent(method, created);
+      if (metrics == null) {
+        metrics = created;
+      }
+    }
+    return metrics;
+  }
+
+  private void startPerformanceForwarding(int intervalSeconds) {
+    final Method getInstance;
+    final Method newTrace;
+    try {
+      Class<?> performance = Class.forName("com.google.firebase.perf.FirebasePerformance");
+      getInstance = performance.getMethod("getInstance");
+      newTrace = performance.getMethod("newTrace", String.class);
+    } catch (ReflectiveOperationException e) {
+      Log.w(TAG, "Firebase Performance not found, metrics will not be forwarded as traces");
+      return;
+    }
+
+    ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "RNFBMetricsForwarder");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        () -> forwardToPerformance(getInstance, newTrace),
+        intervalSeconds,
+        intervalSeconds,
+        TimeUnit.SECONDS);
+  }
+
+  private void forwardToPerformance(Method getInstance, Method newTrace) {
+    try {
+      Object performance = getInstance.invoke(null);
+      for (Map.Entry<String, ConcurrentHashMap<String, MethodMetrics>> module :
+          modules.entrySet()) {
+        for (Map.Entry<String, MethodMetrics> method : module.getValue().entrySet()) {
+          Map<String, Snapshot> window = method.getValue().drainPerformanceWindow();
+          if (window.isEmpty()) {
+            continue;
+          }
+          // Trace names are capped at 100 characters.
+          String name = "rnfb_" + module.getKey() + "_" + method.getKey();
+          if (name.length() > 100) {
+            name = name.substring(0, 100);
+          }
+          Object trace = newTrace.invoke(performance, name);
+          Method putMetric = trace.getClass().getMethod("putMetric", String.class, long.class);
+          trace.getClass().getMethod("start").invoke(trace);
+          for (Map.Entry<String, Snapshot> histogram : window.entrySet()) {
+            Snapshot snapshot = histogram.getValue();
+            putMetric.invoke(trace, histogram.getKey() + "_count", snapshot.count);
+            putMetric.invoke(trace, histogram.getKey() + "_p90", snapshot.percentile(0.9));
+            putMetric.invoke(trace, histogram.getKey() + "_max", snapshot.max);
+          }
+          trace.getClass().getMethod("stop").invoke(trace);
+        }
+      }
+    } catch (Exception e) {
+      Log.w(TAG, "Failed to forward metrics to Firebase Performance", e);
+    }
+  }
+
+  static final class MethodMetrics {
+    private final Map<String, Histogram> histograms = new HashMap<>();
+    // Bucket counts at the previous performance forwarding, so each trace covers one interval.
+    private final Map<String, Snapshot> forwarded = new HashMap<>();
+    // Bucket counts at the last getAll(true), so a reset does not affect the forwarding.
+    private final Map<String, Snapshot> readBaseline = new HashMap<>();
+
+    MethodMetrics() {
+      for (String name : HISTOGRAMS) {
+        histograms.put(name, new Histogram());
+      }
+    }
+
+    Histogram get(String name) {
+      Histogram histogram = histograms.get(name);
+      if (histogram == null) {
+        throw new IllegalArgumentException("Unknown histogram " + name);
+      }
+      return histogram;
+    }
+
+    // Only called from the single forwarding thread.
+    Map<String, Snapshot> drainPerformanceWindow() {
+      return window(forwarded, true);
+    }
+
+    Map<String, Snapshot> read(boolean reset) {
+      synchronized (readBaseline) {
+        return window(readBaseline, reset);
+      }
+    }
+
+    /** The activity since the {@code baseline} snapshots, moving them to now if {@code advance}. */
+    private Map<String, Snapshot> window(Map<String, Snapshot> baseline, boolean advance) {
+      Map<String, Snapshot> window = new HashMap<>();
+      for (String name : HISTOGRAMS) {
+        Snapshot current = histograms.get(name).snapshot();
+        Snapshot previous = advance ? baseline.put(name, current) : baseline.get(name);
+        Snapshot delta = previous == null ? current : current.since(previous);
+        if (delta.count > 0) {
+          window.put(name, delta);
+        }
+      }
+      return window;
+    }
+  }
+
+  static final class Histogram {
+    static final int BUCKETS = 64;
+
+    // Bucket i holds values in [2^(i-1), 2^i - 1]; bucket 0 holds zero and negatives.
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+      int bucket = value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+      buckets.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+      count.incrementAndGet();
+      sum.addAndGet(Math.max(0, value));
+      long current = max.get();
+      while (value > current && !max.compareAndSet(current, value)) {
+        current = max.get();
+      }
+    }
+
+    Snapshot snapshot() {
+      long[] counts = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+        counts[i] = buckets.get(i);
+      }
+      return new Snapshot(counts, count.get(), sum.get(), max.get());
+    }
+  }
+
+  static final class Snapshot {
+    final long[] buckets;
+    final long count;
+    final long sum;
+    final long max;
+
+    Snapshot(long[] buckets, long count, long sum, long max) {
+      this.buckets = buckets;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /** The activity between {@code previous} and this snapshot; max is the bucket bound. */
+    Snapshot since(Snapshot previous) {
+      long[] delta = new long[buckets.length];
+      int highest = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        delta[i] = Math.max(0, buckets[i] - previous.buckets[i]);
+        if (delta[i] > 0) {
+          highest = i;
+        }
+      }
+      return new Snapshot(
+          delta,
+          Math.max(0, count - previous.count),
+          Math.max(0, sum - previous.sum),
+          Math.min(max, upperBound(highest)));
+    }
+
+    long percentile(double quantile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(quantile * count);
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          return Math.min(upperBound(i), max);
+        }
+      }
+      return max;
+    }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> map = new HashMap<>();
+      map.put("count", count);
+      map.put("mean", count == 0 ? 0d : sum / (double) count);
+      map.put("p50", percentile(0.5));
+      map.put("p90", percentile(0.9));
+      map.put("p99", percentile(0.99));
+      map.put("max", max);
+      return map;
+    }
+
+    private static long upperBound(int bucket) {
+      return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+  }
+}
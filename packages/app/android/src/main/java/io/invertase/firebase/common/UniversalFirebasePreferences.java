@@ -19,73 +19,388 @@ package io.invertase.firebase.common;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Log;
+import androidx.annotation.Nullable;
 import io.invertase.firebase.app.ReactNativeFirebaseApp;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Preferences shared by the native modules, stored in the {@code io.invertase.firebase}
+ * SharedPreferences file.
+ *
+ * <p>By default each committed {@link Batch} is handed to SharedPreferences with one {@code
+ * apply()}, so the edits in a batch cost one file write and Android's activity and service
+ * lifecycle waits for them like any other {@code apply()}.
+ *
+ * <p>When {@code android_preferences_write_behind_window_ms} is above 0, writes are write-behind: a
+ * committed batch is visible to reads straight away, and all batches committed within the window
+ * are written with one editor, so a burst of edits rewrites the file once instead of once per edit.
+ * Pending edits are held on a background thread that Android does not wait for, so call {@link
+ * #flush()} before the process may be killed (e.g. from a service's onDestroy) to write them.
+ *
+ * <p>The file is a SharedPreferences XML file by default, or a {@link MappedLogPreferences} log
+ * when {@code android_preferences_storage} is {@code mapped_log}.
+ */
 public class UniversalFirebasePreferences {
+  private static final String TAG = "RNFBPreferences";
   private static final String PREFERENCES_FILE = "io.invertase.firebase";
+  private static final String STORAGE_KEY = "android_preferences_storage";
+  private static final String STORAGE_SHARED_PREFERENCES = "shared_preferences";
+  private static final String STORAGE_MAPPED_LOG = "mapped_log";
+  private static final String WRITE_BEHIND_WINDOW_KEY =
+      "android_preferences_write_behind_window_ms";
+  private static final long DEFAULT_WRITE_BEHIND_WINDOW_MS = 0;
+  // Marks a key removed by a pending batch; a missing entry means "not pending".
+  private static final Object REMOVED = new Object();
   private static UniversalFirebasePreferences sharedInstance = new UniversalFirebasePreferences();
+  private static SharedPreferences preferencesFile;
+
+  private final Object lock = new Object();
+  // Newest pending value per key, committed by batches but not yet handed to SharedPreferences.
+  private final HashMap<String, Object> pending = new HashMap<>();
+  private final CopyOnWriteArrayList<SharedPreferences.OnSharedPreferenceChangeListener>
+      listeners = new CopyOnWriteArrayList<>();
+  private boolean pendingClear;
+  private boolean flushScheduled;
   private SharedPreferences preferences;
+  private ScheduledExecutorService flushExecutor;
+  private long writeBehindWindowMs = -1;
 
   public static UniversalFirebasePreferences getSharedInstance() {
     return sharedInstance;
   }
 
+  /**
+   * The {@code io.invertase.firebase} preferences file in the storage selected by {@code
+   * android_preferences_storage}, migrating existing values the first time the storage changes.
+   */
+  static synchronized SharedPreferences openPreferencesFile(Context context) {
+    if (preferencesFile != null) return preferencesFile;
+
+    SharedPreferences sharedPreferences =
+        context.getSharedPreferences(PREFERENCES_FILE, Context.MODE_PRIVATE);
+    File logFile =
+        new File(context.getFilesDir(), PREFERENCES_FILE + MappedLogPreferences.FILE_SUFFIX);
+    String storage =
+        ReactNativeFirebaseJSON.getSharedInstance()
+            .getStringValue(STORAGE_KEY, STORAGE_SHARED_PREFERENCES);
+    preferencesFile = sharedPreferences;
+    try {
+      if (STORAGE_MAPPED_LOG.equals(storage)) {
+        preferencesFile = MappedLogPreferences.open(logFile, sharedPreferences);
+      } else {
+        MappedLogPreferences.migrateBack(logFile, sharedPreferences);
+      }
+    } catch (IOException e) {
+      Log.e(TAG, "Failed to open " + storage + " preferences, using SharedPreferences", e);
+    }
+    return preferencesFile;
+  }
+
+  private UniversalFirebasePreferences() {}
+
+  UniversalFirebasePreferences(
+      SharedPreferences preferences,
+      long writeBehindWindowMs,
+      @Nullable ScheduledExecutorService flushExecutor) {
+    this.preferences = preferences;
+    this.writeBehindWindowMs = writeBehindWindowMs;
+    this.flushExecutor = flushExecutor;
+  }
+
   public boolean contains(String key) {
+    synchronized (lock) {
+      if (pending.containsKey(key)) return pending.get(key) != REMOVED;
+      if (pendingClear) return false;
+    }
     return getPreferences().contains(key);
   }
 
   // Boolean
   public void setBooleanValue(String key, boolean value) {
-    getPreferences().edit().putBoolean(key, value).apply();
+    batch().putBoolean(key, value).commit();
   }
 
   public boolean getBooleanValue(String key, boolean defaultValue) {
-    return getPreferences().getBoolean(key, defaultValue);
+    Object value = getPending(key);
+    if (value == null) return getPreferences().getBoolean(key, defaultValue);
+    return value == REMOVED ? defaultValue : (Boolean) value;
   }
 
   // Int
   public void setIntValue(String key, int value) {
-    getPreferences().edit().putInt(key, value).apply();
+    batch().putInt(key, value).commit();
   }
 
   public int getIntValue(String key, int defaultValue) {
-    return getPreferences().getInt(key, defaultValue);
+    Object value = getPending(key);
+    if (value == null) return getPreferences().getInt(key, defaultValue);
+    return value == REMOVED ? defaultValue : (Integer) value;
   }
 
   // Long
   public void setLongValue(String key, long value) {
-    getPreferences().edit().putLong(key, value).apply();
+    batch().putLong(key, value).commit();
   }
 
   public long getLongValue(String key, long defaultValue) {
-    return getPreferences().getLong(key, defaultValue);
+    Object value = getPending(key);
+    if (value == null) return getPreferences().getLong(key, defaultValue);
+    return value == REMOVED ? defaultValue : (Long) value;
   }
 
   // String
   public void setStringValue(String key, String value) {
-    getPreferences().edit().putString(key, value).apply();
+    batch().putString(key, value).commit();
   }
 
   public String getStringValue(String key, String defaultValue) {
-    return getPreferences().getString(key, defaultValue);
+    Object value = getPending(key);
+    if (value == null) return getPreferences().getString(key, defaultValue);
+    return value == REMOVED ? defaultValue : (String) value;
   }
 
   public void clearAll() {
-    getPreferences().edit().clear().apply();
+    batch().clear().commit();
+  }
+
+  /**
+   * The value of {@code key}, pending or stored, or null when it is not set. SharedPreferences has
+   * no untyped getter, so each stored type is tried in turn.
+   */
+  @Nullable
+  Object getValue(String key) {
+    Object value = getPending(key);
+    if (value != null) return value == REMOVED ? null : value;
+    SharedPreferences sharedPreferences = getPreferences();
+    if (!sharedPreferences.contains(key)) return null;
+    try {
+      return sharedPreferences.getString(key, null);
+    } catch (ClassCastException notString) {
+      // fall through
+    }
+    try {
+      return sharedPreferences.getBoolean(key, false);
+    } catch (ClassCastException notBoolean) {
+      // fall through
+    }
+    try {
+      return sharedPreferences.getInt(key, 0);
+    } catch (ClassCastException notInt) {
+      // fall through
+    }
+    try {
+      return sharedPreferences.getLong(key, 0);
+    } catch (ClassCastException notLong) {
+      return null;
+    }
+  }
+
+  /**
+   * Registers a listener that is called with each key, or null for a clear, as soon as a batch is
+   * committed, before it is written to disk. Unlike SharedPreferences, keeps a strong reference.
+   */
+  void registerOnChangeListener(SharedPreferences.OnSharedPreferenceChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Starts a set of edits that become visible together when {@link Batch#commit()} is called, and
+   * are written to disk with the other batches committed in the same write-behind window.
+   */
+  public Batch batch() {
+    return new Batch();
+  }
+
+  /**
+   * Writes every pending edit and waits until it, and any earlier write, is on disk. Blocks, so
+   * call it off the main thread where possible.
+   */
+  public void flush() {
+    synchronized (lock) {
+      writePending(true);
+    }
   }
 
   // Note the caller is responsible for calling apply() or commit() on the
   // returned SharedPreferences.Editor object for the remove to take affect
+  /**
+   * @deprecated use {@code batch().remove(key).commit()}, which is written with the other pending
+   *     edits instead of in its own file rewrite.
+   */
+  @Deprecated
   public SharedPreferences.Editor remove(String key) {
+    synchronized (lock) {
+      // Pending edits were made first; hand them over so the caller's removal lands after them.
+      writePending(false);
+    }
     return getPreferences().edit().remove(key);
   }
 
+  /** The pending value for {@code key}: null when none, {@link #REMOVED} when removed. */
+  @Nullable
+  private Object getPending(String key) {
+    synchronized (lock) {
+      Object value = pending.get(key);
+      if (value == null && pendingClear) return REMOVED;
+      return value;
+    }
+  }
+
+  private void enqueue(Batch batch) {
+    synchronized (lock) {
+      if (batch.clear) {
+        pending.clear();
+        pendingClear = true;
+      }
+      pending.putAll(batch.changes);
+
+      long windowMs = getWriteBehindWindowMs();
+      if (windowMs <= 0) {
+        writePending(false);
+      } else if (!flushScheduled) {
+        flushScheduled = true;
+        getFlushExecutor().schedule(this::flushWindow, windowMs, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    // Outside the lock, as listeners may read the preferences back.
+    for (SharedPreferences.OnSharedPreferenceChangeListener listener : listeners) {
+      if (batch.clear) {
+        listener.onSharedPreferenceChanged(getPreferences(), null);
+      }
+      for (String key : batch.changes.keySet()) {
+        listener.onSharedPreferenceChanged(getPreferences(), key);
+      }
+    }
+  }
+
+  private void flushWindow() {
+    synchronized (lock) {
+      flushScheduled = false;
+      writePending(false);
+    }
+  }
+
+  // Must hold lock. SharedPreferences updates its in-memory map before returning from apply(), so
+  // readers never see a gap between the pending map and the file.
+  private void writePending(boolean sync) {
+    SharedPreferences.Editor editor = getPreferences().edit();
+    if (pendingClear || !pending.isEmpty()) {
+      if (pendingClear) {
+        editor.clear();
+      }
+      for (Map.Entry<String, Object> entry : pending.entrySet()) {
+        putValue(editor, entry.getKey(), entry.getValue());
+      }
+      pending.clear();
+      pendingClear = false;
+    } else if (!sync) {
+      return;
+    }
+
+    if (sync) {
+      // Also waits for any earlier apply() still being written.
+      editor.commit();
+    } else {
+      editor.apply();
+    }
+  }
+
+  private static void putValue(SharedPreferences.Editor editor, String key, Object value) {
+    if (value == REMOVED) {
+      editor.remove(key);
+    } else if (value instanceof String) {
+      editor.putString(key, (String) value);
+    } else if (value instanceof Boolean) {
+      editor.putBoolean(key, (Boolean) value);
+    } else if (value instanceof Integer) {
+      editor.putInt(key, (Integer) value);
+    } else if (value instanceof Long) {
+      editor.putLong(key, (Long) value);
+    }
+  }
+
+  private long getWriteBehindWindowMs() {
+    if (writeBehindWindowMs < 0) {
+      writeBehindWindowMs =
+          ReactNativeFirebaseJSON.getSharedInstance()
+              .getLongValue(WRITE_BEHIND_WINDOW_KEY, DEFAULT_WRITE_BEHIND_WINDOW_MS);
+    }
+    return writeBehindWindowMs;
+  }
+
+  private ScheduledExecutorService getFlushExecutor() {
+    if (flushExecutor == null) {
+      flushExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "RNFBPreferencesWriteBehind");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return flushExecutor;
+  }
+
   private SharedPreferences getPreferences() {
     if (preferences == null) {
-      preferences =
-          ReactNativeFirebaseApp.getApplicationContext()
-              .getSharedPreferences(PREFERENCES_FILE, Context.MODE_PRIVATE);
+      preferences = openPreferencesFile(ReactNativeFirebaseApp.getApplicationContext());
     }
     return preferences;
   }
+
+  /**
+   * Edits staged together; nothing is visible until {@link #commit()}. Mirrors {@link
+   * SharedPreferences.Editor}, except that {@link #clear()} only drops edits staged before it.
+   */
+  public final class Batch {
+    private final HashMap<String, Object> changes = new HashMap<>();
+    private boolean clear;
+
+    private Batch() {}
+
+    public Batch putString(String key, @Nullable String value) {
+      changes.put(key, value == null ? REMOVED : value);
+      return this;
+    }
+
+    public Batch putBoolean(String key, boolean value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    public Batch putInt(String key, int value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    public Batch putLong(String key, long value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    public Batch remove(String key) {
+      changes.put(key, REMOVED);
+      return this;
+    }
+
+    public Batch clear() {
+      changes.clear();
+      clear = true;
+      return this;
+    }
+
+    /** Makes the edits visible to reads and queues them for the next write. */
+    public void commit() {
+      enqueue(this);
+    }
+  }
 }
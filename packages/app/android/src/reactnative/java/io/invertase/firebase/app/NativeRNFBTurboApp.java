@@ -31,6 +31,9 @@ import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
 import io.invertase.firebase.common.ReactNativeFirebaseJSON;
 import io.invertase.firebase.common.ReactNativeFirebaseMeta;
 import io.invertase.firebase.common.ReactNativeFirebasePreferences;
+import io.invertase.firebase.common.SharedUtils;
+import io.invertase.firebase.common.TaskExecutorService;
+import io.invertase.firebase.common.UniversalFirebaseMetrics;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -215,6 +218,17 @@ public class NativeRNFBTurboApp extends NativeRNFBTurboAppSpec implements Lifecy
     promise.resolve(null);
   }
 
+  @Override
+  public void executorGetStats(Promise promise) {
+    promise.resolve(SharedUtils.mapToWritableMap(TaskExecutorService.getExecutorStats()));
+  }
+
+  @Override
+  public void metricsGetAll(boolean reset, Promise promise) {
+    promise.resolve(
+        SharedUtils.mapToWritableMap(UniversalFirebaseMetrics.getSharedInstance().getAll(reset)));
+  }
+
   @Override
   public void setLogLevel(String logLevel) {
     // Android uses Firebase SDK log level via manifest; no-op at runtime.
@@ -130,6 +130,14 @@ public abstract class NativeRNFBTurboAppSpec extends ReactContextBaseJavaModule
   @DoNotStrip
   public abstract void preferencesClearAll(Promise promise);
 
+  @ReactMethod
+  @DoNotStrip
+  public abstract void executorGetStats(Promise promise);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void metricsGetAll(boolean reset, Promise promise);
+
   @ReactMethod
   @DoNotStrip
   public abstract void setLogLevel(String logLevel);
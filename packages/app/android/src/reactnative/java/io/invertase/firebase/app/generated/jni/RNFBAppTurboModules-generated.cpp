@@ -97,6 +97,16 @@ static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_preferences
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "preferencesClearAll", "(Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
 }
 
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_executorGetStats(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "executorGetStats", "(Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_metricsGetAll(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "metricsGetAll", "(ZLcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
+}
+
 static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_setLogLevel(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
   static jmethodID cachedMethodId = nullptr;
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "setLogLevel", "(Ljava/lang/String;)V", args, count, cachedMethodId);
@@ -121,6 +131,8 @@ NativeRNFBTurboAppSpecJSI::NativeRNFBTurboAppSpecJSI(const JavaTurboModule::Init
   methodMap_["preferencesSetString"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboAppSpecJSI_preferencesSetString};
   methodMap_["preferencesGetAll"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboAppSpecJSI_preferencesGetAll};
   methodMap_["preferencesClearAll"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboAppSpecJSI_preferencesClearAll};
+  methodMap_["executorGetStats"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboAppSpecJSI_executorGetStats};
+  methodMap_["metricsGetAll"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboAppSpecJSI_metricsGetAll};
   methodMap_["setLogLevel"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboAppSpecJSI_setLogLevel};
 }
 static facebook::jsi::Value __hostFunction_NativeRNFBTurboUtilsSpecJSI_getConstants(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
@@ -249,6 +249,8 @@ protected:
     methodMap_["preferencesSetString"] = MethodMetadata {.argCount = 2, .invoker = __preferencesSetString};
     methodMap_["preferencesGetAll"] = MethodMetadata {.argCount = 0, .invoker = __preferencesGetAll};
     methodMap_["preferencesClearAll"] = MethodMetadata {.argCount = 0, .invoker = __preferencesClearAll};
+    methodMap_["executorGetStats"] = MethodMetadata {.argCount = 0, .invoker = __executorGetStats};
+    methodMap_["metricsGetAll"] = MethodMetadata {.argCount = 1, .invoker = __metricsGetAll};
     methodMap_["setLogLevel"] = MethodMetadata {.argCount = 1, .invoker = __setLogLevel};
   }
   
@@ -389,6 +391,21 @@ private:
     return bridging::callFromJs<jsi::Value>(rt, &T::preferencesClearAll,  static_cast<NativeRNFBTurboAppCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule));
   }
 
+  static jsi::Value __executorGetStats(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* /*args*/, size_t /*count*/) {
+    static_assert(
+      bridging::getParameterCount(&T::executorGetStats) == 1,
+      "Expected executorGetStats(...) to have 1 parameters");
+    return bridging::callFromJs<jsi::Value>(rt, &T::executorGetStats,  static_cast<NativeRNFBTurboAppCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule));
+  }
+
+  static jsi::Value __metricsGetAll(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::metricsGetAll) == 2,
+      "Expected metricsGetAll(...) to have 2 parameters");
+    return bridging::callFromJs<jsi::Value>(rt, &T::metricsGetAll,  static_cast<NativeRNFBTurboAppCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asBool());
+  }
+
   static jsi::Value __setLogLevel(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
     static_assert(
       bridging::getParameterCount(&T::setLogLevel) == 2,
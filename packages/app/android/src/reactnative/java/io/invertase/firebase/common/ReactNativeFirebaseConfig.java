@@ -0,0 +1,199 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import androidx.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only view over {@link ReactNativeFirebasePreferences}, {@link ReactNativeFirebaseJSON} and
+ * {@link ReactNativeFirebaseMeta}, in that order of precedence, so a module setting can be resolved
+ * with one call.
+ *
+ * <p>Each preference is read once, including edits still pending write-behind in {@link
+ * UniversalFirebasePreferences}, and cached until that key changes, so writes to unrelated keys in
+ * the same file (such as stored messages) do not cost config lookups anything. The JSON and
+ * manifest sources cannot change while the process runs, so lookups never touch disk or the
+ * package manager after the first one.
+ */
+public class ReactNativeFirebaseConfig {
+  public static final String SOURCE_PREFERENCES = "RNFBPreferences";
+  public static final String SOURCE_JSON = "RNFBJSON";
+  public static final String SOURCE_META = "RNFBMeta";
+  public static final String SOURCE_DEFAULT = "default";
+
+  // Cached for a key the preferences do not set.
+  private static final Object NOT_SET = new Object();
+
+  private static ReactNativeFirebaseConfig sharedInstance = new ReactNativeFirebaseConfig();
+
+  private final ReactNativeFirebasePreferences preferences;
+  private final ReactNativeFirebaseJSON json;
+  private final ReactNativeFirebaseMeta meta;
+  private final AtomicInteger generation = new AtomicInteger();
+  // Counts every preference change, cached key or not, so a read can tell it raced one.
+  private final AtomicInteger changes = new AtomicInteger();
+  private final ConcurrentHashMap<String, Object> preferenceValues = new ConcurrentHashMap<>();
+  // Written once before started is set, and never modified after; only read through Bundle's
+  // synchronized getters.
+  @Nullable private Bundle metaData;
+  private volatile boolean started;
+
+  // SharedPreferences only keeps a weak reference to its listeners.
+  private final SharedPreferences.OnSharedPreferenceChangeListener preferencesListener =
+      (sharedPreferences, key) -> {
+        if (key == null) {
+          invalidate();
+        } else {
+          invalidate(key);
+        }
+      };
+
+  private ReactNativeFirebaseConfig() {
+    this(
+        ReactNativeFirebasePreferences.getSharedInstance(),
+        ReactNativeFirebaseJSON.getSharedInstance(),
+        ReactNativeFirebaseMeta.getSharedInstance());
+  }
+
+  ReactNativeFirebaseConfig(
+      ReactNativeFirebasePreferences preferences,
+      ReactNativeFirebaseJSON json,
+      ReactNativeFirebaseMeta meta) {
+    this.preferences = preferences;
+    this.json = json;
+    this.meta = meta;
+  }
+
+  public static ReactNativeFirebaseConfig getSharedInstance() {
+    return sharedInstance;
+  }
+
+  /** Reads the manifest meta-data now, so the first module lookup does not pay for it. */
+  public void warmUp() {
+    start();
+  }
+
+  /**
+   * Changes every time a cached preference is dropped, so callers that cache a value derived from
+   * this config can tell when to resolve it again.
+   */
+  public int getGeneration() {
+    return generation.get();
+  }
+
+  /** Drops every cached preference; the next lookup of each key re-reads it. */
+  public void invalidate() {
+    changes.incrementAndGet();
+    generation.incrementAndGet();
+    preferenceValues.clear();
+  }
+
+  /** Drops the cached preference for {@code key}, if any. */
+  void invalidate(String key) {
+    changes.incrementAndGet();
+    if (preferenceValues.remove(key) != null) {
+      generation.incrementAndGet();
+    }
+  }
+
+  public boolean contains(String key) {
+    return !SOURCE_DEFAULT.equals(getSource(key));
+  }
+
+  /**
+   * The source that {@code key} resolves from: one of {@link #SOURCE_PREFERENCES}, {@link
+   * #SOURCE_JSON} or {@link #SOURCE_META}, or {@link #SOURCE_DEFAULT} when no source sets it.
+   */
+  public String getSource(String key) {
+    if (getPreference(key) != null) return SOURCE_PREFERENCES;
+    if (json.contains(key)) return SOURCE_JSON;
+    if (metaData != null && metaData.containsKey(meta.prefixed(key))) return SOURCE_META;
+    return SOURCE_DEFAULT;
+  }
+
+  public boolean getBooleanValue(String key, boolean defaultValue) {
+    Object value = getPreference(key);
+    if (value != null) return value instanceof Boolean ? (Boolean) value : defaultValue;
+    if (json.contains(key)) return json.getBooleanValue(key, defaultValue);
+    if (metaData == null) return defaultValue;
+    return metaData.getBoolean(meta.prefixed(key), defaultValue);
+  }
+
+  public int getIntValue(String key, int defaultValue) {
+    Object value = getPreference(key);
+    if (value != null) return value instanceof Integer ? (Integer) value : defaultValue;
+    if (json.contains(key)) return json.getIntValue(key, defaultValue);
+    if (metaData == null) return defaultValue;
+    return metaData.getInt(meta.prefixed(key), defaultValue);
+  }
+
+  public long getLongValue(String key, long defaultValue) {
+    Object value = getPreference(key);
+    if (value != null) return value instanceof Long ? (Long) value : defaultValue;
+    if (json.contains(key)) return json.getLongValue(key, defaultValue);
+    if (metaData == null) return defaultValue;
+    // Manifest meta-data has no long type; integers are the closest.
+    return metaData.getInt(meta.prefixed(key), (int) defaultValue);
+  }
+
+  public String getStringValue(String key, String defaultValue) {
+    Object value = getPreference(key);
+    if (value != null) return value instanceof String ? (String) value : defaultValue;
+    if (json.contains(key)) return json.getStringValue(key, defaultValue);
+    if (metaData == null) return defaultValue;
+    return metaData.getString(meta.prefixed(key), defaultValue);
+  }
+
+  /** The preference set for {@code key}, or null when the preferences do not set it. */
+  @Nullable
+  private Object getPreference(String key) {
+    start();
+    Object value = preferenceValues.get(key);
+    if (value == null) {
+      int readChanges = changes.get();
+      value = preferences.getValue(key);
+      if (value == null) {
+        value = NOT_SET;
+      }
+      preferenceValues.put(key, value);
+      // A change that raced the read above must not leave a stale value cached.
+      if (readChanges != changes.get() && preferenceValues.remove(key, value)) {
+        generation.incrementAndGet();
+      }
+    }
+    return value == NOT_SET ? null : value;
+  }
+
+  private void start() {
+    if (started) {
+      return;
+    }
+    synchronized (this) {
+      if (started) {
+        return;
+      }
+      preferences.registerOnChangeListener(preferencesListener);
+      metaData = meta.getMetaData();
+      started = true;
+    }
+  }
+}
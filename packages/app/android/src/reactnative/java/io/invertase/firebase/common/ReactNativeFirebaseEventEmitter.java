@@ -19,15 +19,20 @@ package io.invertase.firebase.common;
 
 import android.content.Context;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
 import android.util.Log;
-import androidx.annotation.MainThread;
+import android.view.Choreographer;
 import androidx.annotation.Nullable;
 import com.facebook.react.ReactApplication;
 import com.facebook.react.ReactHost;
 import com.facebook.react.ReactNativeHost;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 import io.invertase.firebase.app.ReactNativeFirebaseApp;
@@ -39,17 +44,29 @@ import java.util.List;
 
 public class ReactNativeFirebaseEventEmitter {
   private static final String TAG = "RNFB_EMITTER";
+  private static final String BATCHING_ENABLED_KEY = "android_event_emitter_batching_enabled";
+  private static final String EMITTER_THREAD_ENABLED_KEY = "android_event_emitter_thread_enabled";
+  private static final String QUEUE_MAX_PER_EVENT_KEY = "android_event_queue_max_per_event";
+  private static final String QUEUE_MAX_TOTAL_KEY = "android_event_queue_max_total";
+  private static final String QUEUE_OVERFLOW_POLICY_KEY = "android_event_queue_overflow_policy";
+  // JS unpacks this envelope (a flat [eventName, eventBody, ...] array) and re-emits each entry
+  // as its own rnfb_ event, see RNFBNativeEventEmitter.
+  static final String BATCH_EVENT_NAME = "events_batch";
   private static ReactNativeFirebaseEventEmitter sharedInstance =
       new ReactNativeFirebaseEventEmitter();
-  private final Handler handler = new Handler(Looper.getMainLooper());
+  // Delivery (queue flushing, convergence retries and the JS emit call itself) runs on this
+  // handler: the main looper by default, or a dedicated emitter thread so heavy event traffic
+  // does not compete with UI work. Neither building payloads nor calling the JS module needs the
+  // UI thread.
+  private final Handler handler;
 
   // All mutable state below is guarded by the jsListeners monitor. Attach/detach/ready
   // transitions happen synchronously at cause time under the same monitor as listener
   // registration: with more than one ReactContext generation alive during an instance
-  // reload, deferring any of these transitions (e.g. to a congested main looper) reorders
+  // reload, deferring any of these transitions (e.g. to a congested delivery looper) reorders
   // them against a replacement runtime's synchronous registrations and can wipe or wedge
-  // that runtime's state. Only queue flushing is posted to the main thread.
-  private final List<NativeEvent> queuedEvents = new ArrayList<>();
+  // that runtime's state. Only queue flushing is posted to the delivery thread.
+  private final ReactNativeFirebaseEventQueue queuedEvents;
   private final HashMap<String, Integer> jsListeners = new HashMap<>();
   // Weak so the emitter never pins a dead ReactContext (and its module graph) for the
   // lifetime of the process if a runtime is torn down without a paired detach.
@@ -77,10 +94,47 @@ public class ReactNativeFirebaseEventEmitter {
   private boolean jsReady = false;
   private int jsListenerCount;
 
+  // Frame-coalesced delivery: events raised between two frames are collected here and handed to
+  // JS as a single envelope from a Choreographer callback, instead of one delivery post plus
+  // one JS call per event. Guarded by the jsListeners monitor like the rest of the state above.
+  private boolean batchingEnabled;
+  private final List<NativeEvent> frameBatch = new ArrayList<>();
+  private long frameBatchOpenedAtNanos;
+  private boolean frameCallbackScheduled;
+  private final UniversalFirebaseMetrics metrics = UniversalFirebaseMetrics.getSharedInstance();
+  private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flushFrameBatch();
+
+  private ReactNativeFirebaseEventEmitter() {
+    this(resolveDeliveryLooper());
+  }
+
+  private ReactNativeFirebaseEventEmitter(Looper deliveryLooper) {
+    handler = new Handler(deliveryLooper);
+    ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
+    batchingEnabled = json.getBooleanValue(BATCHING_ENABLED_KEY, false);
+    queuedEvents =
+        new ReactNativeFirebaseEventQueue(
+            json.getIntValue(QUEUE_MAX_PER_EVENT_KEY, 1000),
+            json.getIntValue(QUEUE_MAX_TOTAL_KEY, 5000),
+            json.getStringValue(
+                QUEUE_OVERFLOW_POLICY_KEY, ReactNativeFirebaseEventQueue.POLICY_DROP_OLDEST));
+  }
+
   public static ReactNativeFirebaseEventEmitter getSharedInstance() {
     return sharedInstance;
   }
 
+  private static Looper resolveDeliveryLooper() {
+    if (!ReactNativeFirebaseJSON.getSharedInstance()
+        .getBooleanValue(EMITTER_THREAD_ENABLED_KEY, false)) {
+      return Looper.getMainLooper();
+    }
+    // Lives for the process, like the shared instance that owns it.
+    HandlerThread emitterThread = new HandlerThread("RNFBEventEmitter");
+    emitterThread.start();
+    return emitterThread.getLooper();
+  }
+
   public void attachReactContext(final ReactContext reactContext) {
     // Resolve host current outside jsListeners so ReactApplication getters are not held
     // under the listener monitor (they are RN-owned and not expected to re-enter, but the
@@ -251,6 +305,12 @@ public class ReactNativeFirebaseEventEmitter {
   }
 
   public void sendEvent(final NativeEvent event) {
+    if (batchingEnabled) {
+      enqueueForNextFrame(event);
+      return;
+    }
+
+    final long raisedAtNanos = metrics.isEnabled() ? System.nanoTime() : 0;
     handler.post(
         () -> {
           synchronized (jsListeners) {
@@ -261,7 +321,7 @@ public class ReactNativeFirebaseEventEmitter {
           }
           // emit() resolves ReactApplication host current outside jsListeners; do not hold
           // the monitor across that call.
-          if (!emit(event)) {
+          if (!emit(event, raisedAtNanos)) {
             synchronized (jsListeners) {
               queuedEvents.add(event);
             }
@@ -320,6 +380,8 @@ public class ReactNativeFirebaseEventEmitter {
 
       writableMap.putInt("listeners", jsListenerCount);
       writableMap.putInt("queued", queuedEvents.size());
+      writableMap.putInt("dropped", queuedEvents.droppedCount());
+      writableMap.putInt("coalesced", queuedEvents.coalescedCount());
       writableMap.putBoolean("jsReady", jsReady);
       writableMap.putInt(
           "attachedContextHash",
@@ -338,25 +400,178 @@ public class ReactNativeFirebaseEventEmitter {
     return writableMap;
   }
 
-  @MainThread
   private void sendQueuedEvents() {
-    List<NativeEvent> toSend;
+    List<NativeEvent> toSend = new ArrayList<>();
     synchronized (jsListeners) {
-      toSend = new ArrayList<>();
-      for (NativeEvent event : new ArrayList<>(queuedEvents)) {
+      queuedEvents.drainInto(jsListeners.keySet(), toSend);
+    }
+    for (NativeEvent event : toSend) {
+      sendEvent(event);
+    }
+  }
+
+  private boolean emit(final NativeEvent event, long raisedAtNanos) {
+    ReactContext emitContext = resolveReadyEmitContext();
+    if (emitContext == null) {
+      return false;
+    }
+    // Some events build their body on each call, and handing it to JS consumes the native map, so
+    // the body is built once and counted before emitting.
+    WritableMap body = event.getEventBody();
+    int payloadNodes = raisedAtNanos != 0 ? countNodes(body) : 0;
+
+    try {
+      emitContext
+          .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+          .emit("rnfb_" + event.getEventName(), body);
+    } catch (Exception e) {
+      Log.wtf(TAG, "Error sending Event " + event.getEventName(), e);
+      return false;
+    }
+
+    if (raisedAtNanos != 0) {
+      recordEmit(event.getEventName(), raisedAtNanos, payloadNodes);
+    }
+    return true;
+  }
+
+  private void enqueueForNextFrame(final NativeEvent event) {
+    synchronized (jsListeners) {
+      if (frameBatch.isEmpty() && metrics.isEnabled()) {
+        frameBatchOpenedAtNanos = System.nanoTime();
+      }
+      frameBatch.add(event);
+      if (frameCallbackScheduled) {
+        return;
+      }
+      frameCallbackScheduled = true;
+    }
+    // Choreographer is per-looper; obtain it on the delivery thread so frames are observed there.
+    handler.post(() -> Choreographer.getInstance().postFrameCallback(frameCallback));
+  }
+
+  private void flushFrameBatch() {
+    List<NativeEvent> deliverable;
+    long openedAtNanos;
+    synchronized (jsListeners) {
+      frameCallbackScheduled = false;
+      if (frameBatch.isEmpty()) {
+        return;
+      }
+      openedAtNanos = frameBatchOpenedAtNanos;
+      deliverable = new ArrayList<>(frameBatch.size());
+      for (NativeEvent event : frameBatch) {
         if (jsListeners.containsKey(event.getEventName())) {
-          queuedEvents.remove(event);
-          toSend.add(event);
+          deliverable.add(event);
+        } else {
+          queuedEvents.add(event);
         }
       }
+      frameBatch.clear();
     }
-    for (NativeEvent event : toSend) {
-      sendEvent(event);
+
+    if (!deliverable.isEmpty() && !emitBatch(deliverable, openedAtNanos)) {
+      synchronized (jsListeners) {
+        queuedEvents.addAll(deliverable);
+      }
     }
   }
 
-  @MainThread
-  private boolean emit(final NativeEvent event) {
+  private boolean emitBatch(final List<NativeEvent> events, long openedAtNanos) {
+    // Resolve before building the envelope: pushing a body into it consumes the native map.
+    ReactContext emitContext = resolveReadyEmitContext();
+    if (emitContext == null) {
+      return false;
+    }
+
+    int[] payloadNodes = openedAtNanos != 0 ? new int[events.size()] : null;
+    WritableArray envelope = Arguments.createArray();
+    for (int i = 0; i < events.size(); i++) {
+      NativeEvent event = events.get(i);
+      WritableMap body = event.getEventBody();
+      if (payloadNodes != null) {
+        payloadNodes[i] = countNodes(body);
+      }
+      envelope.pushString(event.getEventName());
+      envelope.pushMap(body);
+    }
+
+    try {
+      emitContext
+          .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+          .emit("rnfb_" + BATCH_EVENT_NAME, envelope);
+    } catch (Exception e) {
+      Log.wtf(TAG, "Error sending batch of " + events.size() + " events", e);
+      return false;
+    }
+
+    if (payloadNodes != null) {
+      // Latency is measured from when the frame's first event was raised.
+      for (int i = 0; i < events.size(); i++) {
+        recordEmit(events.get(i).getEventName(), openedAtNanos, payloadNodes[i]);
+      }
+    }
+    return true;
+  }
+
+  private void recordEmit(String eventName, long raisedAtNanos, int payloadNodes) {
+    // Event names are "<module>_<event>", e.g. "firestore_collection_sync_event".
+    int separator = eventName.indexOf('_');
+    String module = separator > 0 ? eventName.substring(0, separator) : eventName;
+    long latencyMicros = (System.nanoTime() - raisedAtNanos) / 1000;
+    metrics.record(module, eventName, UniversalFirebaseMetrics.EMIT_LATENCY, latencyMicros);
+    metrics.record(module, eventName, UniversalFirebaseMetrics.PAYLOAD_NODES, payloadNodes);
+  }
+
+  /** Number of values in the body, counting each map and array as a node. */
+  static int countNodes(@Nullable ReadableMap map) {
+    if (map == null) {
+      return 0;
+    }
+    int nodes = 1;
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      switch (map.getType(key)) {
+        case Map:
+          nodes += countNodes(map.getMap(key));
+          break;
+        case Array:
+          nodes += countNodes(map.getArray(key));
+          break;
+        default:
+          nodes++;
+      }
+    }
+    return nodes;
+  }
+
+  private static int countNodes(@Nullable ReadableArray array) {
+    if (array == null) {
+      return 0;
+    }
+    int nodes = 1;
+    for (int i = 0; i < array.size(); i++) {
+      switch (array.getType(i)) {
+        case Map:
+          nodes += countNodes(array.getMap(i));
+          break;
+        case Array:
+          nodes += countNodes(array.getArray(i));
+          break;
+        default:
+          nodes++;
+      }
+    }
+    return nodes;
+  }
+
+  /**
+   * Resolves the context hosting the live JS runtime, or null when JS is not ready or no runtime
+   * can currently receive events (callers re-queue in that case).
+   */
+  @Nullable
+  private ReactContext resolveReadyEmitContext() {
     // Snapshot readiness / pointers under the monitor, resolve host current outside (avoid
     // holding jsListeners across ReactApplication getters), then re-enter to converge/resolve.
     ReactContext attachedHint;
@@ -364,7 +579,7 @@ public class ReactNativeFirebaseEventEmitter {
     synchronized (jsListeners) {
       ready = jsReady;
       if (!ready) {
-        return false;
+        return null;
       }
       attachedHint = attachedReactContext.get();
       if (attachedHint == null) {
@@ -376,7 +591,7 @@ public class ReactNativeFirebaseEventEmitter {
     ReactContext emitContext;
     synchronized (jsListeners) {
       if (!jsReady) {
-        return false;
+        return null;
       }
       tryConvergePendingReactContextLocked(hostCurrent);
 
@@ -392,19 +607,10 @@ public class ReactNativeFirebaseEventEmitter {
     }
 
     if (emitContext == null || !emitContext.hasActiveReactInstance()) {
-      return false;
-    }
-
-    try {
-      emitContext
-          .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-          .emit("rnfb_" + event.getEventName(), event.getEventBody());
-    } catch (Exception e) {
-      Log.wtf(TAG, "Error sending Event " + event.getEventName(), e);
-      return false;
+      return null;
     }
 
-    return true;
+    return emitContext;
   }
 
   @Nullable
@@ -0,0 +1,181 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import androidx.annotation.Nullable;
+import io.invertase.firebase.interfaces.NativeEvent;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pending events that could not be delivered yet, bucketed per event name.
+ *
+ * <p>Enqueue, overflow handling and draining a name are all O(1) per event. Memory is bounded by a
+ * per-name and a total cap; on overflow the oldest event is dropped, or with {@link
+ * #POLICY_COALESCE} a queued event sharing the incoming event's {@link
+ * NativeEvent#getCoalescingKey()} is replaced in place first.
+ *
+ * <p>Not thread-safe: the emitter guards it with its listener monitor.
+ */
+final class ReactNativeFirebaseEventQueue {
+  static final String POLICY_DROP_OLDEST = "drop_oldest";
+  static final String POLICY_COALESCE = "coalesce";
+
+  private static final class Slot {
+    NativeEvent event;
+    @Nullable final String coalescingKey;
+
+    Slot(NativeEvent event, @Nullable String coalescingKey) {
+      this.event = event;
+      this.coalescingKey = coalescingKey;
+    }
+  }
+
+  private static final class Bucket {
+    final ArrayDeque<Slot> slots = new ArrayDeque<>();
+    // Only populated under the coalesce policy.
+    final HashMap<String, Slot> byKey = new HashMap<>();
+  }
+
+  // Insertion-ordered so total-cap eviction and draining visit older names first.
+  private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>();
+  private final int maxPerEvent;
+  private final int maxTotal;
+  private final boolean coalesce;
+  private int size;
+  private int droppedCount;
+  private int coalescedCount;
+
+  /** Caps of zero or less mean unbounded. */
+  ReactNativeFirebaseEventQueue(int maxPerEvent, int maxTotal, String overflowPolicy) {
+    this.maxPerEvent = maxPerEvent;
+    this.maxTotal = maxTotal;
+    this.coalesce = POLICY_COALESCE.equals(overflowPolicy);
+  }
+
+  void add(NativeEvent event) {
+    String eventName = event.getEventName();
+    Bucket bucket = buckets.get(eventName);
+    if (bucket == null) {
+      bucket = new Bucket();
+      buckets.put(eventName, bucket);
+    }
+
+    String coalescingKey = coalesce ? event.getCoalescingKey() : null;
+    boolean bucketFull = maxPerEvent > 0 && bucket.slots.size() >= maxPerEvent;
+    boolean queueFull = maxTotal > 0 && size >= maxTotal;
+
+    if (bucketFull || queueFull) {
+      if (coalescingKey != null) {
+        Slot existing = bucket.byKey.get(coalescingKey);
+        if (existing != null) {
+          existing.event = event;
+          coalescedCount++;
+          return;
+        }
+      }
+      if (bucketFull) {
+        dropOldest(bucket);
+      } else {
+        dropOldestOverall(bucket);
+      }
+    }
+
+    Slot slot = new Slot(event, coalescingKey);
+    bucket.slots.addLast(slot);
+    if (coalescingKey != null) {
+      bucket.byKey.put(coalescingKey, slot);
+    }
+    size++;
+  }
+
+  void addAll(List<NativeEvent> events) {
+    for (NativeEvent event : events) {
+      add(event);
+    }
+  }
+
+  /** Removes and appends to {@code out}, in arrival order, every event for the given names. */
+  void drainInto(Set<String> eventNames, List<NativeEvent> out) {
+    Iterator<Map.Entry<String, Bucket>> iterator = buckets.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Bucket> entry = iterator.next();
+      if (!eventNames.contains(entry.getKey())) {
+        continue;
+      }
+      Bucket bucket = entry.getValue();
+      for (Slot slot : bucket.slots) {
+        out.add(slot.event);
+      }
+      size -= bucket.slots.size();
+      iterator.remove();
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  int droppedCount() {
+    return droppedCount;
+  }
+
+  int coalescedCount() {
+    return coalescedCount;
+  }
+
+  private void dropOldest(Bucket bucket) {
+    Slot dropped = bucket.slots.pollFirst();
+    if (dropped == null) {
+      return;
+    }
+    if (dropped.coalescingKey != null && bucket.byKey.get(dropped.coalescingKey) == dropped) {
+      bucket.byKey.remove(dropped.coalescingKey);
+    }
+    size--;
+    droppedCount++;
+  }
+
+  /**
+   * Evicts from the incoming event's own name when it has anything queued, so a burst of one name
+   * cannot flush out unrelated events; otherwise from the oldest name still holding events.
+   */
+  private void dropOldestOverall(Bucket incoming) {
+    if (!incoming.slots.isEmpty()) {
+      dropOldest(incoming);
+      return;
+    }
+    Iterator<Bucket> iterator = buckets.values().iterator();
+    while (iterator.hasNext()) {
+      Bucket bucket = iterator.next();
+      if (bucket.slots.isEmpty()) {
+        continue;
+      }
+      dropOldest(bucket);
+      if (bucket.slots.isEmpty() && bucket != incoming) {
+        iterator.remove();
+      }
+      return;
+    }
+  }
+}
@@ -42,6 +42,9 @@ public class ReactNativeFirebaseInitProvider extends ContentProvider {
         applicationContext = applicationContext.getApplicationContext();
       }
       ReactNativeFirebaseApp.setApplicationContext(applicationContext);
+      if (applicationContext != null) {
+        ReactNativeFirebaseConfig.getSharedInstance().warmUp();
+      }
     }
 
     return false;
@@ -21,6 +21,7 @@ import android.content.Context;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
+import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import io.invertase.firebase.app.ReactNativeFirebaseApp;
@@ -30,13 +31,33 @@ public class ReactNativeFirebaseMeta {
   private static final String META_PREFIX = "rnfirebase_";
   private static ReactNativeFirebaseMeta sharedInstance = new ReactNativeFirebaseMeta();
 
+  // Manifest meta-data is fixed for the life of the process; fetching it is a package manager IPC.
+  private volatile Bundle metaData;
+
   public static ReactNativeFirebaseMeta getSharedInstance() {
     return sharedInstance;
   }
 
-  private Bundle getMetaData() {
+  /** The manifest meta-data, fetched once; null only while the application context is unset. */
+  @Nullable
+  Bundle getMetaData() {
+    Bundle cached = metaData;
+    if (cached != null) return cached;
+
+    cached = loadMetaData();
+    metaData = cached;
+    return cached;
+  }
+
+  String prefixed(String key) {
+    return META_PREFIX + key;
+  }
+
+  @Nullable
+  private Bundle loadMetaData() {
     try {
       Context context = ReactNativeFirebaseApp.getApplicationContext();
+      if (context == null) return null;
       PackageManager packageManager = context.getPackageManager();
 
       if (packageManager == null) return null;
@@ -44,7 +65,10 @@ public class ReactNativeFirebaseMeta {
       ApplicationInfo applicationInfo =
           packageManager.getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA);
 
-      if (applicationInfo != null) return applicationInfo.metaData;
+      if (applicationInfo != null) {
+        // Cache "no meta-data" too, so apps without any do not pay the IPC on every lookup.
+        return applicationInfo.metaData != null ? applicationInfo.metaData : Bundle.EMPTY;
+      }
     } catch (PackageManager.NameNotFoundException exception) {
       // do nothing
     }
@@ -17,15 +17,14 @@ package io.invertase.firebase.common;
  *
  */
 
-import android.content.Context;
 import android.content.SharedPreferences;
+import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import io.invertase.firebase.app.ReactNativeFirebaseApp;
 import java.util.Map;
 
 public class ReactNativeFirebasePreferences {
-  private static final String PREFERENCES_FILE = "io.invertase.firebase";
   private static ReactNativeFirebasePreferences sharedInstance =
       new ReactNativeFirebasePreferences();
   private SharedPreferences preferences;
@@ -40,6 +39,7 @@ public class ReactNativeFirebasePreferences {
 
   public void setBooleanValue(String key, boolean value) {
     getPreferences().edit().putBoolean(key, value).apply();
+    ReactNativeFirebaseConfig.getSharedInstance().invalidate(key);
   }
 
   public boolean getBooleanValue(String key, boolean defaultValue) {
@@ -48,6 +48,7 @@ public class ReactNativeFirebasePreferences {
 
   public void setIntValue(String key, int value) {
     getPreferences().edit().putInt(key, value).apply();
+    ReactNativeFirebaseConfig.getSharedInstance().invalidate(key);
   }
 
   public int getIntValue(String key, int defaultValue) {
@@ -56,6 +57,7 @@ public class ReactNativeFirebasePreferences {
 
   public void setLongValue(String key, long value) {
     getPreferences().edit().putLong(key, value).apply();
+    ReactNativeFirebaseConfig.getSharedInstance().invalidate(key);
   }
 
   public long getLongValue(String key, long defaultValue) {
@@ -64,6 +66,7 @@ public class ReactNativeFirebasePreferences {
 
   public void setStringValue(String key, String value) {
     getPreferences().edit().putString(key, value).apply();
+    ReactNativeFirebaseConfig.getSharedInstance().invalidate(key);
   }
 
   public String getStringValue(String key, String defaultValue) {
@@ -82,14 +85,30 @@ public class ReactNativeFirebasePreferences {
   }
 
   public void clearAll() {
+    // Same file as UniversalFirebasePreferences; write its pending edits first so they cannot
+    // land after the clear.
+    UniversalFirebasePreferences.getSharedInstance().flush();
     getPreferences().edit().clear().apply();
+    ReactNativeFirebaseConfig.getSharedInstance().invalidate();
+  }
+
+  /** The value of {@code key}, including edits still pending write-behind, or null if unset. */
+  @Nullable
+  Object getValue(String key) {
+    return UniversalFirebasePreferences.getSharedInstance().getValue(key);
+  }
+
+  /** Listens for changes written to the file directly and for pending write-behind edits. */
+  void registerOnChangeListener(SharedPreferences.OnSharedPreferenceChangeListener listener) {
+    getPreferences().registerOnSharedPreferenceChangeListener(listener);
+    UniversalFirebasePreferences.getSharedInstance().registerOnChangeListener(listener);
   }
 
   private SharedPreferences getPreferences() {
     if (preferences == null) {
       preferences =
-          ReactNativeFirebaseApp.getApplicationContext()
-              .getSharedPreferences(PREFERENCES_FILE, Context.MODE_PRIVATE);
+          UniversalFirebasePreferences.openPreferencesFile(
+              ReactNativeFirebaseApp.getApplicationContext());
     }
     return preferences;
   }
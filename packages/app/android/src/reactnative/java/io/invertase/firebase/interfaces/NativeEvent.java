@@ -17,6 +17,7 @@ package io.invertase.firebase.interfaces;
  *
  */
 
+import androidx.annotation.Nullable;
 import com.facebook.react.bridge.WritableMap;
 
 public interface NativeEvent {
@@ -25,4 +26,14 @@ public interface NativeEvent {
   WritableMap getEventBody();
 
   String getFirebaseAppName();
+
+  /**
+   * Identifies events that supersede one another (e.g. successive snapshots for one listener). When
+   * the pending event queue overflows under the coalesce policy, a queued event with the same key
+   * is replaced instead of dropping the oldest one. Null means the event is never coalesced.
+   */
+  @Nullable
+  default String getCoalescingKey() {
+    return null;
+  }
 }
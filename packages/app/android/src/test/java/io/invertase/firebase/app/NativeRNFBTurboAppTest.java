@@ -42,6 +42,9 @@ import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
 import io.invertase.firebase.common.ReactNativeFirebaseJSON;
 import io.invertase.firebase.common.ReactNativeFirebaseMeta;
 import io.invertase.firebase.common.ReactNativeFirebasePreferences;
+import io.invertase.firebase.common.SharedUtils;
+import io.invertase.firebase.common.TaskExecutorService;
+import io.invertase.firebase.common.UniversalFirebaseMetrics;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -373,6 +376,43 @@ public class NativeRNFBTurboAppTest {
     }
   }
 
+  @Test
+  public void executorGetStats_resolvesSharedExecutorStats() {
+    Promise promise = mock(Promise.class);
+    WritableMap converted = mock(WritableMap.class);
+    Map<String, Object> stats = Collections.singletonMap("poolSize", 4);
+
+    try (MockedStatic<TaskExecutorService> executorStatic = mockStatic(TaskExecutorService.class);
+        MockedStatic<SharedUtils> sharedUtils = mockStatic(SharedUtils.class)) {
+      executorStatic.when(TaskExecutorService::getExecutorStats).thenReturn(stats);
+      sharedUtils.when(() -> SharedUtils.mapToWritableMap(stats)).thenReturn(converted);
+
+      NativeRNFBTurboApp module = new NativeRNFBTurboApp(reactContext);
+      module.executorGetStats(promise);
+      verify(promise).resolve(converted);
+    }
+  }
+
+  @Test
+  public void metricsGetAll_resolvesSharedMetrics() {
+    Promise promise = mock(Promise.class);
+    WritableMap converted = mock(WritableMap.class);
+    UniversalFirebaseMetrics metrics = mock(UniversalFirebaseMetrics.class);
+    Map<String, Object> all = Collections.singletonMap("enabled", true);
+    when(metrics.getAll(true)).thenReturn(all);
+
+    try (MockedStatic<UniversalFirebaseMetrics> metricsStatic =
+            mockStatic(UniversalFirebaseMetrics.class);
+        MockedStatic<SharedUtils> sharedUtils = mockStatic(SharedUtils.class)) {
+      metricsStatic.when(UniversalFirebaseMetrics::getSharedInstance).thenReturn(metrics);
+      sharedUtils.when(() -> SharedUtils.mapToWritableMap(all)).thenReturn(converted);
+
+      NativeRNFBTurboApp module = new NativeRNFBTurboApp(reactContext);
+      module.metricsGetAll(true, promise);
+      verify(promise).resolve(converted);
+    }
+  }
+
   @Test
   public void setLogLevel_isNoOp() {
     NativeRNFBTurboApp module = new NativeRNFBTurboApp(reactContext);
@@ -0,0 +1,174 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import android.content.SharedPreferences;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link SharedPreferences} that counts editor writes. Each {@code apply()} or {@code
+ * commit()} on the real implementation rewrites and fsyncs the whole backing XML file, so the
+ * counts stand in for disk writes.
+ */
+class FakeSharedPreferences implements SharedPreferences {
+  final AtomicInteger applies = new AtomicInteger();
+  final AtomicInteger commits = new AtomicInteger();
+  private final Map<String, Object> values = new HashMap<>();
+
+  int writes() {
+    return applies.get() + commits.get();
+  }
+
+  @Override
+  public synchronized Map<String, ?> getAll() {
+    return new HashMap<>(values);
+  }
+
+  @Override
+  public synchronized String getString(String key, String defValue) {
+    return values.containsKey(key) ? (String) values.get(key) : defValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public synchronized Set<String> getStringSet(String key, Set<String> defValues) {
+    return values.containsKey(key) ? (Set<String>) values.get(key) : defValues;
+  }
+
+  @Override
+  public synchronized int getInt(String key, int defValue) {
+    return values.containsKey(key) ? (Integer) values.get(key) : defValue;
+  }
+
+  @Override
+  public synchronized long getLong(String key, long defValue) {
+    return values.containsKey(key) ? (Long) values.get(key) : defValue;
+  }
+
+  @Override
+  public synchronized float getFloat(String key, float defValue) {
+    return values.containsKey(key) ? (Float) values.get(key) : defValue;
+  }
+
+  @Override
+  public synchronized boolean getBoolean(String key, boolean defValue) {
+    return values.containsKey(key) ? (Boolean) values.get(key) : defValue;
+  }
+
+  @Override
+  public synchronized boolean contains(String key) {
+    return values.containsKey(key);
+  }
+
+  @Override
+  public Editor edit() {
+    return new FakeEditor();
+  }
+
+  @Override
+  public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {}
+
+  @Override
+  public void unregisterOnSharedPreferenceChangeListener(
+      OnSharedPreferenceChangeListener listener) {}
+
+  private final class FakeEditor implements Editor {
+    private final Map<String, Object> changes = new HashMap<>();
+    private boolean clear;
+
+    @Override
+    public Editor putString(String key, String value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    @Override
+    public Editor putStringSet(String key, Set<String> values) {
+      changes.put(key, values);
+      return this;
+    }
+
+    @Override
+    public Editor putInt(String key, int value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    @Override
+    public Editor putLong(String key, long value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    @Override
+    public Editor putFloat(String key, float value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    @Override
+    public Editor putBoolean(String key, boolean value) {
+      changes.put(key, value);
+      return this;
+    }
+
+    @Override
+    public Editor remove(String key) {
+      // Like the platform editor, a removal is recorded as a null value.
+      changes.put(key, null);
+      return this;
+    }
+
+    @Override
+    public Editor clear() {
+      clear = true;
+      return this;
+    }
+
+    @Override
+    public boolean commit() {
+      write();
+      commits.incrementAndGet();
+      return true;
+    }
+
+    @Override
+    public void apply() {
+      write();
+      applies.incrementAndGet();
+    }
+
+    private void write() {
+      synchronized (FakeSharedPreferences.this) {
+        if (clear) {
+          values.clear();
+        }
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+          if (change.getValue() == null) {
+            values.remove(change.getKey());
+          } else {
+            values.put(change.getKey(), change.getValue());
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Write amplification and cold-start read time of the {@code io.invertase.firebase} preferences,
+ * as SharedPreferences XML versus {@link MappedLogPreferences}, for the messaging store keeping
+ * its maximum of 100 notifications of about 2KB each.
+ *
+ * <p>Write amplification is bytes written to disk divided by bytes of values changed: every XML
+ * commit rewrites the whole file, the log appends one record and occasionally compacts. Timings
+ * are printed rather than asserted (Robolectric wall time is not representative of a device); the
+ * assertions pin the write amplification.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class MappedLogPreferencesBenchmarkTest {
+
+  private static final String IDS_KEY = "all_notification_ids";
+  private static final int STORED_MESSAGES = 100;
+  private static final int MESSAGES = 1_000;
+  private static final int COLD_STARTS = 5;
+
+  private File directory;
+  private String message;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = File.createTempFile("rnfb-preferences-benchmark", "");
+    assertTrue(directory.delete() && directory.mkdir());
+    char[] body = new char[2048];
+    Arrays.fill(body, 'x');
+    message = "{\"data\":\"" + new String(body) + "\"}";
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File child : files) {
+        child.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void sharedPreferencesXml() throws Exception {
+    File file = new File(directory, "io.invertase.firebase.xml");
+    SharedPreferences preferences = openXml(file);
+
+    long bytesWritten = 0;
+    long bytesChanged = 0;
+    for (int i = 0; i < MESSAGES; i++) {
+      bytesChanged += store(preferences, i);
+      bytesWritten += file.length();
+    }
+    long coldStartNanos = coldStart(() -> openXml(file));
+    double amplification = bytesWritten / (double) bytesChanged;
+    report("shared-preferences-xml", amplification, file.length(), coldStartNanos);
+
+    // The whole file, holding every stored message, is rewritten for each one.
+    assertTrue(amplification > STORED_MESSAGES / 2.0);
+  }
+
+  @Test
+  public void mappedLog() throws Exception {
+    File file = new File(directory, "io.invertase.firebase" + MappedLogPreferences.FILE_SUFFIX);
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+
+    long bytesChanged = 0;
+    for (int i = 0; i < MESSAGES; i++) {
+      bytesChanged += store(preferences, i);
+    }
+    long bytesWritten = preferences.getBytesWritten();
+    preferences.close();
+    long coldStartNanos = coldStart(() -> new MappedLogPreferences(file));
+    double amplification = bytesWritten / (double) bytesChanged;
+    report("mapped-log", amplification, file.length(), coldStartNanos);
+
+    // Appends plus compaction each time the log reaches twice its live size.
+    assertTrue(amplification < 4);
+    MappedLogPreferences reopened = new MappedLogPreferences(file);
+    assertEquals(STORED_MESSAGES + 1, reopened.getAll().size());
+    reopened.close();
+  }
+
+  /**
+   * Stores message {@code index} the way the messaging store does, evicting the oldest once {@link
+   * #STORED_MESSAGES} are kept, and returns the bytes of values changed.
+   */
+  private int store(SharedPreferences preferences, int index) {
+    String ids = preferences.getString(IDS_KEY, "");
+    SharedPreferences.Editor editor = preferences.edit();
+    if (index >= STORED_MESSAGES) {
+      String evicted = "message" + (index - STORED_MESSAGES);
+      editor.remove(evicted);
+      ids = ids.substring(ids.indexOf(',') + 1);
+    }
+    String id = "message" + index;
+    ids += id + ",";
+    editor.putString(id, message).putString(IDS_KEY, ids).commit();
+    return id.length() + message.length() + IDS_KEY.length() + ids.length();
+  }
+
+  /** Median time to open the file and read one value, which waits for the whole file to load. */
+  private static long coldStart(Opener opener) throws Exception {
+    long[] nanos = new long[COLD_STARTS];
+    for (int i = 0; i < COLD_STARTS; i++) {
+      long start = System.nanoTime();
+      SharedPreferences preferences = opener.open();
+      preferences.getString(IDS_KEY, null);
+      nanos[i] = System.nanoTime() - start;
+      if (preferences instanceof MappedLogPreferences) {
+        ((MappedLogPreferences) preferences).close();
+      }
+    }
+    Arrays.sort(nanos);
+    return nanos[COLD_STARTS / 2];
+  }
+
+  /** A fresh SharedPreferences instance, bypassing the per-process cache in the context. */
+  private static SharedPreferences openXml(File file) throws Exception {
+    Constructor<?> constructor =
+        Class.forName("android.app.SharedPreferencesImpl")
+            .getDeclaredConstructor(File.class, int.class);
+    constructor.setAccessible(true);
+    return (SharedPreferences) constructor.newInstance(file, Context.MODE_PRIVATE);
+  }
+
+  private interface Opener {
+    SharedPreferences open() throws Exception;
+  }
+
+  private static void report(
+      String mode, double amplification, long fileBytes, long coldStartNanos) {
+    System.out.println(
+        "[RNFB_PREFERENCES benchmark] "
+            + mode
+            + ": write amplification "
+            + String.format("%.1f", amplification)
+            + "x over "
+            + MESSAGES
+            + " stored messages, "
+            + (fileBytes / 1024)
+            + "KB on disk, cold start "
+            + (coldStartNanos / 1_000)
+            + "us");
+  }
+}
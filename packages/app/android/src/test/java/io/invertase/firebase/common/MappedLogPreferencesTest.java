@@ -0,0 +1,199 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.SharedPreferences;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** JVM coverage for {@link MappedLogPreferences} persistence, recovery, compaction and migration. */
+public class MappedLogPreferencesTest {
+
+  private File directory;
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = File.createTempFile("rnfb-preferences", "");
+    assertTrue(directory.delete() && directory.mkdir());
+    file = new File(directory, "io.invertase.firebase" + MappedLogPreferences.FILE_SUFFIX);
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File child : files) {
+        child.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void committedValues_surviveReopen() throws Exception {
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+    preferences
+        .edit()
+        .putString("string", "v\u00e4rde")
+        .putBoolean("boolean", true)
+        .putInt("int", 1)
+        .putLong("long", 2L)
+        .putFloat("float", 3.5f)
+        .putStringSet("set", new HashSet<>(Arrays.asList("a", "b")))
+        .commit();
+    preferences.close();
+
+    MappedLogPreferences reopened = new MappedLogPreferences(file);
+    assertEquals("v\u00e4rde", reopened.getString("string", null));
+    assertTrue(reopened.getBoolean("boolean", false));
+    assertEquals(1, reopened.getInt("int", 0));
+    assertEquals(2L, reopened.getLong("long", 0L));
+    assertEquals(3.5f, reopened.getFloat("float", 0f), 0f);
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")), reopened.getStringSet("set", null));
+    assertEquals(6, reopened.getAll().size());
+  }
+
+  @Test
+  public void appliedValues_surviveReopenWithoutCommit() throws Exception {
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+    preferences.edit().putString("key", "value").apply();
+    preferences.close();
+
+    assertEquals("value", new MappedLogPreferences(file).getString("key", null));
+  }
+
+  @Test
+  public void removeAndClear_surviveReopen() throws Exception {
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+    preferences.edit().putString("a", "1").putString("b", "2").commit();
+    preferences.edit().remove("a").commit();
+    assertFalse(preferences.contains("a"));
+    preferences.edit().clear().putString("c", "3").commit();
+    preferences.close();
+
+    MappedLogPreferences reopened = new MappedLogPreferences(file);
+    assertNull(reopened.getString("a", null));
+    assertNull(reopened.getString("b", null));
+    assertEquals("3", reopened.getString("c", null));
+  }
+
+  @Test
+  public void tornRecord_isDiscardedOnLoad() throws Exception {
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+    preferences.edit().putString("kept", "value").commit();
+    preferences.edit().putString("torn", "value").commit();
+    preferences.close();
+
+    // Corrupt the last byte of the second record, as if the process died while writing it.
+    long tornEnd = 8 + preferences.getBytesWritten();
+    try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+      raw.seek(tornEnd - 1);
+      int last = raw.read();
+      raw.seek(tornEnd - 1);
+      raw.write(last ^ 0xff);
+    }
+
+    MappedLogPreferences reopened = new MappedLogPreferences(file);
+    assertEquals("value", reopened.getString("kept", null));
+    assertFalse(reopened.contains("torn"));
+
+    // New records replace the torn one rather than following it.
+    reopened.edit().putString("after", "value").commit();
+    reopened.close();
+    MappedLogPreferences again = new MappedLogPreferences(file);
+    assertEquals("value", again.getString("after", null));
+    assertEquals(2, again.getAll().size());
+  }
+
+  @Test
+  public void overwrites_areCompacted() throws Exception {
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+    char[] filler = new char[512];
+    Arrays.fill(filler, 'x');
+    String value = new String(filler);
+    for (int i = 0; i < 1_000; i++) {
+      preferences.edit().putString("key" + (i % 10), value + i).apply();
+    }
+    preferences.close();
+
+    // 1000 records of ~0.5KB would be ~0.5MB without compaction.
+    assertTrue(file.length() < 4 * MappedLogPreferences.COMPACTION_MIN_BYTES);
+    MappedLogPreferences reopened = new MappedLogPreferences(file);
+    assertEquals(10, reopened.getAll().size());
+    assertEquals(value + 999, reopened.getString("key9", null));
+    assertEquals(value + 990, reopened.getString("key0", null));
+  }
+
+  @Test
+  public void open_migratesSharedPreferencesOnce() throws Exception {
+    FakeSharedPreferences legacy = new FakeSharedPreferences();
+    legacy.edit().putString("string", "value").putLong("long", 1L).commit();
+
+    MappedLogPreferences preferences = MappedLogPreferences.open(file, legacy);
+    assertEquals("value", preferences.getString("string", null));
+    assertEquals(1L, preferences.getLong("long", 0L));
+    assertTrue(legacy.getAll().isEmpty());
+
+    // Values written to SharedPreferences after the migration are not imported again.
+    legacy.edit().putString("late", "value").commit();
+    MappedLogPreferences.open(file, legacy);
+    assertTrue(legacy.contains("late"));
+    assertFalse(new MappedLogPreferences(file).contains("late"));
+  }
+
+  @Test
+  public void migrateBack_copiesLogIntoSharedPreferencesAndDeletesIt() throws Exception {
+    MappedLogPreferences preferences = MappedLogPreferences.open(file, new FakeSharedPreferences());
+    preferences.edit().putString("string", "value").putInt("int", 1).commit();
+
+    FakeSharedPreferences target = new FakeSharedPreferences();
+    MappedLogPreferences.migrateBack(file, target);
+
+    assertEquals("value", target.getString("string", null));
+    assertEquals(1, target.getInt("int", 0));
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void listeners_areNotifiedOfChangedKeysOnly() throws Exception {
+    MappedLogPreferences preferences = new MappedLogPreferences(file);
+    preferences.edit().putString("same", "value").commit();
+    List<String> changed = new ArrayList<>();
+    SharedPreferences.OnSharedPreferenceChangeListener listener =
+        (sharedPreferences, key) -> changed.add(key);
+    preferences.registerOnSharedPreferenceChangeListener(listener);
+
+    preferences.edit().putString("same", "value").putString("new", "value").commit();
+    preferences.edit().clear().commit();
+
+    assertEquals(Arrays.asList("new", null), changed);
+  }
+}
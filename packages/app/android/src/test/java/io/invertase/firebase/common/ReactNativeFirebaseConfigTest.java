@@ -0,0 +1,165 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import io.invertase.firebase.app.ReactNativeFirebaseApp;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** JVM coverage for {@link ReactNativeFirebaseConfig} precedence, caching and invalidation. */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseConfigTest {
+  private static final String KEY = "some_feature_enabled";
+
+  private final Map<String, Object> preferenceValues = new HashMap<>();
+  private ReactNativeFirebasePreferences preferences;
+  private ReactNativeFirebaseJSON json;
+  private ReactNativeFirebaseMeta meta;
+  private Bundle metaData;
+  private ReactNativeFirebaseConfig config;
+
+  @Before
+  public void setUp() {
+    preferences = mock(ReactNativeFirebasePreferences.class);
+    json = mock(ReactNativeFirebaseJSON.class);
+    meta = mock(ReactNativeFirebaseMeta.class);
+    metaData = new Bundle();
+    when(preferences.getValue(anyString()))
+        .thenAnswer(invocation -> preferenceValues.get(invocation.<String>getArgument(0)));
+    when(meta.getMetaData()).thenReturn(metaData);
+    when(meta.prefixed(anyString()))
+        .thenAnswer(invocation -> "rnfirebase_" + invocation.getArgument(0));
+    config = new ReactNativeFirebaseConfig(preferences, json, meta);
+  }
+
+  @After
+  public void tearDown() {
+    ReactNativeFirebaseApp.setApplicationContext(null);
+  }
+
+  @Test
+  public void preferencesWinOverJsonWinOverMeta() {
+    metaData.putBoolean("rnfirebase_" + KEY, true);
+    assertTrue(config.getBooleanValue(KEY, false));
+    assertEquals(ReactNativeFirebaseConfig.SOURCE_META, config.getSource(KEY));
+
+    when(json.contains(KEY)).thenReturn(true);
+    when(json.getBooleanValue(KEY, false)).thenReturn(false);
+    assertFalse(config.getBooleanValue(KEY, false));
+    assertEquals(ReactNativeFirebaseConfig.SOURCE_JSON, config.getSource(KEY));
+
+    preferenceValues.put(KEY, true);
+    config.invalidate();
+    assertTrue(config.getBooleanValue(KEY, false));
+    assertEquals(ReactNativeFirebaseConfig.SOURCE_PREFERENCES, config.getSource(KEY));
+  }
+
+  @Test
+  public void unsetKey_resolvesToDefault() {
+    assertFalse(config.contains(KEY));
+    assertEquals(ReactNativeFirebaseConfig.SOURCE_DEFAULT, config.getSource(KEY));
+    assertEquals(42, config.getIntValue(KEY, 42));
+    assertEquals("fallback", config.getStringValue(KEY, "fallback"));
+  }
+
+  @Test
+  public void lookups_readEachPreferenceOnce() {
+    for (int i = 0; i < 100; i++) {
+      config.getBooleanValue(KEY, true);
+      config.getIntValue(KEY, 0);
+    }
+
+    verify(preferences, times(1)).getValue(KEY);
+    verify(meta, times(1)).getMetaData();
+  }
+
+  @Test
+  public void preferenceChange_invalidatesOnlyThatKey() {
+    config.warmUp();
+    ArgumentCaptor<SharedPreferences.OnSharedPreferenceChangeListener> listener =
+        ArgumentCaptor.forClass(SharedPreferences.OnSharedPreferenceChangeListener.class);
+    verify(preferences).registerOnChangeListener(listener.capture());
+
+    preferenceValues.put(KEY, 7);
+    assertEquals(0, config.getIntValue(KEY, 0));
+    listener.getValue().onSharedPreferenceChanged(mock(SharedPreferences.class), KEY);
+
+    assertEquals(7, config.getIntValue(KEY, 0));
+    verify(preferences, times(2)).getValue(KEY);
+    verify(preferences, times(1)).registerOnChangeListener(any());
+  }
+
+  @Test
+  public void unrelatedPreferenceChange_keepsCachedValues() {
+    assertEquals(0, config.getIntValue(KEY, 0));
+    ArgumentCaptor<SharedPreferences.OnSharedPreferenceChangeListener> listener =
+        ArgumentCaptor.forClass(SharedPreferences.OnSharedPreferenceChangeListener.class);
+    verify(preferences).registerOnChangeListener(listener.capture());
+    int generation = config.getGeneration();
+
+    for (int i = 0; i < 10; i++) {
+      listener.getValue().onSharedPreferenceChanged(mock(SharedPreferences.class), "message_" + i);
+    }
+
+    assertEquals(0, config.getIntValue(KEY, 0));
+    assertEquals(generation, config.getGeneration());
+    verify(preferences, times(1)).getValue(KEY);
+  }
+
+  @Test
+  public void meta_fetchesApplicationInfoOnce() throws Exception {
+    Context context = mock(Context.class);
+    PackageManager packageManager = mock(PackageManager.class);
+    when(context.getPackageName()).thenReturn("com.example");
+    when(context.getPackageManager()).thenReturn(packageManager);
+    when(packageManager.getApplicationInfo(anyString(), anyInt()))
+        .thenReturn(new ApplicationInfo());
+    ReactNativeFirebaseApp.setApplicationContext(context);
+
+    ReactNativeFirebaseMeta uncached = new ReactNativeFirebaseMeta();
+    for (int i = 0; i < 10; i++) {
+      assertFalse(uncached.contains(KEY));
+      assertTrue(uncached.getBooleanValue(KEY, true));
+    }
+
+    verify(packageManager, times(1)).getApplicationInfo(anyString(), anyInt());
+  }
+}
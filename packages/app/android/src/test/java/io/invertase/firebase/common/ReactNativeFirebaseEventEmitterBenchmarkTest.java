@@ -0,0 +1,153 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Looper;
+import com.facebook.react.ReactHost;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+import io.invertase.firebase.interfaces.NativeEvent;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Main-thread cost of delivering a burst of events through {@link
+ * ReactNativeFirebaseEventEmitter}, per-event versus frame-coalesced.
+ *
+ * <p>Timings are printed rather than asserted (Robolectric wall time is not representative of a
+ * device); the assertions pin the number of JS calls each mode makes for the burst.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = ReactNativeFirebaseEventEmitterTest.HostApplication.class)
+public class ReactNativeFirebaseEventEmitterBenchmarkTest {
+
+  private static final String EVENT = "firestore_collection_sync_event";
+  private static final int EVENTS = 10_000;
+
+  private ReactContext liveContext;
+  private DeviceEventManagerModule.RCTDeviceEventEmitter liveJsEmitter;
+  private WritableMap eventBody;
+
+  @Before
+  public void setUp() throws Exception {
+    ReactNativeFirebaseEventEmitterTest.HostApplication application =
+        (ReactNativeFirebaseEventEmitterTest.HostApplication)
+            org.robolectric.RuntimeEnvironment.getApplication();
+    ReactHost reactHost = mock(ReactHost.class);
+    application.reactHost = reactHost;
+    application.reactNativeHost = null;
+
+    liveContext = mock(ReactContext.class);
+    liveJsEmitter = mock(DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+    eventBody = mock(WritableMap.class);
+    when(liveContext.getApplicationContext()).thenReturn(application);
+    when(liveContext.hasActiveReactInstance()).thenReturn(true);
+    when(liveContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class))
+        .thenReturn(liveJsEmitter);
+    when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
+
+    Constructor<ReactNativeFirebaseEventEmitter> ctor =
+        ReactNativeFirebaseEventEmitter.class.getDeclaredConstructor();
+    ctor.setAccessible(true);
+    Field shared = ReactNativeFirebaseEventEmitter.class.getDeclaredField("sharedInstance");
+    shared.setAccessible(true);
+    shared.set(null, ctor.newInstance());
+  }
+
+  @Test
+  public void mainThreadTimePer10kEvents_unbatched() throws Exception {
+    ReactNativeFirebaseEventEmitter emitter = readyEmitter(false);
+
+    for (int i = 0; i < EVENTS; i++) {
+      emitter.sendEvent(event());
+    }
+    long start = System.nanoTime();
+    ShadowLooper.idleMainLooper();
+    report("unbatched", System.nanoTime() - start);
+
+    verify(liveJsEmitter, times(EVENTS)).emit("rnfb_" + EVENT, eventBody);
+  }
+
+  @Test
+  public void mainThreadTimePer10kEvents_batched() throws Exception {
+    ReactNativeFirebaseEventEmitter emitter = readyEmitter(true);
+    WritableArray envelope = mock(WritableArray.class);
+
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createArray).thenReturn(envelope);
+
+      for (int i = 0; i < EVENTS; i++) {
+        emitter.sendEvent(event());
+      }
+      long start = System.nanoTime();
+      ShadowLooper.idleMainLooper();
+      ReactNativeFirebaseEventEmitterTest.idleFrame(Looper.getMainLooper());
+      report("batched", System.nanoTime() - start);
+    }
+
+    verify(liveJsEmitter, times(1)).emit(anyString(), any());
+    verify(liveJsEmitter)
+        .emit("rnfb_" + ReactNativeFirebaseEventEmitter.BATCH_EVENT_NAME, envelope);
+    verify(envelope, times(EVENTS)).pushMap(eventBody);
+  }
+
+  private ReactNativeFirebaseEventEmitter readyEmitter(boolean batching) throws Exception {
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+    ReactNativeFirebaseEventEmitterTest.setBatchingEnabled(emitter, batching);
+    emitter.attachReactContext(liveContext);
+    emitter.notifyJsReady(true);
+    emitter.addListener(EVENT);
+    ShadowLooper.idleMainLooper();
+    return emitter;
+  }
+
+  private NativeEvent event() {
+    return new ReactNativeFirebaseEvent(EVENT, eventBody);
+  }
+
+  private static void report(String mode, long elapsedNanos) {
+    System.out.println(
+        "[RNFB_EMITTER benchmark] "
+            + mode
+            + ": "
+            + (elapsedNanos / 1_000_000)
+            + "ms main thread for "
+            + EVENTS
+            + " events ("
+            + (elapsedNanos / EVENTS)
+            + "ns/event)");
+  }
+}
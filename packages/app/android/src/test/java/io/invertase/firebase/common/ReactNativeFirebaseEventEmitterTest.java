@@ -21,17 +21,22 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.app.Application;
 import android.content.Context;
+import android.os.HandlerThread;
+import android.os.Looper;
 import androidx.annotation.Nullable;
 import com.facebook.react.ReactApplication;
 import com.facebook.react.ReactHost;
@@ -39,6 +44,7 @@ import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactNativeHost;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 import io.invertase.firebase.app.ReactNativeFirebaseApp;
@@ -47,13 +53,20 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.MockedStatic;
-import org.robolectric.RobolectricTestRunner;
+import org.robolectric.ParameterizedRobolectricTestRunner;
 import org.robolectric.annotation.Config;
 import org.robolectric.shadows.ShadowLooper;
 
@@ -63,13 +76,29 @@ import org.robolectric.shadows.ShadowLooper;
  * <p>Uses Robolectric for {@link android.os.Handler}/{@link android.os.Looper} and Mockito for RN
  * host/context doubles. The contracts under test are Java state-machine behaviour and do not
  * require the Detox/Jet harness.
+ *
+ * <p>Every contract runs twice: delivering on the main looper (default) and on the dedicated
+ * emitter thread ({@code android_event_emitter_thread_enabled}).
  */
-@RunWith(RobolectricTestRunner.class)
+@RunWith(ParameterizedRobolectricTestRunner.class)
 @Config(sdk = 34, application = ReactNativeFirebaseEventEmitterTest.HostApplication.class)
 public class ReactNativeFirebaseEventEmitterTest {
 
   private static final String EVENT = "auth_state_changed";
 
+  @ParameterizedRobolectricTestRunner.Parameters(name = "emitterThread={0}")
+  public static Collection<Object[]> deliveryModes() {
+    return Arrays.asList(new Object[][] {{false}, {true}});
+  }
+
+  private final boolean useEmitterThread;
+  @Nullable private HandlerThread emitterThread;
+  private Looper deliveryLooper;
+
+  public ReactNativeFirebaseEventEmitterTest(boolean useEmitterThread) {
+    this.useEmitterThread = useEmitterThread;
+  }
+
   private HostApplication application;
   private ReactHost reactHost;
   private ReactContext staleContext;
@@ -119,7 +148,21 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(liveContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class))
         .thenReturn(liveJsEmitter);
 
-    resetSharedInstance();
+    if (useEmitterThread) {
+      emitterThread = new HandlerThread("RNFBEventEmitterTest");
+      emitterThread.start();
+      deliveryLooper = emitterThread.getLooper();
+    } else {
+      deliveryLooper = Looper.getMainLooper();
+    }
+    resetSharedInstance(deliveryLooper);
+  }
+
+  @After
+  public void tearDown() {
+    if (emitterThread != null) {
+      emitterThread.quit();
+    }
   }
 
   /**
@@ -132,17 +175,17 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
 
     emitter.notifyJsReady(true);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -160,22 +203,22 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(1, listenerCount(emitter, EVENT));
     assertTrue(jsReady(emitter));
 
     when(reactHost.getCurrentReactContext()).thenReturn(null);
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(
         "live jsListeners must survive late stale attach+detach when host current is null",
@@ -201,20 +244,20 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(staleContext, attachedContext(emitter));
     assertEquals(liveContext, pendingContext(emitter));
 
     emitter.notifyJsReady(true);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
@@ -222,7 +265,7 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     // Host still names dying generation; emit must not deliver into it.
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -240,17 +283,17 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
@@ -267,17 +310,17 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
@@ -285,7 +328,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     assertEquals(null, pendingContext(emitter));
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
   }
 
@@ -299,14 +342,14 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(0, listenerCount(emitter, EVENT));
@@ -324,16 +367,16 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     // Force live attach while host already names live (confirmed switch).
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
@@ -357,14 +400,14 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Confirmed switch via bridge host fallthrough.
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(0, listenerCount(emitter, EVENT));
@@ -382,16 +425,16 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -408,21 +451,21 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(staleContext, attachedContext(emitter));
     assertEquals(liveContext, pendingContext(emitter));
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(1, listenerCount(emitter, EVENT));
 
     // Dying generation resume / re-attach while host still names it.
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(
         "pending live replacement must survive dying same-context re-attach",
@@ -434,13 +477,13 @@ public class ReactNativeFirebaseEventEmitterTest {
     assertTrue(jsReady(emitter));
 
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
     assertTrue(jsReady(emitter));
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
   }
@@ -465,17 +508,17 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Attached generation registers before pending enters.
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(1, listenerCount(emitter, EVENT));
     assertTrue(jsReady(emitter));
 
     emitter.attachReactContext(doomedPending);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(doomedPending, pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
@@ -488,11 +531,11 @@ public class ReactNativeFirebaseEventEmitterTest {
     // Pending JS registers its own accounting (must be discarded on cancel, not kept).
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(1, listenerCount(emitter, EVENT));
 
     emitter.detachReactContext(doomedPending);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(null, pendingContext(emitter));
     assertEquals(null, hostLagContext(emitter));
@@ -504,7 +547,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     assertTrue("pending-only cancel must restore attached generation jsReady", jsReady(emitter));
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     verify(staleJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(doomedJsEmitter, never()).emit(anyString(), eq(eventBody));
   }
@@ -528,26 +571,26 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(doomedPending);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(0, listenerCount(emitter, EVENT));
     assertFalse(jsReady(emitter));
 
     // Queued during the wiped pending window (messaging-style / #8374-class).
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(1, queuedCount(emitter));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
     verify(doomedJsEmitter, never()).emit(anyString(), eq(eventBody));
 
     emitter.detachReactContext(doomedPending);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(0, queuedCount(emitter));
     verify(staleJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
@@ -567,22 +610,22 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(staleContext, attachedContext(emitter));
     assertEquals(liveContext, pendingContext(emitter));
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(1, listenerCount(emitter, EVENT));
     assertTrue(jsReady(emitter));
 
     // Same pending identity re-attach while host still lags (e.g. onHostResume).
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
@@ -596,13 +639,13 @@ public class ReactNativeFirebaseEventEmitterTest {
         jsReady(emitter));
 
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
     assertTrue(jsReady(emitter));
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
   }
@@ -625,20 +668,20 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(middlePending);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
 
     emitter.detachReactContext(middlePending);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
@@ -664,19 +707,19 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(middlePending);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(middlePending, pendingContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
 
     // Third overlapping generation while host still on dying attached.
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
@@ -689,20 +732,20 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Detach of superseded middle pending must not clear the newer pending.
     emitter.detachReactContext(middlePending);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(liveContext, pendingContext(emitter));
 
     emitter.detachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(liveContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(middleJsEmitter, never()).emit(anyString(), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -722,12 +765,12 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     // Candidate is neither host current (live) nor previous attached (stale).
     emitter.attachReactContext(thirdContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(staleContext, attachedContext(emitter));
     assertNull(pendingContext(emitter));
@@ -742,13 +785,13 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.detachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertNull(attachedContext(emitter));
     assertNull(pendingContext(emitter));
@@ -763,11 +806,11 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.addListener(EVENT);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(2, listenerCount(emitter, EVENT));
   }
@@ -778,12 +821,12 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.addListener(EVENT);
     emitter.addListener(EVENT);
     emitter.removeListener(EVENT, false);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(1, listenerCount(emitter, EVENT));
   }
@@ -794,11 +837,11 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.addListener(EVENT);
     emitter.removeListener(EVENT, false);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(0, listenerCount(emitter, EVENT));
   }
@@ -809,12 +852,12 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.addListener(EVENT);
     emitter.addListener(EVENT);
     emitter.removeListener(EVENT, true);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(0, listenerCount(emitter, EVENT));
   }
@@ -828,13 +871,13 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     setWeakRefField(emitter, "hostLagReactContext", staleContext);
     assertEquals(staleContext, hostLagContext(emitter));
 
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertNull(hostLagContext(emitter));
     assertNull(pendingContext(emitter));
@@ -850,16 +893,16 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
     verify(liveJsEmitter, never()).emit(anyString(), eq(eventBody));
 
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
   }
@@ -870,12 +913,12 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter, never()).emit(anyString(), eq(eventBody));
   }
@@ -889,18 +932,18 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     setWeakRefField(emitter, "attachedReactContext", null);
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
   }
@@ -914,10 +957,10 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     AtomicBoolean cleared = new AtomicBoolean(false);
     when(reactHost.getCurrentReactContext())
@@ -932,7 +975,7 @@ public class ReactNativeFirebaseEventEmitterTest {
             });
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter, never()).emit(anyString(), eq(eventBody));
   }
@@ -945,13 +988,13 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter, never()).emit(anyString(), eq(eventBody));
   }
@@ -966,13 +1009,13 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
   }
@@ -995,17 +1038,17 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(thirdContext);
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(thirdJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -1031,19 +1074,19 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(liveContext, pendingContext(emitter));
 
     when(reactHost.getCurrentReactContext()).thenReturn(thirdContext);
     emitter.detachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(null, pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
@@ -1051,7 +1094,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     assertTrue(jsReady(emitter));
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(staleJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(thirdJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -1076,30 +1119,30 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(thirdContext);
     emitter.detachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Host generation attaches for real — affinity must clear.
     emitter.attachReactContext(thirdContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(thirdContext, attachedContext(emitter));
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(thirdJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -1113,14 +1156,14 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     when(reactHost.getCurrentReactContext()).thenReturn(null);
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
   }
@@ -1134,7 +1177,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Enters pending and posts tryConverge; do not idle yet.
     emitter.attachReactContext(liveContext);
@@ -1144,7 +1187,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     emitter.detachReactContext(liveContext);
     assertNull(pendingContext(emitter));
 
-    ShadowLooper.idleMainLooper();
+    idle();
     assertEquals(staleContext, attachedContext(emitter));
   }
 
@@ -1157,14 +1200,14 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(liveContext);
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
 
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, attachedContext(emitter));
     assertNull(pendingContext(emitter));
@@ -1180,7 +1223,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     setWeakRefField(emitter, "pendingReactContext", liveContext);
     setWeakRefField(emitter, "hostLagReactContext", staleContext);
@@ -1319,9 +1362,9 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(staleContext, hostLagContext(emitter));
@@ -1329,7 +1372,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     // Host moved onto live, but re-attach of dying stale must not clear pending.
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
@@ -1345,9 +1388,9 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Promote pending to attached while leaving pending slot set (host catch-up path normally
     // clears; force the same-context re-attach compound pending == reactContext).
@@ -1357,7 +1400,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
 
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertNull(pendingContext(emitter));
     assertNull(hostLagContext(emitter));
@@ -1370,10 +1413,10 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.removeListener(EVENT, false);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(0, listenerCount(emitter, EVENT));
   }
@@ -1387,27 +1430,26 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     WritableMap otherBody = mock(WritableMap.class);
     emitter.sendEvent(event(EVENT, eventBody));
     emitter.sendEvent(event("auth_id_token_changed", otherBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(liveJsEmitter, never()).emit(eq("rnfb_auth_id_token_changed"), eq(otherBody));
 
-    Field queued = ReactNativeFirebaseEventEmitter.class.getDeclaredField("queuedEvents");
-    queued.setAccessible(true);
-    @SuppressWarnings("unchecked")
-    java.util.List<NativeEvent> remaining = (java.util.List<NativeEvent>) queued.get(emitter);
+    assertEquals(1, queuedCount(emitter));
+    List<NativeEvent> remaining = new ArrayList<>();
+    queue(emitter).drainInto(Collections.singleton("auth_id_token_changed"), remaining);
     assertEquals(1, remaining.size());
-    assertEquals("auth_id_token_changed", remaining.get(0).getEventName());
+    assertEquals(otherBody, remaining.get(0).getEventBody());
   }
 
   /**
@@ -1420,19 +1462,15 @@ public class ReactNativeFirebaseEventEmitterTest {
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter, never()).emit(anyString(), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
 
-    Field queued = ReactNativeFirebaseEventEmitter.class.getDeclaredField("queuedEvents");
-    queued.setAccessible(true);
-    @SuppressWarnings("unchecked")
-    java.util.List<NativeEvent> remaining = (java.util.List<NativeEvent>) queued.get(emitter);
-    assertEquals(1, remaining.size());
+    assertEquals(1, queuedCount(emitter));
   }
 
   /** With no pending and a null attached pointer, emit prefers the non-null host current. */
@@ -1441,10 +1479,10 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     // Clear attached after host can still resolve via FirebaseApp fallback + ReactHost.
     Context previous = ReactNativeFirebaseApp.getApplicationContext();
@@ -1454,7 +1492,7 @@ public class ReactNativeFirebaseEventEmitterTest {
       setWeakRefField(emitter, "pendingReactContext", null);
 
       emitter.sendEvent(event(EVENT, eventBody));
-      ShadowLooper.idleMainLooper();
+      idle();
 
       verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     } finally {
@@ -1471,16 +1509,16 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     setWeakRefField(emitter, "hostLagReactContext", staleContext);
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -1495,13 +1533,13 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     Field snapshot =
         ReactNativeFirebaseEventEmitter.class.getDeclaredField("attachedListenersSnapshot");
@@ -1509,7 +1547,7 @@ public class ReactNativeFirebaseEventEmitterTest {
     snapshot.set(emitter, null);
 
     emitter.detachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertNull(pendingContext(emitter));
     assertEquals(staleContext, attachedContext(emitter));
@@ -1531,22 +1569,22 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     emitter.attachReactContext(middlePending);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
     assertEquals(0, listenerCount(emitter, EVENT));
 
     emitter.detachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(staleContext, attachedContext(emitter));
     assertEquals(1, listenerCount(emitter, EVENT));
@@ -1559,15 +1597,15 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     setWeakRefField(emitter, "pendingReactContext", liveContext);
 
     emitter.detachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertNull(attachedContext(emitter));
     assertNull(pendingContext(emitter));
@@ -1583,9 +1621,9 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(staleContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     assertEquals(liveContext, pendingContext(emitter));
 
@@ -1609,16 +1647,16 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(staleContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     setWeakRefField(emitter, "hostLagReactContext", staleContext);
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
 
     emitter.sendEvent(event(EVENT, eventBody));
-    ShadowLooper.idleMainLooper();
+    idle();
 
     verify(liveJsEmitter).emit(eq("rnfb_" + EVENT), eq(eventBody));
     verify(staleJsEmitter, never()).emit(anyString(), eq(eventBody));
@@ -1661,10 +1699,10 @@ public class ReactNativeFirebaseEventEmitterTest {
     when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     Method accept =
         ReactNativeFirebaseEventEmitter.class.getDeclaredMethod(
@@ -1687,10 +1725,10 @@ public class ReactNativeFirebaseEventEmitterTest {
 
     ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
     emitter.attachReactContext(liveContext);
-    ShadowLooper.idleMainLooper();
+    idle();
     emitter.notifyJsReady(true);
     emitter.addListener(EVENT);
-    ShadowLooper.idleMainLooper();
+    idle();
 
     WritableMap writableMap = mock(WritableMap.class);
     WritableMap eventsMap = mock(WritableMap.class);
@@ -1703,6 +1741,8 @@ public class ReactNativeFirebaseEventEmitterTest {
 
       verify(writableMap).putInt("listeners", 1);
       verify(writableMap).putInt(eq("queued"), eq(0));
+      verify(writableMap).putInt("dropped", 0);
+      verify(writableMap).putInt("coalesced", 0);
       verify(writableMap).putBoolean("jsReady", true);
       verify(writableMap).putInt("attachedContextHash", System.identityHashCode(liveContext));
       verify(writableMap).putInt("currentContextHash", System.identityHashCode(liveContext));
@@ -1711,6 +1751,89 @@ public class ReactNativeFirebaseEventEmitterTest {
     }
   }
 
+  /**
+   * Batching mode coalesces every event raised before the next frame into one JS call carrying a
+   * flat [eventName, eventBody, ...] envelope.
+   */
+  @Test
+  public void batching_deliversEventsRaisedWithinFrameAsSingleEnvelope() throws Exception {
+    when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+    setBatchingEnabled(emitter, true);
+    emitter.attachReactContext(liveContext);
+    emitter.notifyJsReady(true);
+    emitter.addListener(EVENT);
+    idle();
+
+    WritableArray envelope = mock(WritableArray.class);
+    WritableMap otherBody = mock(WritableMap.class);
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createArray).thenReturn(envelope);
+
+      emitter.sendEvent(event(EVENT, eventBody));
+      emitter.sendEvent(event(EVENT, otherBody));
+      idleFrame();
+
+      arguments.verify(Arguments::createArray, times(1));
+    }
+
+    verify(envelope, times(2)).pushString(EVENT);
+    verify(envelope).pushMap(eventBody);
+    verify(envelope).pushMap(otherBody);
+    verify(liveJsEmitter)
+        .emit("rnfb_" + ReactNativeFirebaseEventEmitter.BATCH_EVENT_NAME, envelope);
+    verify(liveJsEmitter, never()).emit(eq("rnfb_" + EVENT), eq(eventBody));
+  }
+
+  /**
+   * Batched events without a JS listener go to the pending queue exactly as unbatched events do,
+   * and drain once a listener registers.
+   */
+  @Test
+  public void batching_queuesEventsWithoutListener_untilListenerRegisters() throws Exception {
+    when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+    setBatchingEnabled(emitter, true);
+    emitter.attachReactContext(liveContext);
+    emitter.notifyJsReady(true);
+    idle();
+
+    WritableArray envelope = mock(WritableArray.class);
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createArray).thenReturn(envelope);
+
+      emitter.sendEvent(event(EVENT, eventBody));
+      idleFrame();
+      assertEquals(1, queuedCount(emitter));
+      verify(liveJsEmitter, never()).emit(anyString(), eq(envelope));
+
+      emitter.addListener(EVENT);
+      idleFrame();
+    }
+
+    assertEquals(0, queuedCount(emitter));
+    verify(envelope).pushMap(eventBody);
+    verify(liveJsEmitter)
+        .emit("rnfb_" + ReactNativeFirebaseEventEmitter.BATCH_EVENT_NAME, envelope);
+  }
+
+  /** A batch that cannot be delivered (JS not ready) is re-queued rather than dropped. */
+  @Test
+  public void batching_requeuesBatch_whenJsNotReady() throws Exception {
+    when(reactHost.getCurrentReactContext()).thenReturn(liveContext);
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+    setBatchingEnabled(emitter, true);
+    emitter.attachReactContext(liveContext);
+    emitter.addListener(EVENT);
+    idle();
+
+    emitter.sendEvent(event(EVENT, eventBody));
+    idleFrame();
+
+    assertEquals(1, queuedCount(emitter));
+    verify(liveJsEmitter, never()).emit(anyString(), any());
+  }
+
   private static NativeEvent event(String name, WritableMap body) {
     return new NativeEvent() {
       @Override
@@ -1730,11 +1853,11 @@ public class ReactNativeFirebaseEventEmitterTest {
     };
   }
 
-  private static void resetSharedInstance() throws Exception {
+  private static void resetSharedInstance(Looper deliveryLooper) throws Exception {
     Constructor<ReactNativeFirebaseEventEmitter> ctor =
-        ReactNativeFirebaseEventEmitter.class.getDeclaredConstructor();
+        ReactNativeFirebaseEventEmitter.class.getDeclaredConstructor(Looper.class);
     ctor.setAccessible(true);
-    ReactNativeFirebaseEventEmitter fresh = ctor.newInstance();
+    ReactNativeFirebaseEventEmitter fresh = ctor.newInstance(deliveryLooper);
 
     Field shared = ReactNativeFirebaseEventEmitter.class.getDeclaredField("sharedInstance");
     shared.setAccessible(true);
@@ -1751,11 +1874,40 @@ public class ReactNativeFirebaseEventEmitterTest {
     return count == null ? 0 : count;
   }
 
-  @SuppressWarnings("unchecked")
   private static int queuedCount(ReactNativeFirebaseEventEmitter emitter) throws Exception {
+    return queue(emitter).size();
+  }
+
+  private static ReactNativeFirebaseEventQueue queue(ReactNativeFirebaseEventEmitter emitter)
+      throws Exception {
     Field field = ReactNativeFirebaseEventEmitter.class.getDeclaredField("queuedEvents");
     field.setAccessible(true);
-    return ((java.util.List<NativeEvent>) field.get(emitter)).size();
+    return (ReactNativeFirebaseEventQueue) field.get(emitter);
+  }
+
+  static void setBatchingEnabled(ReactNativeFirebaseEventEmitter emitter, boolean enabled)
+      throws Exception {
+    Field field = ReactNativeFirebaseEventEmitter.class.getDeclaredField("batchingEnabled");
+    field.setAccessible(true);
+    field.setBoolean(emitter, enabled);
+  }
+
+  /** Runs work posted to the main looper and to the emitter's delivery looper. */
+  private void idle() {
+    ShadowLooper.idleMainLooper();
+    if (deliveryLooper != Looper.getMainLooper()) {
+      shadowOf(deliveryLooper).idle();
+    }
+  }
+
+  /** Runs posted delivery work, then advances the clock far enough for a Choreographer frame. */
+  private void idleFrame() {
+    idle();
+    idleFrame(deliveryLooper);
+  }
+
+  static void idleFrame(Looper deliveryLooper) {
+    shadowOf(deliveryLooper).idleFor(Duration.ofMillis(16));
   }
 
   private static boolean jsReady(ReactNativeFirebaseEventEmitter emitter) throws Exception {
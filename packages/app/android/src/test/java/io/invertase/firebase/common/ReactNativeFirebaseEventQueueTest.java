@@ -0,0 +1,151 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.WritableMap;
+import io.invertase.firebase.interfaces.NativeEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+/** JVM coverage for {@link ReactNativeFirebaseEventQueue} ordering, caps and overflow policies. */
+public class ReactNativeFirebaseEventQueueTest {
+
+  @Test
+  public void drainInto_returnsOnlyRequestedNames_inArrivalOrder() {
+    ReactNativeFirebaseEventQueue queue = new ReactNativeFirebaseEventQueue(0, 0, "drop_oldest");
+    NativeEvent a1 = event("a", null);
+    NativeEvent b1 = event("b", null);
+    NativeEvent a2 = event("a", null);
+    queue.add(a1);
+    queue.add(b1);
+    queue.add(a2);
+
+    List<NativeEvent> drained = new ArrayList<>();
+    queue.drainInto(Collections.singleton("a"), drained);
+
+    assertEquals(Arrays.asList(a1, a2), drained);
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  public void add_dropsOldestOfSameName_whenPerEventCapReached() {
+    ReactNativeFirebaseEventQueue queue = new ReactNativeFirebaseEventQueue(2, 0, "drop_oldest");
+    NativeEvent first = event("a", null);
+    NativeEvent second = event("a", null);
+    NativeEvent third = event("a", null);
+    queue.add(first);
+    queue.add(second);
+    queue.add(third);
+
+    List<NativeEvent> drained = new ArrayList<>();
+    queue.drainInto(Collections.singleton("a"), drained);
+
+    assertEquals(Arrays.asList(second, third), drained);
+    assertEquals(1, queue.droppedCount());
+  }
+
+  @Test
+  public void add_dropsOldestOverall_whenTotalCapReachedByNewName() {
+    ReactNativeFirebaseEventQueue queue = new ReactNativeFirebaseEventQueue(0, 2, "drop_oldest");
+    NativeEvent a = event("a", null);
+    NativeEvent b = event("b", null);
+    NativeEvent c = event("c", null);
+    queue.add(a);
+    queue.add(b);
+    queue.add(c);
+
+    List<NativeEvent> drained = new ArrayList<>();
+    queue.drainInto(new HashSet<>(Arrays.asList("a", "b", "c")), drained);
+
+    assertEquals(Arrays.asList(b, c), drained);
+    assertEquals(1, queue.droppedCount());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void add_replacesQueuedEventWithSameKey_whenCoalescingOnOverflow() {
+    ReactNativeFirebaseEventQueue queue = new ReactNativeFirebaseEventQueue(2, 0, "coalesce");
+    NativeEvent listener1 = event("sync", "1");
+    NativeEvent listener2 = event("sync", "2");
+    NativeEvent listener1Newer = event("sync", "1");
+    queue.add(listener1);
+    queue.add(listener2);
+    queue.add(listener1Newer);
+
+    List<NativeEvent> drained = new ArrayList<>();
+    queue.drainInto(Collections.singleton("sync"), drained);
+
+    assertEquals(2, drained.size());
+    assertSame(listener1Newer, drained.get(0));
+    assertSame(listener2, drained.get(1));
+    assertEquals(1, queue.coalescedCount());
+    assertEquals(0, queue.droppedCount());
+  }
+
+  @Test
+  public void add_fallsBackToDropOldest_whenCoalescingKeyNotQueued() {
+    ReactNativeFirebaseEventQueue queue = new ReactNativeFirebaseEventQueue(1, 0, "coalesce");
+    NativeEvent listener1 = event("sync", "1");
+    NativeEvent listener2 = event("sync", "2");
+    queue.add(listener1);
+    queue.add(listener2);
+
+    // The evicted key must not be coalesced into afterwards.
+    NativeEvent listener1Again = event("sync", "1");
+    queue.add(listener1Again);
+
+    List<NativeEvent> drained = new ArrayList<>();
+    queue.drainInto(Collections.singleton("sync"), drained);
+
+    assertEquals(Collections.singletonList(listener1Again), drained);
+    assertEquals(2, queue.droppedCount());
+    assertEquals(0, queue.coalescedCount());
+  }
+
+  private static NativeEvent event(String name, @Nullable String coalescingKey) {
+    return new NativeEvent() {
+      @Override
+      public String getEventName() {
+        return name;
+      }
+
+      @Override
+      public WritableMap getEventBody() {
+        return null;
+      }
+
+      @Override
+      public String getFirebaseAppName() {
+        return "[DEFAULT]";
+      }
+
+      @Override
+      public String getCoalescingKey() {
+        return coalescingKey;
+      }
+    };
+  }
+}
@@ -0,0 +1,130 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Threads created and task throughput for listener executors at 1, 100 and 1000 live listeners:
+ * one single-thread executor per listener (the previous behaviour) versus serial lanes on {@link
+ * TaskExecutorPool}.
+ *
+ * <p>Timings are printed rather than asserted (CI wall time is noisy); the assertions pin the
+ * thread counts.
+ */
+public class TaskExecutorPoolBenchmarkTest {
+
+  private static final int POOL_SIZE = 4;
+  private static final int TASKS_PER_RUN = 100_000;
+
+  @Test
+  public void oneLane() throws Exception {
+    compare(1);
+  }
+
+  @Test
+  public void hundredLanes() throws Exception {
+    compare(100);
+  }
+
+  @Test
+  public void thousandLanes() throws Exception {
+    compare(1000);
+  }
+
+  private static void compare(int lanes) throws Exception {
+    AtomicInteger legacyThreadCount = new AtomicInteger();
+    ThreadFactory countingFactory =
+        runnable -> {
+          legacyThreadCount.incrementAndGet();
+          return new Thread(runnable);
+        };
+    List<ExecutorService> perListener = new ArrayList<>();
+    for (int i = 0; i < lanes; i++) {
+      perListener.add(Executors.newSingleThreadExecutor(countingFactory));
+    }
+    long legacyNanos = run(perListener);
+    int legacyThreads = legacyThreadCount.get();
+    shutdown(perListener);
+    report("thread-per-listener", lanes, legacyThreads, legacyNanos);
+
+    TaskExecutorPool pool = new TaskExecutorPool(POOL_SIZE, 3, POOL_SIZE - 1, 1024);
+    List<ExecutorService> serialLanes = new ArrayList<>();
+    for (int i = 0; i < lanes; i++) {
+      serialLanes.add(pool.newSerialLane("benchmark"));
+    }
+    long laneNanos = run(serialLanes);
+    int laneThreads = (int) pool.getStats().get("threads");
+    shutdown(serialLanes);
+    report("serial-lanes", lanes, laneThreads, laneNanos);
+
+    assertEquals(lanes, legacyThreads);
+    assertTrue(laneThreads <= POOL_SIZE);
+  }
+
+  /** Submits the same total work spread evenly across the executors, then waits for it. */
+  private static long run(List<ExecutorService> executors) throws InterruptedException {
+    int perExecutor = Math.max(1, TASKS_PER_RUN / executors.size());
+    CountDownLatch done = new CountDownLatch(perExecutor * executors.size());
+    long start = System.nanoTime();
+    for (int i = 0; i < perExecutor; i++) {
+      for (ExecutorService executor : executors) {
+        executor.execute(done::countDown);
+      }
+    }
+    assertTrue(done.await(60, TimeUnit.SECONDS));
+    return System.nanoTime() - start;
+  }
+
+  private static void shutdown(List<ExecutorService> executors) throws InterruptedException {
+    for (ExecutorService executor : executors) {
+      executor.shutdown();
+    }
+    for (ExecutorService executor : executors) {
+      assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+  }
+
+  private static void report(String mode, int lanes, int threads, long elapsedNanos) {
+    System.out.println(
+        "[RNFB_EXECUTOR benchmark] "
+            + mode
+            + " lanes="
+            + lanes
+            + ": "
+            + threads
+            + " threads, "
+            + (elapsedNanos / 1_000_000)
+            + "ms for "
+            + TASKS_PER_RUN
+            + " tasks ("
+            + (TASKS_PER_RUN * 1_000_000_000L / Math.max(1, elapsedNanos))
+            + " tasks/s)");
+  }
+}
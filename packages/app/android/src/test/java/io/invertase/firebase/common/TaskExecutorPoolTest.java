@@ -0,0 +1,252 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/** JVM coverage for {@link TaskExecutorPool} fair sharing, overflow and shutdown behaviour. */
+public class TaskExecutorPoolTest {
+  private static final Executor NO_OVERFLOW =
+      command -> {
+        throw new AssertionError("module queue overflowed");
+      };
+
+  @Test
+  public void busyModule_doesNotStarveOtherModule() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1024);
+    ExecutorService firestore = pool.newModuleExecutor("firestore", NO_OVERFLOW);
+    ExecutorService auth = pool.newModuleExecutor("auth", NO_OVERFLOW);
+    CountDownLatch release = new CountDownLatch(1);
+
+    for (int i = 0; i < 100; i++) {
+      firestore.execute(() -> await(release));
+    }
+    CountDownLatch authRan = new CountDownLatch(1);
+    auth.execute(authRan::countDown);
+
+    assertTrue(authRan.await(5, TimeUnit.SECONDS));
+    release.countDown();
+    firestore.shutdown();
+    assertTrue(firestore.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void module_neverExceedsItsConcurrency() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(4, 3, 2, 1024);
+    ExecutorService module = pool.newModuleExecutor("storage", NO_OVERFLOW);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    for (int i = 0; i < 50; i++) {
+      module.execute(
+          () -> {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            sleep(2);
+            running.decrementAndGet();
+          });
+    }
+    module.shutdown();
+
+    assertTrue(module.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(2, maxRunning.get());
+  }
+
+  @Test
+  public void fullQueue_handsTaskToOverflowAndCountsRejection() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1);
+    ExecutorService overflow = Executors.newSingleThreadExecutor();
+    ExecutorService module = pool.newModuleExecutor("database", overflow);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    module.execute(
+        () -> {
+          started.countDown();
+          await(release);
+        });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    module.execute(() -> {});
+
+    AtomicReference<Thread> ranOn = new AtomicReference<>();
+    CountDownLatch overflowed = new CountDownLatch(1);
+    module.execute(
+        () -> {
+          ranOn.set(Thread.currentThread());
+          overflowed.countDown();
+        });
+    // Runs while the module's worker is still busy, and never on the submitting thread.
+    assertTrue(overflowed.await(5, TimeUnit.SECONDS));
+    assertNotSame(Thread.currentThread(), ranOn.get());
+    assertSame(ranOn.get(), overflow.submit(Thread::currentThread).get(5, TimeUnit.SECONDS));
+
+    Map<String, Object> stats = moduleStats(pool, "database");
+    assertEquals(3L, stats.get("submitted"));
+    assertEquals(1L, stats.get("rejected"));
+    assertEquals(1, stats.get("queued"));
+
+    release.countDown();
+    module.shutdown();
+    assertTrue(module.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(3L, moduleStats(pool, "database").get("completed"));
+    overflow.shutdown();
+  }
+
+  @Test
+  public void helperExecutor_rejectsWhenQueueIsFull() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1);
+    ExecutorService helpers = pool.newHelperExecutor("firestore");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    helpers.execute(
+        () -> {
+          started.countDown();
+          await(release);
+        });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    helpers.execute(() -> {});
+
+    try {
+      helpers.execute(() -> {});
+      throw new AssertionError("expected the full queue to reject the helper");
+    } catch (RejectedExecutionException expected) {
+      // The submitting task does the work itself.
+    }
+    assertEquals(1L, moduleStats(pool, "firestore:helpers").get("rejected"));
+
+    release.countDown();
+    helpers.shutdown();
+    assertTrue(helpers.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(2L, moduleStats(pool, "firestore:helpers").get("completed"));
+  }
+
+  @Test
+  public void shutdownNow_returnsQueuedTasksAndRejectsNewOnes() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1024);
+    ExecutorService module = pool.newModuleExecutor("functions", NO_OVERFLOW);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    module.execute(
+        () -> {
+          started.countDown();
+          await(release);
+        });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Runnable queued = () -> {};
+    module.execute(queued);
+
+    List<Runnable> dropped = module.shutdownNow();
+
+    assertEquals(1, dropped.size());
+    assertSame(queued, dropped.get(0));
+    try {
+      module.execute(() -> {});
+      throw new AssertionError("expected RejectedExecutionException");
+    } catch (RejectedExecutionException expected) {
+      // expected
+    }
+    release.countDown();
+    assertTrue(module.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void stats_surviveExecutorRecreation() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1024);
+    ExecutorService first = pool.newModuleExecutor("crashlytics", NO_OVERFLOW);
+    first.submit(() -> {}).get(5, TimeUnit.SECONDS);
+    first.shutdownNow();
+
+    ExecutorService second = pool.newModuleExecutor("crashlytics", NO_OVERFLOW);
+    second.submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+    assertEquals(2L, moduleStats(pool, "crashlytics").get("submitted"));
+  }
+
+  @Test
+  public void serialLanes_keepPerLaneOrderWhileSharingWorkers() throws Exception {
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1);
+    List<ExecutorService> lanes = new ArrayList<>();
+    List<List<Integer>> seen = new ArrayList<>();
+    for (int lane = 0; lane < 10; lane++) {
+      lanes.add(pool.newSerialLane("firestore"));
+      seen.add(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    // Well past the module queue capacity: lanes must queue rather than run on the caller.
+    for (int i = 0; i < 200; i++) {
+      for (int lane = 0; lane < lanes.size(); lane++) {
+        int value = i;
+        List<Integer> out = seen.get(lane);
+        lanes.get(lane).execute(() -> out.add(value));
+      }
+    }
+    for (ExecutorService lane : lanes) {
+      lane.shutdown();
+      assertTrue(lane.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    for (List<Integer> out : seen) {
+      assertEquals(200, out.size());
+      for (int i = 0; i < out.size(); i++) {
+        assertEquals(i, (int) out.get(i));
+      }
+    }
+    assertEquals(0L, moduleStats(pool, "firestore:lanes").get("rejected"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> moduleStats(TaskExecutorPool pool, String moduleName) {
+    Map<String, Object> modules = (Map<String, Object>) pool.getStats().get("modules");
+    return (Map<String, Object>) modules.get(moduleName);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/** JVM coverage for {@link UniversalFirebaseMetrics} histograms and executor instrumentation. */
+public class UniversalFirebaseMetricsTest {
+
+  @Test
+  public void disabled_recordsNothing() {
+    UniversalFirebaseMetrics metrics = new UniversalFirebaseMetrics(false);
+    metrics.record("firestore", "get", UniversalFirebaseMetrics.RUN_TIME, 10);
+
+    Map<String, Object> all = metrics.getAll(false);
+    assertEquals(false, all.get("enabled"));
+    assertTrue(((Map<?, ?>) all.get("modules")).isEmpty());
+  }
+
+  @Test
+  public void histogram_percentilesAreBucketBoundsCappedAtMax() {
+    UniversalFirebaseMetrics.Histogram histogram = new UniversalFirebaseMetrics.Histogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    UniversalFirebaseMetrics.Snapshot snapshot = histogram.snapshot();
+    assertEquals(100, snapshot.count);
+    assertEquals(100, snapshot.max);
+    // 50 falls in [32, 63]; 90 and 99 fall in [64, 127], capped at the observed max.
+    assertEquals(63, snapshot.percentile(0.5));
+    assertEquals(100, snapshot.percentile(0.9));
+    assertEquals(100, snapshot.percentile(0.99));
+  }
+
+  @Test
+  public void getAll_resetClearsCounts() {
+    UniversalFirebaseMetrics metrics = new UniversalFirebaseMetrics(true);
+    metrics.record("auth", "signIn", UniversalFirebaseMetrics.RUN_TIME, 250);
+
+    assertEquals(1L, summary(metrics.getAll(true), "auth", "signIn").get("count"));
+    assertTrue(methods(metrics.getAll(false), "auth").get("signIn").isEmpty());
+  }
+
+  @Test
+  public void getAll_resetDoesNotClearThePerformanceWindow() {
+    UniversalFirebaseMetrics metrics = new UniversalFirebaseMetrics(true);
+    metrics.record("auth", "signIn", UniversalFirebaseMetrics.RUN_TIME, 250);
+    metrics.getAll(true);
+    metrics.record("auth", "signIn", UniversalFirebaseMetrics.RUN_TIME, 250);
+
+    assertEquals(1L, summary(metrics.getAll(false), "auth", "signIn").get("count"));
+    Map<String, UniversalFirebaseMetrics.Snapshot> window =
+        metrics.getMethodMetrics("auth", "signIn").drainPerformanceWindow();
+    assertEquals(2L, window.get(UniversalFirebaseMetrics.RUN_TIME).count);
+    assertEquals(1L, summary(metrics.getAll(false), "auth", "signIn").get("count"));
+  }
+
+  @Test
+  public void moduleExecutor_recordsQueueWaitAndRunTime() throws Exception {
+    UniversalFirebaseMetrics metrics = new UniversalFirebaseMetrics(true);
+    TaskExecutorPool pool = new TaskExecutorPool(2, 3, 1, 1024, metrics);
+    ExecutorService module = pool.newModuleExecutor("storage", Runnable::run);
+    module.execute(() -> {});
+    module.shutdown();
+    assertTrue(module.awaitTermination(5, TimeUnit.SECONDS));
+
+    // Labelled by the first caller frame outside this package; the test runner here.
+    Map<String, Map<String, Object>> methods = methods(metrics.getAll(false), "storage");
+    assertEquals(1, methods.size());
+    Map<String, Object> histograms = methods.values().iterator().next();
+    assertTrue(histograms.containsKey(UniversalFirebaseMetrics.QUEUE_WAIT));
+    assertTrue(histograms.containsKey(UniversalFirebaseMetrics.RUN_TIME));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Map<String, Object>> methods(Map<String, Object> all, String module) {
+    Map<String, Object> modules = (Map<String, Object>) all.get("modules");
+    return (Map<String, Map<String, Object>>) modules.get(module);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> summary(
+      Map<String, Object> all, String module, String method) {
+    return (Map<String, Object>)
+        methods(all, module).get(method).get(UniversalFirebaseMetrics.RUN_TIME);
+  }
+}
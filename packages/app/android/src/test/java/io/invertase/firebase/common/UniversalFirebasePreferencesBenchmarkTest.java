@@ -0,0 +1,136 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.Test;
+
+/**
+ * Disk writes (each a full file rewrite and fsync on device) per stored message, for the stored
+ * notification bookkeeping done by the messaging module: one write per edit (the previous
+ * behaviour), one batch per message written immediately, and one batch per message behind a
+ * write-behind window longer than the burst.
+ *
+ * <p>Timings are printed rather than asserted; the assertions pin the write counts.
+ */
+public class UniversalFirebasePreferencesBenchmarkTest {
+
+  private static final String IDS_KEY = "all_notification_ids";
+  private static final int LIMIT = 100;
+  private static final int MESSAGES = 1_000;
+
+  @Test
+  public void writesPerStoredMessage_perEdit() {
+    FakeSharedPreferences disk = new FakeSharedPreferences();
+    UniversalFirebasePreferences preferences = new UniversalFirebasePreferences(disk, 0, null);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < MESSAGES; i++) {
+      storePerEdit(preferences, "message" + i);
+    }
+    report("per-edit", disk.writes(), System.nanoTime() - start);
+
+    // Message and id list, plus the removal and id list rewrite for each eviction.
+    assertEquals(2 * MESSAGES + 2 * (MESSAGES - LIMIT), disk.writes());
+  }
+
+  @Test
+  public void writesPerStoredMessage_batched() {
+    FakeSharedPreferences disk = new FakeSharedPreferences();
+    UniversalFirebasePreferences preferences = new UniversalFirebasePreferences(disk, 0, null);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < MESSAGES; i++) {
+      storeBatched(preferences, "message" + i);
+    }
+    report("batched", disk.writes(), System.nanoTime() - start);
+
+    assertEquals(MESSAGES, disk.writes());
+  }
+
+  @Test
+  public void writesPerStoredMessage_writeBehind() {
+    FakeSharedPreferences disk = new FakeSharedPreferences();
+    ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor();
+    UniversalFirebasePreferences preferences =
+        new UniversalFirebasePreferences(disk, 60_000, flushExecutor);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < MESSAGES; i++) {
+      storeBatched(preferences, "message" + i);
+    }
+    preferences.flush();
+    report("write-behind", disk.writes(), System.nanoTime() - start);
+    flushExecutor.shutdownNow();
+
+    // The whole burst lands in one window, so flush() commits it in one write.
+    assertEquals(1, disk.writes());
+    assertEquals(LIMIT, preferences.getStringValue(IDS_KEY, "").split(",").length);
+  }
+
+  /** The bookkeeping of the messaging store before batching: one write per edit. */
+  @SuppressWarnings("deprecation")
+  private static void storePerEdit(UniversalFirebasePreferences preferences, String messageId) {
+    List<String> ids = ids(preferences);
+    while (ids.size() > LIMIT - 1) {
+      String evicted = ids.remove(0);
+      preferences.remove(evicted).apply();
+      preferences.setStringValue(
+          IDS_KEY, preferences.getStringValue(IDS_KEY, "").replace(evicted + ",", ""));
+    }
+    preferences.setStringValue(messageId, "{}");
+    preferences.setStringValue(IDS_KEY, preferences.getStringValue(IDS_KEY, "") + messageId + ",");
+  }
+
+  private static void storeBatched(UniversalFirebasePreferences preferences, String messageId) {
+    UniversalFirebasePreferences.Batch batch = preferences.batch();
+    String notificationIds = preferences.getStringValue(IDS_KEY, "");
+    List<String> ids = ids(preferences);
+    while (ids.size() > LIMIT - 1) {
+      String evicted = ids.remove(0);
+      batch.remove(evicted);
+      notificationIds = notificationIds.replace(evicted + ",", "");
+    }
+    batch.putString(messageId, "{}").putString(IDS_KEY, notificationIds + messageId + ",").commit();
+  }
+
+  private static List<String> ids(UniversalFirebasePreferences preferences) {
+    return new ArrayList<>(Arrays.asList(preferences.getStringValue(IDS_KEY, "").split(",")));
+  }
+
+  private static void report(String mode, int writes, long elapsedNanos) {
+    System.out.println(
+        "[RNFB_PREFERENCES benchmark] "
+            + mode
+            + ": "
+            + writes
+            + " disk writes for "
+            + MESSAGES
+            + " stored messages ("
+            + String.format("%.3f", writes / (double) MESSAGES)
+            + " per message), "
+            + (elapsedNanos / 1_000_000)
+            + "ms");
+  }
+}
@@ -0,0 +1,186 @@
+package io.invertase.firebase.common;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** JVM coverage for the {@link UniversalFirebasePreferences} write-behind window. */
+public class UniversalFirebasePreferencesTest {
+
+  private FakeSharedPreferences disk;
+  private ScheduledExecutorService flushExecutor;
+
+  @Before
+  public void setUp() {
+    disk = new FakeSharedPreferences();
+    flushExecutor = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    flushExecutor.shutdownNow();
+  }
+
+  @Test
+  public void committedEdits_areReadableBeforeTheyAreWritten() {
+    UniversalFirebasePreferences preferences = windowed(60_000);
+
+    preferences
+        .batch()
+        .putString("string", "value")
+        .putBoolean("boolean", true)
+        .putInt("int", 1)
+        .putLong("long", 2L)
+        .commit();
+
+    assertEquals("value", preferences.getStringValue("string", null));
+    assertTrue(preferences.getBooleanValue("boolean", false));
+    assertEquals(1, preferences.getIntValue("int", 0));
+    assertEquals(2L, preferences.getLongValue("long", 0L));
+    assertTrue(preferences.contains("string"));
+    assertEquals(0, disk.writes());
+  }
+
+  @Test
+  public void uncommittedBatch_isNotVisible() {
+    UniversalFirebasePreferences preferences = windowed(60_000);
+
+    preferences.batch().putString("key", "value");
+
+    assertNull(preferences.getStringValue("key", null));
+    assertFalse(preferences.contains("key"));
+  }
+
+  @Test
+  public void pendingRemoveAndClear_hideWrittenValues() {
+    disk.edit().putString("removed", "old").putString("cleared", "old").commit();
+    UniversalFirebasePreferences preferences = windowed(60_000);
+
+    preferences.batch().remove("removed").commit();
+    assertNull(preferences.getStringValue("removed", null));
+    assertEquals("old", preferences.getStringValue("cleared", null));
+
+    preferences.batch().clear().putString("kept", "new").commit();
+    assertNull(preferences.getStringValue("cleared", null));
+    assertFalse(preferences.contains("cleared"));
+    assertEquals("new", preferences.getStringValue("kept", null));
+
+    preferences.flush();
+    assertFalse(disk.contains("removed"));
+    assertFalse(disk.contains("cleared"));
+    assertEquals("new", disk.getString("kept", null));
+  }
+
+  @Test
+  public void getValue_readsPendingAndWrittenValuesOfEachType() {
+    disk.edit().putString("string", "old").putInt("int", 1).putLong("long", 2L).commit();
+    UniversalFirebasePreferences preferences = windowed(60_000);
+
+    preferences.batch().putBoolean("boolean", true).remove("string").commit();
+
+    assertEquals(true, preferences.getValue("boolean"));
+    assertEquals(1, preferences.getValue("int"));
+    assertEquals(2L, preferences.getValue("long"));
+    assertNull(preferences.getValue("string"));
+    assertNull(preferences.getValue("missing"));
+  }
+
+  @Test
+  public void committedBatch_notifiesListenersBeforeItIsWritten() {
+    UniversalFirebasePreferences preferences = windowed(60_000);
+    List<String> changed = new ArrayList<>();
+    preferences.registerOnChangeListener((sharedPreferences, key) -> changed.add(key));
+
+    preferences.batch().putInt("int", 1).commit();
+    preferences.batch().clear().commit();
+
+    assertEquals(Arrays.asList("int", null), changed);
+    assertEquals(0, disk.writes());
+  }
+
+  @Test
+  public void editsWithinWindow_areWrittenOnce() throws Exception {
+    UniversalFirebasePreferences preferences = windowed(50);
+
+    for (int i = 0; i < 100; i++) {
+      preferences.setIntValue("counter", i);
+      preferences.setStringValue("key" + i, "value");
+    }
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (disk.writes() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(1, disk.applies.get());
+    assertEquals(99, disk.getInt("counter", -1));
+    assertEquals("value", disk.getString("key99", null));
+  }
+
+  @Test
+  public void zeroWindow_writesEachCommit() {
+    UniversalFirebasePreferences preferences =
+        new UniversalFirebasePreferences(disk, 0, flushExecutor);
+
+    preferences.setStringValue("a", "1");
+    preferences.batch().putString("b", "2").putString("c", "3").commit();
+
+    assertEquals(2, disk.applies.get());
+    assertEquals("3", disk.getString("c", null));
+  }
+
+  @Test
+  public void flush_commitsPendingEditsSynchronously() {
+    UniversalFirebasePreferences preferences = windowed(60_000);
+    preferences.setStringValue("key", "value");
+
+    preferences.flush();
+
+    assertEquals(1, disk.commits.get());
+    assertEquals(0, disk.applies.get());
+    assertEquals("value", disk.getString("key", null));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void remove_writesPendingEditsBeforeReturningEditor() {
+    UniversalFirebasePreferences preferences = windowed(60_000);
+    preferences.setStringValue("key", "value");
+
+    preferences.remove("key").apply();
+
+    assertFalse(disk.contains("key"));
+    assertNull(preferences.getStringValue("key", null));
+  }
+
+  private UniversalFirebasePreferences windowed(long windowMs) {
+    return new UniversalFirebasePreferences(disk, windowMs, flushExecutor);
+  }
+}
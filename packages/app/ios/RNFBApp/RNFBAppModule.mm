@@ -152,6 +152,24 @@ RCT_EXPORT_MODULE(NativeRNFBTurboApp)
   resolve([NSNull null]);
 }
 
+#pragma mark -
+#pragma mark Executor Methods
+
+- (void)executorGetStats:(RCTPromiseResolveBlock)resolve reject:(RCTPromiseRejectBlock)reject {
+  // iOS modules dispatch onto GCD queues; there is no shared task executor to report on.
+  resolve(@{});
+}
+
+#pragma mark -
+#pragma mark Metrics Methods
+
+- (void)metricsGetAll:(BOOL)reset
+              resolve:(RCTPromiseResolveBlock)resolve
+               reject:(RCTPromiseRejectBlock)reject {
+  // Native metrics are only collected on Android.
+  resolve(@{@"enabled" : @NO, @"modules" : @{}});
+}
+
 #pragma mark -
 #pragma mark Event Methods
 
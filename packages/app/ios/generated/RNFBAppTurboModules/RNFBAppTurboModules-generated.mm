@@ -90,6 +90,14 @@ namespace facebook::react {
       return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "preferencesClearAll", @selector(preferencesClearAll:reject:), args, count);
     }
 
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_executorGetStats(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "executorGetStats", @selector(executorGetStats:reject:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_metricsGetAll(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "metricsGetAll", @selector(metricsGetAll:resolve:reject:), args, count);
+    }
+
     static facebook::jsi::Value __hostFunction_NativeRNFBTurboAppSpecJSI_setLogLevel(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
       return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "setLogLevel", @selector(setLogLevel:), args, count);
     }
@@ -149,6 +157,12 @@ namespace facebook::react {
         methodMap_["preferencesClearAll"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboAppSpecJSI_preferencesClearAll};
         
         
+        methodMap_["executorGetStats"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboAppSpecJSI_executorGetStats};
+        
+        
+        methodMap_["metricsGetAll"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboAppSpecJSI_metricsGetAll};
+        
+        
         methodMap_["setLogLevel"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboAppSpecJSI_setLogLevel};
         
         
@@ -204,6 +204,11 @@ namespace JS {
                    reject:(RCTPromiseRejectBlock)reject;
 - (void)preferencesClearAll:(RCTPromiseResolveBlock)resolve
                      reject:(RCTPromiseRejectBlock)reject;
+- (void)executorGetStats:(RCTPromiseResolveBlock)resolve
+                  reject:(RCTPromiseRejectBlock)reject;
+- (void)metricsGetAll:(BOOL)reset
+              resolve:(RCTPromiseResolveBlock)resolve
+               reject:(RCTPromiseRejectBlock)reject;
 - (void)setLogLevel:(NSString *)logLevel;
 - (facebook::react::ModuleConstants<JS::NativeRNFBTurboApp::Constants>)constantsToExport;
 - (facebook::react::ModuleConstants<JS::NativeRNFBTurboApp::Constants>)getConstants;
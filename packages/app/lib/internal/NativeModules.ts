@@ -57,6 +57,8 @@ export interface RNFBAppModuleInterface {
   preferencesGetAll(): Promise<{ [key: string]: string | boolean }>;
   preferencesSetBool(key: string, value: boolean): Promise<void>;
   preferencesSetString(key: string, value: string): Promise<void>;
+  executorGetStats(): Promise<ReactNativeFirebase.TaskExecutorStats | Record<string, never>>;
+  metricsGetAll(reset: boolean): Promise<ReactNativeFirebase.NativeMetrics>;
   setAutomaticDataCollectionEnabled(name: string, enabled: boolean): void;
 
   // Event emitter methods
@@ -15,11 +15,17 @@
  *
  */
 
-import { type EmitterSubscription, NativeEventEmitter } from 'react-native';
+import { DeviceEventEmitter, type EmitterSubscription, NativeEventEmitter } from 'react-native';
 import { APP_NATIVE_MODULE } from './constants';
 import { getReactNativeModule } from './nativeModule';
 import type { RNFBAppModuleInterface } from './NativeModules';
 
+/**
+ * Android `android_event_emitter_batching_enabled` delivers every event raised within one frame as a
+ * single flat `[eventName, eventBody, eventName, eventBody, ...]` envelope on this event type.
+ */
+const BATCH_EVENT_TYPE = 'rnfb_events_batch';
+
 /**
  * Type for the eventsNotifyReady native method
  */
@@ -61,6 +67,12 @@ class RNFBNativeEventEmitter extends NativeEventEmitter {
       APP_NATIVE_MODULE,
     ) as unknown as RNFBAppModuleInterface;
     if (!this.ready) {
+      super.addListener(BATCH_EVENT_TYPE, (...args: unknown[]) => {
+        const batch = args[0] as unknown[];
+        for (let i = 0; i < batch.length; i += 2) {
+          DeviceEventEmitter.emit(`rnfb_${batch[i]}`, batch[i + 1]);
+        }
+      });
       (RNFBAppModule.eventsNotifyReady as EventsNotifyReadyMethod)(true);
       this.ready = true;
     }
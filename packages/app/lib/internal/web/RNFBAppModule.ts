@@ -228,6 +228,26 @@ export default {
     fakePreferencesStorage = {};
   },
 
+  /**
+   * Gets the native task executor statistics.
+   * Unsupported on web.
+   *
+   * @returns The executor statistics.
+   */
+  executorGetStats(): Record<string, never> {
+    return {};
+  },
+
+  /**
+   * Gets the native metrics.
+   * Unsupported on web.
+   *
+   * @returns The native metrics, always disabled.
+   */
+  metricsGetAll(): ReactNativeFirebase.NativeMetrics {
+    return { enabled: false, modules: {} };
+  },
+
   /**
    * Adds a listener for an event.
    * Unsupported on web.
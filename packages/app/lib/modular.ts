@@ -170,6 +170,34 @@ export function preferencesSetString(key: string, value: string): Promise<void>
   return getAppModule().preferencesSetString(key, value);
 }
 
+/**
+ * Gets statistics for the shared native task executor used by every module on Android: the pool
+ * configuration and, per native module, how many tasks were submitted, completed, rejected (run on
+ * the calling thread because the module queue was full), are queued or active, and how long tasks
+ * waited in the queue.
+ *
+ * Resolves an empty object on iOS and web, and on Android before any module has used the executor.
+ * @returns executor statistics
+ */
+export function executorGetStats(): Promise<
+  ReactNativeFirebase.TaskExecutorStats | Record<string, never>
+> {
+  return getAppModule().executorGetStats();
+}
+
+/**
+ * Gets native metrics for executor work and events sent to JavaScript, per module and method:
+ * queue wait and run time of executor tasks, and latency and payload size of emitted events.
+ *
+ * Metrics are opt-in and Android only; enable them with `android_metrics_enabled` in
+ * `firebase.json`. Otherwise resolves with `enabled: false` and no modules.
+ * @param reset whether later reads should only cover the metrics recorded after this one
+ * @returns the recorded metrics
+ */
+export function metricsGetAll(reset: boolean = false): Promise<ReactNativeFirebase.NativeMetrics> {
+  return getAppModule().metricsGetAll(reset);
+}
+
 export const SDK_VERSION: string = sdkVersion;
 
 /**
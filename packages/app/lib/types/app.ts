@@ -54,6 +54,134 @@ export namespace ReactNativeFirebase {
 
   export type LogLevelString = 'debug' | 'verbose' | 'info' | 'warn' | 'error' | 'silent';
 
+  /**
+   * Android only - counters for one native module's use of the shared task executor.
+   */
+  export interface TaskExecutorModuleStats {
+    /**
+     * Tasks handed to the module's executor.
+     */
+    submitted: number;
+
+    /**
+     * Tasks that finished running, including rejected tasks.
+     */
+    completed: number;
+
+    /**
+     * Tasks submitted while the module's queue was full. These run on the submitting thread.
+     */
+    rejected: number;
+
+    /**
+     * Tasks currently waiting for a worker thread.
+     */
+    queued: number;
+
+    /**
+     * Tasks currently running.
+     */
+    active: number;
+
+    /**
+     * Mean time, in milliseconds, a task waited in the queue before it started.
+     */
+    queueWaitAvgMs: number;
+
+    /**
+     * Longest time, in milliseconds, a task waited in the queue before it started.
+     */
+    queueWaitMaxMs: number;
+  }
+
+  /**
+   * Android only - configuration and usage of the shared native task executor.
+   */
+  export interface TaskExecutorStats {
+    /**
+     * Maximum number of worker threads shared by all modules.
+     */
+    poolSize: number;
+
+    /**
+     * Maximum number of worker threads a single module may occupy at once.
+     */
+    moduleConcurrency: number;
+
+    /**
+     * Maximum number of queued tasks per module.
+     */
+    queueCapacity: number;
+
+    /**
+     * Worker threads currently running a task.
+     */
+    activeThreads: number;
+
+    /**
+     * Worker threads currently alive.
+     */
+    threads: number;
+
+    /**
+     * Counters keyed by native module name.
+     */
+    modules: { [moduleName: string]: TaskExecutorModuleStats };
+  }
+
+  /**
+   * Android only - summary of one native metrics histogram. Percentiles are approximate (bucket
+   * upper bounds, within a factor of two).
+   */
+  export interface NativeMetricsSummary {
+    count: number;
+    mean: number;
+    p50: number;
+    p90: number;
+    p99: number;
+    max: number;
+  }
+
+  /**
+   * Android only - histograms recorded for one native module method or event.
+   */
+  export interface NativeMethodMetrics {
+    /**
+     * Time, in microseconds, executor tasks waited before running.
+     */
+    queueWaitUs?: NativeMetricsSummary;
+
+    /**
+     * Time, in microseconds, executor tasks took to run.
+     */
+    runTimeUs?: NativeMetricsSummary;
+
+    /**
+     * Number of values in emitted event bodies, counting each map and array as one.
+     */
+    payloadNodes?: NativeMetricsSummary;
+
+    /**
+     * Time, in microseconds, from an event being raised natively to it being sent to JavaScript.
+     */
+    emitLatencyUs?: NativeMetricsSummary;
+  }
+
+  /**
+   * Native metrics, opt-in with `android_metrics_enabled` in `firebase.json`.
+   */
+  export interface NativeMetrics {
+    /**
+     * Whether native metrics are being recorded.
+     */
+    enabled: boolean;
+
+    /**
+     * Metrics keyed by module, then by method (executor tasks) or event name (emitted events).
+     */
+    modules: { [moduleName: string]: { [method: string]: NativeMethodMetrics } };
+  }
+
   export interface FirebaseAppOptions {
     /**
      * The Google App ID that is used to uniquely identify an instance of an app.
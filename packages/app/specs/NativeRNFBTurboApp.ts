@@ -51,6 +51,9 @@ export interface Spec extends TurboModule {
   preferencesGetAll(): Promise<Object>;
   preferencesClearAll(): Promise<Object | null>;
 
+  executorGetStats(): Promise<Object>;
+  metricsGetAll(reset: boolean): Promise<Object>;
+
   setLogLevel(logLevel: string): void;
 }
 
@@ -1,4 +1,4 @@
-import { describe, expect, it } from '@jest/globals';
+import { describe, expect, it, jest } from '@jest/globals';
 
 import {
   getCrashlytics,
@@ -14,6 +14,7 @@ import {
   setAttributes,
   setCrashlyticsCollectionEnabled,
 } from '../lib';
+import type { CrashlyticsInternal } from '../lib/types/internal';
 
 describe('Crashlytics', function () {
   describe('modular', function () {
@@ -65,4 +66,73 @@ describe('Crashlytics', function () {
       expect(setCrashlyticsCollectionEnabled).toBeDefined();
     });
   });
+
+  describe('bridge batching', function () {
+    function mockNative() {
+      return {
+        logBatch: jest.fn(),
+        setAttributes: jest.fn(() => Promise.resolve(null)),
+        crash: jest.fn(),
+      };
+    }
+
+    function crashlyticsWith(native: ReturnType<typeof mockNative>) {
+      const crashlytics = getCrashlytics() as CrashlyticsInternal & {
+        _nativeModule: typeof native;
+      };
+      crashlytics._nativeModule = native;
+      return crashlytics;
+    }
+
+    it('sends logs from the same task in one logBatch call', async function () {
+      const native = mockNative();
+      const crashlytics = crashlyticsWith(native);
+
+      log(crashlytics, 'first');
+      log(crashlytics, 'second');
+      expect(native.logBatch).not.toHaveBeenCalled();
+
+      await Promise.resolve();
+
+      expect(native.logBatch).toHaveBeenCalledTimes(1);
+      expect(native.logBatch).toHaveBeenCalledWith(['first', 'second']);
+    });
+
+    it('merges attributes from the same task into one setAttributes call', async function () {
+      const native = mockNative();
+      const crashlytics = crashlyticsWith(native);
+
+      const first = setAttribute(crashlytics, 'a', '1');
+      const second = setAttributes(crashlytics, { a: '2', b: '3' });
+
+      await expect(Promise.all([first, second])).resolves.toEqual([null, null]);
+      expect(native.setAttributes).toHaveBeenCalledTimes(1);
+      expect(native.setAttributes).toHaveBeenCalledWith({ a: '2', b: '3' });
+    });
+
+    it('flushes pending logs when the app leaves the foreground', function () {
+      const native = mockNative();
+      const crashlytics = crashlyticsWith(native) as ReturnType<typeof crashlyticsWith> & {
+        _onAppStateChange(state: string): void;
+      };
+
+      log(crashlytics, 'breadcrumb');
+      crashlytics._onAppStateChange('background');
+
+      expect(native.logBatch).toHaveBeenCalledWith(['breadcrumb']);
+    });
+
+    it('flushes pending logs before crashing', function () {
+      const native = mockNative();
+      const crashlytics = crashlyticsWith(native);
+
+      log(crashlytics, 'breadcrumb');
+      crash(crashlytics);
+
+      expect(native.logBatch).toHaveBeenCalledWith(['breadcrumb']);
+      expect(native.logBatch.mock.invocationCallOrder[0]).toBeLessThan(
+        native.crash.mock.invocationCallOrder[0] as number,
+      );
+    });
+  });
 });
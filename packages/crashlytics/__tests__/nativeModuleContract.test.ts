@@ -9,6 +9,7 @@ const SPEC_METHODS = [
   'didCrashOnPreviousExecution',
   'log',
   'logPromise',
+  'logBatch',
   'sendUnsentReports',
   'setAttribute',
   'setAttributes',
@@ -87,6 +88,9 @@ describe('TurboModule wrapper contract (NewArch-AD-17.1)', function () {
         logPromise: wrapped => {
           wrapped.logPromise('message');
         },
+        logBatch: wrapped => {
+          wrapped.logBatch(['message']);
+        },
         recordError: wrapped => {
           wrapped.recordError(ERROR_FIXTURE);
         },
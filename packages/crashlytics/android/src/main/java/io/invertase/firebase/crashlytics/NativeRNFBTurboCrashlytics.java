@@ -136,6 +136,16 @@ public class NativeRNFBTurboCrashlytics extends NativeRNFBTurboCrashlyticsSpec {
     promise.resolve(null);
   }
 
+  @Override
+  public void logBatch(ReadableArray messages) {
+    if (ReactNativeFirebaseCrashlyticsInitProvider.isCrashlyticsCollectionEnabled()) {
+      FirebaseCrashlytics crashlytics = FirebaseCrashlytics.getInstance();
+      for (int i = 0; i < messages.size(); i++) {
+        crashlytics.log(messages.getString(i));
+      }
+    }
+  }
+
   @Override
   public void setAttribute(String key, String value, Promise promise) {
     if (ReactNativeFirebaseCrashlyticsInitProvider.isCrashlyticsCollectionEnabled()) {
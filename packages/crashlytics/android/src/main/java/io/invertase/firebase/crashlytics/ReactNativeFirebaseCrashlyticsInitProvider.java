@@ -21,32 +21,39 @@ import static io.invertase.firebase.crashlytics.Constants.*;
 
 import android.util.Log;
 import com.google.firebase.crashlytics.FirebaseCrashlytics;
+import io.invertase.firebase.common.ReactNativeFirebaseConfig;
 import io.invertase.firebase.common.ReactNativeFirebaseInitProvider;
 import io.invertase.firebase.common.ReactNativeFirebaseJSON;
-import io.invertase.firebase.common.ReactNativeFirebaseMeta;
-import io.invertase.firebase.common.ReactNativeFirebasePreferences;
 
 public class ReactNativeFirebaseCrashlyticsInitProvider extends ReactNativeFirebaseInitProvider {
   private static final String TAG = "RNFBCrashlyticsInit";
 
+  // Checked on every log and attribute call from JS, so it is only re-resolved when the config
+  // changes, e.g. after setCrashlyticsCollectionEnabled writes the preference.
+  private static volatile CollectionEnabledState collectionEnabledState;
+
   static boolean isCrashlyticsCollectionEnabled() {
-    boolean enabled;
-    ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
-    ReactNativeFirebaseMeta meta = ReactNativeFirebaseMeta.getSharedInstance();
-    ReactNativeFirebasePreferences prefs = ReactNativeFirebasePreferences.getSharedInstance();
-
-    if (prefs.contains(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED)) {
-      enabled = prefs.getBooleanValue(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED, true);
-      Log.d(TAG, "isCrashlyticsCollectionEnabled via RNFBPreferences: " + enabled);
-    } else if (json.contains(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED)) {
-      enabled = json.getBooleanValue(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED, true);
-      Log.d(TAG, "isCrashlyticsCollectionEnabled via RNFBJSON: " + enabled);
-    } else {
-      enabled = meta.getBooleanValue(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED, true);
-      Log.d(TAG, "isCrashlyticsCollectionEnabled via RNFBMeta: " + enabled);
+    ReactNativeFirebaseConfig config = ReactNativeFirebaseConfig.getSharedInstance();
+    CollectionEnabledState state = collectionEnabledState;
+    int generation = config.getGeneration();
+    if (state == null || state.generation != generation) {
+      state = new CollectionEnabledState(generation, resolveCrashlyticsCollectionEnabled(config));
+      collectionEnabledState = state;
     }
+    return state.enabled;
+  }
+
+  private static boolean resolveCrashlyticsCollectionEnabled(ReactNativeFirebaseConfig config) {
+    boolean enabled = config.getBooleanValue(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED, true);
+    Log.d(
+        TAG,
+        "isCrashlyticsCollectionEnabled via "
+            + config.getSource(KEY_CRASHLYTICS_AUTO_COLLECTION_ENABLED)
+            + ": "
+            + enabled);
 
     if (BuildConfig.DEBUG) {
+      ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
       if (!json.getBooleanValue(KEY_CRASHLYTICS_DEBUG_ENABLED, false)) {
         enabled = false;
       }
@@ -63,51 +70,28 @@ public class ReactNativeFirebaseCrashlyticsInitProvider extends ReactNativeFireb
   }
 
   static boolean isErrorGenerationOnJSCrashEnabled() {
-    boolean enabled;
-    ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
-    ReactNativeFirebaseMeta meta = ReactNativeFirebaseMeta.getSharedInstance();
-    ReactNativeFirebasePreferences prefs = ReactNativeFirebasePreferences.getSharedInstance();
-
-    if (prefs.contains(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED)) {
-      enabled =
-          prefs.getBooleanValue(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED, true);
-      Log.d(TAG, "isErrorGenerationOnJSCrashEnabled via RNFBPreferences: " + enabled);
-    } else if (json.contains(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED)) {
-      enabled = json.getBooleanValue(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED, true);
-      Log.d(TAG, "isErrorGenerationOnJSCrashEnabled via RNFBJSON: " + enabled);
-    } else {
-      enabled = meta.getBooleanValue(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED, true);
-      Log.d(TAG, "isErrorGenerationOnJSCrashEnabled via RNFBMeta: " + enabled);
-    }
-
-    Log.d(TAG, "isErrorGenerationOnJSCrashEnabled final value: " + enabled);
+    ReactNativeFirebaseConfig config = ReactNativeFirebaseConfig.getSharedInstance();
+    boolean enabled =
+        config.getBooleanValue(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED, true);
+    Log.d(
+        TAG,
+        "isErrorGenerationOnJSCrashEnabled via "
+            + config.getSource(KEY_CRASHLYTICS_IS_ERROR_GENERATION_ON_JS_CRASH_ENABLED)
+            + ": "
+            + enabled);
     return enabled;
   }
 
   static boolean isCrashlyticsJavascriptExceptionHandlerChainingEnabled() {
-    boolean enabled;
-    ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
-    ReactNativeFirebaseMeta meta = ReactNativeFirebaseMeta.getSharedInstance();
-    ReactNativeFirebasePreferences prefs = ReactNativeFirebasePreferences.getSharedInstance();
-
-    if (prefs.contains(KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED)) {
-      enabled =
-          prefs.getBooleanValue(
-              KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED, true);
-      Log.d(
-          TAG,
-          "isCrashlyticsJavascriptExceptionHandlerChainingEnabled via RNFBPreferences: " + enabled);
-    } else if (json.contains(KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED)) {
-      enabled =
-          json.getBooleanValue(KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED, true);
-      Log.d(TAG, "isCrashlyticsJavascriptExceptionHandlerChainingEnabled via RNFBJSON: " + enabled);
-    } else {
-      enabled =
-          meta.getBooleanValue(KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED, true);
-      Log.d(TAG, "isCrashlyticsJavascriptExceptionHandlerChainingEnabled via RNFBMeta: " + enabled);
-    }
-
-    Log.d(TAG, "isCrashlyticsJavascriptExceptionHandlerChainingEnabled final value: " + enabled);
+    ReactNativeFirebaseConfig config = ReactNativeFirebaseConfig.getSharedInstance();
+    boolean enabled =
+        config.getBooleanValue(KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED, true);
+    Log.d(
+        TAG,
+        "isCrashlyticsJavascriptExceptionHandlerChainingEnabled via "
+            + config.getSource(KEY_CRASHLYTICS_JAVASCRIPT_EXCEPTION_HANDLER_CHAINING_ENABLED)
+            + ": "
+            + enabled);
     return enabled;
   }
 
@@ -127,4 +111,14 @@ public class ReactNativeFirebaseCrashlyticsInitProvider extends ReactNativeFireb
 
     return true;
   }
+
+  private static final class CollectionEnabledState {
+    final int generation;
+    final boolean enabled;
+
+    CollectionEnabledState(int generation, boolean enabled) {
+      this.generation = generation;
+      this.enabled = enabled;
+    }
+  }
 }
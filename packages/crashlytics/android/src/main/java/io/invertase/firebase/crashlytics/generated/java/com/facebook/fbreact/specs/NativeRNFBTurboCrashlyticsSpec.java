@@ -17,6 +17,7 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.common.build.ReactBuildConfig;
 import com.facebook.react.turbomodule.core.interfaces.TurboModule;
@@ -95,6 +96,10 @@ public abstract class NativeRNFBTurboCrashlyticsSpec extends ReactContextBaseJav
   @DoNotStrip
   public abstract void logPromise(String message, Promise promise);
 
+  @ReactMethod
+  @DoNotStrip
+  public abstract void logBatch(ReadableArray messages);
+
   @ReactMethod
   @DoNotStrip
   public abstract void sendUnsentReports();
@@ -52,6 +52,11 @@ static facebook::jsi::Value __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_log
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "logPromise", "(Ljava/lang/String;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
 }
 
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_logBatch(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "logBatch", "(Lcom/facebook/react/bridge/ReadableArray;)V", args, count, cachedMethodId);
+}
+
 static facebook::jsi::Value __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_sendUnsentReports(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
   static jmethodID cachedMethodId = nullptr;
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "sendUnsentReports", "()V", args, count, cachedMethodId);
@@ -97,6 +102,7 @@ NativeRNFBTurboCrashlyticsSpecJSI::NativeRNFBTurboCrashlyticsSpecJSI(const JavaT
   methodMap_["didCrashOnPreviousExecution"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_didCrashOnPreviousExecution};
   methodMap_["log"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_log};
   methodMap_["logPromise"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_logPromise};
+  methodMap_["logBatch"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_logBatch};
   methodMap_["sendUnsentReports"] = MethodMetadata {0, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_sendUnsentReports};
   methodMap_["setAttribute"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_setAttribute};
   methodMap_["setAttributes"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboCrashlyticsSpecJSI_setAttributes};
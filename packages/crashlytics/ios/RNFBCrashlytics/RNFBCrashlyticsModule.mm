@@ -135,6 +135,13 @@ RCT_EXPORT_MODULE(NativeRNFBTurboCrashlytics)
   resolve([NSNull null]);
 }
 
+- (void)logBatch:(NSArray *)messages {
+  FIRCrashlytics *crashlytics = [FIRCrashlytics crashlytics];
+  for (NSString *message in messages) {
+    [crashlytics log:message];
+  }
+}
+
 - (void)sendUnsentReports {
   [[FIRCrashlytics crashlytics] sendUnsentReports];
 }
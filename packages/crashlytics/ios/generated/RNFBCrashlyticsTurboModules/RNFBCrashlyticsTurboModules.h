@@ -116,6 +116,7 @@ namespace JS {
 - (void)logPromise:(NSString *)message
            resolve:(RCTPromiseResolveBlock)resolve
             reject:(RCTPromiseRejectBlock)reject;
+- (void)logBatch:(NSArray *)messages;
 - (void)sendUnsentReports;
 - (void)setAttribute:(NSString *)key
                value:(NSString *)value
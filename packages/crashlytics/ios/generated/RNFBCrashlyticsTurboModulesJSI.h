@@ -147,6 +147,7 @@ protected:
     methodMap_["didCrashOnPreviousExecution"] = MethodMetadata {.argCount = 0, .invoker = __didCrashOnPreviousExecution};
     methodMap_["log"] = MethodMetadata {.argCount = 1, .invoker = __log};
     methodMap_["logPromise"] = MethodMetadata {.argCount = 1, .invoker = __logPromise};
+    methodMap_["logBatch"] = MethodMetadata {.argCount = 1, .invoker = __logBatch};
     methodMap_["sendUnsentReports"] = MethodMetadata {.argCount = 0, .invoker = __sendUnsentReports};
     methodMap_["setAttribute"] = MethodMetadata {.argCount = 2, .invoker = __setAttribute};
     methodMap_["setAttributes"] = MethodMetadata {.argCount = 1, .invoker = __setAttributes};
@@ -216,6 +217,14 @@ private:
       count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt));
   }
 
+  static jsi::Value __logBatch(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::logBatch) == 2,
+      "Expected logBatch(...) to have 2 parameters");
+    bridging::callFromJs<void>(rt, &T::logBatch,  static_cast<NativeRNFBTurboCrashlyticsCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asObject(rt).asArray(rt));return jsi::Value::undefined();
+  }
+
   static jsi::Value __sendUnsentReports(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* /*args*/, size_t /*count*/) {
     static_assert(
       bridging::getParameterCount(&T::sendUnsentReports) == 1,
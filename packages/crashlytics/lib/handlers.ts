@@ -96,10 +96,13 @@ export function createNativeErrorObj(
   return nativeObj;
 }
 
-export const setGlobalErrorHandler = once((nativeModule: NativeModule) => {
+export const setGlobalErrorHandler = once((nativeModule: NativeModule, flush?: () => void) => {
   const originalHandler = ErrorUtils.getGlobalHandler();
 
   async function handler(error: unknown, fatal?: boolean) {
+    // Send buffered breadcrumbs and attributes first so they are part of the report.
+    flush?.();
+
     // If collection is disabled, just forward to the original handler
     if (!nativeModule.isCrashlyticsCollectionEnabled) {
       return originalHandler(error, fatal);
@@ -156,22 +159,25 @@ export const setGlobalErrorHandler = once((nativeModule: NativeModule) => {
   return handler;
 });
 
-export const setOnUnhandledPromiseRejectionHandler = once((nativeModule: NativeModule) => {
-  async function onUnhandled(_id: number, error: Error) {
-    if (!__DEV__) {
-      // TODO(salakar): Option to disable
-      try {
-        const stackFrames = await StackTrace.fromError(error, { offline: true });
-        await nativeModule.recordErrorPromise(createNativeErrorObj(error, stackFrames, true));
-      } catch (_) {
-        // do nothing
+export const setOnUnhandledPromiseRejectionHandler = once(
+  (nativeModule: NativeModule, flush?: () => void) => {
+    async function onUnhandled(_id: number, error: Error) {
+      flush?.();
+      if (!__DEV__) {
+        // TODO(salakar): Option to disable
+        try {
+          const stackFrames = await StackTrace.fromError(error, { offline: true });
+          await nativeModule.recordErrorPromise(createNativeErrorObj(error, stackFrames, true));
+        } catch (_) {
+          // do nothing
+        }
       }
     }
-  }
-  tracking.enable({
-    allRejections: true,
-    onUnhandled,
-  });
+    tracking.enable({
+      allRejections: true,
+      onUnhandled,
+    });
 
-  return onUnhandled;
-});
+    return onUnhandled;
+  },
+);
@@ -39,11 +39,32 @@ import { version } from './version';
 import type { Crashlytics } from './types/crashlytics';
 import type { CrashlyticsInternal } from './types/internal';
 import type { ReactNativeFirebase } from '@react-native-firebase/app';
+import { AppState, type AppStateStatus } from 'react-native';
 
 const nativeModuleName = 'NativeRNFBTurboCrashlytics';
 
+function scheduleMicrotask(callback: () => void): void {
+  if (typeof queueMicrotask === 'function') {
+    queueMicrotask(callback);
+  } else {
+    Promise.resolve().then(callback);
+  }
+}
+
+interface PendingAttributes {
+  attributes: { [key: string]: string };
+  promise: Promise<null>;
+  resolve: (result: null) => void;
+  reject: (error: unknown) => void;
+}
+
 class FirebaseCrashlyticsModule extends FirebaseModule {
   _isCrashlyticsCollectionEnabled: boolean;
+  // Breadcrumbs and attributes are buffered and sent across the bridge once the current JS task
+  // ends. Frames and timers stop in the background, where a crash or kill must not lose them.
+  _pendingLogs: string[] = [];
+  _pendingAttributes: PendingAttributes | null = null;
+  _flushScheduled = false;
 
   constructor(
     app: ReactNativeFirebase.FirebaseAppBase,
@@ -51,8 +72,10 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
     customUrlOrRegion?: string | null,
   ) {
     super(app, config, customUrlOrRegion);
-    setGlobalErrorHandler(this.native);
-    setOnUnhandledPromiseRejectionHandler(this.native);
+    const flushPending = () => this._flushPending();
+    setGlobalErrorHandler(this.native, flushPending);
+    setOnUnhandledPromiseRejectionHandler(this.native, flushPending);
+    AppState.addEventListener('change', state => this._onAppStateChange(state));
     this._isCrashlyticsCollectionEnabled = this.native.isCrashlyticsCollectionEnabled;
   }
 
@@ -71,6 +94,7 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
   }
 
   crash(): void {
+    this._flushPending();
     this.native.crash();
   }
 
@@ -83,7 +107,8 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
   }
 
   log(message: string): void {
-    this.native.log(`${message}`);
+    this._pendingLogs.push(`${message}`);
+    this._scheduleFlush();
   }
 
   setAttribute(name: string, value: string): Promise<null> {
@@ -99,7 +124,7 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
       );
     }
 
-    return this.native.setAttribute(name, value);
+    return this._stageAttributes({ [name]: value });
   }
 
   setAttributes(object: { [key: string]: string }): Promise<null> {
@@ -109,7 +134,7 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
       );
     }
 
-    return this.native.setAttributes(object);
+    return this._stageAttributes(object);
   }
 
   setUserId(userId: string): Promise<null> {
@@ -123,6 +148,8 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
   }
 
   recordError(error: Error, jsErrorName?: string): void {
+    // Breadcrumbs logged before the error must reach native before it is recorded.
+    this._flushPending();
     if (isError(error)) {
       StackTrace.fromError(error, { offline: true })
         .then(stackFrames =>
@@ -154,6 +181,52 @@ class FirebaseCrashlyticsModule extends FirebaseModule {
     this._isCrashlyticsCollectionEnabled = enabled;
     return this.native.setCrashlyticsCollectionEnabled(enabled);
   }
+
+  _stageAttributes(attributes: { [key: string]: string }): Promise<null> {
+    if (!this._pendingAttributes) {
+      let resolve!: (result: null) => void;
+      let reject!: (error: unknown) => void;
+      const promise = new Promise<null>((res, rej) => {
+        resolve = res;
+        reject = rej;
+      });
+      this._pendingAttributes = { attributes: {}, promise, resolve, reject };
+    }
+
+    Object.assign(this._pendingAttributes.attributes, attributes);
+    this._scheduleFlush();
+    return this._pendingAttributes.promise;
+  }
+
+  _scheduleFlush(): void {
+    if (this._flushScheduled) {
+      return;
+    }
+    this._flushScheduled = true;
+    scheduleMicrotask(() => this._flushPending());
+  }
+
+  _onAppStateChange(state: AppStateStatus): void {
+    if (state !== 'active') {
+      this._flushPending();
+    }
+  }
+
+  _flushPending(): void {
+    this._flushScheduled = false;
+
+    if (this._pendingLogs.length > 0) {
+      const messages = this._pendingLogs;
+      this._pendingLogs = [];
+      this.native.logBatch(messages);
+    }
+
+    const pending = this._pendingAttributes;
+    if (pending) {
+      this._pendingAttributes = null;
+      this.native.setAttributes(pending.attributes).then(pending.resolve, pending.reject);
+    }
+  }
 }
 
 const config: ModuleConfig = {
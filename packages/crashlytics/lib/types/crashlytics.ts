@@ -58,6 +58,9 @@ export interface Crashlytics extends ReactNativeFirebase.FirebaseModule {
   /**
    * Log a message that will appear in any subsequent Crash or Non-fatal error reports.
    *
+   * Messages logged in the same JavaScript task are sent to native together once it ends, and always
+   * before a crash or recorded error.
+   *
    * @param message The message to log.
    */
   log(message: string): void;
@@ -81,6 +84,8 @@ export interface Crashlytics extends ReactNativeFirebase.FirebaseModule {
   /**
    * Sets a string value to be associated with the given attribute name which will be visible in the Firebase Crashlytics console.
    *
+   * Attributes set in the same JavaScript task are sent to native together; the returned promise resolves once they are.
+   *
    * @param name The name of the attribute to set.
    * @param value A string value for the given attribute.
    */
@@ -26,6 +26,7 @@ export interface NativeRNFBTurboCrashlytics {
   deleteUnsentReports(): Promise<void>;
   didCrashOnPreviousExecution(): Promise<boolean>;
   log(message: string): void;
+  logBatch(messages: string[]): void;
   setAttribute(name: string, value: string): Promise<null>;
   setAttributes(object: { [key: string]: string }): Promise<null>;
   setUserId(userId: string): Promise<null>;
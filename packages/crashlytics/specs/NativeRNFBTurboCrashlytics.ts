@@ -29,6 +29,7 @@ export interface Spec extends TurboModule {
   didCrashOnPreviousExecution(): Promise<boolean>;
   log(message: string): void;
   logPromise(message: string): Promise<void>;
+  logBatch(messages: ReadonlyArray<string>): void;
   sendUnsentReports(): void;
   setAttribute(key: string, value: string): Promise<void>;
   setAttributes(attributes: { [key: string]: string }): Promise<void>;
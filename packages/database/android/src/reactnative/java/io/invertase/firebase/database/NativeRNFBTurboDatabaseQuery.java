@@ -317,7 +317,9 @@ public class NativeRNFBTurboDatabaseQuery extends NativeRNFBTurboDatabaseQuerySp
                 }
               })
           .addOnCompleteListener(
-              turboSupport.getExecutor(),
+              // Events are sent on the registration's serial executor too, so JS receives them in
+              // the order the SDK raised them.
+              turboSupport.getTransactionalExecutor(eventRegistrationKey),
               task -> {
                 if (task.isSuccessful()) {
                   WritableMap data = task.getResult();
@@ -1,7 +1,19 @@
 import { describe, expect, it, jest } from '@jest/globals';
+import { NativeModules } from 'react-native';
+import { commitInBatches, isRetryable } from '../lib/FirestoreBulkWriter';
 // @ts-ignore test
 import FirestoreDocumentSnapshot from '../lib/FirestoreDocumentSnapshot';
-import { parseSnapshotArgs, throwIfLiteSdkSnapshotListenerUnsupported } from '../lib/utils';
+import QueryPageReader, { GetQueryPager, NativeQueryPager } from '../lib/FirestoreQueryPageReader';
+import { applyDocumentChanges, QuerySnapshotDeltaState } from '../lib/FirestoreQuerySnapshot';
+import {
+  parseSnapshotArgs,
+  syncEventListenerIds,
+  throwIfLiteSdkSnapshotListenerUnsupported,
+} from '../lib/utils';
+import { decodeBinarySnapshot } from '../lib/utils/binarySnapshot';
+import { ChunkedSnapshotReceiver } from '../lib/utils/chunkedSnapshot';
+import { attachLazyData, LAZY_BATCH_SIZE } from '../lib/utils/lazySnapshot';
+import { applyFieldDiff, DocumentFieldDiffState } from '../lib/utils/fieldDiff';
 
 import {
   Filter,
@@ -26,8 +38,11 @@ import {
   runTransaction,
   getCountFromServer,
   loadBundle,
+  loadBundleFromFile,
+  loadBundleFromUri,
   namedQuery,
   writeBatch,
+  bulkWriter,
   Bytes,
   FieldPath,
   FieldValue,
@@ -54,6 +69,7 @@ import {
   getDocs,
   getDocsFromCache,
   getDocsFromServer,
+  getDocsInPages,
   deleteDoc,
   onSnapshot,
   Timestamp,
@@ -91,6 +107,28 @@ describe('Firestore', function () {
       });
     });
 
+    it('accepts { deltaSnapshots: true } listener options', function () {
+      const parsed = parseSnapshotArgs([{ deltaSnapshots: true }, () => {}]);
+
+      expect(parsed.snapshotListenOptions).toEqual({
+        includeMetadataChanges: false,
+        source: 'default',
+        deltaSnapshots: true,
+      });
+    });
+
+    it('throws for a non-boolean deltaSnapshots listener option', function () {
+      expect(() => parseSnapshotArgs([{ deltaSnapshots: 'yes' }, () => {}])).toThrow(
+        "'options' SnapshotOptions.deltaSnapshots must be a boolean value.",
+      );
+    });
+
+    it('throws for a non-boolean fieldDiffs listener option', function () {
+      expect(() => parseSnapshotArgs([{ fieldDiffs: 1 }, () => {}])).toThrow(
+        "'options' SnapshotOptions.fieldDiffs must be a boolean value.",
+      );
+    });
+
     it("throws for unsupported listener source value 'server'", function () {
       expect(() =>
         parseSnapshotArgs([{ source: 'server' as 'default' | 'cache' }, () => {}]),
@@ -98,6 +136,16 @@ describe('Firestore', function () {
     });
   });
 
+  describe('syncEventListenerIds()', function () {
+    it('returns the listenerId of an event for a single listener', function () {
+      expect(syncEventListenerIds({ listenerId: 3 })).toEqual([3]);
+    });
+
+    it('returns every listener of an event shared by identical listeners', function () {
+      expect(syncEventListenerIds({ listenerId: 3, listenerIds: [3, 5, 8] })).toEqual([3, 5, 8]);
+    });
+  });
+
   describe('throwIfLiteSdkSnapshotListenerUnsupported()', function () {
     it('does not throw on supported (ios/android) platforms', function () {
       // jest.setup.ts mocks react-native's Platform.OS as 'android' for this whole suite,
@@ -221,6 +269,14 @@ describe('Firestore', function () {
       expect(loadBundle).toBeDefined();
     });
 
+    it('`loadBundleFromFile` function is properly exposed to end user', function () {
+      expect(loadBundleFromFile).toBeDefined();
+    });
+
+    it('`loadBundleFromUri` function is properly exposed to end user', function () {
+      expect(loadBundleFromUri).toBeDefined();
+    });
+
     it('`namedQuery` function is properly exposed to end user', function () {
       expect(namedQuery).toBeDefined();
     });
@@ -229,6 +285,10 @@ describe('Firestore', function () {
       expect(writeBatch).toBeDefined();
     });
 
+    it('`bulkWriter` function is properly exposed to end user', function () {
+      expect(bulkWriter).toBeDefined();
+    });
+
     it('`Bytes` class is properly exposed to end user', function () {
       expect(Bytes).toBeDefined();
     });
@@ -333,6 +393,10 @@ describe('Firestore', function () {
       expect(getDocsFromServer).toBeDefined();
     });
 
+    it('`getDocsInPages` function is properly exposed to end user', function () {
+      expect(getDocsInPages).toBeDefined();
+    });
+
     it('`deleteDoc` function is properly exposed to end user', function () {
       expect(deleteDoc).toBeDefined();
     });
@@ -486,6 +550,591 @@ describe('Firestore', function () {
         nanoseconds: 456,
       });
     });
+
+    it('builds the serverTimestamps variants from data, sharing unchanged fields', function () {
+      const firestore = getFirestore();
+      const snapshot = new FirestoreDocumentSnapshot(
+        // @ts-expect-error calling a private constructor directly which expects FirestoreInternal type
+        firestore,
+        {
+          data: {
+            createdAt: [3],
+            nested: [16, { updatedAt: [3], settledAt: [13, [7, 0]] }],
+            other: [16, { value: [7, 1] }],
+          },
+          serverTimestamps: [
+            [['createdAt'], [13, [123, 456]], [3], [3]],
+            [['nested', 'updatedAt'], [13, [123, 456]], [13, [42, 0]], [3]],
+          ],
+          metadata: [false, true],
+          path: 'foo/bar',
+          exists: true,
+        },
+        null,
+      );
+
+      const data = snapshot.data()!;
+      const estimate = snapshot.data({ serverTimestamps: 'estimate' })!;
+      const previous = snapshot.data({ serverTimestamps: 'previous' })!;
+
+      expect(data).toEqual({
+        createdAt: null,
+        nested: { updatedAt: null, settledAt: expect.any(Timestamp) },
+        other: { value: 1 },
+      });
+      expect(estimate.createdAt).toMatchObject({ seconds: 123, nanoseconds: 456 });
+      expect(previous.createdAt).toBeNull();
+      expect(snapshot.get('nested.updatedAt', { serverTimestamps: 'previous' })).toMatchObject({
+        seconds: 42,
+        nanoseconds: 0,
+      });
+      expect(snapshot.data({ serverTimestamps: 'none' })).toEqual(data);
+      expect(estimate.nested).toEqual({
+        updatedAt: expect.any(Timestamp),
+        settledAt: (data.nested as Record<string, unknown>).settledAt,
+      });
+      // Only the maps on the way to a server timestamp are copied.
+      expect(estimate.other).toBe(data.other);
+      expect(data.nested).toEqual({ updatedAt: null, settledAt: expect.any(Timestamp) });
+    });
+  });
+
+  describe('QuerySnapshot delta snapshots (unit)', function () {
+    const doc = (id: string, value = 1) => ({
+      path: `users/${id}`,
+      data: { value: [7, value] },
+      metadata: [false, false] as [boolean, boolean],
+      exists: true,
+    });
+
+    it('applies added, modified, moved and removed changes in order', function () {
+      const documents = [doc('a'), doc('b'), doc('c')];
+
+      const next = applyDocumentChanges(documents, [
+        { type: 'r', doc: doc('a'), oi: 0, ni: -1 },
+        { type: 'a', doc: doc('d'), oi: -1, ni: 2 },
+        { type: 'm', doc: doc('b', 2), oi: 0, ni: 0 },
+        { type: 'm', doc: doc('c', 2), oi: 1, ni: 2 },
+      ]);
+
+      expect(next.map(d => d.path)).toEqual(['users/b', 'users/d', 'users/c']);
+      expect(next[0]!.data).toEqual({ value: [7, 2] });
+      expect(next[2]!.data).toEqual({ value: [7, 2] });
+      expect(documents.map(d => d.path)).toEqual(['users/a', 'users/b', 'users/c']);
+    });
+
+    it('rebuilds documents from deltas after a full snapshot', function () {
+      const state = new QuerySnapshotDeltaState();
+      const metadata: [boolean, boolean] = [false, false];
+
+      const full = state.apply({ changes: [], documents: [doc('a')], metadata, seq: 0 });
+      const delta = state.apply({
+        changes: [{ type: 'a', doc: doc('b'), oi: -1, ni: 1 }],
+        metadata,
+        seq: 1,
+      });
+
+      expect(full!.documents.map(d => d.path)).toEqual(['users/a']);
+      expect(delta!.documents.map(d => d.path)).toEqual(['users/a', 'users/b']);
+    });
+
+    it('returns null when a delta is missed, until the next full snapshot', function () {
+      const state = new QuerySnapshotDeltaState();
+      const metadata: [boolean, boolean] = [false, false];
+      state.apply({ changes: [], documents: [doc('a')], metadata, seq: 0 });
+
+      expect(state.apply({ changes: [], metadata, seq: 2 })).toBeNull();
+      expect(state.apply({ changes: [], documents: [doc('b')], metadata, seq: 0 })).not.toBeNull();
+      expect(state.apply({ changes: [], metadata, seq: 1 })!.documents).toHaveLength(1);
+    });
+  });
+
+  describe('field diffs (unit)', function () {
+    const metadata: [boolean, boolean] = [false, false];
+    const profile = () => ({
+      path: 'users/a',
+      exists: true,
+      metadata,
+      data: {
+        name: [8, 'Ada'],
+        presence: [16, { lastSeen: [7, 1], online: [5] }],
+        bio: [8, 'long text'],
+      },
+    });
+
+    it('sets and deletes nested fields without touching the previous data', function () {
+      const previous = profile();
+
+      const next = applyFieldDiff(previous, {
+        path: 'users/a',
+        exists: true,
+        metadata,
+        diff: [[['presence', 'lastSeen'], [7, 2]], [['presence', 'online']], [['bio']]],
+      });
+
+      expect(next.data).toEqual({ name: [8, 'Ada'], presence: [16, { lastSeen: [7, 2] }] });
+      expect(next).not.toHaveProperty('diff');
+      expect(previous.data).toEqual(profile().data);
+    });
+
+    it('rebuilds modified and removed query documents sent as diffs', function () {
+      const changes: Parameters<typeof applyDocumentChanges>[1] = [
+        {
+          type: 'm',
+          doc: { path: 'users/a', exists: true, metadata, diff: [[['name'], [8, 'Grace']]] },
+          oi: 0,
+          ni: 0,
+        },
+        { type: 'r', doc: { path: 'users/a', exists: true, metadata, diff: [] }, oi: 0, ni: -1 },
+      ];
+
+      const next = applyDocumentChanges([profile()], changes);
+
+      expect(next).toHaveLength(0);
+      expect(changes[0]!.doc.data).toMatchObject({ name: [8, 'Grace'] });
+      expect(changes[1]!.doc.data).toMatchObject({ name: [8, 'Grace'] });
+    });
+
+    it('asks for the document again when a diff follows a missed event', function () {
+      const state = new DocumentFieldDiffState();
+      state.apply({ ...profile(), seq: 0 });
+
+      expect(state.apply({ path: 'users/a', exists: true, metadata, diff: [], seq: 2 })).toBeNull();
+      expect(state.apply({ ...profile(), seq: 0 })).not.toBeNull();
+      const next = state.apply({ path: 'users/a', exists: true, metadata, diff: [], seq: 1 });
+      expect(next!.data).toEqual(profile().data);
+    });
+  });
+
+  describe('binary snapshots (unit)', function () {
+    // Written by ReactNativeFirebaseFirestoreBinarySerialize: one document holding every value
+    // type, its added change, and a removed document.
+    const binary =
+      'AQQBAAAACAAAAGNvbC9kb2MxCQABAAAQAAAABAAAAG5hbWUICQAAAFpvw6sg8J+YgAEAAABuBwAAAAAAAEVAAwAA' +
+      'AG5lZwcAAAAAAAD4vwEAAAB0BQEAAABlCQMAAABudWwDAwAAAG5hbgADAAAAaW5mAQMAAABhcnIKAwAAAAcAAAAA' +
+      'AADwPwgBAAAAeAYDAAAAbWFwEAEAAAAEAAAAZGVlcAgBAAAAdgIAAAB0cw0AAABA/FTZQXsAAAADAAAAZ2VvDAAA' +
+      'AAAAAPQ/AAAAAAAABMAEAAAAYmxvYg4DAAAAAQL/AwAAAHJlZgsDAAAAYS9iAwAAAHZlYxMCAAAAAAAAAAAA4D8A' +
+      'AAAAAADwPwMAAAB1bmv/AgAAAAAAAAAAAP////8CAP////8BAAAACAAAAGNvbC9nb25lCQ8AAAABAAAAAQAAAGsI' +
+      'AQAAAHY=';
+
+    it('decodes documents, changes and every value type', function () {
+      const snapshot = decodeBinarySnapshot({ source: 'get', binary });
+
+      expect(snapshot.source).toBe('get');
+      expect(snapshot.excludesMetadataChanges).toBe(true);
+      expect(snapshot.metadata).toEqual([false, false]);
+      expect(snapshot.documents.map(d => d.path)).toEqual(['col/doc1']);
+      expect(snapshot.documents[0]!.data).toEqual({
+        name: [8, 'Zo\u00eb \ud83d\ude00'],
+        n: [7, 42],
+        neg: [7, -1.5],
+        t: [5],
+        e: [9],
+        nul: [3],
+        nan: [0],
+        inf: [1],
+        arr: [10, [[7, 1], [8, 'x'], [6]]],
+        map: [16, { deep: [8, 'v'] }],
+        ts: [13, [1700000000, 123]],
+        geo: [12, [1.25, -2.5]],
+        blob: [14, 'AQL/'],
+        ref: [11, 'a/b'],
+        vec: [19, [0.5, 1]],
+        unk: [-999],
+      });
+      expect(snapshot.changes.map(c => [c.type, c.ni, c.oi])).toEqual([
+        ['a', 0, -1],
+        ['r', -1, 1],
+      ]);
+      expect(snapshot.changes[1]!.doc.data).toEqual({ k: [8, 'v'] });
+    });
+
+    it('shares documents with their changes and reads data on first access', function () {
+      const snapshot = decodeBinarySnapshot({ binary, seq: 0 });
+      const document = snapshot.documents[0]!;
+
+      expect(snapshot.seq).toBe(0);
+      expect(snapshot.changes[0]!.doc).toBe(document);
+      expect(Object.getOwnPropertyDescriptor(document, 'data')!.get).toBeDefined();
+      expect(document.data).toBe(document.data);
+    });
+  });
+
+  describe('lazy data (unit)', function () {
+    const metadata: [boolean, boolean] = [false, false];
+    const lazySnapshot = (size: number) => {
+      const documents = Array.from({ length: size }, (_, i) => ({
+        path: `col/doc${i}`,
+        exists: true,
+        metadata,
+      }));
+      return {
+        source: 'get',
+        handle: 7,
+        changes: documents.map((doc, i) => ({ type: 'a', doc: { ...doc }, ni: i, oi: -1 })),
+        documents,
+        metadata,
+      };
+    };
+    const fakeNative = () => ({
+      collectionSnapshotData: jest.fn(
+        (_handle: number, paths: string[], options: { fieldPaths?: string[][] }) => {
+          const result: Record<string, unknown> = {};
+          for (const path of paths) {
+            result[path] = options.fieldPaths
+              ? options.fieldPaths.map(segments => (segments[0] === 'n' ? [8, path] : null))
+              : { path, exists: true, metadata, data: { n: [8, path], m: [5] } };
+          }
+          return result;
+        },
+      ),
+      collectionSnapshotRelease: jest.fn(),
+    });
+
+    it('reads document data from native in batches, once', function () {
+      const native = fakeNative();
+      const nativeData = lazySnapshot(LAZY_BATCH_SIZE + 8);
+      attachLazyData(native, nativeData);
+      const snapshot = new FirestoreDocumentSnapshot(
+        // @ts-expect-error calling a private constructor directly which expects FirestoreInternal type
+        getFirestore(),
+        nativeData.documents[0]!,
+        null,
+      );
+
+      expect(native.collectionSnapshotData).not.toHaveBeenCalled();
+      expect(snapshot.id).toBe('doc0');
+      expect(snapshot.data()).toEqual({ n: 'col/doc0', m: true });
+      expect(native.collectionSnapshotData).toHaveBeenCalledTimes(1);
+      expect(native.collectionSnapshotData.mock.calls[0]![1]).toHaveLength(LAZY_BATCH_SIZE);
+
+      expect(nativeData.documents[1]!).toHaveProperty('data', { n: [8, 'col/doc1'], m: [5] });
+      expect(nativeData.changes[2]!.doc).toBe(nativeData.documents[2]);
+      expect(native.collectionSnapshotData).toHaveBeenCalledTimes(1);
+    });
+
+    it('reads a single field without the rest of the document', function () {
+      const native = fakeNative();
+      const nativeData = lazySnapshot(3);
+      attachLazyData(native, nativeData);
+      const firestore = getFirestore();
+      const snapshots = nativeData.documents.map(
+        document =>
+          // @ts-expect-error calling a private constructor directly which expects FirestoreInternal type
+          new FirestoreDocumentSnapshot(firestore, document, null),
+      );
+
+      expect(snapshots.map(snapshot => snapshot.get('n'))).toEqual([
+        'col/doc0',
+        'col/doc1',
+        'col/doc2',
+      ]);
+      expect(snapshots[0]!.get('missing')).toBeUndefined();
+      expect(native.collectionSnapshotData).toHaveBeenCalledTimes(2);
+      expect(native.collectionSnapshotData.mock.calls[0]![2]).toEqual({ fieldPaths: [['n']] });
+    });
+
+    it('releases the native snapshot once, after which unread data cannot be read', function () {
+      const native = fakeNative();
+      const nativeData = lazySnapshot(2);
+      const lazy = attachLazyData(native, nativeData);
+
+      lazy.release();
+      lazy.release();
+
+      expect(native.collectionSnapshotRelease).toHaveBeenCalledTimes(1);
+      expect(native.collectionSnapshotRelease).toHaveBeenCalledWith(7);
+      expect(() => nativeData.documents[0]!.data).toThrow('data is no longer available');
+    });
+
+    it('throws for a non-boolean lazyData get option', function () {
+      expect(() =>
+        getDocs(collection(getFirestore(), 'foo'), { lazyData: 'yes' as unknown as boolean }),
+      ).toThrow("'options' GetOptions.lazyData must be a boolean value.");
+    });
+  });
+
+  describe('chunked get (unit)', function () {
+    const metadata: [boolean, boolean] = [false, false];
+    const chunk = (index: number, paths: string[]) => ({
+      index,
+      documents: paths.map(path => ({ path, exists: true, metadata, data: {} })),
+    });
+
+    it('rebuilds the snapshot once every chunk has arrived, in chunk order', async function () {
+      const seen: string[][] = [];
+      const receiver = new ChunkedSnapshotReceiver(documents =>
+        seen.push(documents.map(document => document.path)),
+      );
+      receiver.add(chunk(0, ['col/a', 'col/b']));
+
+      const complete = receiver.complete({ source: 'get', metadata, chunks: 2 });
+      receiver.add(chunk(1, ['col/c']));
+      const snapshot = await complete;
+
+      expect(seen).toEqual([['col/a', 'col/b'], ['col/c']]);
+      expect(snapshot.documents.map(document => document.path)).toEqual([
+        'col/a',
+        'col/b',
+        'col/c',
+      ]);
+      expect(snapshot.changes.map(change => [change.type, change.ni, change.oi])).toEqual([
+        ['a', 0, -1],
+        ['a', 1, -1],
+        ['a', 2, -1],
+      ]);
+      expect(snapshot.changes[2]!.doc).toBe(snapshot.documents[2]);
+    });
+
+    it('resolves straight away when the chunks arrived before the result', async function () {
+      const receiver = new ChunkedSnapshotReceiver();
+      receiver.add(chunk(0, ['col/a']));
+
+      const snapshot = await receiver.complete({ source: 'get', metadata, chunks: 1 });
+
+      expect(snapshot.documents).toHaveLength(1);
+    });
+
+    it('passes all documents of a result that was not chunked to onChunk once', async function () {
+      const onChunk = jest.fn();
+      const receiver = new ChunkedSnapshotReceiver(onChunk);
+      const nativeData = {
+        source: 'get',
+        metadata,
+        changes: [],
+        documents: chunk(0, ['col/a']).documents,
+      };
+
+      await expect(receiver.complete(nativeData)).resolves.toBe(nativeData);
+      expect(onChunk).toHaveBeenCalledTimes(1);
+      expect(onChunk).toHaveBeenCalledWith(nativeData.documents);
+    });
+  });
+
+  describe('page reader (unit)', function () {
+    type Page = { size: number; id: number };
+
+    const readAll = async (reader: AsyncIterable<Page>): Promise<number[]> => {
+      const ids: number[] = [];
+      for await (const page of reader) {
+        ids.push(page.id);
+      }
+      return ids;
+    };
+
+    it('reads get pages in order, each after the previous one, to a short page', async function () {
+      const sizes = [2, 2, 1];
+      const getPage = jest.fn((after: Page | null) =>
+        Promise.resolve({ size: sizes[after ? after.id + 1 : 0]!, id: after ? after.id + 1 : 0 }),
+      );
+      const reader = new QueryPageReader(new GetQueryPager(getPage, 2, 1) as any);
+
+      await expect(readAll(reader as any)).resolves.toEqual([0, 1, 2]);
+      expect(getPage.mock.calls.map(([after]) => (after ? after.id : null))).toEqual([null, 0, 1]);
+    });
+
+    it('prefetches the next get page while the current one is processed', async function () {
+      const getPage = jest.fn((after: Page | null) =>
+        Promise.resolve({ size: 2, id: after ? after.id + 1 : 0 }),
+      );
+      const pager = new GetQueryPager(getPage, 2, 1);
+
+      await pager.next();
+      await Promise.resolve();
+
+      expect(getPage).toHaveBeenCalledTimes(2);
+      pager.close();
+    });
+
+    it('ends without an empty last page after a full page', async function () {
+      const getPage = jest.fn((after: Page | null) =>
+        Promise.resolve({ size: after ? 0 : 2, id: after ? 1 : 0 }),
+      );
+      const reader = new QueryPageReader(new GetQueryPager(getPage, 2, 0) as any);
+
+      await expect(readAll(reader as any)).resolves.toEqual([0]);
+    });
+
+    it('requests native pages one by one and closes the cursor after the last', async function () {
+      let onEvent: (event: { body: unknown }) => void = () => {};
+      const native = {
+        collectionCursorOpen: jest.fn(),
+        collectionCursorRequest: jest.fn(),
+        collectionCursorClose: jest.fn(),
+      };
+      const firestore = {
+        native,
+        eventNameForApp: (name: string) => name,
+        emitter: {
+          addListener: (_name: string, listener: typeof onEvent) => {
+            onEvent = listener;
+            return { remove: jest.fn() };
+          },
+        },
+      };
+      const pager = new NativeQueryPager(
+        firestore as any,
+        7,
+        nativeData => nativeData,
+        native.collectionCursorOpen,
+      );
+      const reader = new QueryPageReader(pager as any);
+      expect(native.collectionCursorOpen).toHaveBeenCalledTimes(1);
+
+      const first = reader.next();
+      expect(native.collectionCursorRequest).toHaveBeenLastCalledWith(7, 1);
+      onEvent({ body: { page: { size: 2 }, done: false } });
+      await expect(first).resolves.toEqual({ done: false, value: { size: 2 } });
+
+      const second = reader.next();
+      onEvent({ body: { page: { size: 1 }, done: true } });
+      await expect(second).resolves.toEqual({ done: false, value: { size: 1 } });
+
+      expect(native.collectionCursorRequest).toHaveBeenCalledTimes(2);
+      expect(native.collectionCursorClose).toHaveBeenCalledWith(7);
+      await expect(reader.next()).resolves.toEqual({ done: true, value: undefined });
+    });
+
+    it('rejects the waiting read with a native cursor error', async function () {
+      let onEvent: (event: { body: unknown }) => void = () => {};
+      const native = { collectionCursorRequest: jest.fn(), collectionCursorClose: jest.fn() };
+      const firestore = {
+        native,
+        eventNameForApp: (name: string) => name,
+        emitter: {
+          addListener: (_name: string, listener: typeof onEvent) => {
+            onEvent = listener;
+            return { remove: jest.fn() };
+          },
+        },
+      };
+      const reader = new QueryPageReader(
+        new NativeQueryPager(firestore as any, 1, nativeData => nativeData, () => {}) as any,
+      );
+
+      const read = reader.next();
+      onEvent({ body: { error: { code: 'unavailable', message: 'offline' } } });
+
+      await expect(read).rejects.toThrow();
+      expect(native.collectionCursorClose).toHaveBeenCalledWith(1);
+    });
+  });
+
+  describe('loadBundleFromFile()', function () {
+    it('throws if path is not absolute', function () {
+      expect(() => loadBundleFromFile(getFirestore(), 'bundles/data.bundle')).toThrow(
+        "'path' must be an absolute path or a file:// URI",
+      );
+    });
+
+    it('streams the bundle from a file URI of the path', async function () {
+      const native = (NativeModules as any).NativeRNFBTurboFirestore;
+      const task = loadBundleFromFile(getFirestore(), '/data/my bundles/data.bundle');
+
+      expect(native.loadBundleFromUri).toHaveBeenLastCalledWith(
+        '[DEFAULT]',
+        '(default)',
+        'file:///data/my%20bundles/data.bundle',
+        expect.any(Number),
+      );
+      await expect(task).resolves.toEqual(expect.objectContaining({ taskState: 'Success' }));
+    });
+  });
+
+  describe('bulk writer (unit)', function () {
+    const options = { batchSize: 3, maxInFlight: 2, maxAttempts: 2 };
+
+    it('keeps at most maxInFlight batches committing', async function () {
+      const commits: Array<() => void> = [];
+      const settled: number[][] = [];
+      const done = commitInBatches(
+        8,
+        options,
+        () => new Promise<void>(resolve => commits.push(resolve)),
+        indices => settled.push(indices),
+      );
+
+      expect(commits).toHaveLength(2);
+      commits[0]!();
+      await Promise.resolve();
+      await Promise.resolve();
+      expect(commits).toHaveLength(3);
+      commits[1]!();
+      commits[2]!();
+      await done;
+
+      expect(settled).toEqual([
+        [0, 1, 2],
+        [3, 4, 5],
+        [6, 7],
+      ]);
+    });
+
+    it('fails the whole batch once retries run out', async function () {
+      const failures: number[][] = [];
+      let commits = 0;
+      await commitInBatches(
+        4,
+        { ...options, batchSize: 4 },
+        () => {
+          commits++;
+          return Promise.reject(Object.assign(new Error('offline'), { code: 'unavailable' }));
+        },
+        (indices, error) => {
+          if (error) {
+            failures.push(indices);
+          }
+        },
+      );
+
+      expect(commits).toBe(2);
+      expect(failures).toEqual([[0, 1, 2, 3]]);
+    });
+
+    it('splits a failed batch until the failing write fails on its own', async function () {
+      const failures: number[][] = [];
+      let succeeded = 0;
+      await commitInBatches(
+        4,
+        { ...options, batchSize: 4 },
+        indices =>
+          indices.includes(1)
+            ? Promise.reject(Object.assign(new Error('denied'), { code: 'permission-denied' }))
+            : Promise.resolve(),
+        (indices, error) => {
+          if (error) {
+            failures.push(indices);
+          } else {
+            succeeded += indices.length;
+          }
+        },
+      );
+
+      expect(failures).toEqual([[1]]);
+      expect(succeeded).toBe(3);
+    });
+
+    it('only retries transient errors', function () {
+      expect(isRetryable({ code: 'firestore/unavailable' })).toBe(true);
+      expect(isRetryable({ code: 'aborted' })).toBe(true);
+      expect(isRetryable({ code: 'firestore/permission-denied' })).toBe(false);
+      expect(isRetryable(new Error('unknown'))).toBe(false);
+    });
+
+    it('throws if batchSize is above the batch limit', function () {
+      expect(() => bulkWriter(getFirestore(), { batchSize: 501 })).toThrow(
+        "'options.batchSize' must be an integer between 1 and 500",
+      );
+    });
+
+    it('throws if used after close()', async function () {
+      const writer = bulkWriter(getFirestore());
+      await writer.close();
+
+      expect(() => writer.delete(doc(getFirestore(), 'foo/bar'))).toThrow(
+        'A bulk writer can no longer be used after close() has been called.',
+      );
+    });
   });
 
   describe('VectorValue (unit serializer)', function () {
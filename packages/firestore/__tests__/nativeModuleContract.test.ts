@@ -9,6 +9,7 @@ import { createTurboModuleFixture } from '../../app/__tests__/turboModuleContrac
 const MAIN_METHODS = [
   'setLogLevel',
   'loadBundle',
+  'loadBundleFromUri',
   'clearPersistence',
   'waitForPendingWrites',
   'disableNetwork',
@@ -29,7 +30,18 @@ const COLLECTION_METHODS = [
   'collectionCount',
   'aggregateQuery',
   'pipelineExecute',
+  'pipelineCacheStats',
   'collectionGet',
+  'collectionSnapshotData',
+  'collectionSnapshotRelease',
+  'collectionCursorOpen',
+  'collectionCursorRequest',
+  'collectionCursorClose',
+  'pipelineStreamOpen',
+  'pipelineStreamRequest',
+  'pipelineStreamClose',
+  'pipelineOnSnapshot',
+  'pipelineOffSnapshot',
 ] as const;
 
 const DOCUMENT_METHODS = [
@@ -40,6 +52,7 @@ const DOCUMENT_METHODS = [
   'documentSet',
   'documentUpdate',
   'documentBatch',
+  'documentBulkWrite',
 ] as const;
 
 const TRANSACTION_METHODS = [
@@ -59,7 +72,7 @@ const ALL_SPEC_METHODS = [
 describe('TurboModule wrapper contract (NewArch-AD-17.1)', function () {
   it('asserts merged Firestore spec method names are unique (NewArch-AD-11)', function () {
     expect(new Set(ALL_SPEC_METHODS).size).toBe(ALL_SPEC_METHODS.length);
-    expect(ALL_SPEC_METHODS).toHaveLength(31);
+    expect(ALL_SPEC_METHODS).toHaveLength(44);
   });
 
   it('routes methods through a 4-host merge composite Proxy (NewArch-AD-14a)', function () {
@@ -22,8 +22,11 @@ import {
   switchOn,
   descending,
   execute,
+  executeStream,
   field,
+  getPipelineCacheStats,
   greaterThan,
+  onPipelineSnapshot,
   Ordering,
   variable,
   countAll,
@@ -42,6 +45,7 @@ import {
   gte,
   lt,
 } from '../lib/pipelines/expressions';
+import PipelineResultReader, { SlicedPipelinePager } from '../lib/pipelines/pipeline_stream';
 
 describe('Firestore pipelines runtime', function () {
   it('installs pipeline() and serializes source builders', function () {
@@ -628,6 +632,241 @@ describe('Firestore pipelines runtime', function () {
     }
   });
 
+  it('reads compiled pipeline cache stats from the native module', async function () {
+    const db: any = getFirestore();
+    const stats = { hits: 3, misses: 1, size: 1, maxSize: 64 };
+    const nativeStats = jest.fn(async () => stats);
+    const originalNativeModule = db._nativeModule;
+    db._nativeModule = { pipelineCacheStats: nativeStats };
+
+    try {
+      await expect(getPipelineCacheStats(db)).resolves.toEqual(stats);
+      await expect(getPipelineCacheStats()).resolves.toEqual(stats);
+      expect(nativeStats).toHaveBeenCalledTimes(2);
+    } finally {
+      db._nativeModule = originalNativeModule;
+    }
+  });
+
+  it('streams pipeline results in native chunks requested one by one', async function () {
+    const db: any = getFirestore();
+    const native = {
+      pipelineStreamOpen: jest.fn(),
+      pipelineStreamRequest: jest.fn(),
+      pipelineStreamClose: jest.fn(),
+    };
+    const originalNativeModule = db._nativeModule;
+    db._nativeModule = native;
+
+    try {
+      const pipeline = db.pipeline().collection('books');
+      const stream = executeStream(pipeline, { chunkSize: 2, prefetch: 3 });
+
+      expect(native.pipelineStreamOpen).toHaveBeenCalledTimes(1);
+      const [serialized, options, streamId, streamOptions] = (native.pipelineStreamOpen as any).mock
+        .calls[0];
+      expect(serialized).toEqual(pipeline.serialize());
+      expect(options).toEqual({});
+      expect(streamOptions).toEqual({ chunkSize: 2, prefetch: 3 });
+      const emit = (body: unknown) =>
+        db.emitter.emit(db.eventNameForApp(`firestore_collection_sync_event:${streamId}`), {
+          body,
+        });
+
+      const first = stream.next();
+      expect(native.pipelineStreamRequest).toHaveBeenLastCalledWith(streamId, 1);
+      emit({
+        page: {
+          executionTime: [1735689600, 0],
+          results: [
+            { path: 'books/a', data: { title: 'A' } },
+            { path: 'books/b', data: { title: 'B' } },
+          ],
+        },
+        done: false,
+      });
+      const firstChunk = await first;
+      expect(firstChunk.done).toBe(false);
+      expect(firstChunk.value!.results.map(result => result.id)).toEqual(['a', 'b']);
+      expect(firstChunk.value!.executionTime.toMillis()).toBe(1735689600000);
+
+      const second = stream.next();
+      emit({
+        page: { executionTime: [1735689600, 0], results: [{ path: 'books/c', data: {} }] },
+        done: true,
+      });
+      expect((await second).value!.results.map(result => result.id)).toEqual(['c']);
+
+      expect(native.pipelineStreamRequest).toHaveBeenCalledTimes(2);
+      expect(native.pipelineStreamClose).toHaveBeenCalledWith(streamId);
+      await expect(stream.next()).resolves.toEqual({ done: true, value: undefined });
+    } finally {
+      db._nativeModule = originalNativeModule;
+    }
+  });
+
+  it('closes the native pipeline stream when reading stops early', async function () {
+    const db: any = getFirestore();
+    const native = {
+      pipelineStreamOpen: jest.fn(),
+      pipelineStreamRequest: jest.fn(),
+      pipelineStreamClose: jest.fn(),
+    };
+    const originalNativeModule = db._nativeModule;
+    db._nativeModule = native;
+
+    try {
+      const stream = executeStream(db.pipeline().collection('books'));
+      const streamId = (native.pipelineStreamOpen as any).mock.calls[0][2];
+      expect((native.pipelineStreamOpen as any).mock.calls[0][3]).toEqual({
+        chunkSize: 100,
+        prefetch: 1,
+      });
+
+      const pending = stream.next();
+      stream.close();
+
+      await expect(pending).resolves.toEqual({ done: true, value: undefined });
+      expect(native.pipelineStreamClose).toHaveBeenCalledWith(streamId);
+    } finally {
+      db._nativeModule = originalNativeModule;
+    }
+  });
+
+  it('validates executeStream options', function () {
+    const db: any = getFirestore();
+    const pipeline = db.pipeline().collection('books');
+
+    expect(() => executeStream(pipeline, { chunkSize: 0 })).toThrow(
+      "'streamOptions.chunkSize' must be a positive integer.",
+    );
+    expect(() => executeStream(pipeline, { chunkSize: 1.5 })).toThrow(
+      "'streamOptions.chunkSize' must be a positive integer.",
+    );
+    expect(() => executeStream(pipeline, { prefetch: -1 })).toThrow(
+      "'streamOptions.prefetch' must be a non-negative integer.",
+    );
+    expect(() => executeStream('invalid-input' as any)).toThrow(
+      'firebase.firestore().pipeline().execute(*) expected a Pipeline or PipelineExecuteOptions.',
+    );
+  });
+
+  it('slices a single execution into chunks where there is no native stream', async function () {
+    const executionTime = Timestamp.fromMillis(1735689600000);
+    const results = [1, 2, 3, 4, 5].map(value => ({ data: () => ({ value }) }));
+    const executeOnce = jest.fn(async () => ({ results, executionTime }) as any);
+    const stream = new PipelineResultReader(new SlicedPipelinePager(executeOnce, 2));
+
+    const chunks: number[][] = [];
+    for await (const chunk of stream) {
+      chunks.push(chunk.results.map(result => (result.data() as any).value));
+      expect(chunk.executionTime).toBe(executionTime);
+    }
+
+    expect(chunks).toEqual([[1, 2], [3, 4], [5]]);
+    expect(executeOnce).toHaveBeenCalledTimes(1);
+  });
+
+  it('reads an empty sliced result as one empty chunk', async function () {
+    const executionTime = Timestamp.fromMillis(0);
+    const stream = new PipelineResultReader(
+      new SlicedPipelinePager(async () => ({ results: [], executionTime }) as any, 10),
+    );
+
+    await expect(stream.next()).resolves.toEqual({
+      done: false,
+      value: { results: [], executionTime },
+    });
+    await expect(stream.next()).resolves.toEqual({ done: true, value: undefined });
+  });
+
+  it('patches listened pipeline results with the changes sent by native', function () {
+    const db: any = getFirestore();
+    const native = { pipelineOnSnapshot: jest.fn(), pipelineOffSnapshot: jest.fn() };
+    const originalNativeModule = db._nativeModule;
+    db._nativeModule = native;
+
+    try {
+      const pipeline = db.pipeline().collection('books');
+      const onNext = jest.fn();
+      const unsubscribe = onPipelineSnapshot(pipeline, onNext);
+
+      expect(native.pipelineOnSnapshot).toHaveBeenCalledTimes(1);
+      const [serialized, options, listenerId] = (native.pipelineOnSnapshot as any).mock.calls[0];
+      expect(serialized).toEqual(pipeline.serialize());
+      expect(options).toEqual({});
+      const emit = (body: unknown) =>
+        db.emitter.emit(db.eventNameForApp(`firestore_collection_sync_event:${listenerId}`), {
+          body,
+        });
+      const row = (id: string, title: string) => ({ path: `books/${id}`, data: { title } });
+
+      emit({
+        executionTime: [1735689600, 0],
+        changes: [
+          { type: 'added', oldIndex: -1, newIndex: 0, result: row('a', 'A') },
+          { type: 'added', oldIndex: -1, newIndex: 1, result: row('b', 'B') },
+          { type: 'added', oldIndex: -1, newIndex: 2, result: row('c', 'C') },
+        ],
+      });
+      const first = (onNext as any).mock.calls[0][0];
+      expect(first.results.map((result: any) => result.id)).toEqual(['a', 'b', 'c']);
+      expect(first.changes).toHaveLength(3);
+
+      emit({
+        executionTime: [1735689660, 0],
+        changes: [
+          { type: 'removed', oldIndex: 0, newIndex: -1 },
+          { type: 'modified', oldIndex: 1, newIndex: 0 },
+          { type: 'added', oldIndex: -1, newIndex: 1, result: row('d', 'D') },
+          { type: 'modified', oldIndex: 2, newIndex: 2, result: row('b', 'B2') },
+        ],
+      });
+      const second = (onNext as any).mock.calls[1][0];
+      expect(second.results.map((result: any) => result.id)).toEqual(['c', 'd', 'b']);
+      expect(second.results[0]).toBe(first.results[2]);
+      expect(second.results[2].data()).toEqual({ title: 'B2' });
+      expect(second.changes.map((change: any) => [change.type, change.result.id])).toEqual([
+        ['removed', 'a'],
+        ['modified', 'c'],
+        ['added', 'd'],
+        ['modified', 'b'],
+      ]);
+      expect(second.executionTime.toMillis()).toBe(1735689660000);
+
+      unsubscribe();
+      expect(native.pipelineOffSnapshot).toHaveBeenCalledWith(listenerId);
+    } finally {
+      db._nativeModule = originalNativeModule;
+    }
+  });
+
+  it('stops listening to a pipeline after a native error', function () {
+    const db: any = getFirestore();
+    const native = { pipelineOnSnapshot: jest.fn(), pipelineOffSnapshot: jest.fn() };
+    const originalNativeModule = db._nativeModule;
+    db._nativeModule = native;
+
+    try {
+      const onNext = jest.fn();
+      const onError = jest.fn();
+      const unsubscribe = onPipelineSnapshot(db.pipeline().collection('books'), onNext, onError);
+      const listenerId = (native.pipelineOnSnapshot as any).mock.calls[0][2];
+
+      db.emitter.emit(db.eventNameForApp(`firestore_collection_sync_event:${listenerId}`), {
+        body: { error: { code: 'invalid-argument', message: 'union' } },
+      });
+
+      expect(onError).toHaveBeenCalledTimes(1);
+      expect(onNext).not.toHaveBeenCalled();
+      expect(native.pipelineOffSnapshot).toHaveBeenCalledWith(listenerId);
+      unsubscribe();
+      expect(native.pipelineOffSnapshot).toHaveBeenCalledTimes(1);
+    } finally {
+      db._nativeModule = originalNativeModule;
+    }
+  });
+
   it('throws when pipelineExecute omits executionTime', async function () {
     const db: any = getFirestore();
     const originalNativeModule = db._nativeModule;
@@ -33,6 +33,7 @@ import com.google.firebase.firestore.LoadBundleTask;
 import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
 import io.invertase.firebase.common.UniversalFirebaseModule;
 import io.invertase.firebase.common.UniversalFirebasePreferences;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -154,6 +155,10 @@ public class UniversalFirebaseFirestoreModule extends UniversalFirebaseModule {
     return getFirestoreForApp(appName, databaseId).loadBundle(bundleData);
   }
 
+  LoadBundleTask loadBundle(String appName, String databaseId, InputStream bundleData) {
+    return getFirestoreForApp(appName, databaseId).loadBundle(bundleData);
+  }
+
   Task<Void> clearPersistence(String appName, String databaseId) {
     return getFirestoreForApp(appName, databaseId).clearPersistence();
   }
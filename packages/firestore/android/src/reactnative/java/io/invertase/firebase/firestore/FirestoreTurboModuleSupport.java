@@ -36,6 +36,10 @@ final class FirestoreTurboModuleSupport {
     return executorService.getExecutor();
   }
 
+  ExecutorService getHelperExecutor() {
+    return executorService.getHelperExecutor();
+  }
+
   ExecutorService getTransactionalExecutor() {
     return executorService.getTransactionalExecutor();
   }
@@ -18,10 +18,13 @@ package io.invertase.firebase.firestore;
  */
 
 import static io.invertase.firebase.common.RCTConvertFirebase.toHashMap;
+import static io.invertase.firebase.common.ReactNativeFirebaseModule.rejectPromiseWithCodeAndMessage;
 import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreCommon.rejectPromiseFirestoreException;
 import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.createFirestoreKey;
 import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.getFirestoreForApp;
 
+import android.net.Uri;
+import android.os.SystemClock;
 import com.facebook.fbreact.specs.NativeRNFBTurboFirestoreSpec;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
@@ -29,11 +32,18 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.LoadBundleTask;
 import com.google.firebase.firestore.LoadBundleTaskProgress;
 import com.google.firebase.firestore.PersistentCacheIndexManager;
+import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class NativeRNFBTurboFirestore extends NativeRNFBTurboFirestoreSpec {
   private static final String SERVICE_NAME = "Firestore";
+  // A bundle reports progress after each document; JS is sent at most one update per interval.
+  private static final long LOAD_BUNDLE_PROGRESS_INTERVAL_MS = 100;
   private final UniversalFirebaseFirestoreModule module;
 
   public NativeRNFBTurboFirestore(ReactApplicationContext reactContext) {
@@ -65,6 +75,63 @@ public class NativeRNFBTurboFirestore extends NativeRNFBTurboFirestoreSpec {
             });
   }
 
+  @Override
+  public void loadBundleFromUri(
+      String appName, String databaseId, String uri, double taskId, Promise promise) {
+    // Streamed from the file or content provider, so the bundle is never held in memory at once.
+    InputStream bundleData;
+    try {
+      bundleData =
+          getReactApplicationContext().getContentResolver().openInputStream(Uri.parse(uri));
+    } catch (IOException | SecurityException e) {
+      rejectPromiseWithCodeAndMessage(
+          promise,
+          "not-found",
+          "The bundle at '" + uri + "' could not be opened: " + e.getMessage());
+      return;
+    }
+    if (bundleData == null) {
+      rejectPromiseWithCodeAndMessage(
+          promise, "not-found", "The bundle at '" + uri + "' could not be opened.");
+      return;
+    }
+
+    LoadBundleTask task = module.loadBundle(appName, databaseId, bundleData);
+    AtomicLong lastProgressAt = new AtomicLong();
+    // Sent from the loading thread, so updates stay in order.
+    task.addOnProgressListener(
+        Runnable::run,
+        progress -> {
+          long now = SystemClock.elapsedRealtime();
+          if (progress.getTaskState() != LoadBundleTaskProgress.TaskState.RUNNING
+              || now - lastProgressAt.get() < LOAD_BUNDLE_PROGRESS_INTERVAL_MS) {
+            return;
+          }
+          lastProgressAt.set(now);
+          ReactNativeFirebaseEventEmitter.getSharedInstance()
+              .sendEvent(
+                  new ReactNativeFirebaseFirestoreEvent(
+                      ReactNativeFirebaseFirestoreEvent.LOAD_BUNDLE_EVENT,
+                      taskProgressToWritableMap(progress),
+                      appName,
+                      databaseId,
+                      (int) taskId));
+        });
+    task.addOnCompleteListener(
+        result -> {
+          try {
+            bundleData.close();
+          } catch (IOException e) {
+            // The bundle has been read; nothing is lost if the stream fails to close.
+          }
+          if (result.isSuccessful()) {
+            promise.resolve(taskProgressToWritableMap(result.getResult()));
+          } else {
+            rejectPromiseFirestoreException(promise, result.getException());
+          }
+        });
+  }
+
   @Override
   public void clearPersistence(String appName, String databaseId, Promise promise) {
     module
@@ -20,7 +20,11 @@ package io.invertase.firebase.firestore;
 import static com.google.firebase.firestore.AggregateField.average;
 import static com.google.firebase.firestore.AggregateField.sum;
 import static io.invertase.firebase.common.ReactNativeFirebaseModule.rejectPromiseWithCodeAndMessage;
+import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreCommon.getServerTimestampBehavior;
 import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreCommon.rejectPromiseFirestoreException;
+import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerialize.documentFieldsToWritableArray;
+import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerialize.snapshotAsFirstToWritableMap;
+import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerialize.snapshotDeltaToWritableMap;
 import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerialize.snapshotToWritableMap;
 import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.getFirestoreForApp;
 import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.getQueryForFirestore;
@@ -28,10 +32,16 @@ import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.g
 import android.util.SparseArray;
 import com.facebook.fbreact.specs.NativeRNFBTurboFirestoreCollectionSpec;
 import com.facebook.react.bridge.*;
+import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.*;
 import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 
 public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestoreCollectionSpec {
   private final FirestoreTurboModuleSupport turboSupport =
@@ -39,6 +49,18 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
   private static final String SERVICE_NAME = "FirestoreCollection";
   private static SparseArray<ListenerRegistration> collectionSnapshotListeners =
       new SparseArray<>();
+  private final ReactNativeFirebaseFirestoreSnapshotRegistry snapshotRegistry =
+      new ReactNativeFirebaseFirestoreSnapshotRegistry();
+  private final ReactNativeFirebaseFirestoreSharedListeners<QuerySnapshot> sharedListeners =
+      new ReactNativeFirebaseFirestoreSharedListeners<>();
+  private final SparseArray<ReactNativeFirebaseFirestoreCursor> cursors = new SparseArray<>();
+  private final SparseArray<ReactNativeFirebaseFirestorePipelineStream> pipelineStreams =
+      new SparseArray<>();
+  private final SparseArray<ReactNativeFirebaseFirestorePipelineListener> pipelineListeners =
+      new SparseArray<>();
+  private final ReactNativeFirebaseFirestorePipelineCache pipelineCache =
+      new ReactNativeFirebaseFirestorePipelineCache(
+          ReactNativeFirebaseFirestorePipelineCache.DEFAULT_MAX_SIZE);
 
   public NativeRNFBTurboFirestoreCollection(ReactApplicationContext reactContext) {
     super(reactContext);
@@ -52,6 +74,21 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
       listenerRegistration.remove();
     }
     collectionSnapshotListeners.clear();
+    for (int i = 0, size = cursors.size(); i < size; i++) {
+      cursors.valueAt(i).close();
+    }
+    cursors.clear();
+    for (int i = 0, size = pipelineStreams.size(); i < size; i++) {
+      pipelineStreams.valueAt(i).close();
+    }
+    pipelineStreams.clear();
+    for (int i = 0, size = pipelineListeners.size(); i < size; i++) {
+      pipelineListeners.valueAt(i).close();
+    }
+    pipelineListeners.clear();
+    sharedListeners.clear();
+    snapshotRegistry.clear();
+    pipelineCache.clear();
 
     turboSupport.invalidate();
   }
@@ -67,7 +104,8 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
       ReadableMap options,
       double listenerId,
       ReadableMap listenerOptions) {
-    if (collectionSnapshotListeners.get((int) listenerId) != null) {
+    if (collectionSnapshotListeners.get((int) listenerId) != null
+        || sharedListeners.contains((int) listenerId)) {
       return;
     }
 
@@ -85,7 +123,13 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
                       new ReactNativeFirebaseFirestoreQuery(
                           appName, databaseId, query, filters, orders, options);
                   handleQueryOnSnapshot(
-                      firestoreQuery, appName, databaseId, listenerId, listenerOptions);
+                      firestoreQuery,
+                      queryKey(
+                          appName, databaseId, "named", queryName, type, filters, orders, options),
+                      appName,
+                      databaseId,
+                      listenerId,
+                      listenerOptions);
                 }
               } else {
                 sendOnSnapshotError(appName, databaseId, listenerId, task.getException());
@@ -104,7 +148,8 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
       ReadableMap options,
       double listenerId,
       ReadableMap listenerOptions) {
-    if (collectionSnapshotListeners.get((int) listenerId) != null) {
+    if (collectionSnapshotListeners.get((int) listenerId) != null
+        || sharedListeners.contains((int) listenerId)) {
       return;
     }
 
@@ -118,11 +163,27 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
             orders,
             options);
 
-    handleQueryOnSnapshot(firestoreQuery, appName, databaseId, listenerId, listenerOptions);
+    handleQueryOnSnapshot(
+        firestoreQuery,
+        queryKey(appName, databaseId, "path", path, type, filters, orders, options),
+        appName,
+        databaseId,
+        listenerId,
+        listenerOptions);
   }
 
   @Override
   public void collectionOffSnapshot(String appName, String databaseId, double listenerId) {
+    if (sharedListeners.contains((int) listenerId)) {
+      ReactNativeFirebaseFirestoreSharedListeners.Registration<QuerySnapshot> registration =
+          sharedListeners.leave((int) listenerId);
+      if (registration != null) {
+        sharedListeners.removeListener(registration);
+        turboSupport.removeEventListeningExecutor(Integer.toString(registration.id));
+      }
+      return;
+    }
+
     ListenerRegistration listenerRegistration = collectionSnapshotListeners.get((int) listenerId);
     if (listenerRegistration != null) {
       listenerRegistration.remove();
@@ -155,7 +216,7 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
                   ReactNativeFirebaseFirestoreQuery firestoreQuery =
                       new ReactNativeFirebaseFirestoreQuery(
                           appName, databaseId, query, filters, orders, options);
-                  handleQueryGet(firestoreQuery, getSource(getOptions), promise);
+                  handleQueryGet(firestoreQuery, getOptions, promise);
                 }
               } else {
                 rejectPromiseFirestoreException(promise, task.getException());
@@ -316,10 +377,158 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
       Promise promise) {
     FirebaseFirestore firebaseFirestore = getFirestoreForApp(appName, databaseId);
     ReactNativeFirebaseFirestorePipelineExecutor pipelineExecutor =
-        new ReactNativeFirebaseFirestorePipelineExecutor(firebaseFirestore);
+        new ReactNativeFirebaseFirestorePipelineExecutor(firebaseFirestore, pipelineCache);
     pipelineExecutor.execute(pipeline, options, promise);
   }
 
+  @Override
+  public void pipelineStreamOpen(
+      String appName,
+      String databaseId,
+      ReadableMap pipeline,
+      @Nullable ReadableMap options,
+      double streamId,
+      ReadableMap streamOptions) {
+    if (pipelineStreams.get((int) streamId) != null) {
+      return;
+    }
+
+    ReactNativeFirebaseFirestorePipelineStream stream =
+        new ReactNativeFirebaseFirestorePipelineStream(
+            Math.max(1, streamOptions.getInt("chunkSize")),
+            streamOptions.hasKey("prefetch") ? Math.max(0, streamOptions.getInt("prefetch")) : 1,
+            turboSupport.getTransactionalExecutor(Integer.toString((int) streamId)),
+            new ReactNativeFirebaseFirestorePipelineStream.ChunkListener() {
+              @Override
+              public void onChunk(WritableMap chunk, boolean done) {
+                sendCursorPageEvent(appName, databaseId, (int) streamId, chunk, done);
+              }
+
+              @Override
+              public void onError(Exception exception) {
+                sendPipelineError(appName, databaseId, (int) streamId, exception);
+              }
+            });
+    pipelineStreams.put((int) streamId, stream);
+
+    ReactNativeFirebaseFirestorePipelineExecutor pipelineExecutor =
+        new ReactNativeFirebaseFirestorePipelineExecutor(
+            getFirestoreForApp(appName, databaseId), pipelineCache);
+    Task<ReactNativeFirebaseFirestorePipelineStream.Rows> execution;
+    try {
+      execution =
+          pipelineExecutor
+              .run(pipeline, options)
+              .onSuccessTask(
+                  turboSupport.getTransactionalExecutor(Integer.toString((int) streamId)),
+                  snapshot -> Tasks.forResult(pipelineExecutor.toRows(snapshot)));
+    } catch (Exception e) {
+      execution = Tasks.forException(e);
+    }
+    stream.open(execution);
+  }
+
+  @Override
+  public void pipelineStreamRequest(
+      String appName, String databaseId, double streamId, double chunks) {
+    ReactNativeFirebaseFirestorePipelineStream stream = pipelineStreams.get((int) streamId);
+    if (stream != null) {
+      stream.request((int) chunks);
+    }
+  }
+
+  @Override
+  public void pipelineStreamClose(String appName, String databaseId, double streamId) {
+    ReactNativeFirebaseFirestorePipelineStream stream = pipelineStreams.get((int) streamId);
+    if (stream != null) {
+      stream.close();
+      pipelineStreams.remove((int) streamId);
+      turboSupport.removeEventListeningExecutor(Integer.toString((int) streamId));
+    }
+  }
+
+  @Override
+  public void pipelineOnSnapshot(
+      String appName,
+      String databaseId,
+      ReadableMap pipeline,
+      @Nullable ReadableMap options,
+      double listenerId) {
+    if (pipelineListeners.get((int) listenerId) != null) {
+      return;
+    }
+
+    ReactNativeFirebaseFirestorePipelineExecutor pipelineExecutor =
+        new ReactNativeFirebaseFirestorePipelineExecutor(
+            getFirestoreForApp(appName, databaseId), pipelineCache);
+    Query source;
+    try {
+      source = pipelineExecutor.realtimeSource(pipeline, appName, databaseId);
+    } catch (Exception e) {
+      sendPipelineError(appName, databaseId, (int) listenerId, e);
+      return;
+    }
+
+    ReactNativeFirebaseFirestorePipelineListener listener =
+        new ReactNativeFirebaseFirestorePipelineListener(
+            source,
+            () -> pipelineExecutor.run(pipeline, options),
+            turboSupport.getTransactionalExecutor(Integer.toString((int) listenerId)),
+            new ReactNativeFirebaseFirestorePipelineListener.ResultsListener() {
+              @Override
+              public void onResults(
+                  Pipeline.Snapshot snapshot,
+                  List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes) {
+                WritableMap body;
+                try {
+                  body = pipelineExecutor.serializeChanges(snapshot, changes);
+                } catch (Exception e) {
+                  onError(e);
+                  return;
+                }
+
+                ReactNativeFirebaseEventEmitter emitter =
+                    ReactNativeFirebaseEventEmitter.getSharedInstance();
+                // Each evaluation's changes apply to the rows left by the one before it.
+                emitter.sendEvent(
+                    new ReactNativeFirebaseFirestoreEvent(
+                        ReactNativeFirebaseFirestoreEvent.COLLECTION_EVENT_SYNC,
+                        body,
+                        appName,
+                        databaseId,
+                        (int) listenerId,
+                        false));
+              }
+
+              @Override
+              public void onError(Exception exception) {
+                sendPipelineError(appName, databaseId, (int) listenerId, exception);
+              }
+            });
+    pipelineListeners.put((int) listenerId, listener);
+    listener.start();
+  }
+
+  @Override
+  public void pipelineOffSnapshot(String appName, String databaseId, double listenerId) {
+    ReactNativeFirebaseFirestorePipelineListener listener = pipelineListeners.get((int) listenerId);
+    if (listener != null) {
+      listener.close();
+      pipelineListeners.remove((int) listenerId);
+      turboSupport.removeEventListeningExecutor(Integer.toString((int) listenerId));
+    }
+  }
+
+  @Override
+  public void pipelineCacheStats(String appName, String databaseId, Promise promise) {
+    WritableMap stats = Arguments.createMap();
+    stats.putDouble("hits", pipelineCache.getHits());
+    stats.putDouble("misses", pipelineCache.getMisses());
+    stats.putInt("size", pipelineCache.size());
+    stats.putInt("maxSize", pipelineCache.getMaxSize());
+    promise.resolve(stats);
+  }
+
   @Override
   public void collectionGet(
       String appName,
@@ -340,11 +549,158 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
             filters,
             orders,
             options);
-    handleQueryGet(firestoreQuery, getSource(getOptions), promise);
+    handleQueryGet(firestoreQuery, getOptions, promise);
+  }
+
+  @Override
+  public WritableMap collectionSnapshotData(
+      String appName,
+      String databaseId,
+      double handle,
+      ReadableArray paths,
+      ReadableMap options) {
+    WritableMap result = Arguments.createMap();
+    Map<String, DocumentSnapshot> documents = snapshotRegistry.get((int) handle);
+    if (documents == null) {
+      // Released or evicted: JS reports the missing documents.
+      return result;
+    }
+
+    List<FieldPath> fieldPaths = null;
+    if (options.hasKey("fieldPaths")) {
+      ReadableArray fieldPathsArray = Objects.requireNonNull(options.getArray("fieldPaths"));
+      fieldPaths = new ArrayList<>(fieldPathsArray.size());
+      for (int i = 0; i < fieldPathsArray.size(); i++) {
+        ArrayList<Object> segments =
+            Objects.requireNonNull(fieldPathsArray.getArray(i)).toArrayList();
+        fieldPaths.add(FieldPath.of(segments.toArray(new String[0])));
+      }
+    }
+    DocumentSnapshot.ServerTimestampBehavior timestampBehavior =
+        getServerTimestampBehavior(appName, databaseId);
+    if (options.hasKey("serverTimestamps")) {
+      String serverTimestamps = options.getString("serverTimestamps");
+      if ("estimate".equals(serverTimestamps)) {
+        timestampBehavior = DocumentSnapshot.ServerTimestampBehavior.ESTIMATE;
+      } else if ("previous".equals(serverTimestamps)) {
+        timestampBehavior = DocumentSnapshot.ServerTimestampBehavior.PREVIOUS;
+      } else if ("none".equals(serverTimestamps)) {
+        timestampBehavior = DocumentSnapshot.ServerTimestampBehavior.NONE;
+      }
+    }
+
+    for (int i = 0; i < paths.size(); i++) {
+      String path = paths.getString(i);
+      DocumentSnapshot documentSnapshot = documents.get(path);
+      if (documentSnapshot == null) {
+        continue;
+      }
+      if (fieldPaths == null) {
+        result.putMap(path, snapshotToWritableMap(appName, databaseId, documentSnapshot));
+      } else {
+        result.putArray(
+            path, documentFieldsToWritableArray(documentSnapshot, fieldPaths, timestampBehavior));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void collectionSnapshotRelease(String appName, String databaseId, double handle) {
+    snapshotRegistry.release((int) handle);
+  }
+
+  @Override
+  public void collectionCursorOpen(
+      String appName,
+      String databaseId,
+      String path,
+      String type,
+      ReadableArray filters,
+      ReadableArray orders,
+      ReadableMap options,
+      double cursorId,
+      ReadableMap cursorOptions) {
+    if (cursors.get((int) cursorId) != null) {
+      return;
+    }
+
+    FirebaseFirestore firebaseFirestore = getFirestoreForApp(appName, databaseId);
+    ReactNativeFirebaseFirestoreQuery firestoreQuery =
+        new ReactNativeFirebaseFirestoreQuery(
+            appName,
+            databaseId,
+            getQueryForFirestore(firebaseFirestore, path, type),
+            filters,
+            orders,
+            options);
+
+    ReactNativeFirebaseFirestoreCursor cursor =
+        new ReactNativeFirebaseFirestoreCursor(
+            firestoreQuery,
+            getSource(cursorOptions),
+            Math.max(1, cursorOptions.getInt("pageSize")),
+            cursorOptions.hasKey("prefetch") ? Math.max(0, cursorOptions.getInt("prefetch")) : 1,
+            turboSupport.getTransactionalExecutor(Integer.toString((int) cursorId)),
+            turboSupport.getHelperExecutor(),
+            new ReactNativeFirebaseFirestoreCursor.PageListener() {
+              @Override
+              public void onPage(WritableMap page, boolean done) {
+                sendCursorPageEvent(appName, databaseId, (int) cursorId, page, done);
+              }
+
+              @Override
+              public void onError(Exception exception) {
+                sendOnSnapshotError(appName, databaseId, cursorId, exception);
+              }
+            });
+    cursors.put((int) cursorId, cursor);
+    cursor.open();
+  }
+
+  @Override
+  public void collectionCursorRequest(
+      String appName, String databaseId, double cursorId, double pages) {
+    ReactNativeFirebaseFirestoreCursor cursor = cursors.get((int) cursorId);
+    if (cursor != null) {
+      cursor.request((int) pages);
+    }
+  }
+
+  @Override
+  public void collectionCursorClose(String appName, String databaseId, double cursorId) {
+    ReactNativeFirebaseFirestoreCursor cursor = cursors.get((int) cursorId);
+    if (cursor != null) {
+      cursor.close();
+      cursors.remove((int) cursorId);
+      turboSupport.removeEventListeningExecutor(Integer.toString((int) cursorId));
+    }
+  }
+
+  /** Builds the part of a shared listener key that identifies a query. */
+  private static String queryKey(
+      String appName,
+      String databaseId,
+      String kind,
+      String pathOrName,
+      String type,
+      ReadableArray filters,
+      ReadableArray orders,
+      ReadableMap options) {
+    return ReactNativeFirebaseFirestoreSharedListeners.canonicalKey(
+        appName,
+        databaseId,
+        kind,
+        pathOrName,
+        type,
+        filters == null ? null : filters.toArrayList(),
+        orders == null ? null : orders.toArrayList(),
+        options == null ? null : options.toHashMap());
   }
 
   private void handleQueryOnSnapshot(
       ReactNativeFirebaseFirestoreQuery firestoreQuery,
+      String queryKey,
       String appName,
       String databaseId,
       double listenerId,
@@ -362,12 +718,43 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
     }
     snapshotListenOptionsBuilder.setMetadataChanges(metadataChanges);
 
-    if (listenerOptions != null
-        && listenerOptions.hasKey("source")
-        && "cache".equals(listenerOptions.getString("source"))) {
-      snapshotListenOptionsBuilder.setSource(ListenSource.CACHE);
-    } else {
-      snapshotListenOptionsBuilder.setSource(ListenSource.DEFAULT);
+    final boolean cacheSource =
+        listenerOptions != null
+            && listenerOptions.hasKey("source")
+            && "cache".equals(listenerOptions.getString("source"));
+    snapshotListenOptionsBuilder.setSource(cacheSource ? ListenSource.CACHE : ListenSource.DEFAULT);
+
+    // Delta listeners number their snapshots so JS can detect a missed one and listen again.
+    // Field diffs build on delta snapshots, so they turn those on as well.
+    final boolean fieldDiffs =
+        listenerOptions != null
+            && listenerOptions.hasKey("fieldDiffs")
+            && listenerOptions.getBoolean("fieldDiffs");
+    final AtomicInteger deltaSequence =
+        fieldDiffs
+                || (listenerOptions != null
+                    && listenerOptions.hasKey("deltaSnapshots")
+                    && listenerOptions.getBoolean("deltaSnapshots"))
+            ? new AtomicInteger()
+            : null;
+    final ReactNativeFirebaseFirestoreFieldDiff fieldDiff =
+        fieldDiffs ? new ReactNativeFirebaseFirestoreFieldDiff() : null;
+
+    // Other listeners of the same query with the same options share one SDK listener; delta
+    // snapshots depend on what was sent to their own listener, so those listen on their own.
+    if (deltaSequence == null) {
+      String key =
+          ReactNativeFirebaseFirestoreSharedListeners.canonicalKey(
+              queryKey, metadataChanges == MetadataChanges.INCLUDE, cacheSource);
+      addSharedSnapshotListener(
+          firestoreQuery,
+          appName,
+          databaseId,
+          key,
+          (int) listenerId,
+          metadataChanges,
+          snapshotListenOptionsBuilder.build());
+      return;
     }
 
     final EventListener<QuerySnapshot> listener =
@@ -381,7 +768,14 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
             }
             sendOnSnapshotError(appName, databaseId, listenerId, exception);
           } else {
-            sendOnSnapshotEvent(appName, databaseId, listenerId, querySnapshot, metadataChanges);
+            sendOnSnapshotEvent(
+                appName,
+                databaseId,
+                listenerId,
+                querySnapshot,
+                metadataChanges,
+                deltaSequence,
+                fieldDiff);
           }
         };
 
@@ -391,36 +785,251 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
     collectionSnapshotListeners.put((int) listenerId, listenerRegistration);
   }
 
-  private void handleQueryGet(
-      ReactNativeFirebaseFirestoreQuery firestoreQuery, Source source, Promise promise) {
+  private void addSharedSnapshotListener(
+      ReactNativeFirebaseFirestoreQuery firestoreQuery,
+      String appName,
+      String databaseId,
+      String key,
+      int listenerId,
+      MetadataChanges metadataChanges,
+      SnapshotListenOptions snapshotListenOptions) {
+    final ReactNativeFirebaseFirestoreSharedListeners.Registration<QuerySnapshot> registration;
+    synchronized (sharedListeners) {
+      registration = sharedListeners.join(key, listenerId);
+      if (registration.id != listenerId) {
+        // Already listening: the new listener starts from the last snapshot, if there is one yet.
+        if (registration.lastSnapshot != null) {
+          sendSharedSnapshotEvent(
+              appName,
+              databaseId,
+              registration,
+              registration.lastSnapshot,
+              metadataChanges,
+              new int[] {listenerId},
+              true);
+        }
+        return;
+      }
+    }
+
+    final EventListener<QuerySnapshot> listener =
+        (querySnapshot, exception) -> {
+          if (exception != null) {
+            int[] listenerIds = sharedListeners.drop(registration);
+            sharedListeners.removeListener(registration);
+            turboSupport.removeEventListeningExecutor(Integer.toString(registration.id));
+            for (int id : listenerIds) {
+              sendOnSnapshotError(appName, databaseId, id, exception);
+            }
+            return;
+          }
+          synchronized (sharedListeners) {
+            if (!registration.removed) {
+              registration.lastSnapshot = querySnapshot;
+              sendSharedSnapshotEvent(
+                  appName,
+                  databaseId,
+                  registration,
+                  querySnapshot,
+                  metadataChanges,
+                  registration.listenerIds(),
+                  false);
+            }
+          }
+        };
+
+    ListenerRegistration listenerRegistration =
+        firestoreQuery.query.addSnapshotListener(snapshotListenOptions, listener);
+    if (!sharedListeners.attach(registration, listenerRegistration)) {
+      listenerRegistration.remove();
+    }
+  }
+
+  /**
+   * Serializes a snapshot once and sends it to the given listeners of a shared registration, in
+   * order on the registration's serial executor.
+   *
+   * @param joined true for the last snapshot sent to a listener that just joined, whose document
+   *     changes are rebuilt as if it was its first snapshot, and which does not supersede an
+   *     earlier snapshot sent to all listeners
+   */
+  private void sendSharedSnapshotEvent(
+      String appName,
+      String databaseId,
+      ReactNativeFirebaseFirestoreSharedListeners.Registration<QuerySnapshot> registration,
+      QuerySnapshot querySnapshot,
+      MetadataChanges metadataChanges,
+      int[] listenerIds,
+      boolean joined) {
     try {
-      firestoreQuery
-          .get(turboSupport.getExecutor(), source)
+      Tasks.call(
+              turboSupport.getTransactionalExecutor(Integer.toString(registration.id)),
+              () ->
+                  joined
+                      ? snapshotAsFirstToWritableMap(
+                          appName, databaseId, querySnapshot, metadataChanges)
+                      : snapshotToWritableMap(
+                          appName, databaseId, "onSnapshot", querySnapshot, metadataChanges))
           .addOnCompleteListener(
               task -> {
                 if (task.isSuccessful()) {
-                  promise.resolve(task.getResult());
+                  WritableMap body = Arguments.createMap();
+                  body.putMap("snapshot", task.getResult());
+
+                  ReactNativeFirebaseEventEmitter emitter =
+                      ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+                  emitter.sendEvent(
+                      new ReactNativeFirebaseFirestoreEvent(
+                          ReactNativeFirebaseFirestoreEvent.COLLECTION_EVENT_SYNC,
+                          body,
+                          appName,
+                          databaseId,
+                          registration.id,
+                          !joined,
+                          listenerIds));
                 } else {
-                  rejectPromiseFirestoreException(promise, task.getException());
+                  for (int listenerId : listenerIds) {
+                    sendOnSnapshotError(appName, databaseId, listenerId, task.getException());
+                  }
                 }
               });
+    } catch (java.util.concurrent.RejectedExecutionException e) {
+      // Snapshot arrived after its listeners left, or module invalidation shut down the executor.
+    }
+  }
+
+  private void handleQueryGet(
+      ReactNativeFirebaseFirestoreQuery firestoreQuery,
+      @Nullable ReadableMap getOptions,
+      Promise promise) {
+    Source source = getSource(getOptions);
+    boolean lazyData =
+        getOptions != null && getOptions.hasKey("lazyData") && getOptions.getBoolean("lazyData");
+    // JS listens for the chunks of a chunked get like for snapshots, under the given listener id.
+    boolean chunked =
+        getOptions != null
+            && getOptions.hasKey("chunkSize")
+            && getOptions.hasKey("chunkListenerId");
+    try {
+      Task<WritableMap> getTask;
+      if (lazyData) {
+        getTask = firestoreQuery.getLazy(turboSupport.getExecutor(), source, snapshotRegistry);
+      } else if (chunked) {
+        int listenerId = getOptions.getInt("chunkListenerId");
+        getTask =
+            firestoreQuery.getChunked(
+                turboSupport.getExecutor(),
+                turboSupport.getHelperExecutor(),
+                source,
+                Math.max(1, getOptions.getInt("chunkSize")),
+                chunk -> sendChunkEvent(firestoreQuery, listenerId, chunk));
+      } else {
+        getTask =
+            firestoreQuery.get(
+                turboSupport.getExecutor(), turboSupport.getHelperExecutor(), source);
+      }
+      getTask.addOnCompleteListener(
+          task -> {
+            if (task.isSuccessful()) {
+              promise.resolve(task.getResult());
+            } else {
+              rejectPromiseFirestoreException(promise, task.getException());
+            }
+          });
     } catch (java.util.concurrent.RejectedExecutionException e) {
       rejectPromiseFirestoreException(promise, e);
     }
   }
 
+  private void sendChunkEvent(
+      ReactNativeFirebaseFirestoreQuery firestoreQuery, int listenerId, WritableMap chunk) {
+    WritableMap body = Arguments.createMap();
+    body.putMap("chunk", chunk);
+
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+    // Each chunk carries different documents, so none supersedes another.
+    emitter.sendEvent(
+        new ReactNativeFirebaseFirestoreEvent(
+            ReactNativeFirebaseFirestoreEvent.COLLECTION_EVENT_SYNC,
+            body,
+            firestoreQuery.appName,
+            firestoreQuery.databaseId,
+            listenerId,
+            false));
+  }
+
+  private void sendCursorPageEvent(
+      String appName, String databaseId, int cursorId, WritableMap page, boolean done) {
+    WritableMap body = Arguments.createMap();
+    body.putMap("page", page);
+    body.putBoolean("done", done);
+
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+    // Each page carries different documents, so none supersedes another.
+    emitter.sendEvent(
+        new ReactNativeFirebaseFirestoreEvent(
+            ReactNativeFirebaseFirestoreEvent.COLLECTION_EVENT_SYNC,
+            body,
+            appName,
+            databaseId,
+            cursorId,
+            false));
+  }
+
+  private void sendPipelineError(
+      String appName, String databaseId, int streamId, Exception exception) {
+    if (!(exception
+        instanceof ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException)) {
+      sendOnSnapshotError(appName, databaseId, streamId, exception, false);
+      return;
+    }
+
+    WritableMap body = Arguments.createMap();
+    WritableMap error = Arguments.createMap();
+    error.putString("code", "invalid-argument");
+    error.putString("message", exception.getMessage());
+    body.putMap("error", error);
+
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+    // An error is the last event for the stream or listener, so it is delivered on its own.
+    emitter.sendEvent(
+        new ReactNativeFirebaseFirestoreEvent(
+            ReactNativeFirebaseFirestoreEvent.COLLECTION_EVENT_SYNC,
+            body,
+            appName,
+            databaseId,
+            streamId,
+            false));
+  }
+
   private void sendOnSnapshotEvent(
       String appName,
       String databaseId,
       double listenerId,
       QuerySnapshot querySnapshot,
-      MetadataChanges metadataChanges) {
+      MetadataChanges metadataChanges,
+      @Nullable AtomicInteger deltaSequence,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff) {
     try {
       Tasks.call(
               turboSupport.getTransactionalExecutor(Integer.toString((int) listenerId)),
+              // Runs in order on the listener's serial executor, so sequence numbers follow
+              // snapshot order and the field diff needs no locking.
               () ->
-                  snapshotToWritableMap(
-                      appName, databaseId, "onSnapshot", querySnapshot, metadataChanges))
+                  deltaSequence == null
+                      ? snapshotToWritableMap(
+                          appName, databaseId, "onSnapshot", querySnapshot, metadataChanges)
+                      : snapshotDeltaToWritableMap(
+                          appName,
+                          databaseId,
+                          querySnapshot,
+                          metadataChanges,
+                          deltaSequence.getAndIncrement(),
+                          fieldDiff))
           .addOnCompleteListener(
               task -> {
                 if (task.isSuccessful()) {
@@ -436,7 +1045,8 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
                           body,
                           appName,
                           databaseId,
-                          (int) listenerId));
+                          (int) listenerId,
+                          deltaSequence == null));
                 } else {
                   sendOnSnapshotError(appName, databaseId, listenerId, task.getException());
                 }
@@ -449,6 +1059,15 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
 
   private void sendOnSnapshotError(
       String appName, String databaseId, double listenerId, Exception exception) {
+    sendOnSnapshotError(appName, databaseId, listenerId, exception, true);
+  }
+
+  private void sendOnSnapshotError(
+      String appName,
+      String databaseId,
+      double listenerId,
+      Exception exception,
+      boolean coalescible) {
     WritableMap body = Arguments.createMap();
     WritableMap error = Arguments.createMap();
 
@@ -472,7 +1091,8 @@ public class NativeRNFBTurboFirestoreCollection extends NativeRNFBTurboFirestore
             body,
             appName,
             databaseId,
-            (int) listenerId));
+            (int) listenerId,
+            coalescible));
   }
 
   private Source getSource(ReadableMap getOptions) {
@@ -33,12 +33,19 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 
 public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDocumentSpec {
   private final FirestoreTurboModuleSupport turboSupport =
       new FirestoreTurboModuleSupport("RNFBDocument");
   private static final String SERVICE_NAME = "FirestoreDocument";
   private static SparseArray<ListenerRegistration> documentSnapshotListeners = new SparseArray<>();
+  @Nullable private ScheduledExecutorService bulkWriteScheduler;
+  private final ReactNativeFirebaseFirestoreSharedListeners<DocumentSnapshot> sharedListeners =
+      new ReactNativeFirebaseFirestoreSharedListeners<>();
 
   public NativeRNFBTurboFirestoreDocument(ReactApplicationContext reactContext) {
     super(reactContext);
@@ -52,6 +59,13 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
       listenerRegistration.remove();
     }
     documentSnapshotListeners.clear();
+    sharedListeners.clear();
+    synchronized (this) {
+      if (bulkWriteScheduler != null) {
+        bulkWriteScheduler.shutdownNow();
+        bulkWriteScheduler = null;
+      }
+    }
 
     turboSupport.invalidate();
   }
@@ -63,13 +77,56 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
       String path,
       double listenerId,
       ReadableMap listenerOptions) {
-    if (documentSnapshotListeners.get((int) listenerId) != null) {
+    if (documentSnapshotListeners.get((int) listenerId) != null
+        || sharedListeners.contains((int) listenerId)) {
       return;
     }
 
     FirebaseFirestore firebaseFirestore = getFirestoreForApp(appName, databaseId);
     DocumentReference documentReference = getDocumentForFirestore(firebaseFirestore, path);
 
+    SnapshotListenOptions.Builder snapshotListenOptionsBuilder =
+        new SnapshotListenOptions.Builder();
+
+    final boolean includeMetadataChanges =
+        listenerOptions != null
+            && listenerOptions.hasKey("includeMetadataChanges")
+            && listenerOptions.getBoolean("includeMetadataChanges");
+    snapshotListenOptionsBuilder.setMetadataChanges(
+        includeMetadataChanges ? MetadataChanges.INCLUDE : MetadataChanges.EXCLUDE);
+
+    final boolean cacheSource =
+        listenerOptions != null
+            && listenerOptions.hasKey("source")
+            && "cache".equals(listenerOptions.getString("source"));
+    snapshotListenOptionsBuilder.setSource(cacheSource ? ListenSource.CACHE : ListenSource.DEFAULT);
+
+    // Field diff listeners number their snapshots so JS can detect a missed one and listen again.
+    final ReactNativeFirebaseFirestoreFieldDiff fieldDiff =
+        listenerOptions != null
+                && listenerOptions.hasKey("fieldDiffs")
+                && listenerOptions.getBoolean("fieldDiffs")
+            ? new ReactNativeFirebaseFirestoreFieldDiff()
+            : null;
+
+    // Other listeners of the same document with the same options share one SDK listener; a field
+    // diff depends on what was sent to its own listener, so those listen on their own.
+    if (fieldDiff == null) {
+      String key =
+          ReactNativeFirebaseFirestoreSharedListeners.canonicalKey(
+              appName, databaseId, path, includeMetadataChanges, cacheSource);
+      addSharedSnapshotListener(
+          appName,
+          databaseId,
+          documentReference,
+          key,
+          (int) listenerId,
+          snapshotListenOptionsBuilder.build());
+      return;
+    }
+
+    final AtomicInteger sequence = new AtomicInteger();
+
     final EventListener<DocumentSnapshot> listener =
         (documentSnapshot, exception) -> {
           if (exception != null) {
@@ -81,29 +138,11 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
             }
             sendOnSnapshotError(appName, databaseId, listenerId, exception);
           } else {
-            sendOnSnapshotEvent(appName, databaseId, listenerId, documentSnapshot);
+            sendOnSnapshotEvent(
+                appName, databaseId, listenerId, documentSnapshot, fieldDiff, sequence);
           }
         };
 
-    SnapshotListenOptions.Builder snapshotListenOptionsBuilder =
-        new SnapshotListenOptions.Builder();
-
-    if (listenerOptions != null
-        && listenerOptions.hasKey("includeMetadataChanges")
-        && listenerOptions.getBoolean("includeMetadataChanges")) {
-      snapshotListenOptionsBuilder.setMetadataChanges(MetadataChanges.INCLUDE);
-    } else {
-      snapshotListenOptionsBuilder.setMetadataChanges(MetadataChanges.EXCLUDE);
-    }
-
-    if (listenerOptions != null
-        && listenerOptions.hasKey("source")
-        && "cache".equals(listenerOptions.getString("source"))) {
-      snapshotListenOptionsBuilder.setSource(ListenSource.CACHE);
-    } else {
-      snapshotListenOptionsBuilder.setSource(ListenSource.DEFAULT);
-    }
-
     ListenerRegistration listenerRegistration =
         documentReference.addSnapshotListener(snapshotListenOptionsBuilder.build(), listener);
 
@@ -112,10 +151,21 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
 
   @Override
   public void documentOffSnapshot(String appName, String databaseId, double listenerId) {
+    if (sharedListeners.contains((int) listenerId)) {
+      ReactNativeFirebaseFirestoreSharedListeners.Registration<DocumentSnapshot> registration =
+          sharedListeners.leave((int) listenerId);
+      if (registration != null) {
+        sharedListeners.removeListener(registration);
+        turboSupport.removeEventListeningExecutor(Integer.toString(registration.id));
+      }
+      return;
+    }
+
     ListenerRegistration listenerRegistration = documentSnapshotListeners.get((int) listenerId);
     if (listenerRegistration != null) {
       listenerRegistration.remove();
       documentSnapshotListeners.remove((int) listenerId);
+      turboSupport.removeEventListeningExecutor(Integer.toString((int) listenerId));
     }
   }
 
@@ -255,48 +305,7 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
               List<Object> writesArray = task.getResult();
 
               for (Object w : writesArray) {
-                Map<String, Object> write = (Map) w;
-                String type = (String) write.get("type");
-                String path = (String) write.get("path");
-                Map<String, Object> data = (Map) write.get("data");
-
-                DocumentReference documentReference =
-                    getDocumentForFirestore(firebaseFirestore, path);
-
-                switch (Objects.requireNonNull(type)) {
-                  case "DELETE":
-                    batch = batch.delete(documentReference);
-                    break;
-                  case "UPDATE":
-                    batch = batch.update(documentReference, Objects.requireNonNull(data));
-                    break;
-                  case "SET":
-                    Map<String, Object> options = (Map) write.get("options");
-
-                    if (Objects.requireNonNull(options).containsKey("merge")
-                        && (boolean) options.get("merge")) {
-                      batch =
-                          batch.set(
-                              documentReference, Objects.requireNonNull(data), SetOptions.merge());
-                    } else if (options.containsKey("mergeFields")) {
-                      List<String> fields = new ArrayList<>();
-
-                      for (Object object :
-                          Objects.requireNonNull((List) options.get("mergeFields"))) {
-                        fields.add((String) object);
-                      }
-
-                      batch =
-                          batch.set(
-                              documentReference,
-                              Objects.requireNonNull(data),
-                              SetOptions.mergeFields(fields));
-                    } else {
-                      batch = batch.set(documentReference, Objects.requireNonNull(data));
-                    }
-
-                    break;
-                }
+                addWriteToBatch(firebaseFirestore, batch, (Map) w);
               }
 
               return batch.commit();
@@ -311,11 +320,245 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
             });
   }
 
-  private void sendOnSnapshotEvent(
-      String appName, String databaseId, double listenerId, DocumentSnapshot documentSnapshot) {
+  @Override
+  public void documentBulkWrite(
+      String appName,
+      String databaseId,
+      ReadableArray writes,
+      double bulkWriteId,
+      ReadableMap options,
+      Promise promise) {
+    FirebaseFirestore firebaseFirestore = getFirestoreForApp(appName, databaseId);
+    int batchSize =
+        options.hasKey("batchSize")
+            ? options.getInt("batchSize")
+            : ReactNativeFirebaseFirestoreBulkWriter.MAX_BATCH_SIZE;
+    int maxInFlight =
+        options.hasKey("maxInFlight")
+            ? options.getInt("maxInFlight")
+            : ReactNativeFirebaseFirestoreBulkWriter.DEFAULT_MAX_IN_FLIGHT;
+    int maxAttempts =
+        options.hasKey("maxAttempts")
+            ? options.getInt("maxAttempts")
+            : ReactNativeFirebaseFirestoreBulkWriter.DEFAULT_MAX_ATTEMPTS;
+
+    Task<List<Object>> parseTask;
+    try {
+      parseTask =
+          Tasks.call(
+              turboSupport.getExecutor(), () -> parseDocumentBatches(firebaseFirestore, writes));
+    } catch (java.util.concurrent.RejectedExecutionException e) {
+      rejectPromiseFirestoreException(promise, e);
+      return;
+    }
+    parseTask.addOnCompleteListener(
+        parsed -> {
+          if (!parsed.isSuccessful()) {
+            rejectPromiseFirestoreException(promise, parsed.getException());
+            return;
+          }
+
+          List<Object> parsedWrites = parsed.getResult();
+          new ReactNativeFirebaseFirestoreBulkWriter(
+                  parsedWrites.size(),
+                  batchSize,
+                  maxInFlight,
+                  maxAttempts,
+                  getBulkWriteScheduler(),
+                  indices -> {
+                    WriteBatch batch = firebaseFirestore.batch();
+                    for (int index : indices) {
+                      addWriteToBatch(firebaseFirestore, batch, (Map) parsedWrites.get(index));
+                    }
+                    return batch.commit();
+                  },
+                  new ReactNativeFirebaseFirestoreBulkWriter.Listener() {
+                    @Override
+                    public void onBatch(
+                        int[] indices, @Nullable Exception failure, int succeeded, int failed) {
+                      sendBulkWriteEvent(
+                          appName,
+                          databaseId,
+                          (int) bulkWriteId,
+                          indices,
+                          failure,
+                          succeeded,
+                          failed);
+                    }
+
+                    @Override
+                    public void onComplete(int succeeded, int failed) {
+                      WritableMap result = Arguments.createMap();
+                      result.putInt("succeeded", succeeded);
+                      result.putInt("failed", failed);
+                      promise.resolve(result);
+                    }
+                  })
+              .start();
+        });
+  }
+
+  private synchronized ScheduledExecutorService getBulkWriteScheduler() {
+    if (bulkWriteScheduler == null) {
+      bulkWriteScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "RNFBFirestoreBulkWriter");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return bulkWriteScheduler;
+  }
+
+  private static void addWriteToBatch(
+      FirebaseFirestore firebaseFirestore, WriteBatch batch, Map<String, Object> write) {
+    String type = (String) write.get("type");
+    String path = (String) write.get("path");
+    Map<String, Object> data = (Map) write.get("data");
+
+    DocumentReference documentReference = getDocumentForFirestore(firebaseFirestore, path);
+
+    switch (Objects.requireNonNull(type)) {
+      case "DELETE":
+        batch.delete(documentReference);
+        break;
+      case "UPDATE":
+        batch.update(documentReference, Objects.requireNonNull(data));
+        break;
+      case "SET":
+        Map<String, Object> options = (Map) write.get("options");
+
+        if (Objects.requireNonNull(options).containsKey("merge")
+            && (boolean) options.get("merge")) {
+          batch.set(documentReference, Objects.requireNonNull(data), SetOptions.merge());
+        } else if (options.containsKey("mergeFields")) {
+          List<String> fields = new ArrayList<>();
+
+          for (Object object : Objects.requireNonNull((List) options.get("mergeFields"))) {
+            fields.add((String) object);
+          }
+
+          batch.set(
+              documentReference, Objects.requireNonNull(data), SetOptions.mergeFields(fields));
+        } else {
+          batch.set(documentReference, Objects.requireNonNull(data));
+        }
+
+        break;
+    }
+  }
+
+  private void sendBulkWriteEvent(
+      String appName,
+      String databaseId,
+      int bulkWriteId,
+      int[] indices,
+      @Nullable Exception failure,
+      int succeeded,
+      int failed) {
+    WritableMap bulkWrite = Arguments.createMap();
+    WritableArray indicesArray = Arguments.createArray();
+    for (int index : indices) {
+      indicesArray.pushInt(index);
+    }
+    bulkWrite.putArray("indices", indicesArray);
+    if (failure != null) {
+      bulkWrite.putMap("error", exceptionToWritableMap(failure));
+    }
+    bulkWrite.putInt("succeeded", succeeded);
+    bulkWrite.putInt("failed", failed);
+
+    WritableMap body = Arguments.createMap();
+    body.putMap("bulkWrite", bulkWrite);
+
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+    // Each event reports different writes, so none supersedes another.
+    emitter.sendEvent(
+        new ReactNativeFirebaseFirestoreEvent(
+            ReactNativeFirebaseFirestoreEvent.DOCUMENT_EVENT_SYNC,
+            body,
+            appName,
+            databaseId,
+            bulkWriteId,
+            false));
+  }
+
+  private void addSharedSnapshotListener(
+      String appName,
+      String databaseId,
+      DocumentReference documentReference,
+      String key,
+      int listenerId,
+      SnapshotListenOptions snapshotListenOptions) {
+    final ReactNativeFirebaseFirestoreSharedListeners.Registration<DocumentSnapshot> registration;
+    synchronized (sharedListeners) {
+      registration = sharedListeners.join(key, listenerId);
+      if (registration.id != listenerId) {
+        // Already listening: the new listener starts from the last snapshot, if there is one yet.
+        if (registration.lastSnapshot != null) {
+          sendSharedSnapshotEvent(
+              appName,
+              databaseId,
+              registration,
+              registration.lastSnapshot,
+              new int[] {listenerId},
+              false);
+        }
+        return;
+      }
+    }
+
+    final EventListener<DocumentSnapshot> listener =
+        (documentSnapshot, exception) -> {
+          if (exception != null) {
+            int[] listenerIds = sharedListeners.drop(registration);
+            sharedListeners.removeListener(registration);
+            turboSupport.removeEventListeningExecutor(Integer.toString(registration.id));
+            for (int id : listenerIds) {
+              sendOnSnapshotError(appName, databaseId, id, exception);
+            }
+            return;
+          }
+          synchronized (sharedListeners) {
+            if (!registration.removed) {
+              registration.lastSnapshot = documentSnapshot;
+              sendSharedSnapshotEvent(
+                  appName,
+                  databaseId,
+                  registration,
+                  documentSnapshot,
+                  registration.listenerIds(),
+                  true);
+            }
+          }
+        };
+
+    ListenerRegistration listenerRegistration =
+        documentReference.addSnapshotListener(snapshotListenOptions, listener);
+    if (!sharedListeners.attach(registration, listenerRegistration)) {
+      listenerRegistration.remove();
+    }
+  }
+
+  /**
+   * Serializes a snapshot once and sends it to the given listeners of a shared registration, in
+   * order on the registration's serial executor.
+   *
+   * @param coalescible false for the last snapshot sent to a listener that just joined, which does
+   *     not supersede an earlier snapshot sent to all listeners
+   */
+  private void sendSharedSnapshotEvent(
+      String appName,
+      String databaseId,
+      ReactNativeFirebaseFirestoreSharedListeners.Registration<DocumentSnapshot> registration,
+      DocumentSnapshot documentSnapshot,
+      int[] listenerIds,
+      boolean coalescible) {
     try {
       Tasks.call(
-              turboSupport.getExecutor(),
+              turboSupport.getTransactionalExecutor(Integer.toString(registration.id)),
               () -> snapshotToWritableMap(appName, databaseId, documentSnapshot))
           .addOnCompleteListener(
               task -> {
@@ -332,7 +575,58 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
                           body,
                           appName,
                           databaseId,
-                          (int) listenerId));
+                          registration.id,
+                          coalescible,
+                          listenerIds));
+                } else {
+                  for (int listenerId : listenerIds) {
+                    sendOnSnapshotError(appName, databaseId, listenerId, task.getException());
+                  }
+                }
+              });
+    } catch (java.util.concurrent.RejectedExecutionException e) {
+      // Snapshot arrived after its listeners left, or module invalidation shut down the executor.
+    }
+  }
+
+  private void sendOnSnapshotEvent(
+      String appName,
+      String databaseId,
+      double listenerId,
+      DocumentSnapshot documentSnapshot,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff,
+      AtomicInteger sequence) {
+    try {
+      Tasks.call(
+              // Snapshots are serialized on the listener's serial executor, so they are sent, and
+              // a field diff sees them, in order.
+              turboSupport.getTransactionalExecutor(Integer.toString((int) listenerId)),
+              () -> {
+                if (fieldDiff == null) {
+                  return snapshotToWritableMap(appName, databaseId, documentSnapshot);
+                }
+                WritableMap snapshot =
+                    snapshotToWritableMap(appName, databaseId, documentSnapshot, fieldDiff);
+                snapshot.putInt("seq", sequence.getAndIncrement());
+                return snapshot;
+              })
+          .addOnCompleteListener(
+              task -> {
+                if (task.isSuccessful()) {
+                  WritableMap body = Arguments.createMap();
+                  body.putMap("snapshot", task.getResult());
+
+                  ReactNativeFirebaseEventEmitter emitter =
+                      ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+                  emitter.sendEvent(
+                      new ReactNativeFirebaseFirestoreEvent(
+                          ReactNativeFirebaseFirestoreEvent.DOCUMENT_EVENT_SYNC,
+                          body,
+                          appName,
+                          databaseId,
+                          (int) listenerId,
+                          fieldDiff == null));
                 } else {
                   sendOnSnapshotError(appName, databaseId, listenerId, task.getException());
                 }
@@ -346,6 +640,19 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
   private void sendOnSnapshotError(
       String appName, String databaseId, double listenerId, Exception exception) {
     WritableMap body = Arguments.createMap();
+    body.putMap("error", exceptionToWritableMap(exception));
+    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
+
+    emitter.sendEvent(
+        new ReactNativeFirebaseFirestoreEvent(
+            ReactNativeFirebaseFirestoreEvent.DOCUMENT_EVENT_SYNC,
+            body,
+            appName,
+            databaseId,
+            (int) listenerId));
+  }
+
+  private static WritableMap exceptionToWritableMap(Exception exception) {
     WritableMap error = Arguments.createMap();
 
     if (exception instanceof FirebaseFirestoreException) {
@@ -359,15 +666,6 @@ public class NativeRNFBTurboFirestoreDocument extends NativeRNFBTurboFirestoreDo
       error.putString("message", "An unknown error occurred");
     }
 
-    body.putMap("error", error);
-    ReactNativeFirebaseEventEmitter emitter = ReactNativeFirebaseEventEmitter.getSharedInstance();
-
-    emitter.sendEvent(
-        new ReactNativeFirebaseFirestoreEvent(
-            ReactNativeFirebaseFirestoreEvent.DOCUMENT_EVENT_SYNC,
-            body,
-            appName,
-            databaseId,
-            (int) listenerId));
+    return error;
   }
 }
@@ -25,7 +25,6 @@ import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerial
 import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.getDocumentForFirestore;
 import static io.invertase.firebase.firestore.UniversalFirebaseFirestoreCommon.getFirestoreForApp;
 
-import android.os.AsyncTask;
 import android.util.SparseArray;
 import com.facebook.fbreact.specs.NativeRNFBTurboFirestoreTransactionSpec;
 import com.facebook.react.bridge.*;
@@ -137,20 +136,18 @@ public class NativeRNFBTurboFirestoreTransaction extends NativeRNFBTurboFirestor
         transaction -> {
           transactionHandler.resetState(transaction);
 
-          AsyncTask.execute(
-              () -> {
-                WritableMap eventMap = Arguments.createMap();
-                eventMap.putString("type", "update");
-
-                // Send an update signal to JS - telling it to now run the transaction
-                emitter.sendEvent(
-                    new ReactNativeFirebaseFirestoreEvent(
-                        ReactNativeFirebaseFirestoreEvent.TRANSACTION_EVENT_SYNC,
-                        eventMap,
-                        transactionHandler.getAppName(),
-                        databaseId,
-                        transactionHandler.getTransactionId()));
-              });
+          WritableMap eventMap = Arguments.createMap();
+          eventMap.putString("type", "update");
+
+          // Send an update signal to JS - telling it to now run the transaction. The emitter
+          // posts the event, so this does not block the transaction thread.
+          emitter.sendEvent(
+              new ReactNativeFirebaseFirestoreEvent(
+                  ReactNativeFirebaseFirestoreEvent.TRANSACTION_EVENT_SYNC,
+                  eventMap,
+                  transactionHandler.getAppName(),
+                  databaseId,
+                  transactionHandler.getTransactionId()));
 
           // wait for a signal to be received from JS land code
           transactionHandler.await();
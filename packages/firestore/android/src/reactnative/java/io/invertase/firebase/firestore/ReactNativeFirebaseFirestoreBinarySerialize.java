@@ -0,0 +1,328 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerialize.*;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Blob;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SnapshotMetadata;
+import com.google.firebase.firestore.VectorValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Writes a query snapshot into a single buffer, as a compact alternative to the nested type map
+ * arrays built by {@link ReactNativeFirebaseFirestoreSerialize}, which create a native object and
+ * make a JNI call for every field. JS decodes it in `lib/utils/binarySnapshot.ts`.
+ *
+ * <p>The format is little-endian, with strings as a `u32` byte length and UTF-8 bytes:
+ *
+ * <pre>
+ * snapshot := u8 version, u8 flags (fromCache, hasPendingWrites, excludesMetadataChanges),
+ *             u32 count, document*, u32 count, change*
+ * change   := u8 type (added, modified, removed), u8 isMetadataChange, i32 ni, i32 oi,
+ *             document (removed changes only; the others are documents[ni])
+ * document := string path, u8 flags (exists, fromCache, hasPendingWrites, then one bit per
+ *             data, dataEstimate, dataPrevious and dataNone present), (u32 byteLength, map)*
+ * map      := u32 count, (string key, value)*
+ * value    := i8 type map code, payload
+ * </pre>
+ *
+ * <p>Payloads: doubles, booleans and strings as in the type map (booleans and empty strings have
+ * none); references as their path; geopoints as two f64; timestamps as f64 seconds and i32
+ * nanoseconds; blobs as a u32 length and the raw bytes; vectors as a u32 count and f64 values;
+ * arrays as a u32 count and values. {@code INT_UNKNOWN} does not fit a byte and is written as -1.
+ */
+class ReactNativeFirebaseFirestoreBinarySerialize {
+  static final int VERSION = 1;
+  static final byte TYPE_UNKNOWN = -1;
+
+  private static final int CHANGE_ADDED = 0;
+  private static final int CHANGE_MODIFIED = 1;
+  private static final int CHANGE_REMOVED = 2;
+
+  private ByteBuffer buffer;
+
+  ReactNativeFirebaseFirestoreBinarySerialize(int initialCapacity) {
+    buffer = ByteBuffer.allocate(Math.max(64, initialCapacity)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /** Converts a query snapshot, with its changes computed as in the type map serializer. */
+  static byte[] querySnapshotToBytes(
+      QuerySnapshot querySnapshot,
+      DocumentSnapshot.ServerTimestampBehavior timestampBehavior,
+      @Nullable MetadataChanges metadataChanges) {
+    // Roughly a few hundred bytes per document; the buffer grows as needed.
+    ReactNativeFirebaseFirestoreBinarySerialize writer =
+        new ReactNativeFirebaseFirestoreBinarySerialize(256 * (querySnapshot.size() + 1));
+    writer.writeQuerySnapshot(querySnapshot, timestampBehavior, metadataChanges);
+    return writer.toByteArray();
+  }
+
+  byte[] toByteArray() {
+    byte[] bytes = new byte[buffer.position()];
+    System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+    return bytes;
+  }
+
+  int size() {
+    return buffer.position();
+  }
+
+  void writeQuerySnapshot(
+      QuerySnapshot querySnapshot,
+      DocumentSnapshot.ServerTimestampBehavior timestampBehavior,
+      @Nullable MetadataChanges metadataChanges) {
+    boolean excludesMetadataChanges =
+        metadataChanges == null || metadataChanges == MetadataChanges.EXCLUDE;
+    SnapshotMetadata metadata = querySnapshot.getMetadata();
+
+    ensure(2);
+    buffer.put((byte) VERSION);
+    buffer.put(
+        (byte)
+            ((metadata.isFromCache() ? 1 : 0)
+                | (metadata.hasPendingWrites() ? 2 : 0)
+                | (excludesMetadataChanges ? 4 : 0)));
+
+    List<DocumentSnapshot> documents = querySnapshot.getDocuments();
+    writeInt(documents.size());
+    for (DocumentSnapshot document : documents) {
+      writeDocument(document, timestampBehavior);
+    }
+
+    List<DocumentChange> changes;
+    Set<Integer> dataChanges = null;
+    if (excludesMetadataChanges) {
+      changes = querySnapshot.getDocumentChanges();
+    } else {
+      // A change that is only in the list including metadata changes is a metadata change; the
+      // type map serializer compares them the same way, by hash code.
+      changes = querySnapshot.getDocumentChanges(MetadataChanges.INCLUDE);
+      dataChanges = new HashSet<>();
+      for (DocumentChange change : querySnapshot.getDocumentChanges()) {
+        dataChanges.add(change.hashCode());
+      }
+    }
+
+    writeInt(changes.size());
+    for (DocumentChange change : changes) {
+      int type;
+      switch (change.getType()) {
+        case ADDED:
+          type = CHANGE_ADDED;
+          break;
+        case MODIFIED:
+          type = CHANGE_MODIFIED;
+          break;
+        default:
+          type = CHANGE_REMOVED;
+          break;
+      }
+      ensure(10);
+      buffer.put((byte) type);
+      buffer.put((byte) (dataChanges != null && !dataChanges.contains(change.hashCode()) ? 1 : 0));
+      buffer.putInt(change.getNewIndex());
+      buffer.putInt(change.getOldIndex());
+      if (type == CHANGE_REMOVED) {
+        writeDocument(change.getDocument(), timestampBehavior);
+      }
+    }
+  }
+
+  void writeDocument(
+      DocumentSnapshot documentSnapshot,
+      DocumentSnapshot.ServerTimestampBehavior timestampBehavior) {
+    SnapshotMetadata metadata = documentSnapshot.getMetadata();
+    writeString(documentSnapshot.getReference().getPath());
+
+    Map<String, Object> data = null;
+    Map<String, Object> estimate = null;
+    Map<String, Object> previous = null;
+    Map<String, Object> none = null;
+    if (documentSnapshot.exists()) {
+      data = documentSnapshot.getData(timestampBehavior);
+      // As with the type map serializer, the variants only differ while writes are pending.
+      if (metadata.hasPendingWrites()) {
+        if (timestampBehavior != DocumentSnapshot.ServerTimestampBehavior.ESTIMATE) {
+          estimate = documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.ESTIMATE);
+        }
+        if (timestampBehavior != DocumentSnapshot.ServerTimestampBehavior.PREVIOUS) {
+          previous = documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.PREVIOUS);
+        }
+        if (timestampBehavior != DocumentSnapshot.ServerTimestampBehavior.NONE) {
+          none = documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.NONE);
+        }
+      }
+    }
+
+    ensure(1);
+    buffer.put(
+        (byte)
+            ((documentSnapshot.exists() ? 1 : 0)
+                | (metadata.isFromCache() ? 2 : 0)
+                | (metadata.hasPendingWrites() ? 4 : 0)
+                | (data != null ? 8 : 0)
+                | (estimate != null ? 16 : 0)
+                | (previous != null ? 32 : 0)
+                | (none != null ? 64 : 0)));
+    writeSizedMap(data);
+    writeSizedMap(estimate);
+    writeSizedMap(previous);
+    writeSizedMap(none);
+  }
+
+  /** Writes a map behind its byte length, so JS can skip it until the data is read. */
+  private void writeSizedMap(@Nullable Map<String, Object> map) {
+    if (map == null) {
+      return;
+    }
+    ensure(4);
+    int lengthPosition = buffer.position();
+    buffer.putInt(0);
+    writeMap(map);
+    buffer.putInt(lengthPosition, buffer.position() - lengthPosition - 4);
+  }
+
+  void writeMap(Map<String, Object> map) {
+    writeInt(map.size());
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      writeString(entry.getKey());
+      writeValue(entry.getValue());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  void writeValue(@Nullable Object value) {
+    if (value == null) {
+      writeType(INT_NULL);
+    } else if (value instanceof Boolean) {
+      writeType((Boolean) value ? INT_BOOLEAN_TRUE : INT_BOOLEAN_FALSE);
+    } else if (value instanceof Number) {
+      writeDouble(((Number) value).doubleValue());
+    } else if (value instanceof String) {
+      String string = (String) value;
+      if (string.isEmpty()) {
+        writeType(INT_STRING_EMPTY);
+      } else {
+        writeType(INT_STRING);
+        writeString(string);
+      }
+    } else if (value instanceof Map) {
+      writeType(INT_OBJECT);
+      writeMap((Map<String, Object>) value);
+    } else if (value instanceof List) {
+      List<Object> list = (List<Object>) value;
+      writeType(INT_ARRAY);
+      writeInt(list.size());
+      for (Object item : list) {
+        writeValue(item);
+      }
+    } else if (value instanceof DocumentReference) {
+      writeType(INT_REFERENCE);
+      writeString(((DocumentReference) value).getPath());
+    } else if (value instanceof Timestamp) {
+      Timestamp timestamp = (Timestamp) value;
+      writeType(INT_TIMESTAMP);
+      ensure(12);
+      buffer.putDouble(timestamp.getSeconds());
+      buffer.putInt(timestamp.getNanoseconds());
+    } else if (value instanceof GeoPoint) {
+      GeoPoint geoPoint = (GeoPoint) value;
+      writeType(INT_GEOPOINT);
+      ensure(16);
+      buffer.putDouble(geoPoint.getLatitude());
+      buffer.putDouble(geoPoint.getLongitude());
+    } else if (value instanceof Blob) {
+      byte[] bytes = ((Blob) value).toBytes();
+      writeType(INT_BLOB);
+      writeInt(bytes.length);
+      ensure(bytes.length);
+      buffer.put(bytes);
+    } else if (value instanceof VectorValue) {
+      double[] vector = ((VectorValue) value).toArray();
+      writeType(INT_VECTOR);
+      writeInt(vector.length);
+      ensure(8 * vector.length);
+      for (double item : vector) {
+        buffer.putDouble(item);
+      }
+    } else {
+      ensure(1);
+      buffer.put(TYPE_UNKNOWN);
+    }
+  }
+
+  private void writeDouble(double value) {
+    if (Double.isNaN(value)) {
+      writeType(INT_NAN);
+    } else if (value == Double.POSITIVE_INFINITY) {
+      writeType(INT_POSITIVE_INFINITY);
+    } else if (value == Double.NEGATIVE_INFINITY) {
+      writeType(INT_NEGATIVE_INFINITY);
+    } else {
+      writeType(INT_DOUBLE);
+      ensure(8);
+      buffer.putDouble(value);
+    }
+  }
+
+  private void writeType(int type) {
+    ensure(1);
+    buffer.put((byte) type);
+  }
+
+  private void writeInt(int value) {
+    ensure(4);
+    buffer.putInt(value);
+  }
+
+  private void writeString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeInt(bytes.length);
+    ensure(bytes.length);
+    buffer.put(bytes);
+  }
+
+  private void ensure(int bytes) {
+    if (buffer.remaining() >= bytes) {
+      return;
+    }
+    int capacity = buffer.capacity();
+    while (capacity - buffer.position() < bytes) {
+      capacity *= 2;
+    }
+    ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.flip();
+    grown.put(buffer);
+    buffer = grown;
+  }
+}
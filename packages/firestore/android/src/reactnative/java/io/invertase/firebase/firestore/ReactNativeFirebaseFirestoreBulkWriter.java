@@ -0,0 +1,203 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Commits any number of writes as write batches of at most {@link #MAX_BATCH_SIZE} writes, with
+ * up to {@code maxInFlight} batches committing at once.
+ *
+ * <p>A batch that fails with a retryable error is committed again after an exponential backoff, up
+ * to {@code maxAttempts} times, after which all of its writes fail with that error. A batch that
+ * fails otherwise is split in two and each half committed on its own, so the writes that can
+ * succeed do, and each failing write ends up failing on its own, with its own error. All state is
+ * only touched on the scheduler's thread.
+ */
+class ReactNativeFirebaseFirestoreBulkWriter {
+  static final int MAX_BATCH_SIZE = 500;
+  static final int DEFAULT_MAX_IN_FLIGHT = 4;
+  static final int DEFAULT_MAX_ATTEMPTS = 5;
+  static final long INITIAL_BACKOFF_MS = 500;
+  static final long MAX_BACKOFF_MS = 10_000;
+
+  interface Committer {
+    /** Builds a write batch of the writes at the given indices and commits it. */
+    Task<Void> commit(int[] indices);
+  }
+
+  interface Listener {
+    /**
+     * Called as each batch settles.
+     *
+     * @param failure null if the writes at the indices succeeded, else why they all failed
+     */
+    void onBatch(int[] indices, @Nullable Exception failure, int succeeded, int failed);
+
+    void onComplete(int succeeded, int failed);
+  }
+
+  private static final class Batch {
+    final int[] indices;
+    final int attempt;
+
+    Batch(int[] indices, int attempt) {
+      this.indices = indices;
+      this.attempt = attempt;
+    }
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private final Committer committer;
+  private final Listener listener;
+  private final int maxInFlight;
+  private final int maxAttempts;
+
+  private final ArrayDeque<Batch> pending = new ArrayDeque<>();
+  private int inFlight;
+  private int backingOff;
+  private int succeeded;
+  private int failed;
+
+  ReactNativeFirebaseFirestoreBulkWriter(
+      int writeCount,
+      int batchSize,
+      int maxInFlight,
+      int maxAttempts,
+      ScheduledExecutorService scheduler,
+      Committer committer,
+      Listener listener) {
+    this.scheduler = scheduler;
+    this.committer = committer;
+    this.listener = listener;
+    this.maxInFlight = Math.max(1, maxInFlight);
+    this.maxAttempts = Math.max(1, maxAttempts);
+
+    int size = Math.max(1, Math.min(MAX_BATCH_SIZE, batchSize));
+    for (int start = 0; start < writeCount; start += size) {
+      int end = Math.min(writeCount, start + size);
+      int[] indices = new int[end - start];
+      for (int i = start; i < end; i++) {
+        indices[i - start] = i;
+      }
+      pending.add(new Batch(indices, 0));
+    }
+  }
+
+  void start() {
+    post(this::commitPending);
+  }
+
+  static boolean isRetryable(@Nullable Exception exception) {
+    Throwable cause = exception;
+    while (cause != null && !(cause instanceof FirebaseFirestoreException)) {
+      cause = cause.getCause();
+    }
+    if (cause == null) {
+      return false;
+    }
+    switch (((FirebaseFirestoreException) cause).getCode()) {
+      case ABORTED:
+      case DEADLINE_EXCEEDED:
+      case INTERNAL:
+      case RESOURCE_EXHAUSTED:
+      case UNAVAILABLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  static long backoffMs(int attempt) {
+    return Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+  }
+
+  private void commitPending() {
+    while (inFlight < maxInFlight && !pending.isEmpty()) {
+      Batch batch = pending.poll();
+      inFlight++;
+      Task<Void> task;
+      try {
+        task = committer.commit(batch.indices);
+      } catch (RuntimeException e) {
+        // An invalid write throws while the batch is built; treat it like a failed commit.
+        inFlight--;
+        onFailed(batch, e);
+        continue;
+      }
+      task.addOnCompleteListener(
+          this::post,
+          result -> {
+            inFlight--;
+            if (result.isSuccessful()) {
+              succeeded += batch.indices.length;
+              listener.onBatch(batch.indices, null, succeeded, failed);
+            } else {
+              onFailed(batch, result.getException());
+            }
+            commitPending();
+          });
+    }
+
+    if (inFlight == 0 && backingOff == 0 && pending.isEmpty()) {
+      listener.onComplete(succeeded, failed);
+    }
+  }
+
+  private void onFailed(Batch batch, Exception exception) {
+    if (isRetryable(exception)) {
+      if (batch.attempt + 1 < maxAttempts) {
+        backingOff++;
+        scheduler.schedule(
+            () -> {
+              backingOff--;
+              pending.addFirst(new Batch(batch.indices, batch.attempt + 1));
+              commitPending();
+            },
+            backoffMs(batch.attempt),
+            TimeUnit.MILLISECONDS);
+      } else {
+        // The error is not down to any one write, so splitting would only retry it again.
+        failed += batch.indices.length;
+        listener.onBatch(batch.indices, exception, succeeded, failed);
+      }
+    } else if (batch.indices.length > 1) {
+      int half = batch.indices.length / 2;
+      pending.addFirst(new Batch(Arrays.copyOfRange(batch.indices, half, batch.indices.length), 0));
+      pending.addFirst(new Batch(Arrays.copyOfRange(batch.indices, 0, half), 0));
+    } else {
+      failed++;
+      listener.onBatch(batch.indices, exception, succeeded, failed);
+    }
+  }
+
+  private void post(Runnable runnable) {
+    try {
+      scheduler.execute(runnable);
+    } catch (RejectedExecutionException e) {
+      // Module invalidation shut down the scheduler; the promise is dropped with the module.
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static io.invertase.firebase.firestore.ReactNativeFirebaseFirestoreSerialize.snapshotToWritableMapInParallel;
+
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+
+/**
+ * Reads a query page by page for JS, keeping the last document of each page as the cursor of the
+ * next, so JS never sends a cursor back.
+ *
+ * <p>JS requests pages, and each requested page is sent as soon as it is ready. Up to {@code
+ * prefetch} further pages are fetched and serialized ahead of the requests, so the next page is
+ * usually ready by the time JS is done with the current one. All state is only touched on the
+ * cursor's serial executor.
+ */
+class ReactNativeFirebaseFirestoreCursor {
+  interface PageListener {
+    /** @param done true if no page follows this one */
+    void onPage(WritableMap page, boolean done);
+
+    void onError(Exception exception);
+  }
+
+  private final ReactNativeFirebaseFirestoreQuery firestoreQuery;
+  private final Source source;
+  private final int pageSize;
+  private final int prefetch;
+  private final Executor serialExecutor;
+  private final Executor helperExecutor;
+  private final PageListener listener;
+
+  private final ArrayDeque<WritableMap> pages = new ArrayDeque<>();
+  private int requested;
+  private boolean fetching;
+  private boolean exhausted;
+  private boolean closed;
+  @Nullable private DocumentSnapshot lastDocument;
+
+  ReactNativeFirebaseFirestoreCursor(
+      ReactNativeFirebaseFirestoreQuery firestoreQuery,
+      Source source,
+      int pageSize,
+      int prefetch,
+      Executor serialExecutor,
+      Executor helperExecutor,
+      PageListener listener) {
+    this.firestoreQuery = firestoreQuery;
+    this.source = source;
+    this.pageSize = pageSize;
+    this.prefetch = prefetch;
+    this.serialExecutor = serialExecutor;
+    this.helperExecutor = helperExecutor;
+    this.listener = listener;
+  }
+
+  /** Starts fetching the first pages ahead of any request. */
+  void open() {
+    post(this::fetchIfNeeded);
+  }
+
+  void request(int count) {
+    post(
+        () -> {
+          requested += count;
+          sendReadyPages();
+          fetchIfNeeded();
+        });
+  }
+
+  void close() {
+    post(
+        () -> {
+          closed = true;
+          pages.clear();
+        });
+  }
+
+  private void fetchIfNeeded() {
+    if (closed || fetching || exhausted || pages.size() >= requested + prefetch) {
+      return;
+    }
+    fetching = true;
+    Query query = firestoreQuery.query.limit(pageSize);
+    if (lastDocument != null) {
+      query = query.startAfter(lastDocument);
+    }
+    query.get(source).addOnCompleteListener(this::post, this::onFetched);
+  }
+
+  private void onFetched(Task<QuerySnapshot> task) {
+    fetching = false;
+    if (closed) {
+      return;
+    }
+    if (!task.isSuccessful()) {
+      closed = true;
+      listener.onError(task.getException());
+      return;
+    }
+
+    QuerySnapshot querySnapshot = task.getResult();
+    List<DocumentSnapshot> documents = querySnapshot.getDocuments();
+    if (!documents.isEmpty()) {
+      lastDocument = documents.get(documents.size() - 1);
+    }
+    // A short page is the last one; a full page may be followed by an empty one.
+    exhausted = documents.size() < pageSize;
+    try {
+      pages.add(
+          snapshotToWritableMapInParallel(
+              firestoreQuery.appName,
+              firestoreQuery.databaseId,
+              "get",
+              querySnapshot,
+              helperExecutor));
+    } catch (InterruptedException | RuntimeException e) {
+      closed = true;
+      listener.onError(e);
+      return;
+    }
+    sendReadyPages();
+    fetchIfNeeded();
+  }
+
+  private void sendReadyPages() {
+    while (!closed && requested > 0 && !pages.isEmpty()) {
+      requested--;
+      WritableMap page = pages.poll();
+      listener.onPage(page, exhausted && pages.isEmpty());
+    }
+  }
+
+  private void post(Runnable runnable) {
+    try {
+      serialExecutor.execute(runnable);
+    } catch (RejectedExecutionException e) {
+      // The cursor was closed, or module invalidation shut down the executor.
+    }
+  }
+}
@@ -18,8 +18,10 @@ package io.invertase.firebase.firestore;
  */
 
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import io.invertase.firebase.interfaces.NativeEvent;
+import javax.annotation.Nullable;
 
 public class ReactNativeFirebaseFirestoreEvent implements NativeEvent {
 
@@ -27,7 +29,9 @@ public class ReactNativeFirebaseFirestoreEvent implements NativeEvent {
   static final String DOCUMENT_EVENT_SYNC = "firestore_document_sync_event";
   static final String TRANSACTION_EVENT_SYNC = "firestore_transaction_event";
   static final String SNAPSHOT_IN_SYNC_EVENT_SYNC = "firestore_snapshots_in_sync_event";
+  static final String LOAD_BUNDLE_EVENT = "firestore_load_bundle_event";
   private static final String KEY_ID = "listenerId";
+  private static final String KEY_IDS = "listenerIds";
   private static final String KEY_BODY = "body";
   private static final String KEY_APP_NAME = "appName";
   private static final String KEY_EVENT_NAME = "eventName";
@@ -37,14 +41,48 @@ public class ReactNativeFirebaseFirestoreEvent implements NativeEvent {
   private String appName;
   private String databaseId;
   private int listenerId;
+  private boolean coalescible;
+  @Nullable private int[] listenerIds;
 
   ReactNativeFirebaseFirestoreEvent(
       String eventName, WritableMap eventBody, String appName, String databaseId, int listenerId) {
+    this(eventName, eventBody, appName, databaseId, listenerId, true);
+  }
+
+  /**
+   * @param coalescible false for events that do not supersede earlier ones for the same listener,
+   *     such as delta snapshots, which each depend on the one before
+   */
+  ReactNativeFirebaseFirestoreEvent(
+      String eventName,
+      WritableMap eventBody,
+      String appName,
+      String databaseId,
+      int listenerId,
+      boolean coalescible) {
+    this(eventName, eventBody, appName, databaseId, listenerId, coalescible, null);
+  }
+
+  /**
+   * @param listenerId the id the event is coalesced by
+   * @param listenerIds the JS listeners to deliver the event to, when it is shared by several
+   *     listeners of the same query or document; otherwise only listenerId
+   */
+  ReactNativeFirebaseFirestoreEvent(
+      String eventName,
+      WritableMap eventBody,
+      String appName,
+      String databaseId,
+      int listenerId,
+      boolean coalescible,
+      @Nullable int[] listenerIds) {
     this.eventName = eventName;
     this.eventBody = eventBody;
     this.appName = appName;
     this.databaseId = databaseId;
     this.listenerId = listenerId;
+    this.coalescible = coalescible;
+    this.listenerIds = listenerIds;
   }
 
   @Override
@@ -56,6 +94,13 @@ public class ReactNativeFirebaseFirestoreEvent implements NativeEvent {
   public WritableMap getEventBody() {
     WritableMap event = Arguments.createMap();
     event.putInt(KEY_ID, listenerId);
+    if (listenerIds != null) {
+      WritableArray ids = Arguments.createArray();
+      for (int id : listenerIds) {
+        ids.pushInt(id);
+      }
+      event.putArray(KEY_IDS, ids);
+    }
     event.putMap(KEY_BODY, eventBody);
     event.putString(KEY_APP_NAME, appName);
     event.putString(DATABASE_ID, databaseId);
@@ -67,4 +112,17 @@ public class ReactNativeFirebaseFirestoreEvent implements NativeEvent {
   public String getFirebaseAppName() {
     return appName;
   }
+
+  @Override
+  public String getCoalescingKey() {
+    // A newer snapshot for the same listener, or newer progress of the same bundle load,
+    // supersedes an undelivered older one.
+    if (coalescible
+        && (COLLECTION_EVENT_SYNC.equals(eventName)
+            || DOCUMENT_EVENT_SYNC.equals(eventName)
+            || LOAD_BUNDLE_EVENT.equals(eventName))) {
+      return appName + "/" + databaseId + "/" + listenerId;
+    }
+    return null;
+  }
 }
@@ -0,0 +1,116 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the data last sent to JS for each document a listener has seen, so a modified document
+ * can be sent as the fields that changed rather than in full.
+ *
+ * <p>Only used from the listener's serial executor, so it needs no locking. It holds the maps
+ * returned by {@code DocumentSnapshot#getData}, which keeps them alive for as long as the document
+ * stays in the listener's results.
+ */
+class ReactNativeFirebaseFirestoreFieldDiff {
+
+  /** Sets {@link #value} at {@link #fieldPath}, or deletes that field when {@link #delete}. */
+  static class Operation {
+    final List<String> fieldPath;
+    final boolean delete;
+    @Nullable final Object value;
+
+    Operation(List<String> fieldPath, boolean delete, @Nullable Object value) {
+      this.fieldPath = fieldPath;
+      this.delete = delete;
+      this.value = value;
+    }
+  }
+
+  private final Map<String, Map<String, Object>> lastData = new HashMap<>();
+
+  /**
+   * Records the data being sent for a document and returns the operations that turn the data sent
+   * last time into it. Returns null when the document should be sent in full instead: the first
+   * time it is seen, while it has pending writes (its server timestamp variants are then sent as
+   * well), or when the diff has more operations than the document has top-level fields.
+   */
+  @Nullable
+  List<Operation> update(String path, Map<String, Object> data, boolean hasPendingWrites) {
+    Map<String, Object> previous = lastData.put(path, data);
+    if (previous == null || hasPendingWrites) {
+      return null;
+    }
+
+    List<Operation> operations = new ArrayList<>();
+    diff(previous, data, new ArrayList<>(), operations);
+    if (operations.size() > data.size()) {
+      return null;
+    }
+    return operations;
+  }
+
+  /** Forgets a document that was removed from the listener's results or deleted. */
+  void forget(String path) {
+    lastData.remove(path);
+  }
+
+  static void diff(
+      Map<String, Object> previous,
+      Map<String, Object> next,
+      List<String> prefix,
+      List<Operation> operations) {
+    for (Map.Entry<String, Object> entry : next.entrySet()) {
+      String key = entry.getKey();
+      Object value = entry.getValue();
+      Object previousValue = previous.get(key);
+
+      if (value instanceof Map && previousValue instanceof Map) {
+        prefix.add(key);
+        diff(asMap(previousValue), asMap(value), prefix, operations);
+        prefix.remove(prefix.size() - 1);
+      } else if ((previousValue == null && !previous.containsKey(key))
+          || !Objects.equals(previousValue, value)) {
+        operations.add(new Operation(fieldPath(prefix, key), false, value));
+      }
+    }
+
+    for (String key : previous.keySet()) {
+      if (!next.containsKey(key)) {
+        operations.add(new Operation(fieldPath(prefix, key), true, null));
+      }
+    }
+  }
+
+  private static List<String> fieldPath(List<String> prefix, String key) {
+    List<String> fieldPath = new ArrayList<>(prefix.size() + 1);
+    fieldPath.addAll(prefix);
+    fieldPath.add(key);
+    return fieldPath;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asMap(Object value) {
+    return (Map<String, Object>) value;
+  }
+}
@@ -0,0 +1,105 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serializes the items of large lists, such as the documents of a 10k document query, in
+ * partitions spread over the module's helper executor, and stitches the results back together in
+ * order.
+ *
+ * <p>The calling thread serializes partitions too, and helpers only claim partitions that are not
+ * taken yet. So the caller never waits for a helper that has not started: if the pool is busy or
+ * rejects the helpers, the caller simply serializes every partition itself.
+ */
+class ReactNativeFirebaseFirestoreParallelSerialize {
+  /** Lists shorter than this are serialized on the calling thread only. */
+  static final int PARALLEL_THRESHOLD = 1000;
+
+  static final int PARTITION_SIZE = 250;
+
+  interface ItemSerializer<T> {
+    WritableMap serialize(T item);
+  }
+
+  static <T> WritableArray toWritableArray(
+      List<T> items, ItemSerializer<T> serializer, Executor executor)
+      throws InterruptedException {
+    int size = items.size();
+    int partitions = (size + PARTITION_SIZE - 1) / PARTITION_SIZE;
+    int helpers = Math.min(partitions - 1, Runtime.getRuntime().availableProcessors() - 1);
+    WritableArray writableArray = Arguments.createArray();
+
+    if (size < PARALLEL_THRESHOLD || helpers < 1) {
+      for (T item : items) {
+        writableArray.pushMap(serializer.serialize(item));
+      }
+      return writableArray;
+    }
+
+    WritableMap[] results = new WritableMap[size];
+    AtomicInteger nextPartition = new AtomicInteger();
+    CountDownLatch partitionsDone = new CountDownLatch(partitions);
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    Runnable worker =
+        () -> {
+          int partition;
+          while ((partition = nextPartition.getAndIncrement()) < partitions) {
+            try {
+              int end = Math.min(size, (partition + 1) * PARTITION_SIZE);
+              for (int i = partition * PARTITION_SIZE; i < end; i++) {
+                results[i] = serializer.serialize(items.get(i));
+              }
+            } catch (RuntimeException e) {
+              failure.compareAndSet(null, e);
+            } finally {
+              partitionsDone.countDown();
+            }
+          }
+        };
+
+    for (int i = 0; i < helpers; i++) {
+      try {
+        executor.execute(worker);
+      } catch (RejectedExecutionException e) {
+        break;
+      }
+    }
+    worker.run();
+    // Only waits for partitions that helpers are serializing right now.
+    partitionsDone.await();
+
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    for (WritableMap result : results) {
+      writableArray.pushMap(result);
+    }
+    return writableArray;
+  }
+}
@@ -0,0 +1,140 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.google.firebase.firestore.Pipeline;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded LRU of pipelines already parsed and lowered to SDK {@link Pipeline}s, keyed by the
+ * serialized request. SDK pipelines are immutable and bake their constants into their expressions,
+ * so a compiled pipeline is reused as is when the same request, constants included, is executed
+ * again on the same Firestore instance.
+ */
+final class ReactNativeFirebaseFirestorePipelineCache {
+  static final int DEFAULT_MAX_SIZE = 64;
+
+  private final int maxSize;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final LinkedHashMap<Key, CompiledPipeline> entries;
+
+  ReactNativeFirebaseFirestorePipelineCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.entries =
+        new LinkedHashMap<Key, CompiledPipeline>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, CompiledPipeline> eldest) {
+            return size() > ReactNativeFirebaseFirestorePipelineCache.this.maxSize;
+          }
+        };
+  }
+
+  /** The compiled pipeline for {@code key}, or null; counts a hit or a miss. */
+  CompiledPipeline get(Key key) {
+    CompiledPipeline compiled;
+    synchronized (entries) {
+      compiled = entries.get(key);
+    }
+    (compiled == null ? misses : hits).incrementAndGet();
+    return compiled;
+  }
+
+  void put(Key key, CompiledPipeline compiled) {
+    synchronized (entries) {
+      entries.put(key, compiled);
+    }
+  }
+
+  void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  long getHits() {
+    return hits.get();
+  }
+
+  long getMisses() {
+    return misses.get();
+  }
+
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * A serialized pipeline request on one Firestore instance. The instance is compared by identity,
+   * so requests made after it is terminated never reuse its pipelines.
+   */
+  static final class Key {
+    private final Object firestore;
+    private final Map<String, Object> pipeline;
+    private final Map<String, Object> options;
+    private final int hash;
+
+    Key(Object firestore, Map<String, Object> pipeline, Map<String, Object> options) {
+      this.firestore = firestore;
+      this.pipeline = pipeline;
+      this.options = options;
+      this.hash =
+          31 * (31 * System.identityHashCode(firestore) + pipeline.hashCode())
+              + Objects.hashCode(options);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return hash == key.hash
+          && firestore == key.firestore
+          && pipeline.equals(key.pipeline)
+          && Objects.equals(options, key.options);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  static final class CompiledPipeline {
+    final Pipeline pipeline;
+    final Pipeline.ExecuteOptions executeOptions;
+
+    CompiledPipeline(Pipeline pipeline, Pipeline.ExecuteOptions executeOptions) {
+      this.pipeline = pipeline;
+      this.executeOptions = executeOptions;
+    }
+  }
+}
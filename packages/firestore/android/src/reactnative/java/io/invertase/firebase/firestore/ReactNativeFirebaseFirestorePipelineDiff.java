@@ -0,0 +1,120 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Remembers the rows a pipeline listener last sent to JS, and turns the next evaluation's rows into
+ * the changes that JS applies to its copy, so unchanged rows are never sent again.
+ *
+ * <p>Changes are applied in order, as for query document changes: each index refers to the list as
+ * left by the changes before it. Removals come first, then every row of the new evaluation that was
+ * added, changed, or moved, in the new order. Only used from the listener's serial executor.
+ */
+class ReactNativeFirebaseFirestorePipelineDiff {
+  static final String ADDED = "added";
+  static final String MODIFIED = "modified";
+  static final String REMOVED = "removed";
+
+  static class Change {
+    final String type;
+    final int oldIndex;
+    final int newIndex;
+
+    /** Whether the row's content changed; a moved row that did not change is not sent again. */
+    final boolean changed;
+
+    Change(String type, int oldIndex, int newIndex, boolean changed) {
+      this.type = type;
+      this.oldIndex = oldIndex;
+      this.newIndex = newIndex;
+      this.changed = changed;
+    }
+  }
+
+  private List<Object> keys = Collections.emptyList();
+  private List<Object> contents = Collections.emptyList();
+
+  /**
+   * Records the rows of an evaluation and returns the changes from the rows recorded last time.
+   *
+   * @param nextKeys identifies each row across evaluations; keys must be unique
+   * @param nextContents what is compared to tell whether a row with the same key changed
+   */
+  List<Change> update(List<Object> nextKeys, List<Object> nextContents) {
+    List<Change> changes = new ArrayList<>();
+    Set<Object> nextKeySet = new HashSet<>(nextKeys);
+
+    List<Object> currentKeys = new ArrayList<>(keys.size());
+    List<Object> currentContents = new ArrayList<>(keys.size());
+    for (int i = 0, size = keys.size(); i < size; i++) {
+      if (nextKeySet.contains(keys.get(i))) {
+        currentKeys.add(keys.get(i));
+        currentContents.add(contents.get(i));
+      } else {
+        changes.add(new Change(REMOVED, currentKeys.size(), -1, true));
+      }
+    }
+
+    for (int index = 0, size = nextKeys.size(); index < size; index++) {
+      Object key = nextKeys.get(index);
+      Object content = nextContents.get(index);
+      if (index < currentKeys.size() && Objects.equals(currentKeys.get(index), key)) {
+        if (!Objects.equals(currentContents.get(index), content)) {
+          currentContents.set(index, content);
+          changes.add(new Change(MODIFIED, index, index, true));
+        }
+        continue;
+      }
+
+      // Rows before index already match the new order, so a row seen before is further on.
+      int oldIndex = indexOf(currentKeys, key, index);
+      if (oldIndex == -1) {
+        currentKeys.add(index, key);
+        currentContents.add(index, content);
+        changes.add(new Change(ADDED, -1, index, true));
+      } else {
+        boolean changed = !Objects.equals(currentContents.get(oldIndex), content);
+        currentKeys.remove(oldIndex);
+        currentContents.remove(oldIndex);
+        currentKeys.add(index, key);
+        currentContents.add(index, content);
+        changes.add(new Change(MODIFIED, oldIndex, index, changed));
+      }
+    }
+
+    keys = new ArrayList<>(nextKeys);
+    contents = new ArrayList<>(nextContents);
+    return changes;
+  }
+
+  private static int indexOf(List<Object> keys, Object key, int from) {
+    for (int i = from, size = keys.size(); i < size; i++) {
+      if (Objects.equals(keys.get(i), key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -32,6 +32,7 @@ import com.facebook.react.bridge.WritableMap;
 import com.google.android.gms.tasks.Task;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.Filter;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Pipeline;
 import com.google.firebase.firestore.PipelineResult;
@@ -56,14 +57,20 @@ import com.google.firebase.firestore.pipeline.SearchStage;
 import com.google.firebase.firestore.pipeline.Selectable;
 import com.google.firebase.firestore.pipeline.UnnestOptions;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 class ReactNativeFirebaseFirestorePipelineExecutor {
+  // Deeper and/or nesting than a query allows is rejected before it can exhaust the stack.
+  private static final int MAX_REALTIME_FILTER_DEPTH = 32;
+
   private final FirebaseFirestore firestore;
   private final ReactNativeFirebaseFirestorePipelineNodeBuilder nodeBuilder;
+  private final ReactNativeFirebaseFirestorePipelineCache cache;
 
   private static final class PipelineBox {
     Pipeline value;
@@ -113,30 +120,17 @@ class ReactNativeFirebaseFirestorePipelineExecutor {
     }
   }
 
-  ReactNativeFirebaseFirestorePipelineExecutor(FirebaseFirestore firestore) {
+  ReactNativeFirebaseFirestorePipelineExecutor(
+      FirebaseFirestore firestore, ReactNativeFirebaseFirestorePipelineCache cache) {
     this.firestore = firestore;
+    this.cache = cache;
     this.nodeBuilder = new ReactNativeFirebaseFirestorePipelineNodeBuilder(firestore);
     this.nodeBuilder.setNestedPipelineBuilder(this::buildNativePipeline);
   }
 
   void execute(ReadableMap pipeline, ReadableMap options, Promise promise) {
     try {
-      ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
-          ReactNativeFirebaseFirestorePipelineParser.parse(pipeline, options);
-      Log.i(
-          "RNFB-Pipeline",
-          "execute source="
-              + request.source.sourceType
-              + " path="
-              + request.source.path
-              + " stages="
-              + request.stages.size());
-      Pipeline sdkPipeline = buildNativePipeline(request);
-      Log.i("RNFB-Pipeline", "execute built pipeline, calling sdkPipeline.execute()");
-      Pipeline.ExecuteOptions executeOptions = buildExecuteOptions(request.options);
-      Task<Pipeline.Snapshot> executeTask =
-          executeOptions == null ? sdkPipeline.execute() : sdkPipeline.execute(executeOptions);
-      executeTask.addOnCompleteListener(task -> resolvePipelineTask(task, promise));
+      run(pipeline, options).addOnCompleteListener(task -> resolvePipelineTask(task, promise));
     } catch (PipelineValidationException e) {
       rejectPromiseWithCodeAndMessage(promise, "invalid-argument", e.getMessage());
     } catch (Exception e) {
@@ -145,6 +139,332 @@ class ReactNativeFirebaseFirestorePipelineExecutor {
     }
   }
 
+  /** Compiles and executes a pipeline, leaving its results to the caller to serialize. */
+  Task<Pipeline.Snapshot> run(ReadableMap pipeline, ReadableMap options)
+      throws PipelineValidationException {
+    ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline compiled =
+        compile(pipeline, options);
+    return compiled.executeOptions == null
+        ? compiled.pipeline.execute()
+        : compiled.pipeline.execute(compiled.executeOptions);
+  }
+
+  /** The results of a snapshot, serialized a chunk at a time for a result stream. */
+  ReactNativeFirebaseFirestorePipelineStream.Rows toRows(Pipeline.Snapshot snapshot) {
+    List<PipelineResult> results = snapshot.getResults();
+    return new ReactNativeFirebaseFirestorePipelineStream.Rows() {
+      @Override
+      public int size() {
+        return results.size();
+      }
+
+      @Override
+      public WritableMap serialize(int from, int to) throws PipelineValidationException {
+        WritableMap map = Arguments.createMap();
+        WritableArray chunk = Arguments.createArray();
+        for (int i = from; i < to; i++) {
+          chunk.pushMap(serializeResult(results.get(i)));
+        }
+        map.putArray("results", chunk);
+        WritableMap executionTime = serializeTimestamp(snapshot.getExecutionTime());
+        if (executionTime == null) {
+          throw new PipelineValidationException(
+              "pipelineExecute() expected native snapshot to include executionTime.");
+        }
+        map.putMap("executionTime", executionTime);
+        return map;
+      }
+    };
+  }
+
+  /**
+   * The query whose documents a pipeline listener watches to know when to evaluate the pipeline
+   * again. Only pipelines that read a single collection, collection group or query can be listened
+   * to; a union also reads another pipeline's source. The pipeline's leading where, sort and limit
+   * stages are applied to the query, so only the documents they select are listened to.
+   */
+  Query realtimeSource(ReadableMap pipeline, String appName, String databaseId)
+      throws PipelineValidationException {
+    if (pipeline == null) {
+      throw new PipelineValidationException("pipelineOnSnapshot() expected a pipeline object.");
+    }
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
+        ReactNativeFirebaseFirestorePipelineParser.parse(pipeline, null);
+    for (ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineStage stage : request.stages) {
+      if ("union".equals(stage.stageName)) {
+        throw new PipelineValidationException(
+            "pipelineOnSnapshot() does not support pipelines with a union stage.");
+      }
+    }
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineSource source = request.source;
+    Query query;
+    switch (source.sourceType) {
+      case "collection":
+        query = firestore.collection(source.path);
+        break;
+      case "collectionGroup":
+        query = firestore.collectionGroup(source.collectionId);
+        break;
+      case "query":
+        query =
+            new ReactNativeFirebaseFirestoreQuery(
+                    appName,
+                    databaseId,
+                    getQueryForFirestore(firestore, source.path, source.queryType),
+                    Arguments.makeNativeArray(source.filters),
+                    Arguments.makeNativeArray(source.orders),
+                    Arguments.makeNativeMap(source.options))
+                .query;
+        break;
+      default:
+        throw new PipelineValidationException(
+            "pipelineOnSnapshot() only supports pipelines whose source is a collection, a"
+                + " collection group or a query.");
+    }
+    return narrowRealtimeSource(query, request.stages);
+  }
+
+  /**
+   * Applies a pipeline's where, sort and limit stages to the query its listener watches, up to
+   * the first stage of another kind. Those stages must compare and sort fields by constants, as a
+   * query does; otherwise the listener would have to watch every document of the source.
+   */
+  static Query narrowRealtimeSource(
+      Query query, List<ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineStage> stages)
+      throws PipelineValidationException {
+    for (ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineStage stage : stages) {
+      if (stage instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage) {
+        query =
+            query.where(
+                realtimeFilter(
+                    ((ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage) stage)
+                        .condition,
+                    0));
+      } else if (stage instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedSortStage) {
+        for (ReactNativeFirebaseFirestorePipelineParser.ParsedOrderingNode ordering :
+            ((ReactNativeFirebaseFirestorePipelineParser.ParsedSortStage) stage).orderings) {
+          if (!(ordering.expression
+              instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode)) {
+            throw unsupportedRealtimeStage();
+          }
+          query =
+              query.orderBy(
+                  ((ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode)
+                          ordering.expression)
+                      .path,
+                  ordering.descending ? Query.Direction.DESCENDING : Query.Direction.ASCENDING);
+        }
+      } else if (stage instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedLimitStage) {
+        // Stages after a limit only see the limited documents, which a query cannot express.
+        return query.limit(
+            coerceLong(
+                ((ReactNativeFirebaseFirestorePipelineParser.ParsedLimitStage) stage).limit,
+                "stage.options.limit"));
+      } else {
+        return query;
+      }
+    }
+    return query;
+  }
+
+  private static Filter realtimeFilter(
+      ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode condition, int depth)
+      throws PipelineValidationException {
+    if (!(condition
+            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode)
+        || depth > MAX_REALTIME_FILTER_DEPTH) {
+      throw unsupportedRealtimeStage();
+    }
+    ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode function =
+        (ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode) condition;
+    String name = function.name.toLowerCase(Locale.ROOT).replace("_", "").replace("-", "");
+
+    if ("and".equals(name) || "or".equals(name)) {
+      Filter[] filters = new Filter[function.args.size()];
+      for (int i = 0; i < filters.length; i++) {
+        ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode arg = function.args.get(i);
+        if (!(arg
+            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode)) {
+          throw unsupportedRealtimeStage();
+        }
+        filters[i] =
+            realtimeFilter(
+                ((ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode) arg)
+                    .expression,
+                depth + 1);
+      }
+      return "and".equals(name) ? Filter.and(filters) : Filter.or(filters);
+    }
+
+    if (function.args.size() != 2
+        || !(function.args.get(0)
+            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode)) {
+      throw unsupportedRealtimeStage();
+    }
+    ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode left =
+        ((ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode)
+                function.args.get(0))
+            .expression;
+    if (!(left instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode)) {
+      throw unsupportedRealtimeStage();
+    }
+    String field =
+        ((ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) left).path;
+    Object value = realtimeConstant(function.args.get(1), true);
+
+    switch (name) {
+      case "equal":
+        return Filter.equalTo(field, value);
+      case "notequal":
+        return Filter.notEqualTo(field, value);
+      case "greaterthan":
+        return Filter.greaterThan(field, value);
+      case "greaterthanorequal":
+        return Filter.greaterThanOrEqualTo(field, value);
+      case "lessthan":
+        return Filter.lessThan(field, value);
+      case "lessthanorequal":
+        return Filter.lessThanOrEqualTo(field, value);
+      case "arraycontains":
+        return Filter.arrayContains(field, value);
+      case "arraycontainsany":
+        if (value instanceof List) {
+          return Filter.arrayContainsAny(field, (List<?>) value);
+        }
+        break;
+      case "equalany":
+        if (value instanceof List) {
+          return Filter.inArray(field, (List<?>) value);
+        }
+        break;
+      case "notequalany":
+        if (value instanceof List) {
+          return Filter.notInArray(field, (List<?>) value);
+        }
+        break;
+      default:
+        break;
+    }
+    throw unsupportedRealtimeStage();
+  }
+
+  /** A string, number, boolean or null constant, or a list of them when allowList is set. */
+  @Nullable
+  private static Object realtimeConstant(
+      ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode node, boolean allowList)
+      throws PipelineValidationException {
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode) {
+      ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode expression =
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode) node).expression;
+      if (expression
+          instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode) {
+        return realtimeConstant(
+            ((ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode) expression)
+                .value,
+            allowList);
+      }
+    } else if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode
+        && allowList) {
+      List<ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> values =
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) node).values;
+      List<Object> list = new ArrayList<>(values.size());
+      for (ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value : values) {
+        list.add(realtimeConstant(value, false));
+      }
+      return list;
+    } else if (node
+        instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
+      Object value =
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) node).value;
+      if (value == null
+          || value instanceof String
+          || value instanceof Number
+          || value instanceof Boolean) {
+        return value;
+      }
+    }
+    throw unsupportedRealtimeStage();
+  }
+
+  private static PipelineValidationException unsupportedRealtimeStage() {
+    return new PipelineValidationException(
+        "pipelineOnSnapshot() only supports leading where and sort stages that compare and sort"
+            + " fields by string, number, boolean or null constants, as a query does.");
+  }
+
+  /**
+   * Serializes the changes of a pipeline listener's evaluation. Removed rows, and moved rows that
+   * did not change, are sent as their indexes only.
+   */
+  WritableMap serializeChanges(
+      Pipeline.Snapshot snapshot, List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes)
+      throws PipelineValidationException {
+    List<PipelineResult> results = snapshot.getResults();
+    WritableArray serializedChanges = Arguments.createArray();
+    for (ReactNativeFirebaseFirestorePipelineDiff.Change change : changes) {
+      WritableMap serializedChange = Arguments.createMap();
+      serializedChange.putString("type", change.type);
+      serializedChange.putInt("oldIndex", change.oldIndex);
+      serializedChange.putInt("newIndex", change.newIndex);
+      if (change.changed && change.newIndex != -1) {
+        serializedChange.putMap("result", serializeResult(results.get(change.newIndex)));
+      }
+      serializedChanges.pushMap(serializedChange);
+    }
+
+    WritableMap map = Arguments.createMap();
+    map.putArray("changes", serializedChanges);
+    WritableMap executionTime = serializeTimestamp(snapshot.getExecutionTime());
+    if (executionTime == null) {
+      throw new PipelineValidationException(
+          "pipelineExecute() expected native snapshot to include executionTime.");
+    }
+    map.putMap("executionTime", executionTime);
+    return map;
+  }
+
+  /**
+   * Parses and lowers a serialized pipeline, or takes it from the cache when the same request has
+   * been compiled before. Only requests that compile successfully are cached.
+   */
+  private ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline compile(
+      ReadableMap pipeline, ReadableMap options) throws PipelineValidationException {
+    if (pipeline == null) {
+      throw new PipelineValidationException("pipelineExecute() expected a pipeline object.");
+    }
+
+    Map<String, Object> pipelineMap =
+        ReactNativeFirebaseFirestorePipelineParser.readableMapToJava(pipeline);
+    Map<String, Object> optionsMap =
+        options == null
+            ? null
+            : ReactNativeFirebaseFirestorePipelineParser.readableMapToJava(options);
+    ReactNativeFirebaseFirestorePipelineCache.Key key =
+        new ReactNativeFirebaseFirestorePipelineCache.Key(firestore, pipelineMap, optionsMap);
+    ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline cached = cache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
+        ReactNativeFirebaseFirestorePipelineParser.parsePipelineMap(pipelineMap, optionsMap);
+    Log.i(
+        "RNFB-Pipeline",
+        "execute source="
+            + request.source.sourceType
+            + " path="
+            + request.source.path
+            + " stages="
+            + request.stages.size());
+    ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline compiled =
+        new ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline(
+            buildNativePipeline(request), buildExecuteOptions(request.options));
+    cache.put(key, compiled);
+    return compiled;
+  }
+
   private void resolvePipelineTask(Task<Pipeline.Snapshot> task, Promise promise) {
     if (task.isSuccessful()) {
       Log.i("RNFB-Pipeline", "execute succeeded");
@@ -1037,7 +1357,8 @@ class ReactNativeFirebaseFirestorePipelineExecutor {
     return ((Number) value).intValue();
   }
 
-  private long coerceLong(Object value, String fieldName) throws PipelineValidationException {
+  private static long coerceLong(Object value, String fieldName)
+      throws PipelineValidationException {
     if (!(value instanceof Number)) {
       throw new PipelineValidationException(
           "pipelineExecute() expected " + fieldName + " to be a number.");
@@ -0,0 +1,173 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.Pipeline;
+import com.google.firebase.firestore.PipelineResult;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the results of a pipeline up to date by evaluating it again whenever the documents of its
+ * source change, and reports the rows that were added, removed or changed since the last time.
+ *
+ * <p>The source is listened to as a query. The pipeline is evaluated on its first snapshot, even
+ * one from the cache, so an offline listener reports the evaluation's error rather than nothing.
+ * After that, snapshots with pending writes, or only from the cache, are skipped, since the
+ * pipeline is evaluated by the backend and would not see them yet. A change that arrives while the
+ * pipeline is being evaluated triggers one more evaluation once it is done, however many changes
+ * arrived. All state is only touched on the listener's serial executor.
+ */
+class ReactNativeFirebaseFirestorePipelineListener {
+  interface ResultsListener {
+    /** Called for the first evaluation, even without rows, then for each one that changed rows. */
+    void onResults(
+        Pipeline.Snapshot snapshot, List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes);
+
+    void onError(Exception exception);
+  }
+
+  private final Query source;
+  private final Callable<Task<Pipeline.Snapshot>> evaluate;
+  private final Executor serialExecutor;
+  private final ResultsListener listener;
+  private final ReactNativeFirebaseFirestorePipelineDiff diff =
+      new ReactNativeFirebaseFirestorePipelineDiff();
+
+  private volatile boolean closed;
+  @Nullable private ListenerRegistration registration;
+  private boolean evaluated;
+  private boolean evaluating;
+  private boolean stale;
+  private boolean reported;
+
+  ReactNativeFirebaseFirestorePipelineListener(
+      Query source,
+      Callable<Task<Pipeline.Snapshot>> evaluate,
+      Executor serialExecutor,
+      ResultsListener listener) {
+    this.source = source;
+    this.evaluate = evaluate;
+    this.serialExecutor = serialExecutor;
+    this.listener = listener;
+  }
+
+  void start() {
+    registration =
+        source.addSnapshotListener(serialExecutor, MetadataChanges.INCLUDE, this::onSourceChanged);
+  }
+
+  void close() {
+    closed = true;
+    if (registration != null) {
+      registration.remove();
+      registration = null;
+    }
+  }
+
+  private void onSourceChanged(
+      @Nullable QuerySnapshot snapshot, @Nullable FirebaseFirestoreException exception) {
+    if (closed) {
+      return;
+    }
+    if (exception != null) {
+      fail(exception);
+      return;
+    }
+    if (snapshot == null
+        || (evaluated
+            && (snapshot.getMetadata().hasPendingWrites()
+                || snapshot.getMetadata().isFromCache()))) {
+      return;
+    }
+    if (evaluating) {
+      stale = true;
+      return;
+    }
+    evaluate();
+  }
+
+  private void evaluate() {
+    evaluated = true;
+    evaluating = true;
+    stale = false;
+    Task<Pipeline.Snapshot> evaluation;
+    try {
+      evaluation = evaluate.call();
+    } catch (Exception e) {
+      evaluating = false;
+      fail(e);
+      return;
+    }
+    evaluation.addOnCompleteListener(serialExecutor, this::onEvaluated);
+  }
+
+  private void onEvaluated(Task<Pipeline.Snapshot> task) {
+    evaluating = false;
+    if (closed) {
+      return;
+    }
+    if (!task.isSuccessful()) {
+      fail(task.getException());
+      return;
+    }
+
+    Pipeline.Snapshot snapshot = task.getResult();
+    List<PipelineResult> results = snapshot.getResults();
+    List<Object> keys = new ArrayList<>(results.size());
+    List<Object> contents = new ArrayList<>(results.size());
+    Map<Object, Integer> occurrences = new HashMap<>();
+    for (PipelineResult result : results) {
+      Map<String, Object> data = result.getData();
+      contents.add(Arrays.asList(data, result.getUpdateTime()));
+      // Rows without a document, such as aggregates, are identified by their data.
+      DocumentReference reference = result.getRef();
+      Object key = reference != null ? reference.getPath() : data;
+      Integer seen = occurrences.get(key);
+      occurrences.put(key, seen == null ? 1 : seen + 1);
+      keys.add(seen == null ? key : Arrays.asList(key, seen));
+    }
+
+    List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes = diff.update(keys, contents);
+    if (!reported || !changes.isEmpty()) {
+      listener.onResults(snapshot, changes);
+      reported = true;
+    }
+    if (stale) {
+      evaluate();
+    }
+  }
+
+  private void fail(Exception exception) {
+    close();
+    listener.onError(exception);
+  }
+}
@@ -57,14 +57,6 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
     Object value;
   }
 
-  private static final class SerializedValueBox {
-    Object value;
-  }
-
-  private static final class SerializedExpressionBox {
-    Object value;
-  }
-
   private static final class ConstantValueBox {
     Object value;
   }
@@ -113,8 +105,6 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
 
   private interface ValueResolutionFrame {}
 
-  private interface SerializationFrame {}
-
   private interface ConstantResolutionFrame {}
 
   private interface BooleanLoweringFrame {}
@@ -666,85 +656,6 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
     }
   }
 
-  private static final class EnterSerializedExpressionFrame implements SerializationFrame {
-    final ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode value;
-    final SerializedExpressionBox box;
-
-    EnterSerializedExpressionFrame(
-        ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode value,
-        SerializedExpressionBox box) {
-      this.value = value;
-      this.box = box;
-    }
-  }
-
-  private static final class ExitSerializedExpressionFunctionFrame implements SerializationFrame {
-    final SerializedExpressionBox box;
-    final String name;
-    final List<SerializedValueBox> argBoxes;
-
-    ExitSerializedExpressionFunctionFrame(
-        SerializedExpressionBox box, String name, List<SerializedValueBox> argBoxes) {
-      this.box = box;
-      this.name = name;
-      this.argBoxes = argBoxes;
-    }
-  }
-
-  private static final class EnterSerializedValueFrame implements SerializationFrame {
-    final ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value;
-    final SerializedValueBox box;
-
-    EnterSerializedValueFrame(
-        ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value, SerializedValueBox box) {
-      this.value = value;
-      this.box = box;
-    }
-  }
-
-  private static final class ExitSerializedValueListFrame implements SerializationFrame {
-    final SerializedValueBox box;
-    final List<SerializedValueBox> childBoxes;
-
-    ExitSerializedValueListFrame(SerializedValueBox box, List<SerializedValueBox> childBoxes) {
-      this.box = box;
-      this.childBoxes = childBoxes;
-    }
-  }
-
-  private static final class ExitSerializedValueMapFrame implements SerializationFrame {
-    final SerializedValueBox box;
-    final List<Map.Entry<String, SerializedValueBox>> entries;
-
-    ExitSerializedValueMapFrame(
-        SerializedValueBox box, List<Map.Entry<String, SerializedValueBox>> entries) {
-      this.box = box;
-      this.entries = entries;
-    }
-  }
-
-  private static final class ExitSerializedExpressionConstantFrame implements SerializationFrame {
-    final SerializedExpressionBox expressionBox;
-    final SerializedValueBox valueBox;
-
-    ExitSerializedExpressionConstantFrame(
-        SerializedExpressionBox expressionBox, SerializedValueBox valueBox) {
-      this.expressionBox = expressionBox;
-      this.valueBox = valueBox;
-    }
-  }
-
-  private static final class ExitSerializedValueExpressionFrame implements SerializationFrame {
-    final SerializedValueBox valueBox;
-    final SerializedExpressionBox expressionBox;
-
-    ExitSerializedValueExpressionFrame(
-        SerializedValueBox valueBox, SerializedExpressionBox expressionBox) {
-      this.valueBox = valueBox;
-      this.expressionBox = expressionBox;
-    }
-  }
-
   private static final class EnterConstantResolutionFrame implements ConstantResolutionFrame {
     final Object value;
     final String fieldName;
@@ -2511,6 +2422,10 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
           }
           for (int i = pendingEntries.size() - 1; i >= 0; i--) {
             Map.Entry<String, Object> entry = pendingEntries.get(i);
+            if (isConstantLeaf(entry.getValue())) {
+              entries.get(i).getValue().value = entry.getValue();
+              continue;
+            }
             stack.push(
                 new EnterConstantResolutionFrame(
                     entry.getValue(),
@@ -2528,6 +2443,10 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
           }
           stack.push(new ExitConstantListFrame(enterFrame.box, childBoxes));
           for (int i = values.size() - 1; i >= 0; i--) {
+            if (isConstantLeaf(values.get(i))) {
+              childBoxes.get(i).value = values.get(i);
+              continue;
+            }
             stack.push(
                 new EnterConstantResolutionFrame(
                     values.get(i), currentFieldName + "[" + i + "]", childBoxes.get(i)));
@@ -2560,6 +2479,14 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
     return rootBox.value;
   }
 
+  /**
+   * Whether a constant resolves to itself, so large constant arrays and maps fill in their
+   * primitives without a frame or a field name each.
+   */
+  private static boolean isConstantLeaf(Object value) {
+    return !(value instanceof Map) && !(value instanceof List);
+  }
+
   private boolean containsSerializedExpression(Object value) {
     ArrayDeque<Object> stack = new ArrayDeque<>();
     if (value != null) {
@@ -2979,6 +2906,14 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
           }
           stack.push(new ExitListValueResolutionFrame(enterFrame.box, childBoxes));
           for (int i = values.size() - 1; i >= 0; i--) {
+            if (values.get(i)
+                instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
+              childBoxes.get(i).value =
+                  ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode)
+                          values.get(i))
+                      .value;
+              continue;
+            }
             stack.push(
                 new EnterValueResolutionFrame(
                     values.get(i), currentFieldName + "[" + i + "]", childBoxes.get(i)));
@@ -3002,6 +2937,14 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
           for (int i = pendingEntries.size() - 1; i >= 0; i--) {
             Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry =
                 pendingEntries.get(i);
+            if (entry.getValue()
+                instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
+              entries.get(i).getValue().value =
+                  ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode)
+                          entry.getValue())
+                      .value;
+              continue;
+            }
             stack.push(
                 new EnterValueResolutionFrame(
                     entry.getValue(),
@@ -3082,360 +3025,12 @@ final class ReactNativeFirebaseFirestorePipelineNodeBuilder {
 
   private Object serializeExpressionNode(
       ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode value) {
-    SerializedExpressionBox rootBox = new SerializedExpressionBox();
-    ArrayDeque<SerializationFrame> stack = new ArrayDeque<>();
-    stack.push(new EnterSerializedExpressionFrame(value, rootBox));
-
-    while (!stack.isEmpty()) {
-      SerializationFrame frame = stack.pop();
-      if (frame instanceof EnterSerializedExpressionFrame) {
-        EnterSerializedExpressionFrame enterFrame = (EnterSerializedExpressionFrame) frame;
-        ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode expression =
-            enterFrame.value;
-
-        if (expression
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) {
-          Map<String, Object> output = new LinkedHashMap<>();
-          output.put("__kind", "expression");
-          output.put("exprType", "Field");
-          output.put(
-              "path",
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) expression)
-                  .path);
-          enterFrame.box.value = output;
-          continue;
-        }
-
-        if (expression
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode) {
-          SerializedValueBox valueBox = new SerializedValueBox();
-          stack.push(new ExitSerializedExpressionConstantFrame(enterFrame.box, valueBox));
-          stack.push(
-              new EnterSerializedValueFrame(
-                  ((ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode)
-                          expression)
-                      .value,
-                  valueBox));
-          continue;
-        }
-
-        if (expression
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedVariableExpressionNode) {
-          Map<String, Object> output = new LinkedHashMap<>();
-          output.put("__kind", "expression");
-          output.put("exprType", "Variable");
-          output.put(
-              "name",
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedVariableExpressionNode) expression)
-                  .name);
-          enterFrame.box.value = output;
-          continue;
-        }
-
-        ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode function =
-            (ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode) expression;
-        List<SerializedValueBox> argBoxes = new ArrayList<>(function.args.size());
-        for (int i = 0; i < function.args.size(); i++) {
-          argBoxes.add(new SerializedValueBox());
-        }
-        stack.push(
-            new ExitSerializedExpressionFunctionFrame(enterFrame.box, function.name, argBoxes));
-        for (int i = function.args.size() - 1; i >= 0; i--) {
-          stack.push(new EnterSerializedValueFrame(function.args.get(i), argBoxes.get(i)));
-        }
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedExpressionFunctionFrame) {
-        ExitSerializedExpressionFunctionFrame exitFrame =
-            (ExitSerializedExpressionFunctionFrame) frame;
-        Map<String, Object> output = new LinkedHashMap<>();
-        output.put("__kind", "expression");
-        output.put("exprType", "Function");
-        output.put("name", exitFrame.name);
-        List<Object> args = new ArrayList<>(exitFrame.argBoxes.size());
-        for (SerializedValueBox argBox : exitFrame.argBoxes) {
-          args.add(argBox.value);
-        }
-        output.put("args", args);
-        exitFrame.box.value = output;
-        continue;
-      }
-
-      if (frame instanceof EnterSerializedValueFrame) {
-        EnterSerializedValueFrame enterFrame = (EnterSerializedValueFrame) frame;
-        ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode currentValue = enterFrame.value;
-
-        if (currentValue
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
-          enterFrame.box.value =
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) currentValue)
-                  .value;
-          continue;
-        }
-
-        if (currentValue
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) {
-          List<ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> values =
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) currentValue)
-                  .values;
-          List<SerializedValueBox> childBoxes = new ArrayList<>(values.size());
-          for (int i = 0; i < values.size(); i++) {
-            childBoxes.add(new SerializedValueBox());
-          }
-          stack.push(new ExitSerializedValueListFrame(enterFrame.box, childBoxes));
-          for (int i = values.size() - 1; i >= 0; i--) {
-            stack.push(new EnterSerializedValueFrame(values.get(i), childBoxes.get(i)));
-          }
-          continue;
-        }
-
-        if (currentValue instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedMapValueNode) {
-          Map<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> values =
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedMapValueNode) currentValue).values;
-          List<Map.Entry<String, SerializedValueBox>> entries = new ArrayList<>(values.size());
-          stack.push(new ExitSerializedValueMapFrame(enterFrame.box, entries));
-          List<Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode>>
-              pendingEntries = new ArrayList<>(values.entrySet());
-          for (Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry :
-              pendingEntries) {
-            SerializedValueBox childBox = new SerializedValueBox();
-            entries.add(new java.util.AbstractMap.SimpleEntry<>(entry.getKey(), childBox));
-          }
-          for (int i = pendingEntries.size() - 1; i >= 0; i--) {
-            Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry =
-                pendingEntries.get(i);
-            stack.push(new EnterSerializedValueFrame(entry.getValue(), entries.get(i).getValue()));
-          }
-          continue;
-        }
-
-        SerializedExpressionBox expressionBox = new SerializedExpressionBox();
-        stack.push(new ExitSerializedValueExpressionFrame(enterFrame.box, expressionBox));
-        stack.push(
-            new EnterSerializedExpressionFrame(
-                ((ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode)
-                        currentValue)
-                    .expression,
-                expressionBox));
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedValueListFrame) {
-        ExitSerializedValueListFrame exitFrame = (ExitSerializedValueListFrame) frame;
-        List<Object> output = new ArrayList<>(exitFrame.childBoxes.size());
-        for (SerializedValueBox childBox : exitFrame.childBoxes) {
-          output.add(childBox.value);
-        }
-        exitFrame.box.value = output;
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedValueMapFrame) {
-        ExitSerializedValueMapFrame exitFrame = (ExitSerializedValueMapFrame) frame;
-        Map<String, Object> output = new LinkedHashMap<>();
-        for (Map.Entry<String, SerializedValueBox> entry : exitFrame.entries) {
-          output.put(entry.getKey(), entry.getValue().value);
-        }
-        exitFrame.box.value = output;
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedExpressionConstantFrame) {
-        ExitSerializedExpressionConstantFrame exitFrame =
-            (ExitSerializedExpressionConstantFrame) frame;
-        Map<String, Object> output = new LinkedHashMap<>();
-        output.put("__kind", "expression");
-        output.put("exprType", "constant");
-        output.put("value", exitFrame.valueBox.value);
-        exitFrame.expressionBox.value = output;
-        continue;
-      }
-
-      ExitSerializedValueExpressionFrame exitFrame = (ExitSerializedValueExpressionFrame) frame;
-      exitFrame.valueBox.value = exitFrame.expressionBox.value;
-    }
-
-    return rootBox.value;
+    return ReactNativeFirebaseFirestorePipelineNodeSerializer.serializeExpression(value);
   }
 
   private Object serializeValueNode(
       ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value) {
-    SerializedValueBox rootBox = new SerializedValueBox();
-    ArrayDeque<SerializationFrame> stack = new ArrayDeque<>();
-    stack.push(new EnterSerializedValueFrame(value, rootBox));
-
-    while (!stack.isEmpty()) {
-      SerializationFrame frame = stack.pop();
-      if (frame instanceof EnterSerializedValueFrame) {
-        EnterSerializedValueFrame enterFrame = (EnterSerializedValueFrame) frame;
-        ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode currentValue = enterFrame.value;
-
-        if (currentValue
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
-          enterFrame.box.value =
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) currentValue)
-                  .value;
-          continue;
-        }
-
-        if (currentValue
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) {
-          List<ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> values =
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) currentValue)
-                  .values;
-          List<SerializedValueBox> childBoxes = new ArrayList<>(values.size());
-          for (int i = 0; i < values.size(); i++) {
-            childBoxes.add(new SerializedValueBox());
-          }
-          stack.push(new ExitSerializedValueListFrame(enterFrame.box, childBoxes));
-          for (int i = values.size() - 1; i >= 0; i--) {
-            stack.push(new EnterSerializedValueFrame(values.get(i), childBoxes.get(i)));
-          }
-          continue;
-        }
-
-        if (currentValue instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedMapValueNode) {
-          Map<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> values =
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedMapValueNode) currentValue).values;
-          List<Map.Entry<String, SerializedValueBox>> entries = new ArrayList<>(values.size());
-          stack.push(new ExitSerializedValueMapFrame(enterFrame.box, entries));
-          List<Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode>>
-              pendingEntries = new ArrayList<>(values.entrySet());
-          for (Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry :
-              pendingEntries) {
-            SerializedValueBox childBox = new SerializedValueBox();
-            entries.add(new java.util.AbstractMap.SimpleEntry<>(entry.getKey(), childBox));
-          }
-          for (int i = pendingEntries.size() - 1; i >= 0; i--) {
-            Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry =
-                pendingEntries.get(i);
-            stack.push(new EnterSerializedValueFrame(entry.getValue(), entries.get(i).getValue()));
-          }
-          continue;
-        }
-
-        SerializedExpressionBox expressionBox = new SerializedExpressionBox();
-        stack.push(new ExitSerializedValueExpressionFrame(enterFrame.box, expressionBox));
-        stack.push(
-            new EnterSerializedExpressionFrame(
-                ((ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode)
-                        currentValue)
-                    .expression,
-                expressionBox));
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedValueListFrame) {
-        ExitSerializedValueListFrame exitFrame = (ExitSerializedValueListFrame) frame;
-        List<Object> output = new ArrayList<>(exitFrame.childBoxes.size());
-        for (SerializedValueBox childBox : exitFrame.childBoxes) {
-          output.add(childBox.value);
-        }
-        exitFrame.box.value = output;
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedValueMapFrame) {
-        ExitSerializedValueMapFrame exitFrame = (ExitSerializedValueMapFrame) frame;
-        Map<String, Object> output = new LinkedHashMap<>();
-        for (Map.Entry<String, SerializedValueBox> entry : exitFrame.entries) {
-          output.put(entry.getKey(), entry.getValue().value);
-        }
-        exitFrame.box.value = output;
-        continue;
-      }
-
-      if (frame instanceof EnterSerializedExpressionFrame) {
-        EnterSerializedExpressionFrame enterFrame = (EnterSerializedExpressionFrame) frame;
-        ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode expression =
-            enterFrame.value;
-
-        if (expression
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) {
-          Map<String, Object> output = new LinkedHashMap<>();
-          output.put("__kind", "expression");
-          output.put("exprType", "Field");
-          output.put(
-              "path",
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) expression)
-                  .path);
-          enterFrame.box.value = output;
-          continue;
-        }
-
-        if (expression
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode) {
-          SerializedValueBox valueBox = new SerializedValueBox();
-          stack.push(new ExitSerializedExpressionConstantFrame(enterFrame.box, valueBox));
-          stack.push(
-              new EnterSerializedValueFrame(
-                  ((ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode)
-                          expression)
-                      .value,
-                  valueBox));
-          continue;
-        }
-
-        if (expression
-            instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedVariableExpressionNode) {
-          Map<String, Object> output = new LinkedHashMap<>();
-          output.put("__kind", "expression");
-          output.put("exprType", "Variable");
-          output.put(
-              "name",
-              ((ReactNativeFirebaseFirestorePipelineParser.ParsedVariableExpressionNode) expression)
-                  .name);
-          enterFrame.box.value = output;
-          continue;
-        }
-
-        ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode function =
-            (ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode) expression;
-        List<SerializedValueBox> argBoxes = new ArrayList<>(function.args.size());
-        for (int i = 0; i < function.args.size(); i++) {
-          argBoxes.add(new SerializedValueBox());
-        }
-        stack.push(
-            new ExitSerializedExpressionFunctionFrame(enterFrame.box, function.name, argBoxes));
-        for (int i = function.args.size() - 1; i >= 0; i--) {
-          stack.push(new EnterSerializedValueFrame(function.args.get(i), argBoxes.get(i)));
-        }
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedExpressionFunctionFrame) {
-        ExitSerializedExpressionFunctionFrame exitFrame =
-            (ExitSerializedExpressionFunctionFrame) frame;
-        Map<String, Object> output = new LinkedHashMap<>();
-        output.put("__kind", "expression");
-        output.put("exprType", "Function");
-        output.put("name", exitFrame.name);
-        List<Object> args = new ArrayList<>(exitFrame.argBoxes.size());
-        for (SerializedValueBox argBox : exitFrame.argBoxes) {
-          args.add(argBox.value);
-        }
-        output.put("args", args);
-        exitFrame.box.value = output;
-        continue;
-      }
-
-      if (frame instanceof ExitSerializedExpressionConstantFrame) {
-        ExitSerializedExpressionConstantFrame exitFrame =
-            (ExitSerializedExpressionConstantFrame) frame;
-        Map<String, Object> output = new LinkedHashMap<>();
-        output.put("__kind", "expression");
-        output.put("exprType", "constant");
-        output.put("value", exitFrame.valueBox.value);
-        exitFrame.expressionBox.value = output;
-        continue;
-      }
-
-      ExitSerializedValueExpressionFrame exitFrame = (ExitSerializedValueExpressionFrame) frame;
-      exitFrame.valueBox.value = exitFrame.expressionBox.value;
-    }
-
-    return rootBox.value;
+    return ReactNativeFirebaseFirestorePipelineNodeSerializer.serializeValue(value);
   }
 
   private String canonicalizeExpressionFunctionName(String name) {
@@ -0,0 +1,195 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns parsed expression and value nodes back into the serialized maps and lists that {@link
+ * ReactNativeFirebaseFirestorePipelineNodeBuilder} lowers to SDK expressions.
+ *
+ * <p>Each list or map is created when its node is reached and its children are written straight
+ * into it, so a child only needs a frame when it has children of its own; primitives, fields and
+ * variables are written in place. The stack keeps deep trees off the call stack.
+ */
+final class ReactNativeFirebaseFirestorePipelineNodeSerializer {
+  /** A node still to serialize, and the slot of the list or map its output goes in. */
+  private static final class PendingNode {
+    final Object node;
+    final List<Object> list;
+    final int index;
+    final Map<String, Object> map;
+    final String key;
+
+    PendingNode(Object node, List<Object> list, int index, Map<String, Object> map, String key) {
+      this.node = node;
+      this.list = list;
+      this.index = index;
+      this.map = map;
+      this.key = key;
+    }
+
+    void set(Object value) {
+      if (list != null) {
+        list.set(index, value);
+      } else {
+        map.put(key, value);
+      }
+    }
+  }
+
+  private ReactNativeFirebaseFirestorePipelineNodeSerializer() {}
+
+  static Object serializeExpression(
+      ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode expression) {
+    return serialize(expression);
+  }
+
+  static Object serializeValue(ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value) {
+    return serialize(value);
+  }
+
+  private static Object serialize(Object root) {
+    List<Object> output = new ArrayList<>(1);
+    output.add(null);
+    ArrayDeque<PendingNode> stack = new ArrayDeque<>();
+    stack.push(new PendingNode(root, output, 0, null, null));
+
+    while (!stack.isEmpty()) {
+      write(stack.pop(), stack);
+    }
+    return output.get(0);
+  }
+
+  /** Writes the output of a node into its slot, pushing the children that have children. */
+  private static void write(PendingNode slot, ArrayDeque<PendingNode> stack) {
+    Object node = slot.node;
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode) {
+      // A value that is an expression serializes as the expression itself.
+      node =
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode) node).expression;
+    }
+
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
+      slot.set(((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) node).value);
+      return;
+    }
+
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) {
+      Map<String, Object> output = new LinkedHashMap<>();
+      output.put("__kind", "expression");
+      output.put("exprType", "Field");
+      output.put(
+          "path",
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode) node).path);
+      slot.set(output);
+      return;
+    }
+
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedVariableExpressionNode) {
+      Map<String, Object> output = new LinkedHashMap<>();
+      output.put("__kind", "expression");
+      output.put("exprType", "Variable");
+      output.put(
+          "name",
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedVariableExpressionNode) node).name);
+      slot.set(output);
+      return;
+    }
+
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode) {
+      Map<String, Object> output = new LinkedHashMap<>();
+      output.put("__kind", "expression");
+      output.put("exprType", "constant");
+      output.put("value", null);
+      slot.set(output);
+      writeEntry(
+          output,
+          "value",
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode) node).value,
+          stack);
+      return;
+    }
+
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode) {
+      ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode function =
+          (ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode) node;
+      Map<String, Object> output = new LinkedHashMap<>();
+      output.put("__kind", "expression");
+      output.put("exprType", "Function");
+      output.put("name", function.name);
+      output.put("args", writeList(function.args, stack));
+      slot.set(output);
+      return;
+    }
+
+    if (node instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) {
+      slot.set(
+          writeList(
+              ((ReactNativeFirebaseFirestorePipelineParser.ParsedListValueNode) node).values,
+              stack));
+      return;
+    }
+
+    Map<String, Object> output = new LinkedHashMap<>();
+    // Entries are put in order first, so the output keeps the order of the parsed map.
+    for (Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry :
+        ((ReactNativeFirebaseFirestorePipelineParser.ParsedMapValueNode) node).values.entrySet()) {
+      output.put(entry.getKey(), null);
+    }
+    slot.set(output);
+    for (Map.Entry<String, ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> entry :
+        ((ReactNativeFirebaseFirestorePipelineParser.ParsedMapValueNode) node).values.entrySet()) {
+      writeEntry(output, entry.getKey(), entry.getValue(), stack);
+    }
+  }
+
+  private static List<Object> writeList(
+      List<ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode> values,
+      ArrayDeque<PendingNode> stack) {
+    List<Object> output = new ArrayList<>(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value = values.get(i);
+      if (value instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
+        output.add(
+            ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) value).value);
+      } else {
+        output.add(null);
+        stack.push(new PendingNode(value, output, i, null, null));
+      }
+    }
+    return output;
+  }
+
+  private static void writeEntry(
+      Map<String, Object> output,
+      String key,
+      ReactNativeFirebaseFirestorePipelineParser.ParsedValueNode value,
+      ArrayDeque<PendingNode> stack) {
+    if (value instanceof ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) {
+      output.put(
+          key, ((ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode) value).value);
+    } else {
+      stack.push(new PendingNode(value, null, -1, output, key));
+    }
+  }
+}
@@ -71,7 +71,84 @@ final class ReactNativeFirebaseFirestorePipelineParser {
 
   private abstract static class PipelineParseFrame {}
 
-  private abstract static class ExpressionValueParseFrame {}
+  /** The frame classes of expression and value parsing, so frames are dispatched by a switch. */
+  private enum ExpressionValueFrameKind {
+    EXPRESSION_ENTER,
+    EXPRESSION_VALUE_EXIT,
+    EXPRESSION_CONSTANT_EXIT,
+    EXPRESSION_FUNCTION_EXIT,
+    EXPRESSION_OPERATOR_LOGICAL_EXIT,
+    EXPRESSION_OPERATOR_BINARY_EXIT,
+    VALUE_ENTER,
+    VALUE_LIST_EXIT,
+    VALUE_MAP_EXIT
+  }
+
+  private abstract static class ExpressionValueParseFrame {
+    final ExpressionValueFrameKind kind;
+
+    ExpressionValueParseFrame(ExpressionValueFrameKind kind) {
+      this.kind = kind;
+    }
+  }
+
+  /**
+   * The name of a value for error messages, such as {@code pipeline.stages[0].options.args[1]}. It
+   * is only built into a string when an error is thrown; the names in a deep tree are long, and
+   * building each one would copy its parent's.
+   */
+  private static final class FieldName {
+    final FieldName parent;
+    final String name;
+    final String key;
+    final int index;
+
+    private FieldName(FieldName parent, String name, String key, int index) {
+      this.parent = parent;
+      this.name = name;
+      this.key = key;
+      this.index = index;
+    }
+
+    static FieldName of(String name) {
+      return new FieldName(null, name, null, -1);
+    }
+
+    /** The name followed by {@code suffix}, such as {@code .expr}. */
+    FieldName child(String suffix) {
+      return new FieldName(this, suffix, null, -1);
+    }
+
+    /** The name followed by {@code suffix[index]}, where the suffix may be empty. */
+    FieldName element(String suffix, int index) {
+      return new FieldName(this, suffix, null, index);
+    }
+
+    /** The name followed by {@code .key}. */
+    FieldName entry(String key) {
+      return new FieldName(this, ".", key, -1);
+    }
+
+    @Override
+    public String toString() {
+      List<FieldName> names = new java.util.ArrayList<>();
+      for (FieldName current = this; current != null; current = current.parent) {
+        names.add(current);
+      }
+      StringBuilder builder = new StringBuilder();
+      for (int i = names.size() - 1; i >= 0; i--) {
+        FieldName current = names.get(i);
+        builder.append(current.name);
+        if (current.key != null) {
+          builder.append(current.key);
+        }
+        if (current.index >= 0) {
+          builder.append('[').append(current.index).append(']');
+        }
+      }
+      return builder.toString();
+    }
+  }
 
   private static final class PendingValueEntry {
     final String key;
@@ -119,9 +196,10 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static final class ExpressionEnterFrame extends ExpressionValueParseFrame {
     final Object value;
     final ParsedExpressionNodeBox box;
-    final String fieldName;
+    final FieldName fieldName;
 
-    ExpressionEnterFrame(Object value, ParsedExpressionNodeBox box, String fieldName) {
+    ExpressionEnterFrame(Object value, ParsedExpressionNodeBox box, FieldName fieldName) {
+      super(ExpressionValueFrameKind.EXPRESSION_ENTER);
       this.value = value;
       this.box = box;
       this.fieldName = fieldName;
@@ -131,10 +209,11 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static final class ExpressionValueExitFrame extends ExpressionValueParseFrame {
     final ParsedValueNodeBox valueBox;
     final ParsedExpressionNodeBox expressionBox;
-    final String fieldName;
+    final FieldName fieldName;
 
     ExpressionValueExitFrame(
-        ParsedValueNodeBox valueBox, ParsedExpressionNodeBox expressionBox, String fieldName) {
+        ParsedValueNodeBox valueBox, ParsedExpressionNodeBox expressionBox, FieldName fieldName) {
+      super(ExpressionValueFrameKind.EXPRESSION_VALUE_EXIT);
       this.valueBox = valueBox;
       this.expressionBox = expressionBox;
       this.fieldName = fieldName;
@@ -144,10 +223,11 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static final class ExpressionConstantExitFrame extends ExpressionValueParseFrame {
     final ParsedExpressionNodeBox expressionBox;
     final ParsedValueNodeBox valueBox;
-    final String fieldName;
+    final FieldName fieldName;
 
     ExpressionConstantExitFrame(
-        ParsedExpressionNodeBox expressionBox, ParsedValueNodeBox valueBox, String fieldName) {
+        ParsedExpressionNodeBox expressionBox, ParsedValueNodeBox valueBox, FieldName fieldName) {
+      super(ExpressionValueFrameKind.EXPRESSION_CONSTANT_EXIT);
       this.expressionBox = expressionBox;
       this.valueBox = valueBox;
       this.fieldName = fieldName;
@@ -158,13 +238,14 @@ final class ReactNativeFirebaseFirestorePipelineParser {
     final ParsedExpressionNodeBox box;
     final String name;
     final List<ParsedValueNodeBox> argBoxes;
-    final String fieldName;
+    final FieldName fieldName;
 
     ExpressionFunctionExitFrame(
         ParsedExpressionNodeBox box,
         String name,
         List<ParsedValueNodeBox> argBoxes,
-        String fieldName) {
+        FieldName fieldName) {
+      super(ExpressionValueFrameKind.EXPRESSION_FUNCTION_EXIT);
       this.box = box;
       this.name = name;
       this.argBoxes = argBoxes;
@@ -176,13 +257,14 @@ final class ReactNativeFirebaseFirestorePipelineParser {
     final ParsedExpressionNodeBox box;
     final String normalizedOperator;
     final List<ParsedExpressionNodeBox> queryBoxes;
-    final String fieldName;
+    final FieldName fieldName;
 
     ExpressionOperatorLogicalExitFrame(
         ParsedExpressionNodeBox box,
         String normalizedOperator,
         List<ParsedExpressionNodeBox> queryBoxes,
-        String fieldName) {
+        FieldName fieldName) {
+      super(ExpressionValueFrameKind.EXPRESSION_OPERATOR_LOGICAL_EXIT);
       this.box = box;
       this.normalizedOperator = normalizedOperator;
       this.queryBoxes = queryBoxes;
@@ -195,14 +277,15 @@ final class ReactNativeFirebaseFirestorePipelineParser {
     final String normalizedOperator;
     final ParsedExpressionNodeBox fieldBox;
     final ParsedValueNodeBox valueBox;
-    final String fieldName;
+    final FieldName fieldName;
 
     ExpressionOperatorBinaryExitFrame(
         ParsedExpressionNodeBox box,
         String normalizedOperator,
         ParsedExpressionNodeBox fieldBox,
         ParsedValueNodeBox valueBox,
-        String fieldName) {
+        FieldName fieldName) {
+      super(ExpressionValueFrameKind.EXPRESSION_OPERATOR_BINARY_EXIT);
       this.box = box;
       this.normalizedOperator = normalizedOperator;
       this.fieldBox = fieldBox;
@@ -214,9 +297,10 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static final class ValueEnterFrame extends ExpressionValueParseFrame {
     final Object value;
     final ParsedValueNodeBox box;
-    final String fieldName;
+    final FieldName fieldName;
 
-    ValueEnterFrame(Object value, ParsedValueNodeBox box, String fieldName) {
+    ValueEnterFrame(Object value, ParsedValueNodeBox box, FieldName fieldName) {
+      super(ExpressionValueFrameKind.VALUE_ENTER);
       this.value = value;
       this.box = box;
       this.fieldName = fieldName;
@@ -226,10 +310,11 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static final class ValueListExitFrame extends ExpressionValueParseFrame {
     final ParsedValueNodeBox box;
     final List<ParsedValueNodeBox> childBoxes;
-    final String fieldName;
+    final FieldName fieldName;
 
     ValueListExitFrame(
-        ParsedValueNodeBox box, List<ParsedValueNodeBox> childBoxes, String fieldName) {
+        ParsedValueNodeBox box, List<ParsedValueNodeBox> childBoxes, FieldName fieldName) {
+      super(ExpressionValueFrameKind.VALUE_LIST_EXIT);
       this.box = box;
       this.childBoxes = childBoxes;
       this.fieldName = fieldName;
@@ -239,12 +324,13 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static final class ValueMapExitFrame extends ExpressionValueParseFrame {
     final ParsedValueNodeBox box;
     final List<Map.Entry<String, ParsedValueNodeBox>> entries;
-    final String fieldName;
+    final FieldName fieldName;
 
     ValueMapExitFrame(
         ParsedValueNodeBox box,
         List<Map.Entry<String, ParsedValueNodeBox>> entries,
-        String fieldName) {
+        FieldName fieldName) {
+      super(ExpressionValueFrameKind.VALUE_MAP_EXIT);
       this.box = box;
       this.entries = entries;
       this.fieldName = fieldName;
@@ -693,7 +779,8 @@ final class ReactNativeFirebaseFirestorePipelineParser {
       if ((map.containsKey("path") || map.containsKey("fieldPath") || map.containsKey("segments"))
           && !isReferencePathConstantMap(map)) {
         return new ParsedSelectableNode(
-            new ParsedFieldExpressionNode(coerceFieldPath(value, fieldName + ".path")),
+            new ParsedFieldExpressionNode(
+                coerceFieldPath(value, FieldName.of(fieldName + ".path"))),
             alias,
             true);
       }
@@ -789,7 +876,7 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static ParsedExpressionNode parseExpressionNode(Object value, String fieldName)
       throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
     ParsedExpressionNodeBox rootBox = new ParsedExpressionNodeBox();
-    parseExpressionValueTree(new ExpressionEnterFrame(value, rootBox, fieldName));
+    parseExpressionValueTree(new ExpressionEnterFrame(value, rootBox, FieldName.of(fieldName)));
     if (rootBox.value == null) {
       throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
           "pipelineExecute() expected " + fieldName + " to be provided.");
@@ -818,7 +905,7 @@ final class ReactNativeFirebaseFirestorePipelineParser {
   private static ParsedValueNode parseValueNode(Object value, String fieldName)
       throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
     ParsedValueNodeBox rootBox = new ParsedValueNodeBox();
-    parseExpressionValueTree(new ValueEnterFrame(value, rootBox, fieldName));
+    parseExpressionValueTree(new ValueEnterFrame(value, rootBox, FieldName.of(fieldName)));
     if (rootBox.value == null) {
       throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
           "pipelineExecute() expected " + fieldName + " to be provided.");
@@ -905,7 +992,7 @@ final class ReactNativeFirebaseFirestorePipelineParser {
         || map.containsKey("_segments");
   }
 
-  private static String coerceFieldPath(Object value, String fieldName)
+  private static String coerceFieldPath(Object value, FieldName fieldName)
       throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
     Object currentValue = value;
 
@@ -962,330 +1049,376 @@ final class ReactNativeFirebaseFirestorePipelineParser {
 
     while (!stack.isEmpty()) {
       ExpressionValueParseFrame frame = stack.pop();
-      if (frame instanceof ExpressionEnterFrame) {
-        ExpressionEnterFrame enterFrame = (ExpressionEnterFrame) frame;
-        Object value = enterFrame.value;
-        String fieldName = enterFrame.fieldName;
-
-        if (value instanceof String) {
-          enterFrame.box.value = new ParsedFieldExpressionNode((String) value);
-          continue;
-        }
+      switch (frame.kind) {
+        case EXPRESSION_ENTER:
+          enterExpression((ExpressionEnterFrame) frame, stack);
+          break;
+        case EXPRESSION_VALUE_EXIT:
+          exitExpressionValue((ExpressionValueExitFrame) frame);
+          break;
+        case EXPRESSION_CONSTANT_EXIT:
+          exitExpressionConstant((ExpressionConstantExitFrame) frame);
+          break;
+        case EXPRESSION_FUNCTION_EXIT:
+          exitExpressionFunction((ExpressionFunctionExitFrame) frame);
+          break;
+        case EXPRESSION_OPERATOR_LOGICAL_EXIT:
+          exitExpressionOperatorLogical((ExpressionOperatorLogicalExitFrame) frame);
+          break;
+        case EXPRESSION_OPERATOR_BINARY_EXIT:
+          exitExpressionOperatorBinary((ExpressionOperatorBinaryExitFrame) frame);
+          break;
+        case VALUE_ENTER:
+          enterValue((ValueEnterFrame) frame, stack);
+          break;
+        case VALUE_LIST_EXIT:
+          exitValueList((ValueListExitFrame) frame);
+          break;
+        case VALUE_MAP_EXIT:
+          exitValueMap((ValueMapExitFrame) frame);
+          break;
+      }
+    }
+  }
 
-        if (value instanceof Map) {
-          Map<?, ?> map = (Map<?, ?>) value;
-          if (map.containsKey("expr")) {
-            stack.push(
-                new ExpressionEnterFrame(map.get("expr"), enterFrame.box, fieldName + ".expr"));
-            continue;
-          }
-          if (map.containsKey("expression")) {
-            stack.push(
-                new ExpressionEnterFrame(
-                    map.get("expression"), enterFrame.box, fieldName + ".expression"));
-            continue;
-          }
+  private static void enterExpression(
+      ExpressionEnterFrame enterFrame, ArrayDeque<ExpressionValueParseFrame> stack)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    Object value = enterFrame.value;
+    FieldName fieldName = enterFrame.fieldName;
 
-          Object operatorValue = map.get("operator");
-          if (operatorValue instanceof String) {
-            String normalizedOperator = ((String) operatorValue).toUpperCase(java.util.Locale.ROOT);
-            if ("AND".equals(normalizedOperator) || "OR".equals(normalizedOperator)) {
-              Object queriesValue = map.get("queries");
-              if (!(queriesValue instanceof List) || ((List<?>) queriesValue).isEmpty()) {
-                throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                    "pipelineExecute() expected "
-                        + fieldName
-                        + ".queries to contain boolean expressions.");
-              }
-              List<?> queries = (List<?>) queriesValue;
-              List<ParsedExpressionNodeBox> queryBoxes = new java.util.ArrayList<>(queries.size());
-              for (int i = 0; i < queries.size(); i++) {
-                queryBoxes.add(new ParsedExpressionNodeBox());
-              }
-              stack.push(
-                  new ExpressionOperatorLogicalExitFrame(
-                      enterFrame.box, normalizedOperator, queryBoxes, fieldName));
-              for (int i = queries.size() - 1; i >= 0; i--) {
-                stack.push(
-                    new ExpressionEnterFrame(
-                        queries.get(i), queryBoxes.get(i), fieldName + ".queries[" + i + "]"));
-              }
-              continue;
-            }
+    if (value instanceof String) {
+      enterFrame.box.value = new ParsedFieldExpressionNode((String) value);
+      return;
+    }
 
-            Object fieldValue =
-                map.get("fieldPath") != null ? map.get("fieldPath") : map.get("field");
-            if (fieldValue == null) {
-              throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                  "pipelineExecute() expected " + fieldName + ".fieldPath to be provided.");
-            }
+    if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      if (map.containsKey("expr")) {
+        stack.push(
+            new ExpressionEnterFrame(map.get("expr"), enterFrame.box, fieldName.child(".expr")));
+        return;
+      }
+      if (map.containsKey("expression")) {
+        stack.push(
+            new ExpressionEnterFrame(
+                map.get("expression"), enterFrame.box, fieldName.child(".expression")));
+        return;
+      }
 
-            Object rightValue =
-                map.containsKey("value")
-                    ? map.get("value")
-                    : map.containsKey("right") ? map.get("right") : map.get("operand");
-            ParsedExpressionNodeBox fieldBox = new ParsedExpressionNodeBox();
-            ParsedValueNodeBox valueBox = new ParsedValueNodeBox();
-            stack.push(
-                new ExpressionOperatorBinaryExitFrame(
-                    enterFrame.box, normalizedOperator, fieldBox, valueBox, fieldName));
-            stack.push(new ValueEnterFrame(rightValue, valueBox, fieldName + ".value"));
-            stack.push(new ExpressionEnterFrame(fieldValue, fieldBox, fieldName + ".fieldPath"));
-            continue;
+      Object operatorValue = map.get("operator");
+      if (operatorValue instanceof String) {
+        String normalizedOperator = ((String) operatorValue).toUpperCase(java.util.Locale.ROOT);
+        if ("AND".equals(normalizedOperator) || "OR".equals(normalizedOperator)) {
+          Object queriesValue = map.get("queries");
+          if (!(queriesValue instanceof List) || ((List<?>) queriesValue).isEmpty()) {
+            throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+                "pipelineExecute() expected "
+                    + fieldName
+                    + ".queries to contain boolean expressions.");
           }
-
-          Object exprType = map.get("exprType");
-          if (exprType instanceof String) {
-            String normalizedType = ((String) exprType).toLowerCase(java.util.Locale.ROOT);
-            if ("field".equals(normalizedType)) {
-              enterFrame.box.value =
-                  new ParsedFieldExpressionNode(coerceFieldPath(value, fieldName));
-              continue;
-            }
-            if ("constant".equals(normalizedType)) {
-              ParsedValueNodeBox valueBox = new ParsedValueNodeBox();
-              stack.push(new ExpressionConstantExitFrame(enterFrame.box, valueBox, fieldName));
-              stack.push(
-                  new ValueEnterFrame(
-                      constantValueFromSerializedConstantMap(map), valueBox, fieldName + ".value"));
-              continue;
-            }
-            if ("variable".equals(normalizedType)) {
-              Object nameValue = map.get("name");
-              if (!(nameValue instanceof String) || ((String) nameValue).isEmpty()) {
-                throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                    "pipelineExecute() expected " + fieldName + ".name to be a non-empty string.");
-              }
-              enterFrame.box.value = new ParsedVariableExpressionNode((String) nameValue);
-              continue;
-            }
+          List<?> queries = (List<?>) queriesValue;
+          List<ParsedExpressionNodeBox> queryBoxes = new java.util.ArrayList<>(queries.size());
+          for (int i = 0; i < queries.size(); i++) {
+            queryBoxes.add(new ParsedExpressionNodeBox());
           }
-
-          if (map.containsKey("name")) {
-            Object nameValue = map.get("name");
-            if (!(nameValue instanceof String) || ((String) nameValue).isEmpty()) {
-              throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                  "pipelineExecute() expected " + fieldName + ".name to be a non-empty string.");
-            }
-
-            List<Object> rawArgs = new java.util.ArrayList<>();
-            Object argsValue = map.get("args");
-            if (argsValue instanceof List) {
-              for (Object rawArg : (List<?>) argsValue) {
-                rawArgs.add(rawArg);
-              }
-            } else if (argsValue != null) {
-              rawArgs.add(argsValue);
-            }
-
-            List<ParsedValueNodeBox> argBoxes = new java.util.ArrayList<>(rawArgs.size());
-            for (int i = 0; i < rawArgs.size(); i++) {
-              argBoxes.add(new ParsedValueNodeBox());
-            }
+          stack.push(
+              new ExpressionOperatorLogicalExitFrame(
+                  enterFrame.box, normalizedOperator, queryBoxes, fieldName));
+          for (int i = queries.size() - 1; i >= 0; i--) {
             stack.push(
-                new ExpressionFunctionExitFrame(
-                    enterFrame.box, (String) nameValue, argBoxes, fieldName));
-            for (int i = rawArgs.size() - 1; i >= 0; i--) {
-              stack.push(
-                  new ValueEnterFrame(
-                      rawArgs.get(i), argBoxes.get(i), fieldName + ".args[" + i + "]"));
-            }
-            continue;
+                new ExpressionEnterFrame(
+                    queries.get(i), queryBoxes.get(i), fieldName.element(".queries", i)));
           }
+          return;
+        }
 
-          if (!isReferencePathConstantMap(map)
-              && (map.containsKey("fieldPath")
-                  || map.containsKey("path")
-                  || map.containsKey("segments")
-                  || map.containsKey("_segments"))) {
-            enterFrame.box.value = new ParsedFieldExpressionNode(coerceFieldPath(value, fieldName));
-            continue;
-          }
+        Object fieldValue = map.get("fieldPath") != null ? map.get("fieldPath") : map.get("field");
+        if (fieldValue == null) {
+          throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+              "pipelineExecute() expected " + fieldName + ".fieldPath to be provided.");
         }
 
+        Object rightValue =
+            map.containsKey("value")
+                ? map.get("value")
+                : map.containsKey("right") ? map.get("right") : map.get("operand");
+        ParsedExpressionNodeBox fieldBox = new ParsedExpressionNodeBox();
         ParsedValueNodeBox valueBox = new ParsedValueNodeBox();
-        stack.push(new ExpressionConstantExitFrame(enterFrame.box, valueBox, fieldName));
-        stack.push(new ValueEnterFrame(value, valueBox, fieldName));
-        continue;
+        stack.push(
+            new ExpressionOperatorBinaryExitFrame(
+                enterFrame.box, normalizedOperator, fieldBox, valueBox, fieldName));
+        stack.push(new ValueEnterFrame(rightValue, valueBox, fieldName.child(".value")));
+        stack.push(new ExpressionEnterFrame(fieldValue, fieldBox, fieldName.child(".fieldPath")));
+        return;
       }
 
-      if (frame instanceof ExpressionValueExitFrame) {
-        ExpressionValueExitFrame exitFrame = (ExpressionValueExitFrame) frame;
-        if (exitFrame.expressionBox.value == null) {
-          throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-              "pipelineExecute() expected " + exitFrame.fieldName + " to be provided.");
+      Object exprType = map.get("exprType");
+      if (exprType instanceof String) {
+        String normalizedType = ((String) exprType).toLowerCase(java.util.Locale.ROOT);
+        if ("field".equals(normalizedType)) {
+          enterFrame.box.value = new ParsedFieldExpressionNode(coerceFieldPath(value, fieldName));
+          return;
+        }
+        if ("constant".equals(normalizedType)) {
+          ParsedValueNodeBox valueBox = new ParsedValueNodeBox();
+          stack.push(new ExpressionConstantExitFrame(enterFrame.box, valueBox, fieldName));
+          stack.push(
+              new ValueEnterFrame(
+                  constantValueFromSerializedConstantMap(map),
+                  valueBox,
+                  fieldName.child(".value")));
+          return;
+        }
+        if ("variable".equals(normalizedType)) {
+          Object nameValue = map.get("name");
+          if (!(nameValue instanceof String) || ((String) nameValue).isEmpty()) {
+            throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+                "pipelineExecute() expected " + fieldName + ".name to be a non-empty string.");
+          }
+          enterFrame.box.value = new ParsedVariableExpressionNode((String) nameValue);
+          return;
         }
-        exitFrame.valueBox.value = new ParsedExpressionValueNode(exitFrame.expressionBox.value);
-        continue;
       }
 
-      if (frame instanceof ExpressionConstantExitFrame) {
-        ExpressionConstantExitFrame exitFrame = (ExpressionConstantExitFrame) frame;
-        if (exitFrame.valueBox.value == null) {
+      if (map.containsKey("name")) {
+        Object nameValue = map.get("name");
+        if (!(nameValue instanceof String) || ((String) nameValue).isEmpty()) {
           throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-              "pipelineExecute() expected " + exitFrame.fieldName + " to be provided.");
+              "pipelineExecute() expected " + fieldName + ".name to be a non-empty string.");
         }
-        exitFrame.expressionBox.value = new ParsedConstantExpressionNode(exitFrame.valueBox.value);
-        continue;
-      }
 
-      if (frame instanceof ExpressionFunctionExitFrame) {
-        ExpressionFunctionExitFrame exitFrame = (ExpressionFunctionExitFrame) frame;
-        List<ParsedValueNode> args = new java.util.ArrayList<>(exitFrame.argBoxes.size());
-        for (int i = 0; i < exitFrame.argBoxes.size(); i++) {
-          ParsedValueNode value = exitFrame.argBoxes.get(i).value;
-          if (value == null) {
-            throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                "pipelineExecute() expected "
-                    + exitFrame.fieldName
-                    + ".args["
-                    + i
-                    + "] to be provided.");
+        List<Object> rawArgs = new java.util.ArrayList<>();
+        Object argsValue = map.get("args");
+        if (argsValue instanceof List) {
+          for (Object rawArg : (List<?>) argsValue) {
+            rawArgs.add(rawArg);
           }
-          args.add(value);
+        } else if (argsValue != null) {
+          rawArgs.add(argsValue);
         }
-        exitFrame.box.value = new ParsedFunctionExpressionNode(exitFrame.name, args);
-        continue;
-      }
 
-      if (frame instanceof ExpressionOperatorLogicalExitFrame) {
-        ExpressionOperatorLogicalExitFrame exitFrame = (ExpressionOperatorLogicalExitFrame) frame;
-        List<ParsedValueNode> args = new java.util.ArrayList<>(exitFrame.queryBoxes.size());
-        for (int i = 0; i < exitFrame.queryBoxes.size(); i++) {
-          ParsedExpressionNode expression = exitFrame.queryBoxes.get(i).value;
-          if (expression == null) {
-            throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                "pipelineExecute() expected "
-                    + exitFrame.fieldName
-                    + ".queries["
-                    + i
-                    + "] to be provided.");
+        List<ParsedValueNodeBox> argBoxes = new java.util.ArrayList<>(rawArgs.size());
+        for (int i = 0; i < rawArgs.size(); i++) {
+          argBoxes.add(new ParsedValueNodeBox());
+        }
+        stack.push(
+            new ExpressionFunctionExitFrame(
+                enterFrame.box, (String) nameValue, argBoxes, fieldName));
+        for (int i = rawArgs.size() - 1; i >= 0; i--) {
+          if (isPrimitiveValue(rawArgs.get(i))) {
+            argBoxes.get(i).value = new ParsedPrimitiveValueNode(rawArgs.get(i));
+            continue;
           }
-          args.add(new ParsedExpressionValueNode(expression));
+          stack.push(
+              new ValueEnterFrame(rawArgs.get(i), argBoxes.get(i), fieldName.element(".args", i)));
         }
-        exitFrame.box.value =
-            new ParsedFunctionExpressionNode(
-                "AND".equals(exitFrame.normalizedOperator) ? "and" : "or", args);
-        continue;
+        return;
       }
 
-      if (frame instanceof ExpressionOperatorBinaryExitFrame) {
-        ExpressionOperatorBinaryExitFrame exitFrame = (ExpressionOperatorBinaryExitFrame) frame;
-        if (exitFrame.fieldBox.value == null) {
-          throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-              "pipelineExecute() expected " + exitFrame.fieldName + ".fieldPath to be provided.");
-        }
-        if (exitFrame.valueBox.value == null) {
-          throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-              "pipelineExecute() expected " + exitFrame.fieldName + ".value to be provided.");
-        }
-        List<ParsedValueNode> args = new java.util.ArrayList<>(2);
-        args.add(new ParsedExpressionValueNode(exitFrame.fieldBox.value));
-        args.add(exitFrame.valueBox.value);
-        exitFrame.box.value =
-            new ParsedFunctionExpressionNode(
-                mapOperatorToFunction(exitFrame.normalizedOperator), args);
-        continue;
+      if (!isReferencePathConstantMap(map)
+          && (map.containsKey("fieldPath")
+              || map.containsKey("path")
+              || map.containsKey("segments")
+              || map.containsKey("_segments"))) {
+        enterFrame.box.value = new ParsedFieldExpressionNode(coerceFieldPath(value, fieldName));
+        return;
       }
+    }
 
-      if (frame instanceof ValueEnterFrame) {
-        ValueEnterFrame enterFrame = (ValueEnterFrame) frame;
-        Object value = enterFrame.value;
-        String fieldName = enterFrame.fieldName;
-
-        if (value instanceof Map) {
-          Map<?, ?> map = (Map<?, ?>) value;
-          // A PipelineValue is an opaque nested-pipeline subquery (scalar/array).
-          // Preserve the raw map verbatim so the node builder can re-parse the
-          // nested pipeline via parsePipelineMap. Descending into it here would
-          // treat the nested pipeline's stages (e.g. AggregateFunction nodes)
-          // as outer expressions and loop forever.
-          Object exprTypeValue = map.get("exprType");
-          if (exprTypeValue instanceof String) {
-            String normalizedType = ((String) exprTypeValue).toLowerCase(java.util.Locale.ROOT);
-            if ("pipelinevalue".equals(normalizedType)) {
-              enterFrame.box.value = new ParsedPrimitiveValueNode(value);
-              continue;
-            }
-          }
+    ParsedValueNodeBox valueBox = new ParsedValueNodeBox();
+    stack.push(new ExpressionConstantExitFrame(enterFrame.box, valueBox, fieldName));
+    stack.push(new ValueEnterFrame(value, valueBox, fieldName));
+  }
 
-          if (isExpressionLike(map)) {
-            ParsedExpressionNodeBox expressionBox = new ParsedExpressionNodeBox();
-            stack.push(new ExpressionValueExitFrame(enterFrame.box, expressionBox, fieldName));
-            stack.push(new ExpressionEnterFrame(value, expressionBox, fieldName));
-            continue;
-          }
+  private static void exitExpressionValue(ExpressionValueExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    if (exitFrame.expressionBox.value == null) {
+      throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+          "pipelineExecute() expected " + exitFrame.fieldName + " to be provided.");
+    }
+    exitFrame.valueBox.value = new ParsedExpressionValueNode(exitFrame.expressionBox.value);
+  }
 
-          List<PendingValueEntry> pendingEntries = new java.util.ArrayList<>();
-          List<Map.Entry<String, ParsedValueNodeBox>> exitEntries = new java.util.ArrayList<>();
-          for (Map.Entry<?, ?> entry : map.entrySet()) {
-            if (entry.getKey() instanceof String) {
-              ParsedValueNodeBox childBox = new ParsedValueNodeBox();
-              String key = (String) entry.getKey();
-              pendingEntries.add(new PendingValueEntry(key, entry.getValue(), childBox));
-              exitEntries.add(new java.util.AbstractMap.SimpleEntry<>(key, childBox));
-            }
-          }
-          stack.push(new ValueMapExitFrame(enterFrame.box, exitEntries, fieldName));
-          for (int i = pendingEntries.size() - 1; i >= 0; i--) {
-            PendingValueEntry entry = pendingEntries.get(i);
-            stack.push(new ValueEnterFrame(entry.value, entry.box, fieldName + "." + entry.key));
-          }
-          continue;
-        }
+  private static void exitExpressionConstant(ExpressionConstantExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    if (exitFrame.valueBox.value == null) {
+      throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+          "pipelineExecute() expected " + exitFrame.fieldName + " to be provided.");
+    }
+    exitFrame.expressionBox.value = new ParsedConstantExpressionNode(exitFrame.valueBox.value);
+  }
 
-        if (value instanceof List) {
-          List<?> list = (List<?>) value;
-          List<ParsedValueNodeBox> childBoxes = new java.util.ArrayList<>(list.size());
-          for (int i = 0; i < list.size(); i++) {
-            childBoxes.add(new ParsedValueNodeBox());
-          }
-          stack.push(new ValueListExitFrame(enterFrame.box, childBoxes, fieldName));
-          for (int i = list.size() - 1; i >= 0; i--) {
-            stack.push(
-                new ValueEnterFrame(list.get(i), childBoxes.get(i), fieldName + "[" + i + "]"));
-          }
-          continue;
+  private static void exitExpressionFunction(ExpressionFunctionExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    List<ParsedValueNode> args = new java.util.ArrayList<>(exitFrame.argBoxes.size());
+    for (int i = 0; i < exitFrame.argBoxes.size(); i++) {
+      ParsedValueNode value = exitFrame.argBoxes.get(i).value;
+      if (value == null) {
+        throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+            "pipelineExecute() expected "
+                + exitFrame.fieldName
+                + ".args["
+                + i
+                + "] to be provided.");
+      }
+      args.add(value);
+    }
+    exitFrame.box.value = new ParsedFunctionExpressionNode(exitFrame.name, args);
+  }
+
+  private static void exitExpressionOperatorLogical(ExpressionOperatorLogicalExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    List<ParsedValueNode> args = new java.util.ArrayList<>(exitFrame.queryBoxes.size());
+    for (int i = 0; i < exitFrame.queryBoxes.size(); i++) {
+      ParsedExpressionNode expression = exitFrame.queryBoxes.get(i).value;
+      if (expression == null) {
+        throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+            "pipelineExecute() expected "
+                + exitFrame.fieldName
+                + ".queries["
+                + i
+                + "] to be provided.");
+      }
+      args.add(new ParsedExpressionValueNode(expression));
+    }
+    exitFrame.box.value =
+        new ParsedFunctionExpressionNode(
+            "AND".equals(exitFrame.normalizedOperator) ? "and" : "or", args);
+  }
+
+  private static void exitExpressionOperatorBinary(ExpressionOperatorBinaryExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    if (exitFrame.fieldBox.value == null) {
+      throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+          "pipelineExecute() expected " + exitFrame.fieldName + ".fieldPath to be provided.");
+    }
+    if (exitFrame.valueBox.value == null) {
+      throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+          "pipelineExecute() expected " + exitFrame.fieldName + ".value to be provided.");
+    }
+    List<ParsedValueNode> args = new java.util.ArrayList<>(2);
+    args.add(new ParsedExpressionValueNode(exitFrame.fieldBox.value));
+    args.add(exitFrame.valueBox.value);
+    exitFrame.box.value =
+        new ParsedFunctionExpressionNode(
+            mapOperatorToFunction(exitFrame.normalizedOperator), args);
+  }
+
+  private static void enterValue(
+      ValueEnterFrame enterFrame, ArrayDeque<ExpressionValueParseFrame> stack)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    Object value = enterFrame.value;
+    FieldName fieldName = enterFrame.fieldName;
+
+    if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      // A PipelineValue is an opaque nested-pipeline subquery (scalar/array).
+      // Preserve the raw map verbatim so the node builder can re-parse the
+      // nested pipeline via parsePipelineMap. Descending into it here would
+      // treat the nested pipeline's stages (e.g. AggregateFunction nodes)
+      // as outer expressions and loop forever.
+      Object exprTypeValue = map.get("exprType");
+      if (exprTypeValue instanceof String) {
+        String normalizedType = ((String) exprTypeValue).toLowerCase(java.util.Locale.ROOT);
+        if ("pipelinevalue".equals(normalizedType)) {
+          enterFrame.box.value = new ParsedPrimitiveValueNode(value);
+          return;
         }
+      }
 
-        enterFrame.box.value = new ParsedPrimitiveValueNode(value);
-        continue;
+      if (isExpressionLike(map)) {
+        ParsedExpressionNodeBox expressionBox = new ParsedExpressionNodeBox();
+        stack.push(new ExpressionValueExitFrame(enterFrame.box, expressionBox, fieldName));
+        stack.push(new ExpressionEnterFrame(value, expressionBox, fieldName));
+        return;
       }
 
-      if (frame instanceof ValueListExitFrame) {
-        ValueListExitFrame exitFrame = (ValueListExitFrame) frame;
-        List<ParsedValueNode> values = new java.util.ArrayList<>(exitFrame.childBoxes.size());
-        for (int i = 0; i < exitFrame.childBoxes.size(); i++) {
-          ParsedValueNode value = exitFrame.childBoxes.get(i).value;
-          if (value == null) {
-            throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-                "pipelineExecute() expected "
-                    + exitFrame.fieldName
-                    + "["
-                    + i
-                    + "] to be provided.");
+      List<PendingValueEntry> pendingEntries = new java.util.ArrayList<>();
+      List<Map.Entry<String, ParsedValueNodeBox>> exitEntries = new java.util.ArrayList<>();
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        if (entry.getKey() instanceof String) {
+          ParsedValueNodeBox childBox = new ParsedValueNodeBox();
+          String key = (String) entry.getKey();
+          exitEntries.add(new java.util.AbstractMap.SimpleEntry<>(key, childBox));
+          if (isPrimitiveValue(entry.getValue())) {
+            childBox.value = new ParsedPrimitiveValueNode(entry.getValue());
+          } else {
+            pendingEntries.add(new PendingValueEntry(key, entry.getValue(), childBox));
           }
-          values.add(value);
         }
-        exitFrame.box.value = new ParsedListValueNode(values);
-        continue;
       }
+      stack.push(new ValueMapExitFrame(enterFrame.box, exitEntries, fieldName));
+      for (int i = pendingEntries.size() - 1; i >= 0; i--) {
+        PendingValueEntry entry = pendingEntries.get(i);
+        stack.push(new ValueEnterFrame(entry.value, entry.box, fieldName.entry(entry.key)));
+      }
+      return;
+    }
 
-      ValueMapExitFrame exitFrame = (ValueMapExitFrame) frame;
-      Map<String, ParsedValueNode> values = new java.util.LinkedHashMap<>();
-      for (Map.Entry<String, ParsedValueNodeBox> entry : exitFrame.entries) {
-        if (entry.getValue().value == null) {
-          throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
-              "pipelineExecute() expected "
-                  + exitFrame.fieldName
-                  + "."
-                  + entry.getKey()
-                  + " to be provided.");
+    if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      List<ParsedValueNodeBox> childBoxes = new java.util.ArrayList<>(list.size());
+      for (int i = 0; i < list.size(); i++) {
+        ParsedValueNodeBox childBox = new ParsedValueNodeBox();
+        if (isPrimitiveValue(list.get(i))) {
+          childBox.value = new ParsedPrimitiveValueNode(list.get(i));
         }
-        values.put(entry.getKey(), entry.getValue().value);
+        childBoxes.add(childBox);
+      }
+      stack.push(new ValueListExitFrame(enterFrame.box, childBoxes, fieldName));
+      for (int i = list.size() - 1; i >= 0; i--) {
+        if (!isPrimitiveValue(list.get(i))) {
+          stack.push(new ValueEnterFrame(list.get(i), childBoxes.get(i), fieldName.element("", i)));
+        }
+      }
+      return;
+    }
+
+    enterFrame.box.value = new ParsedPrimitiveValueNode(value);
+  }
+
+  /**
+   * Whether a value parses to a {@link ParsedPrimitiveValueNode} on its own. Lists, maps and
+   * function arguments fill these in directly, so large constant arrays need no frame per element.
+   */
+  private static boolean isPrimitiveValue(Object value) {
+    return !(value instanceof Map) && !(value instanceof List);
+  }
+
+  private static void exitValueList(ValueListExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    List<ParsedValueNode> values = new java.util.ArrayList<>(exitFrame.childBoxes.size());
+    for (int i = 0; i < exitFrame.childBoxes.size(); i++) {
+      ParsedValueNode value = exitFrame.childBoxes.get(i).value;
+      if (value == null) {
+        throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+            "pipelineExecute() expected "
+                + exitFrame.fieldName
+                + "["
+                + i
+                + "] to be provided.");
+      }
+      values.add(value);
+    }
+    exitFrame.box.value = new ParsedListValueNode(values);
+  }
+
+  private static void exitValueMap(ValueMapExitFrame exitFrame)
+      throws ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException {
+    Map<String, ParsedValueNode> values = new java.util.LinkedHashMap<>();
+    for (Map.Entry<String, ParsedValueNodeBox> entry : exitFrame.entries) {
+      if (entry.getValue().value == null) {
+        throw new ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException(
+            "pipelineExecute() expected "
+                + exitFrame.fieldName
+                + "."
+                + entry.getKey()
+                + " to be provided.");
       }
-      exitFrame.box.value = new ParsedMapValueNode(values);
+      values.put(entry.getKey(), entry.getValue().value);
     }
+    exitFrame.box.value = new ParsedMapValueNode(values);
   }
 
   private static String firstString(Object... values) {
@@ -1426,7 +1559,7 @@ final class ReactNativeFirebaseFirestorePipelineParser {
     return value;
   }
 
-  private static Map<String, Object> readableMapToJava(ReadableMap readableMap) {
+  static Map<String, Object> readableMapToJava(ReadableMap readableMap) {
     Map<String, Object> output = new HashMap<>();
     ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
 
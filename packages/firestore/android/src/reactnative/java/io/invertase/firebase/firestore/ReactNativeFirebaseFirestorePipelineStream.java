@@ -0,0 +1,146 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.tasks.Task;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+
+/**
+ * Sends the results of a pipeline to JS in chunks of {@code chunkSize} rows, instead of as one
+ * response.
+ *
+ * <p>JS requests chunks, and each requested chunk is sent as soon as it is serialized. Up to {@code
+ * prefetch} further chunks are serialized ahead of the requests. Closing the stream drops the
+ * results, whether or not the pipeline has finished executing. All state is only touched on the
+ * stream's serial executor.
+ */
+class ReactNativeFirebaseFirestorePipelineStream {
+  interface Rows {
+    int size();
+
+    /** Serializes rows {@code from} (inclusive) to {@code to} (exclusive) as one chunk. */
+    WritableMap serialize(int from, int to) throws Exception;
+  }
+
+  interface ChunkListener {
+    /** @param done true if no chunk follows this one */
+    void onChunk(WritableMap chunk, boolean done);
+
+    void onError(Exception exception);
+  }
+
+  private final int chunkSize;
+  private final int prefetch;
+  private final Executor serialExecutor;
+  private final ChunkListener listener;
+
+  private final ArrayDeque<WritableMap> chunks = new ArrayDeque<>();
+  private int requested;
+  private int nextRow;
+  private boolean serializedAll;
+  private boolean closed;
+  @Nullable private Rows rows;
+
+  ReactNativeFirebaseFirestorePipelineStream(
+      int chunkSize, int prefetch, Executor serialExecutor, ChunkListener listener) {
+    this.chunkSize = chunkSize;
+    this.prefetch = prefetch;
+    this.serialExecutor = serialExecutor;
+    this.listener = listener;
+  }
+
+  /** Starts serializing the first chunks once {@code execution} completes. */
+  void open(Task<Rows> execution) {
+    execution.addOnCompleteListener(this::post, this::onExecuted);
+  }
+
+  void request(int count) {
+    post(
+        () -> {
+          requested += count;
+          serializeAndSend();
+        });
+  }
+
+  void close() {
+    post(
+        () -> {
+          closed = true;
+          chunks.clear();
+          rows = null;
+        });
+  }
+
+  private void onExecuted(Task<Rows> task) {
+    if (closed) {
+      return;
+    }
+    if (!task.isSuccessful()) {
+      closed = true;
+      listener.onError(task.getException());
+      return;
+    }
+    rows = task.getResult();
+    serializeAndSend();
+  }
+
+  private void serializeAndSend() {
+    serializeAhead();
+    while (!closed && requested > 0 && !chunks.isEmpty()) {
+      requested--;
+      WritableMap chunk = chunks.poll();
+      boolean done = serializedAll && chunks.isEmpty();
+      listener.onChunk(chunk, done);
+      if (done) {
+        closed = true;
+        rows = null;
+        return;
+      }
+      serializeAhead();
+    }
+  }
+
+  private void serializeAhead() {
+    while (!closed && rows != null && !serializedAll && chunks.size() < requested + prefetch) {
+      // An empty result is still sent as one empty chunk.
+      int to = Math.min(rows.size(), nextRow + chunkSize);
+      try {
+        chunks.add(rows.serialize(nextRow, to));
+      } catch (Exception e) {
+        closed = true;
+        rows = null;
+        listener.onError(e);
+        return;
+      }
+      nextRow = to;
+      serializedAll = nextRow >= rows.size();
+    }
+  }
+
+  private void post(Runnable runnable) {
+    try {
+      serialExecutor.execute(runnable);
+    } catch (RejectedExecutionException e) {
+      // The stream was closed, or module invalidation shut down the executor.
+    }
+  }
+}
@@ -25,6 +25,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.Filter;
 import com.google.firebase.firestore.Query;
@@ -49,18 +50,72 @@ public class ReactNativeFirebaseFirestoreQuery {
       ReadableArray orders,
       ReadableMap options) {
     this.appName = appName;
+    this.databaseId = databaseId;
     this.query = query;
     applyFilters(filters);
     applyOrders(orders);
     applyOptions(options);
   }
 
-  public Task<WritableMap> get(Executor executor, Source source) {
+  interface ChunkListener {
+    void onChunk(WritableMap chunk);
+  }
+
+  /**
+   * Gets and serializes the query on the executor. Large snapshots are serialized in partitions,
+   * with helpers from helperExecutor.
+   */
+  public Task<WritableMap> get(Executor executor, Executor helperExecutor, Source source) {
+    return Tasks.call(
+        executor,
+        () -> {
+          QuerySnapshot querySnapshot = Tasks.await(query.get(source));
+          return snapshotToWritableMapInParallel(
+              this.appName, this.databaseId, "get", querySnapshot, helperExecutor);
+        });
+  }
+
+  /**
+   * Like {@link #get}, but sends the documents to the listener in order, in chunks of chunkSize,
+   * each as soon as it is serialized, and only returns the snapshot metadata and chunk count.
+   */
+  public Task<WritableMap> getChunked(
+      Executor executor,
+      Executor helperExecutor,
+      Source source,
+      int chunkSize,
+      ChunkListener listener) {
+    return Tasks.call(
+        executor,
+        () -> {
+          QuerySnapshot querySnapshot = Tasks.await(query.get(source));
+          List<DocumentSnapshot> documentSnapshots = querySnapshot.getDocuments();
+          int chunks = 0;
+          for (int start = 0; start < documentSnapshots.size(); start += chunkSize) {
+            int end = Math.min(documentSnapshots.size(), start + chunkSize);
+            listener.onChunk(
+                snapshotChunkToWritableMap(
+                    this.appName,
+                    this.databaseId,
+                    documentSnapshots.subList(start, end),
+                    chunks++,
+                    helperExecutor));
+          }
+          return snapshotChunksHeaderToWritableMap("get", querySnapshot, chunks);
+        });
+  }
+
+  /**
+   * Like {@link #get}, but keeps the snapshot in the registry and only returns its document paths
+   * and metadata.
+   */
+  public Task<WritableMap> getLazy(
+      Executor executor, Source source, ReactNativeFirebaseFirestoreSnapshotRegistry registry) {
     return Tasks.call(
         executor,
         () -> {
           QuerySnapshot querySnapshot = Tasks.await(query.get(source));
-          return snapshotToWritableMap(this.appName, this.databaseId, "get", querySnapshot, null);
+          return snapshotHeadersToWritableMap("get", querySnapshot, registry.put(querySnapshot));
         });
   }
 
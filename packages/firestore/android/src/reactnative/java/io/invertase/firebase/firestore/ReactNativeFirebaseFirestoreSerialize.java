@@ -41,11 +41,14 @@ import com.google.firebase.firestore.MetadataChanges;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.SnapshotMetadata;
 import com.google.firebase.firestore.VectorValue;
+import io.invertase.firebase.common.ReactNativeFirebaseJSON;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 
 // public access for native re-use in brownfield apps
@@ -53,34 +56,32 @@ public class ReactNativeFirebaseFirestoreSerialize {
   private static final String TAG = "FirestoreSerialize";
 
   // Bridge Map
-  private static final int INT_NAN = 0;
-  private static final int INT_NEGATIVE_INFINITY = 1;
-  private static final int INT_POSITIVE_INFINITY = 2;
-  private static final int INT_NULL = 3;
-  private static final int INT_DOCUMENTID = 4;
-  private static final int INT_BOOLEAN_TRUE = 5;
-  private static final int INT_BOOLEAN_FALSE = 6;
-  private static final int INT_DOUBLE = 7;
-  private static final int INT_STRING = 8;
-  private static final int INT_STRING_EMPTY = 9;
-  private static final int INT_ARRAY = 10;
-  private static final int INT_REFERENCE = 11;
-  private static final int INT_GEOPOINT = 12;
-  private static final int INT_TIMESTAMP = 13;
-  private static final int INT_BLOB = 14;
-  private static final int INT_FIELDVALUE = 15;
-  private static final int INT_OBJECT = 16;
-  private static final int INT_INTEGER = 17;
-  private static final int INT_NEGATIVE_ZERO = 18;
-  private static final int INT_VECTOR = 19;
-  private static final int INT_UNKNOWN = -999;
+  static final int INT_NAN = 0;
+  static final int INT_NEGATIVE_INFINITY = 1;
+  static final int INT_POSITIVE_INFINITY = 2;
+  static final int INT_NULL = 3;
+  static final int INT_DOCUMENTID = 4;
+  static final int INT_BOOLEAN_TRUE = 5;
+  static final int INT_BOOLEAN_FALSE = 6;
+  static final int INT_DOUBLE = 7;
+  static final int INT_STRING = 8;
+  static final int INT_STRING_EMPTY = 9;
+  static final int INT_ARRAY = 10;
+  static final int INT_REFERENCE = 11;
+  static final int INT_GEOPOINT = 12;
+  static final int INT_TIMESTAMP = 13;
+  static final int INT_BLOB = 14;
+  static final int INT_FIELDVALUE = 15;
+  static final int INT_OBJECT = 16;
+  static final int INT_INTEGER = 17;
+  static final int INT_NEGATIVE_ZERO = 18;
+  static final int INT_VECTOR = 19;
+  static final int INT_UNKNOWN = -999;
 
   // Keys
   private static final String TYPE = "type";
   private static final String KEY_DATA = "data";
-  private static final String KEY_DATA_ESTIMATE = "dataEstimate";
-  private static final String KEY_DATA_PREVIOUS = "dataPrevious";
-  private static final String KEY_DATA_NONE = "dataNone";
+  private static final String KEY_SERVER_TIMESTAMPS = "serverTimestamps";
   private static final String KEY_PATH = "path";
   private static final String KEY_EXISTS = "exists";
   private static final String KEY_META = "metadata";
@@ -91,6 +92,17 @@ public class ReactNativeFirebaseFirestoreSerialize {
   private static final String KEY_DOC_CHANGE_DOCUMENT = "doc";
   private static final String KEY_DOC_CHANGE_NEW_INDEX = "ni";
   private static final String KEY_DOC_CHANGE_OLD_INDEX = "oi";
+  private static final String KEY_SEQUENCE = "seq";
+  private static final String KEY_DATA_DIFF = "diff";
+  private static final String KEY_BINARY = "binary";
+  private static final String KEY_HANDLE = "handle";
+  private static final String KEY_CHUNKS = "chunks";
+  private static final String KEY_CHUNK_INDEX = "index";
+
+  // Sends query snapshots in the binary format of ReactNativeFirebaseFirestoreBinarySerialize.
+  private static final boolean BINARY_SNAPSHOTS =
+      ReactNativeFirebaseJSON.getSharedInstance()
+          .getBooleanValue("android_firestore_binary_snapshots", false);
 
   // Document Change Types
   private static final String CHANGE_ADDED = "a";
@@ -105,53 +117,195 @@ public class ReactNativeFirebaseFirestoreSerialize {
    */
   static WritableMap snapshotToWritableMap(
       String appName, String databaseId, DocumentSnapshot documentSnapshot) {
-    WritableArray metadata = Arguments.createArray();
-    WritableMap documentMap = Arguments.createMap();
-    SnapshotMetadata snapshotMetadata = documentSnapshot.getMetadata();
-
-    // build metadata array: 0 = fromCache, 1 = hasPendingWrites
-    metadata.pushBoolean(snapshotMetadata.isFromCache());
-    metadata.pushBoolean(snapshotMetadata.hasPendingWrites());
+    return snapshotToWritableMap(appName, databaseId, documentSnapshot, null);
+  }
 
-    documentMap.putArray(KEY_META, metadata);
-    documentMap.putString(KEY_PATH, documentSnapshot.getReference().getPath());
-    documentMap.putBoolean(KEY_EXISTS, documentSnapshot.exists());
+  /**
+   * Convert a DocumentSnapshot instance into a React Native WritableMap. When a field diff is
+   * given and the document was sent to the listener before, `data` is replaced by a `diff` list of
+   * `[fieldPath, typeMap]` (set) and `[fieldPath]` (delete) operations against the data sent last
+   * time.
+   *
+   * @param documentSnapshot DocumentSnapshot
+   * @param fieldDiff the listener's field diff, if it has field diffs enabled
+   * @return WritableMap
+   */
+  static WritableMap snapshotToWritableMap(
+      String appName,
+      String databaseId,
+      DocumentSnapshot documentSnapshot,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff) {
+    WritableMap documentMap = documentHeaderToWritableMap(documentSnapshot);
+    SnapshotMetadata snapshotMetadata = documentSnapshot.getMetadata();
+    String path = documentSnapshot.getReference().getPath();
 
     DocumentSnapshot.ServerTimestampBehavior timestampBehavior =
         getServerTimestampBehavior(appName, databaseId);
 
     if (documentSnapshot.exists()) {
       Map<String, Object> data = documentSnapshot.getData(timestampBehavior);
+      if (fieldDiff != null && data != null) {
+        List<ReactNativeFirebaseFirestoreFieldDiff.Operation> operations =
+            fieldDiff.update(path, data, snapshotMetadata.hasPendingWrites());
+        if (operations != null) {
+          documentMap.putArray(KEY_DATA_DIFF, fieldDiffToWritableArray(operations));
+          return documentMap;
+        }
+      }
       putSnapshotData(documentMap, KEY_DATA, data);
 
       // The estimate/previous/none variants can only ever differ from `data` while the
       // document has pending writes - once a write is committed, server timestamps are
-      // resolved and every behavior returns identical values. Skip the extra (expensive)
-      // computations for the common settled-document case; JS falls back to `data` when
-      // these keys are absent (see FirestoreDocumentSnapshot#_dataForOptions).
-      if (snapshotMetadata.hasPendingWrites()) {
-        if (timestampBehavior != DocumentSnapshot.ServerTimestampBehavior.ESTIMATE) {
-          putSnapshotData(
-              documentMap,
-              KEY_DATA_ESTIMATE,
-              documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.ESTIMATE));
+      // resolved and every behavior returns identical values. Even then, they only differ in
+      // the pending server timestamp fields, so only those fields are sent for each behavior
+      // and JS builds the variants from `data` when first read (see
+      // FirestoreDocumentSnapshot#_dataForOptions).
+      if (snapshotMetadata.hasPendingWrites() && data != null) {
+        WritableArray serverTimestamps =
+            serverTimestampFieldsToWritableArray(documentSnapshot, data, timestampBehavior);
+        if (serverTimestamps.size() > 0) {
+          documentMap.putArray(KEY_SERVER_TIMESTAMPS, serverTimestamps);
         }
-        if (timestampBehavior != DocumentSnapshot.ServerTimestampBehavior.PREVIOUS) {
-          putSnapshotData(
-              documentMap,
-              KEY_DATA_PREVIOUS,
-              documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.PREVIOUS));
+      }
+    } else if (fieldDiff != null) {
+      fieldDiff.forget(path);
+    }
+
+    return documentMap;
+  }
+
+  /** The path, existence and metadata of a document, without its data. */
+  private static WritableMap documentHeaderToWritableMap(DocumentSnapshot documentSnapshot) {
+    WritableMap documentMap = Arguments.createMap();
+    documentMap.putArray(KEY_META, metadataToWritableArray(documentSnapshot.getMetadata()));
+    documentMap.putString(KEY_PATH, documentSnapshot.getReference().getPath());
+    documentMap.putBoolean(KEY_EXISTS, documentSnapshot.exists());
+    return documentMap;
+  }
+
+  /** The metadata of a snapshot as `[fromCache, hasPendingWrites]`. */
+  private static WritableArray metadataToWritableArray(SnapshotMetadata snapshotMetadata) {
+    WritableArray metadata = Arguments.createArray();
+    metadata.pushBoolean(snapshotMetadata.isFromCache());
+    metadata.pushBoolean(snapshotMetadata.hasPendingWrites());
+    return metadata;
+  }
+
+  /**
+   * Serializes the given fields of a document: each entry is the field's type map, or null when
+   * the document has no such field.
+   *
+   * @param documentSnapshot DocumentSnapshot
+   * @param fieldPaths the fields to read
+   * @param timestampBehavior how to return server timestamps that are not yet set
+   * @return WritableArray
+   */
+  static WritableArray documentFieldsToWritableArray(
+      DocumentSnapshot documentSnapshot,
+      List<FieldPath> fieldPaths,
+      DocumentSnapshot.ServerTimestampBehavior timestampBehavior) {
+    WritableArray fields = Arguments.createArray();
+    for (FieldPath fieldPath : fieldPaths) {
+      if (documentSnapshot.contains(fieldPath)) {
+        fields.pushArray(buildTypeMap(documentSnapshot.get(fieldPath, timestampBehavior)));
+      } else {
+        fields.pushNull();
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Lists the fields of a document whose value depends on the server timestamp behavior, as
+   * `[fieldPath, estimate, previous, none]` with the field's type map for each behavior.
+   *
+   * <p>Server timestamps can only be set in maps, never in arrays, and a pending one is always a
+   * timestamp when estimated, so the candidates are the timestamp fields of the estimated data;
+   * {@code data} is walked when it is the estimated data, saving a second read of the document.
+   * Only the candidates are read for the other behaviors, and the ones that read the same for
+   * every behavior are timestamps that were already set.
+   *
+   * @param documentSnapshot DocumentSnapshot with pending writes
+   * @param data the data of the document for {@code timestampBehavior}
+   * @param timestampBehavior the behavior {@code data} was read with
+   * @return WritableArray
+   */
+  static WritableArray serverTimestampFieldsToWritableArray(
+      DocumentSnapshot documentSnapshot,
+      Map<String, Object> data,
+      DocumentSnapshot.ServerTimestampBehavior timestampBehavior) {
+    Map<String, Object> estimate =
+        timestampBehavior == DocumentSnapshot.ServerTimestampBehavior.ESTIMATE
+            ? data
+            : documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.ESTIMATE);
+    WritableArray fields = Arguments.createArray();
+    if (estimate == null) {
+      return fields;
+    }
+
+    List<String> fieldPath = new ArrayList<>();
+    List<Iterator<Map.Entry<String, Object>>> stack = new ArrayList<>();
+    stack.add(estimate.entrySet().iterator());
+    while (!stack.isEmpty()) {
+      Iterator<Map.Entry<String, Object>> entries = stack.get(stack.size() - 1);
+      if (!entries.hasNext()) {
+        stack.remove(stack.size() - 1);
+        if (!stack.isEmpty()) {
+          fieldPath.remove(fieldPath.size() - 1);
         }
-        if (timestampBehavior != DocumentSnapshot.ServerTimestampBehavior.NONE) {
-          putSnapshotData(
-              documentMap,
-              KEY_DATA_NONE,
-              documentSnapshot.getData(DocumentSnapshot.ServerTimestampBehavior.NONE));
+        continue;
+      }
+
+      Map.Entry<String, Object> entry = entries.next();
+      Object value = entry.getValue();
+      if (value instanceof Map) {
+        fieldPath.add(entry.getKey());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) value;
+        stack.add(map.entrySet().iterator());
+      } else if (value instanceof Timestamp) {
+        fieldPath.add(entry.getKey());
+        WritableArray field =
+            serverTimestampFieldToWritableArray(documentSnapshot, fieldPath, value);
+        if (field != null) {
+          fields.pushArray(field);
         }
+        fieldPath.remove(fieldPath.size() - 1);
       }
     }
+    return fields;
+  }
 
-    return documentMap;
+  /** The `[fieldPath, estimate, previous, none]` entry of a field, or null if it is already set. */
+  private static @Nullable WritableArray serverTimestampFieldToWritableArray(
+      DocumentSnapshot documentSnapshot, List<String> fieldPath, Object estimate) {
+    FieldPath path = FieldPath.of(fieldPath.toArray(new String[0]));
+    Object none = documentSnapshot.get(path, DocumentSnapshot.ServerTimestampBehavior.NONE);
+    if (none != null) {
+      return null;
+    }
+    Object previous = documentSnapshot.get(path, DocumentSnapshot.ServerTimestampBehavior.PREVIOUS);
+
+    WritableArray field = Arguments.createArray();
+    field.pushArray(Arguments.fromList(fieldPath));
+    field.pushArray(buildTypeMap(estimate));
+    field.pushArray(buildTypeMap(previous));
+    field.pushArray(buildTypeMap(none));
+    return field;
+  }
+
+  private static WritableArray fieldDiffToWritableArray(
+      List<ReactNativeFirebaseFirestoreFieldDiff.Operation> operations) {
+    WritableArray diff = Arguments.createArray();
+    for (ReactNativeFirebaseFirestoreFieldDiff.Operation operation : operations) {
+      WritableArray writableOperation = Arguments.createArray();
+      writableOperation.pushArray(Arguments.fromList(operation.fieldPath));
+      if (!operation.delete) {
+        writableOperation.pushArray(buildTypeMap(operation.value));
+      }
+      diff.pushArray(writableOperation);
+    }
+    return diff;
   }
 
   private static void putSnapshotData(
@@ -173,10 +327,28 @@ public class ReactNativeFirebaseFirestoreSerialize {
       String source,
       QuerySnapshot querySnapshot,
       @Nullable MetadataChanges metadataChanges) {
+    return snapshotToWritableMap(appName, databaseId, source, querySnapshot, metadataChanges, null);
+  }
+
+  private static WritableMap snapshotToWritableMap(
+      String appName,
+      String databaseId,
+      String source,
+      QuerySnapshot querySnapshot,
+      @Nullable MetadataChanges metadataChanges,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff) {
     WritableMap writableMap = Arguments.createMap();
     writableMap.putString("source", source);
 
-    WritableArray metadata = Arguments.createArray();
+    // A field diff records each document as it is serialized, so those stay as type maps.
+    if (BINARY_SNAPSHOTS && fieldDiff == null) {
+      byte[] bytes =
+          ReactNativeFirebaseFirestoreBinarySerialize.querySnapshotToBytes(
+              querySnapshot, getServerTimestampBehavior(appName, databaseId), metadataChanges);
+      writableMap.putString(KEY_BINARY, Base64.encodeToString(bytes, Base64.NO_WRAP));
+      return writableMap;
+    }
+
     WritableArray documents = Arguments.createArray();
 
     List<DocumentChange> documentChangesList = querySnapshot.getDocumentChanges();
@@ -187,7 +359,7 @@ public class ReactNativeFirebaseFirestoreSerialize {
       writableMap.putBoolean("excludesMetadataChanges", true);
       writableMap.putArray(
           KEY_CHANGES,
-          documentChangesToWritableArray(appName, databaseId, documentChangesList, null));
+          documentChangesToWritableArray(appName, databaseId, documentChangesList, null, null));
     } else {
       // If listening to metadata changes, get the changes list with document changes array.
       // To indicate whether a document change was because of metadata change, we check whether
@@ -198,27 +370,240 @@ public class ReactNativeFirebaseFirestoreSerialize {
       writableMap.putArray(
           KEY_CHANGES,
           documentChangesToWritableArray(
-              appName, databaseId, documentMetadataChangesList, documentChangesList));
+              appName, databaseId, documentMetadataChangesList, documentChangesList, null));
     }
 
-    SnapshotMetadata snapshotMetadata = querySnapshot.getMetadata();
     List<DocumentSnapshot> documentSnapshots = querySnapshot.getDocuments();
 
-    // set documents
+    // set documents; a field diff only records them here as none were sent before
     for (DocumentSnapshot documentSnapshot : documentSnapshots) {
-      documents.pushMap(snapshotToWritableMap(appName, databaseId, documentSnapshot));
+      documents.pushMap(snapshotToWritableMap(appName, databaseId, documentSnapshot, fieldDiff));
     }
     writableMap.putArray(KEY_DOCUMENTS, documents);
 
     // set metadata
-    // build metadata array: 0 = fromCache, 1 = hasPendingWrites
-    metadata.pushBoolean(snapshotMetadata.isFromCache());
-    metadata.pushBoolean(snapshotMetadata.hasPendingWrites());
-    writableMap.putArray(KEY_META, metadata);
+    writableMap.putArray(KEY_META, metadataToWritableArray(querySnapshot.getMetadata()));
+
+    return writableMap;
+  }
+
+  /**
+   * Convert a QuerySnapshot kept in a {@link ReactNativeFirebaseFirestoreSnapshotRegistry} to a
+   * WritableMap of its document paths and metadata only; JS reads the data of each document from
+   * the registry with the given handle.
+   *
+   * @param querySnapshot QuerySnapshot
+   * @param handle the handle of the snapshot in the registry
+   * @return WritableMap
+   */
+  static WritableMap snapshotHeadersToWritableMap(
+      String source, QuerySnapshot querySnapshot, int handle) {
+    WritableMap writableMap = Arguments.createMap();
+    writableMap.putString("source", source);
+    writableMap.putInt(KEY_HANDLE, handle);
+    writableMap.putBoolean("excludesMetadataChanges", true);
+
+    WritableArray changes = Arguments.createArray();
+    for (DocumentChange documentChange : querySnapshot.getDocumentChanges()) {
+      WritableMap documentChangeMap = Arguments.createMap();
+      documentChangeMap.putBoolean("isMetadataChange", false);
+      documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, changeTypeToString(documentChange));
+      documentChangeMap.putMap(
+          KEY_DOC_CHANGE_DOCUMENT, documentHeaderToWritableMap(documentChange.getDocument()));
+      documentChangeMap.putInt(KEY_DOC_CHANGE_NEW_INDEX, documentChange.getNewIndex());
+      documentChangeMap.putInt(KEY_DOC_CHANGE_OLD_INDEX, documentChange.getOldIndex());
+      changes.pushMap(documentChangeMap);
+    }
+    writableMap.putArray(KEY_CHANGES, changes);
+
+    WritableArray documents = Arguments.createArray();
+    for (DocumentSnapshot documentSnapshot : querySnapshot.getDocuments()) {
+      documents.pushMap(documentHeaderToWritableMap(documentSnapshot));
+    }
+    writableMap.putArray(KEY_DOCUMENTS, documents);
+
+    writableMap.putArray(KEY_META, metadataToWritableArray(querySnapshot.getMetadata()));
 
     return writableMap;
   }
 
+  /**
+   * Convert a QuerySnapshot as the first snapshot of a listener, where every document is an added
+   * change. Sent to a listener that joins a shared listener after its last snapshot, whose own
+   * document changes are against a snapshot this listener never saw.
+   *
+   * @param querySnapshot QuerySnapshot
+   * @return WritableMap
+   */
+  static WritableMap snapshotAsFirstToWritableMap(
+      String appName,
+      String databaseId,
+      QuerySnapshot querySnapshot,
+      @Nullable MetadataChanges metadataChanges) {
+    WritableMap writableMap = Arguments.createMap();
+    writableMap.putString("source", "onSnapshot");
+    writableMap.putBoolean(
+        "excludesMetadataChanges",
+        metadataChanges == null || metadataChanges == MetadataChanges.EXCLUDE);
+
+    WritableArray changes = Arguments.createArray();
+    WritableArray documents = Arguments.createArray();
+    List<DocumentSnapshot> documentSnapshots = querySnapshot.getDocuments();
+    for (int i = 0; i < documentSnapshots.size(); i++) {
+      DocumentSnapshot documentSnapshot = documentSnapshots.get(i);
+      WritableMap documentChangeMap = Arguments.createMap();
+      documentChangeMap.putBoolean("isMetadataChange", false);
+      documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, CHANGE_ADDED);
+      documentChangeMap.putMap(
+          KEY_DOC_CHANGE_DOCUMENT, snapshotToWritableMap(appName, databaseId, documentSnapshot));
+      documentChangeMap.putInt(KEY_DOC_CHANGE_NEW_INDEX, i);
+      documentChangeMap.putInt(KEY_DOC_CHANGE_OLD_INDEX, -1);
+      changes.pushMap(documentChangeMap);
+      documents.pushMap(snapshotToWritableMap(appName, databaseId, documentSnapshot));
+    }
+    writableMap.putArray(KEY_CHANGES, changes);
+    writableMap.putArray(KEY_DOCUMENTS, documents);
+
+    writableMap.putArray(KEY_META, metadataToWritableArray(querySnapshot.getMetadata()));
+
+    return writableMap;
+  }
+
+  /**
+   * Convert a QuerySnapshot from a get into a React Native WritableMap. The document changes and
+   * documents of large snapshots are serialized in partitions, with helpers from the executor.
+   *
+   * @param querySnapshot QuerySnapshot
+   * @param executor the module's helper executor
+   * @return WritableMap
+   */
+  static WritableMap snapshotToWritableMapInParallel(
+      String appName,
+      String databaseId,
+      String source,
+      QuerySnapshot querySnapshot,
+      Executor executor)
+      throws InterruptedException {
+    List<DocumentSnapshot> documentSnapshots = querySnapshot.getDocuments();
+    if (BINARY_SNAPSHOTS
+        || documentSnapshots.size()
+            < ReactNativeFirebaseFirestoreParallelSerialize.PARALLEL_THRESHOLD) {
+      return snapshotToWritableMap(appName, databaseId, source, querySnapshot, null);
+    }
+
+    WritableMap writableMap = Arguments.createMap();
+    writableMap.putString("source", source);
+    writableMap.putBoolean("excludesMetadataChanges", true);
+    writableMap.putArray(
+        KEY_CHANGES,
+        ReactNativeFirebaseFirestoreParallelSerialize.toWritableArray(
+            querySnapshot.getDocumentChanges(),
+            documentChange ->
+                documentChangeToWritableMap(appName, databaseId, documentChange, false, null),
+            executor));
+    writableMap.putArray(
+        KEY_DOCUMENTS,
+        ReactNativeFirebaseFirestoreParallelSerialize.toWritableArray(
+            documentSnapshots,
+            documentSnapshot -> snapshotToWritableMap(appName, databaseId, documentSnapshot),
+            executor));
+
+    writableMap.putArray(KEY_META, metadataToWritableArray(querySnapshot.getMetadata()));
+
+    return writableMap;
+  }
+
+  /**
+   * Convert one chunk of the documents of a chunked get into a React Native WritableMap.
+   *
+   * @param documentSnapshots the documents of the chunk
+   * @param index position of the chunk among those of the snapshot
+   * @param executor the module's helper executor, for large chunks
+   * @return WritableMap
+   */
+  static WritableMap snapshotChunkToWritableMap(
+      String appName,
+      String databaseId,
+      List<DocumentSnapshot> documentSnapshots,
+      int index,
+      Executor executor)
+      throws InterruptedException {
+    WritableMap writableMap = Arguments.createMap();
+    writableMap.putInt(KEY_CHUNK_INDEX, index);
+    writableMap.putArray(
+        KEY_DOCUMENTS,
+        ReactNativeFirebaseFirestoreParallelSerialize.toWritableArray(
+            documentSnapshots,
+            documentSnapshot -> snapshotToWritableMap(appName, databaseId, documentSnapshot),
+            executor));
+    return writableMap;
+  }
+
+  /**
+   * Convert a QuerySnapshot whose documents were sent in chunks to a WritableMap of its metadata
+   * and the number of chunks; JS rebuilds the documents, and their changes, from the chunks.
+   *
+   * @param querySnapshot QuerySnapshot
+   * @param chunks the number of chunks sent
+   * @return WritableMap
+   */
+  static WritableMap snapshotChunksHeaderToWritableMap(
+      String source, QuerySnapshot querySnapshot, int chunks) {
+    WritableMap writableMap = Arguments.createMap();
+    writableMap.putString("source", source);
+    writableMap.putBoolean("excludesMetadataChanges", true);
+    writableMap.putInt(KEY_CHUNKS, chunks);
+
+    writableMap.putArray(KEY_META, metadataToWritableArray(querySnapshot.getMetadata()));
+
+    return writableMap;
+  }
+
+  /**
+   * Convert a QuerySnapshot for a listener with delta snapshots enabled. The first snapshot
+   * (sequence 0) is sent in full; later ones omit the documents and only carry the document
+   * changes, which JS applies to the documents it already has. Those changes always include
+   * metadata-only changes (flagged as such) so every document's metadata stays current. With a
+   * field diff, changed documents JS already has are sent as a diff against their previous data.
+   *
+   * @param querySnapshot QuerySnapshot
+   * @param sequence position of this snapshot among those sent to the listener
+   * @param fieldDiff the listener's field diff, if it has field diffs enabled
+   * @return WritableMap
+   */
+  static WritableMap snapshotDeltaToWritableMap(
+      String appName,
+      String databaseId,
+      QuerySnapshot querySnapshot,
+      @Nullable MetadataChanges metadataChanges,
+      int sequence,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff) {
+    WritableMap writableMap;
+    if (sequence == 0) {
+      writableMap =
+          snapshotToWritableMap(
+              appName, databaseId, "onSnapshot", querySnapshot, metadataChanges, fieldDiff);
+    } else {
+      writableMap = Arguments.createMap();
+      writableMap.putString("source", "onSnapshot");
+      writableMap.putBoolean(
+          "excludesMetadataChanges",
+          metadataChanges == null || metadataChanges == MetadataChanges.EXCLUDE);
+      writableMap.putArray(
+          KEY_CHANGES,
+          documentChangesToWritableArray(
+              appName,
+              databaseId,
+              querySnapshot.getDocumentChanges(MetadataChanges.INCLUDE),
+              querySnapshot.getDocumentChanges(),
+              fieldDiff));
+
+      writableMap.putArray(KEY_META, metadataToWritableArray(querySnapshot.getMetadata()));
+    }
+    writableMap.putInt(KEY_SEQUENCE, sequence);
+    return writableMap;
+  }
+
   /**
    * Convert a List of DocumentChange instances into a React Native WritableArray
    *
@@ -229,7 +614,8 @@ public class ReactNativeFirebaseFirestoreSerialize {
       String appName,
       String databaseId,
       List<DocumentChange> documentChanges,
-      @Nullable List<DocumentChange> comparableDocumentChanges) {
+      @Nullable List<DocumentChange> comparableDocumentChanges,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff) {
     WritableArray documentChangesWritable = Arguments.createArray();
 
     boolean checkIfMetadataChange = comparableDocumentChanges != null;
@@ -252,7 +638,8 @@ public class ReactNativeFirebaseFirestoreSerialize {
       }
 
       documentChangesWritable.pushMap(
-          documentChangeToWritableMap(appName, databaseId, documentChange, isMetadataChange));
+          documentChangeToWritableMap(
+              appName, databaseId, documentChange, isMetadataChange, fieldDiff));
     }
 
     return documentChangesWritable;
@@ -265,25 +652,22 @@ public class ReactNativeFirebaseFirestoreSerialize {
    * @return WritableMap
    */
   private static WritableMap documentChangeToWritableMap(
-      String appName, String databaseId, DocumentChange documentChange, boolean isMetadataChange) {
+      String appName,
+      String databaseId,
+      DocumentChange documentChange,
+      boolean isMetadataChange,
+      @Nullable ReactNativeFirebaseFirestoreFieldDiff fieldDiff) {
     WritableMap documentChangeMap = Arguments.createMap();
     documentChangeMap.putBoolean("isMetadataChange", isMetadataChange);
 
-    switch (documentChange.getType()) {
-      case ADDED:
-        documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, CHANGE_ADDED);
-        break;
-      case MODIFIED:
-        documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, CHANGE_MODIFIED);
-        break;
-      case REMOVED:
-        documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, CHANGE_REMOVED);
-        break;
-    }
+    documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, changeTypeToString(documentChange));
 
+    DocumentSnapshot document = documentChange.getDocument();
     documentChangeMap.putMap(
-        KEY_DOC_CHANGE_DOCUMENT,
-        snapshotToWritableMap(appName, databaseId, documentChange.getDocument()));
+        KEY_DOC_CHANGE_DOCUMENT, snapshotToWritableMap(appName, databaseId, document, fieldDiff));
+    if (fieldDiff != null && documentChange.getType() == DocumentChange.Type.REMOVED) {
+      fieldDiff.forget(document.getReference().getPath());
+    }
 
     documentChangeMap.putInt(KEY_DOC_CHANGE_NEW_INDEX, documentChange.getNewIndex());
     documentChangeMap.putInt(KEY_DOC_CHANGE_OLD_INDEX, documentChange.getOldIndex());
@@ -291,6 +675,17 @@ public class ReactNativeFirebaseFirestoreSerialize {
     return documentChangeMap;
   }
 
+  private static String changeTypeToString(DocumentChange documentChange) {
+    switch (documentChange.getType()) {
+      case MODIFIED:
+        return CHANGE_MODIFIED;
+      case REMOVED:
+        return CHANGE_REMOVED;
+      default:
+        return CHANGE_ADDED;
+    }
+  }
+
   /**
    * Converts an Object Map into a React Native WritableMap.
    *
@@ -0,0 +1,220 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.google.firebase.firestore.ListenerRegistration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * Shares one SDK snapshot listener between JS listeners of the same query or document, so each
+ * snapshot is listened to and serialized once and sent to all of them in a single event.
+ *
+ * <p>Listeners are grouped by a key built with {@link #canonicalKey(Object...)}. The first
+ * listener of a key creates its {@link Registration}, whose id names the serial executor and the
+ * coalescing key of its events; the SDK listener is removed once the last listener leaves.
+ *
+ * <p>Registrations are guarded by the lock of this object: code that must act atomically with a
+ * change of listeners, such as sending the last snapshot to a listener that just joined, holds it.
+ *
+ * @param <S> the snapshot type, QuerySnapshot or DocumentSnapshot
+ */
+class ReactNativeFirebaseFirestoreSharedListeners<S> {
+
+  static class Registration<S> {
+    final String key;
+    final int id;
+    final LinkedHashSet<Integer> listenerIds = new LinkedHashSet<>();
+    @Nullable ListenerRegistration listenerRegistration;
+    // The last snapshot sent, which a listener joining later starts from.
+    @Nullable S lastSnapshot;
+    boolean removed;
+
+    Registration(String key, int id) {
+      this.key = key;
+      this.id = id;
+    }
+
+    int[] listenerIds() {
+      int[] ids = new int[listenerIds.size()];
+      int i = 0;
+      for (int listenerId : listenerIds) {
+        ids[i++] = listenerId;
+      }
+      return ids;
+    }
+  }
+
+  private final Map<String, Registration<S>> registrationsByKey = new HashMap<>();
+  private final Map<Integer, Registration<S>> registrationsByListener = new HashMap<>();
+
+  /**
+   * Adds a listener to the registration of a key, creating it if there is none; the registration
+   * is new when its id is the given listener id.
+   */
+  synchronized Registration<S> join(String key, int listenerId) {
+    Registration<S> registration = registrationsByKey.get(key);
+    if (registration == null) {
+      registration = new Registration<>(key, listenerId);
+      registrationsByKey.put(key, registration);
+    }
+    registration.listenerIds.add(listenerId);
+    registrationsByListener.put(listenerId, registration);
+    return registration;
+  }
+
+  synchronized boolean contains(int listenerId) {
+    return registrationsByListener.containsKey(listenerId);
+  }
+
+  /**
+   * Removes a listener from its registration, and returns the registration if that was its last
+   * listener, so the caller removes its SDK listener.
+   */
+  @Nullable
+  synchronized Registration<S> leave(int listenerId) {
+    Registration<S> registration = registrationsByListener.remove(listenerId);
+    if (registration == null) {
+      return null;
+    }
+    registration.listenerIds.remove(listenerId);
+    if (!registration.listenerIds.isEmpty()) {
+      return null;
+    }
+    remove(registration);
+    return registration;
+  }
+
+  /**
+   * Sets the SDK listener of a registration. Returns false if all its listeners left before it was
+   * set, in which case the caller removes it again.
+   */
+  synchronized boolean attach(Registration<S> registration, ListenerRegistration listener) {
+    if (registration.removed) {
+      return false;
+    }
+    registration.listenerRegistration = listener;
+    return true;
+  }
+
+  /**
+   * Removes a registration and all its listeners, as after a listen error, and returns their ids.
+   */
+  synchronized int[] drop(Registration<S> registration) {
+    if (registration.removed) {
+      return new int[0];
+    }
+    int[] listenerIds = registration.listenerIds();
+    for (int listenerId : listenerIds) {
+      registrationsByListener.remove(listenerId);
+    }
+    remove(registration);
+    return listenerIds;
+  }
+
+  /** Removes the SDK listener of a registration that has no listeners left, if it was set. */
+  void removeListener(Registration<S> registration) {
+    ListenerRegistration listenerRegistration;
+    synchronized (this) {
+      listenerRegistration = registration.listenerRegistration;
+      registration.listenerRegistration = null;
+    }
+    if (listenerRegistration != null) {
+      listenerRegistration.remove();
+    }
+  }
+
+  /** Removes all registrations and their SDK listeners. */
+  void clear() {
+    List<Registration<S>> registrations;
+    synchronized (this) {
+      registrations = new ArrayList<>(registrationsByKey.values());
+      for (Registration<S> registration : registrations) {
+        registration.removed = true;
+      }
+      registrationsByKey.clear();
+      registrationsByListener.clear();
+    }
+    for (Registration<S> registration : registrations) {
+      removeListener(registration);
+    }
+  }
+
+  private void remove(Registration<S> registration) {
+    registration.removed = true;
+    registrationsByKey.remove(registration.key);
+  }
+
+  /**
+   * Builds a key that is equal for equal parts: strings, numbers, booleans and nulls, and lists
+   * and maps of those, as given by ReadableArray.toArrayList() and ReadableMap.toHashMap(). Map
+   * entries are sorted by key, so the order JS built them in does not matter.
+   */
+  static String canonicalKey(Object... parts) {
+    StringBuilder builder = new StringBuilder();
+    appendCanonical(builder, Arrays.asList(parts));
+    return builder.toString();
+  }
+
+  private static void appendCanonical(StringBuilder builder, @Nullable Object value) {
+    if (value instanceof String) {
+      builder.append('"');
+      String string = (String) value;
+      for (int i = 0; i < string.length(); i++) {
+        char c = string.charAt(i);
+        if (c == '"' || c == '\\') {
+          builder.append('\\');
+        }
+        builder.append(c);
+      }
+      builder.append('"');
+    } else if (value instanceof Map) {
+      builder.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> entry : new TreeMap<>((Map<?, ?>) value).entrySet()) {
+        if (!first) {
+          builder.append(',');
+        }
+        first = false;
+        appendCanonical(builder, String.valueOf(entry.getKey()));
+        builder.append(':');
+        appendCanonical(builder, entry.getValue());
+      }
+      builder.append('}');
+    } else if (value instanceof List) {
+      builder.append('[');
+      boolean first = true;
+      for (Object item : (List<?>) value) {
+        if (!first) {
+          builder.append(',');
+        }
+        first = false;
+        appendCanonical(builder, item);
+      }
+      builder.append(']');
+    } else {
+      builder.append(value);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the query snapshots of lazy `get()` calls, whose documents are sent to JS without their
+ * data, so JS can read the data of a document when it is first needed.
+ *
+ * <p>A snapshot stays here until JS releases its handle. Only the most recently used {@link
+ * #MAX_SNAPSHOTS} are kept, so a snapshot JS forgot to release (or has not yet garbage collected)
+ * cannot hold on to its documents forever; reading from an evicted handle finds nothing.
+ */
+class ReactNativeFirebaseFirestoreSnapshotRegistry {
+  static final int MAX_SNAPSHOTS = 64;
+
+  private final Map<Integer, Map<String, DocumentSnapshot>> snapshots =
+      new LinkedHashMap<Integer, Map<String, DocumentSnapshot>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Map<String, DocumentSnapshot>> e) {
+          return size() > MAX_SNAPSHOTS;
+        }
+      };
+  private int nextHandle = 1;
+
+  /** Keeps the documents of a snapshot and returns the handle JS reads them with. */
+  synchronized int put(QuerySnapshot querySnapshot) {
+    Map<String, DocumentSnapshot> documents = new HashMap<>();
+    for (DocumentSnapshot documentSnapshot : querySnapshot.getDocuments()) {
+      documents.put(documentSnapshot.getReference().getPath(), documentSnapshot);
+    }
+    int handle = nextHandle++;
+    snapshots.put(handle, documents);
+    return handle;
+  }
+
+  /** Returns the documents of a snapshot by path, or null if the handle was released. */
+  @Nullable
+  synchronized Map<String, DocumentSnapshot> get(int handle) {
+    return snapshots.get(handle);
+  }
+
+  synchronized void release(int handle) {
+    snapshots.remove(handle);
+  }
+
+  synchronized void clear() {
+    snapshots.clear();
+  }
+}
@@ -22,28 +22,31 @@ import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.firestore.Transaction;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
 
 class ReactNativeFirebaseFirestoreTransactionHandler {
+  private static final long DEFAULT_TIMEOUT_MS = 15000;
 
-  private final ReentrantLock lock;
-  private final Condition condition;
-  boolean aborted = false;
+  private final long timeoutNanos;
+  volatile boolean aborted = false;
   boolean timeout = false;
   private String appName;
-  private long timeoutAt;
+  private volatile long timeoutAt;
   private int transactionId;
-  private ReadableArray commandBuffer;
+  private volatile ReadableArray commandBuffer;
+  private volatile CountDownLatch bufferReceived = new CountDownLatch(1);
   private Transaction firestoreTransaction;
 
   ReactNativeFirebaseFirestoreTransactionHandler(String app, int id) {
+    this(app, id, DEFAULT_TIMEOUT_MS);
+  }
+
+  ReactNativeFirebaseFirestoreTransactionHandler(String app, int id, long timeoutMs) {
     appName = app;
     transactionId = id;
+    timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
     updateInternalTimeout();
-    lock = new ReentrantLock();
-    condition = lock.newCondition();
   }
 
   /*
@@ -55,41 +58,48 @@ class ReactNativeFirebaseFirestoreTransactionHandler {
   /** Abort the currently in progress transaction if any. */
   void abort() {
     aborted = true;
-    safeUnlock();
+    bufferReceived.countDown();
   }
 
-  /** Reset handler state - clears command buffer + updates to new Transaction instance */
+  /**
+   * Reset handler state - clears command buffer + updates to new Transaction instance. Must be
+   * called before JS is asked for a new buffer, so that a buffer arriving before {@link #await()}
+   * is not lost.
+   */
   void resetState(Transaction firestoreTransaction) {
     this.commandBuffer = null;
     this.firestoreTransaction = firestoreTransaction;
+    bufferReceived = new CountDownLatch(1);
+    updateInternalTimeout();
   }
 
   /** Signal that the transaction buffer has been received and needs to be processed. */
   void signalBufferReceived(ReadableArray buffer) {
-    lock.lock();
-
-    try {
-      commandBuffer = buffer;
-      condition.signalAll();
-    } finally {
-      safeUnlock();
-    }
+    commandBuffer = buffer;
+    bufferReceived.countDown();
   }
 
-  /** Wait for signalBufferReceived to signal condition */
+  /**
+   * Wait for signalBufferReceived or abort. Reaching the deadline re-checks it, as reads made during
+   * the attempt push it back.
+   */
   void await() {
-    lock.lock();
-
-    updateInternalTimeout();
+    CountDownLatch latch = bufferReceived;
 
     try {
-      while (!aborted && !timeout && !condition.await(10, TimeUnit.MILLISECONDS)) {
-        if (System.currentTimeMillis() > timeoutAt) timeout = true;
+      while (!aborted) {
+        long remaining = timeoutAt - System.nanoTime();
+        if (remaining <= 0) {
+          timeout = true;
+          return;
+        }
+        if (latch.await(remaining, TimeUnit.NANOSECONDS)) {
+          return;
+        }
       }
     } catch (InterruptedException ie) {
-      // should never be interrupted
-    } finally {
-      safeUnlock();
+      timeout = true;
+      Thread.currentThread().interrupt();
     }
   }
 
@@ -119,13 +129,7 @@ class ReactNativeFirebaseFirestoreTransactionHandler {
    * -------------
    */
 
-  private void safeUnlock() {
-    if (lock.isHeldByCurrentThread()) {
-      lock.unlock();
-    }
-  }
-
   private void updateInternalTimeout() {
-    timeoutAt = System.currentTimeMillis() + 15000;
+    timeoutAt = System.nanoTime() + timeoutNanos;
   }
 }
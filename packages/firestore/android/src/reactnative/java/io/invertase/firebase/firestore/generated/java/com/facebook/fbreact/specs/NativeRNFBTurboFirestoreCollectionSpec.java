@@ -19,6 +19,7 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.turbomodule.core.interfaces.TurboModule;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -66,4 +67,48 @@ public abstract class NativeRNFBTurboFirestoreCollectionSpec extends ReactContex
   @ReactMethod
   @DoNotStrip
   public abstract void pipelineExecute(String appName, String databaseId, ReadableMap pipeline, @Nullable ReadableMap options, Promise promise);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void pipelineCacheStats(String appName, String databaseId, Promise promise);
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  @DoNotStrip
+  public abstract WritableMap collectionSnapshotData(String appName, String databaseId, double handle, ReadableArray paths, ReadableMap options);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void collectionSnapshotRelease(String appName, String databaseId, double handle);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void collectionCursorOpen(String appName, String databaseId, String path, String type, ReadableArray filters, ReadableArray orders, ReadableMap options, double cursorId, ReadableMap cursorOptions);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void collectionCursorRequest(String appName, String databaseId, double cursorId, double pages);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void collectionCursorClose(String appName, String databaseId, double cursorId);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void pipelineStreamOpen(String appName, String databaseId, ReadableMap pipeline, @Nullable ReadableMap options, double streamId, ReadableMap streamOptions);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void pipelineStreamRequest(String appName, String databaseId, double streamId, double chunks);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void pipelineStreamClose(String appName, String databaseId, double streamId);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void pipelineOnSnapshot(String appName, String databaseId, ReadableMap pipeline, @Nullable ReadableMap options, double listenerId);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void pipelineOffSnapshot(String appName, String databaseId, double listenerId);
 }
@@ -62,4 +62,8 @@ public abstract class NativeRNFBTurboFirestoreDocumentSpec extends ReactContextB
   @ReactMethod
   @DoNotStrip
   public abstract void documentBatch(String appName, String databaseId, ReadableArray writes, Promise promise);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void documentBulkWrite(String appName, String databaseId, ReadableArray writes, double bulkWriteId, ReadableMap options, Promise promise);
 }
@@ -41,6 +41,10 @@ public abstract class NativeRNFBTurboFirestoreSpec extends ReactContextBaseJavaM
   @DoNotStrip
   public abstract void loadBundle(String appName, String databaseId, String bundle, Promise promise);
 
+  @ReactMethod
+  @DoNotStrip
+  public abstract void loadBundleFromUri(String appName, String databaseId, String uri, double taskId, Promise promise);
+
   @ReactMethod
   @DoNotStrip
   public abstract void clearPersistence(String appName, String databaseId, Promise promise);
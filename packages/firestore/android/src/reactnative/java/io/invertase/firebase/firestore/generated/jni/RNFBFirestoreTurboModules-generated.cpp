@@ -22,6 +22,11 @@ static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadB
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "loadBundle", "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
 }
 
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadBundleFromUri(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "loadBundleFromUri", "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;DLcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
+}
+
 static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreSpecJSI_clearPersistence(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
   static jmethodID cachedMethodId = nullptr;
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "clearPersistence", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
@@ -76,6 +81,7 @@ NativeRNFBTurboFirestoreSpecJSI::NativeRNFBTurboFirestoreSpecJSI(const JavaTurbo
   : JavaTurboModule(params) {
   methodMap_["setLogLevel"] = MethodMetadata {1, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_setLogLevel};
   methodMap_["loadBundle"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadBundle};
+  methodMap_["loadBundleFromUri"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadBundleFromUri};
   methodMap_["clearPersistence"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_clearPersistence};
   methodMap_["waitForPendingWrites"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_waitForPendingWrites};
   methodMap_["disableNetwork"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_disableNetwork};
@@ -127,6 +133,61 @@ static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpe
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "pipelineExecute", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/ReadableMap;Lcom/facebook/react/bridge/ReadableMap;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
 }
 
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineCacheStats(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "pipelineCacheStats", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotData(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, ObjectKind, "collectionSnapshotData", "(Ljava/lang/String;Ljava/lang/String;DLcom/facebook/react/bridge/ReadableArray;Lcom/facebook/react/bridge/ReadableMap;)Lcom/facebook/react/bridge/WritableMap;", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotRelease(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "collectionSnapshotRelease", "(Ljava/lang/String;Ljava/lang/String;D)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorOpen(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "collectionCursorOpen", "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/ReadableArray;Lcom/facebook/react/bridge/ReadableArray;Lcom/facebook/react/bridge/ReadableMap;DLcom/facebook/react/bridge/ReadableMap;)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorRequest(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "collectionCursorRequest", "(Ljava/lang/String;Ljava/lang/String;DD)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorClose(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "collectionCursorClose", "(Ljava/lang/String;Ljava/lang/String;D)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamOpen(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "pipelineStreamOpen", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/ReadableMap;Lcom/facebook/react/bridge/ReadableMap;DLcom/facebook/react/bridge/ReadableMap;)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamRequest(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "pipelineStreamRequest", "(Ljava/lang/String;Ljava/lang/String;DD)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamClose(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "pipelineStreamClose", "(Ljava/lang/String;Ljava/lang/String;D)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOnSnapshot(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "pipelineOnSnapshot", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/ReadableMap;Lcom/facebook/react/bridge/ReadableMap;D)V", args, count, cachedMethodId);
+}
+
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOffSnapshot(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, VoidKind, "pipelineOffSnapshot", "(Ljava/lang/String;Ljava/lang/String;D)V", args, count, cachedMethodId);
+}
+
 NativeRNFBTurboFirestoreCollectionSpecJSI::NativeRNFBTurboFirestoreCollectionSpecJSI(const JavaTurboModule::InitParams &params)
   : JavaTurboModule(params) {
   methodMap_["namedQueryOnSnapshot"] = MethodMetadata {9, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_namedQueryOnSnapshot};
@@ -137,6 +198,17 @@ NativeRNFBTurboFirestoreCollectionSpecJSI::NativeRNFBTurboFirestoreCollectionSpe
   methodMap_["collectionCount"] = MethodMetadata {7, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCount};
   methodMap_["aggregateQuery"] = MethodMetadata {8, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_aggregateQuery};
   methodMap_["pipelineExecute"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineExecute};
+  methodMap_["pipelineCacheStats"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineCacheStats};
+  methodMap_["collectionSnapshotData"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotData};
+  methodMap_["collectionSnapshotRelease"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotRelease};
+  methodMap_["collectionCursorOpen"] = MethodMetadata {9, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorOpen};
+  methodMap_["collectionCursorRequest"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorRequest};
+  methodMap_["collectionCursorClose"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorClose};
+  methodMap_["pipelineStreamOpen"] = MethodMetadata {6, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamOpen};
+  methodMap_["pipelineStreamRequest"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamRequest};
+  methodMap_["pipelineStreamClose"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamClose};
+  methodMap_["pipelineOnSnapshot"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOnSnapshot};
+  methodMap_["pipelineOffSnapshot"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOffSnapshot};
 }
 static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentOnSnapshot(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
   static jmethodID cachedMethodId = nullptr;
@@ -173,6 +245,11 @@ static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJ
   return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "documentBatch", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/ReadableArray;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
 }
 
+static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentBulkWrite(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+  static jmethodID cachedMethodId = nullptr;
+  return static_cast<JavaTurboModule &>(turboModule).invokeJavaMethod(rt, PromiseKind, "documentBulkWrite", "(Ljava/lang/String;Ljava/lang/String;Lcom/facebook/react/bridge/ReadableArray;DLcom/facebook/react/bridge/ReadableMap;Lcom/facebook/react/bridge/Promise;)V", args, count, cachedMethodId);
+}
+
 NativeRNFBTurboFirestoreDocumentSpecJSI::NativeRNFBTurboFirestoreDocumentSpecJSI(const JavaTurboModule::InitParams &params)
   : JavaTurboModule(params) {
   methodMap_["documentOnSnapshot"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentOnSnapshot};
@@ -182,6 +259,7 @@ NativeRNFBTurboFirestoreDocumentSpecJSI::NativeRNFBTurboFirestoreDocumentSpecJSI
   methodMap_["documentSet"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentSet};
   methodMap_["documentUpdate"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentUpdate};
   methodMap_["documentBatch"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentBatch};
+  methodMap_["documentBulkWrite"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentBulkWrite};
 }
 static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreTransactionSpecJSI_transactionBegin(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
   static jmethodID cachedMethodId = nullptr;
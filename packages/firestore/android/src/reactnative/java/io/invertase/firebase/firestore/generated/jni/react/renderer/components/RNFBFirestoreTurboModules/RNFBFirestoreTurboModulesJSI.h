@@ -88,6 +88,7 @@ protected:
   NativeRNFBTurboFirestoreCxxSpec(std::shared_ptr<CallInvoker> jsInvoker) : TurboModule(std::string{NativeRNFBTurboFirestoreCxxSpec::kModuleName}, jsInvoker) {
     methodMap_["setLogLevel"] = MethodMetadata {.argCount = 1, .invoker = __setLogLevel};
     methodMap_["loadBundle"] = MethodMetadata {.argCount = 3, .invoker = __loadBundle};
+    methodMap_["loadBundleFromUri"] = MethodMetadata {.argCount = 4, .invoker = __loadBundleFromUri};
     methodMap_["clearPersistence"] = MethodMetadata {.argCount = 2, .invoker = __clearPersistence};
     methodMap_["waitForPendingWrites"] = MethodMetadata {.argCount = 2, .invoker = __waitForPendingWrites};
     methodMap_["disableNetwork"] = MethodMetadata {.argCount = 2, .invoker = __disableNetwork};
@@ -119,6 +120,17 @@ private:
       count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asString(rt));
   }
 
+  static jsi::Value __loadBundleFromUri(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::loadBundleFromUri) == 5,
+      "Expected loadBundleFromUri(...) to have 5 parameters");
+    return bridging::callFromJs<jsi::Value>(rt, &T::loadBundleFromUri,  static_cast<NativeRNFBTurboFirestoreCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asString(rt),
+      count <= 3 ? throw jsi::JSError(rt, "Expected argument in position 3 to be passed") : args[3].asNumber());
+  }
+
   static jsi::Value __clearPersistence(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
     static_assert(
       bridging::getParameterCount(&T::clearPersistence) == 3,
@@ -274,6 +286,17 @@ protected:
     methodMap_["collectionCount"] = MethodMetadata {.argCount = 7, .invoker = __collectionCount};
     methodMap_["aggregateQuery"] = MethodMetadata {.argCount = 8, .invoker = __aggregateQuery};
     methodMap_["pipelineExecute"] = MethodMetadata {.argCount = 4, .invoker = __pipelineExecute};
+    methodMap_["pipelineCacheStats"] = MethodMetadata {.argCount = 2, .invoker = __pipelineCacheStats};
+    methodMap_["collectionSnapshotData"] = MethodMetadata {.argCount = 5, .invoker = __collectionSnapshotData};
+    methodMap_["collectionSnapshotRelease"] = MethodMetadata {.argCount = 3, .invoker = __collectionSnapshotRelease};
+    methodMap_["collectionCursorOpen"] = MethodMetadata {.argCount = 9, .invoker = __collectionCursorOpen};
+    methodMap_["collectionCursorRequest"] = MethodMetadata {.argCount = 4, .invoker = __collectionCursorRequest};
+    methodMap_["collectionCursorClose"] = MethodMetadata {.argCount = 3, .invoker = __collectionCursorClose};
+    methodMap_["pipelineStreamOpen"] = MethodMetadata {.argCount = 6, .invoker = __pipelineStreamOpen};
+    methodMap_["pipelineStreamRequest"] = MethodMetadata {.argCount = 4, .invoker = __pipelineStreamRequest};
+    methodMap_["pipelineStreamClose"] = MethodMetadata {.argCount = 3, .invoker = __pipelineStreamClose};
+    methodMap_["pipelineOnSnapshot"] = MethodMetadata {.argCount = 5, .invoker = __pipelineOnSnapshot};
+    methodMap_["pipelineOffSnapshot"] = MethodMetadata {.argCount = 3, .invoker = __pipelineOffSnapshot};
   }
   
 private:
@@ -388,6 +411,130 @@ private:
       count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asObject(rt),
       count <= 3 || args[3].isUndefined() ? std::nullopt : std::make_optional(args[3].asObject(rt)));
   }
+
+  static jsi::Value __pipelineCacheStats(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::pipelineCacheStats) == 3,
+      "Expected pipelineCacheStats(...) to have 3 parameters");
+    return bridging::callFromJs<jsi::Value>(rt, &T::pipelineCacheStats,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt));
+  }
+
+  static jsi::Value __collectionSnapshotData(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::collectionSnapshotData) == 6,
+      "Expected collectionSnapshotData(...) to have 6 parameters");
+    return bridging::callFromJs<jsi::Object>(rt, &T::collectionSnapshotData,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber(),
+      count <= 3 ? throw jsi::JSError(rt, "Expected argument in position 3 to be passed") : args[3].asObject(rt).asArray(rt),
+      count <= 4 ? throw jsi::JSError(rt, "Expected argument in position 4 to be passed") : args[4].asObject(rt));
+  }
+
+  static jsi::Value __collectionSnapshotRelease(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::collectionSnapshotRelease) == 4,
+      "Expected collectionSnapshotRelease(...) to have 4 parameters");
+    bridging::callFromJs<void>(rt, &T::collectionSnapshotRelease,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber());return jsi::Value::undefined();
+  }
+
+  static jsi::Value __collectionCursorOpen(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::collectionCursorOpen) == 10,
+      "Expected collectionCursorOpen(...) to have 10 parameters");
+    bridging::callFromJs<void>(rt, &T::collectionCursorOpen,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asString(rt),
+      count <= 3 ? throw jsi::JSError(rt, "Expected argument in position 3 to be passed") : args[3].asString(rt),
+      count <= 4 ? throw jsi::JSError(rt, "Expected argument in position 4 to be passed") : args[4].asObject(rt).asArray(rt),
+      count <= 5 ? throw jsi::JSError(rt, "Expected argument in position 5 to be passed") : args[5].asObject(rt).asArray(rt),
+      count <= 6 ? throw jsi::JSError(rt, "Expected argument in position 6 to be passed") : args[6].asObject(rt),
+      count <= 7 ? throw jsi::JSError(rt, "Expected argument in position 7 to be passed") : args[7].asNumber(),
+      count <= 8 ? throw jsi::JSError(rt, "Expected argument in position 8 to be passed") : args[8].asObject(rt));return jsi::Value::undefined();
+  }
+
+  static jsi::Value __collectionCursorRequest(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::collectionCursorRequest) == 5,
+      "Expected collectionCursorRequest(...) to have 5 parameters");
+    bridging::callFromJs<void>(rt, &T::collectionCursorRequest,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber(),
+      count <= 3 ? throw jsi::JSError(rt, "Expected argument in position 3 to be passed") : args[3].asNumber());return jsi::Value::undefined();
+  }
+
+  static jsi::Value __collectionCursorClose(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::collectionCursorClose) == 4,
+      "Expected collectionCursorClose(...) to have 4 parameters");
+    bridging::callFromJs<void>(rt, &T::collectionCursorClose,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber());return jsi::Value::undefined();
+  }
+
+  static jsi::Value __pipelineStreamOpen(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::pipelineStreamOpen) == 7,
+      "Expected pipelineStreamOpen(...) to have 7 parameters");
+    bridging::callFromJs<void>(rt, &T::pipelineStreamOpen,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asObject(rt),
+      count <= 3 || args[3].isNull() || args[3].isUndefined() ? std::nullopt : std::make_optional(args[3].asObject(rt)),
+      count <= 4 ? throw jsi::JSError(rt, "Expected argument in position 4 to be passed") : args[4].asNumber(),
+      count <= 5 ? throw jsi::JSError(rt, "Expected argument in position 5 to be passed") : args[5].asObject(rt));return jsi::Value::undefined();
+  }
+
+  static jsi::Value __pipelineStreamRequest(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::pipelineStreamRequest) == 5,
+      "Expected pipelineStreamRequest(...) to have 5 parameters");
+    bridging::callFromJs<void>(rt, &T::pipelineStreamRequest,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber(),
+      count <= 3 ? throw jsi::JSError(rt, "Expected argument in position 3 to be passed") : args[3].asNumber());return jsi::Value::undefined();
+  }
+
+  static jsi::Value __pipelineStreamClose(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::pipelineStreamClose) == 4,
+      "Expected pipelineStreamClose(...) to have 4 parameters");
+    bridging::callFromJs<void>(rt, &T::pipelineStreamClose,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber());return jsi::Value::undefined();
+  }
+
+  static jsi::Value __pipelineOnSnapshot(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::pipelineOnSnapshot) == 6,
+      "Expected pipelineOnSnapshot(...) to have 6 parameters");
+    bridging::callFromJs<void>(rt, &T::pipelineOnSnapshot,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asObject(rt),
+      count <= 3 || args[3].isNull() || args[3].isUndefined() ? std::nullopt : std::make_optional(args[3].asObject(rt)),
+      count <= 4 ? throw jsi::JSError(rt, "Expected argument in position 4 to be passed") : args[4].asNumber());return jsi::Value::undefined();
+  }
+
+  static jsi::Value __pipelineOffSnapshot(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::pipelineOffSnapshot) == 4,
+      "Expected pipelineOffSnapshot(...) to have 4 parameters");
+    bridging::callFromJs<void>(rt, &T::pipelineOffSnapshot,  static_cast<NativeRNFBTurboFirestoreCollectionCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asNumber());return jsi::Value::undefined();
+  }
 };
 
 
@@ -455,6 +602,7 @@ protected:
     methodMap_["documentSet"] = MethodMetadata {.argCount = 5, .invoker = __documentSet};
     methodMap_["documentUpdate"] = MethodMetadata {.argCount = 4, .invoker = __documentUpdate};
     methodMap_["documentBatch"] = MethodMetadata {.argCount = 3, .invoker = __documentBatch};
+    methodMap_["documentBulkWrite"] = MethodMetadata {.argCount = 5, .invoker = __documentBulkWrite};
   }
   
 private:
@@ -533,6 +681,18 @@ private:
       count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
       count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asObject(rt).asArray(rt));
   }
+
+  static jsi::Value __documentBulkWrite(jsi::Runtime &rt, TurboModule &turboModule, const jsi::Value* args, size_t count) {
+    static_assert(
+      bridging::getParameterCount(&T::documentBulkWrite) == 6,
+      "Expected documentBulkWrite(...) to have 6 parameters");
+    return bridging::callFromJs<jsi::Value>(rt, &T::documentBulkWrite,  static_cast<NativeRNFBTurboFirestoreDocumentCxxSpec*>(&turboModule)->jsInvoker_, static_cast<T*>(&turboModule),
+      count <= 0 ? throw jsi::JSError(rt, "Expected argument in position 0 to be passed") : args[0].asString(rt),
+      count <= 1 ? throw jsi::JSError(rt, "Expected argument in position 1 to be passed") : args[1].asString(rt),
+      count <= 2 ? throw jsi::JSError(rt, "Expected argument in position 2 to be passed") : args[2].asObject(rt).asArray(rt),
+      count <= 3 ? throw jsi::JSError(rt, "Expected argument in position 3 to be passed") : args[3].asNumber(),
+      count <= 4 ? throw jsi::JSError(rt, "Expected argument in position 4 to be passed") : args[4].asObject(rt));
+  }
 };
 
 
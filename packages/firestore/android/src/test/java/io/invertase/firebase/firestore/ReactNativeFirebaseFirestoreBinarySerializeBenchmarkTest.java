@@ -0,0 +1,166 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mockStatic;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.WritableMap;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.GeoPoint;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Time and allocations to serialize the data of 1k and 10k document queries as type maps ({@link
+ * ReactNativeFirebaseFirestoreSerialize#objectMapToWritable}) versus the binary format of {@link
+ * ReactNativeFirebaseFirestoreBinarySerialize}.
+ *
+ * <p>Type maps are built as {@link JavaOnlyMap} / {@link JavaOnlyArray} here, so this understates
+ * their cost on a device, where each map and array is a native object and each push a JNI call.
+ * Timings and allocations are printed rather than asserted; the assertions check the output.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestoreBinarySerializeBenchmarkTest {
+
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int MEASURED_ITERATIONS = 5;
+
+  @Test
+  public void thousandDocuments() {
+    compare(1_000);
+  }
+
+  @Test
+  public void tenThousandDocuments() {
+    compare(10_000);
+  }
+
+  private static void compare(int documentCount) {
+    List<Map<String, Object>> documents = new ArrayList<>();
+    for (int i = 0; i < documentCount; i++) {
+      documents.add(document(i));
+    }
+
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createMap).thenAnswer(invocation -> new JavaOnlyMap());
+      arguments.when(Arguments::createArray).thenAnswer(invocation -> new JavaOnlyArray());
+
+      List<WritableMap> typeMaps = new ArrayList<>();
+      measure(
+          "type-maps",
+          documentCount,
+          () -> {
+            typeMaps.clear();
+            for (Map<String, Object> data : documents) {
+              typeMaps.add(ReactNativeFirebaseFirestoreSerialize.objectMapToWritable(data));
+            }
+          });
+      assertEquals(documentCount, typeMaps.size());
+      assertEquals(documents.get(0).size(), typeMaps.get(0).toHashMap().size());
+    }
+
+    byte[][] encoded = new byte[1][];
+    measure(
+        "binary",
+        documentCount,
+        () -> {
+          ReactNativeFirebaseFirestoreBinarySerialize writer =
+              new ReactNativeFirebaseFirestoreBinarySerialize(256 * documentCount);
+          for (Map<String, Object> data : documents) {
+            writer.writeMap(data);
+          }
+          encoded[0] = writer.toByteArray();
+        });
+
+    ByteBuffer buffer = ByteBuffer.wrap(encoded[0]).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(documents.get(0).size(), buffer.getInt(0));
+    assertTrue(encoded[0].length > documentCount * documents.get(0).size());
+    System.out.println(
+        "[RNFB_FIRESTORE_BINARY benchmark] "
+            + documentCount
+            + " documents: "
+            + encoded[0].length
+            + " bytes ("
+            + (encoded[0].length / documentCount)
+            + " bytes/document)");
+  }
+
+  private static Map<String, Object> document(int index) {
+    Map<String, Object> address = new HashMap<>();
+    address.put("city", "City " + (index % 100));
+    address.put("zip", "Z" + index);
+
+    Map<String, Object> data = new HashMap<>();
+    data.put("name", "User " + index);
+    data.put("age", (long) (index % 90));
+    data.put("active", index % 2 == 0);
+    data.put("score", index * 1.5);
+    data.put("tags", Arrays.asList("a", "b", "tag-" + index));
+    data.put("address", address);
+    data.put("location", new GeoPoint(51.5, -0.12));
+    data.put("updatedAt", new Timestamp(1_700_000_000L + index, 0));
+    return data;
+  }
+
+  /** JMH style: warm up, then report the average time and allocations of the measured runs. */
+  private static void measure(String mode, int documentCount, Runnable run) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      run.run();
+    }
+
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      run.run();
+    }
+    long elapsedNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    long allocated =
+        (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_ITERATIONS;
+
+    System.out.println(
+        "[RNFB_FIRESTORE_BINARY benchmark] "
+            + mode
+            + " "
+            + documentCount
+            + " documents: "
+            + (elapsedNanos / 1_000_000)
+            + "ms, "
+            + (allocated / documentCount)
+            + " bytes allocated/document");
+  }
+}
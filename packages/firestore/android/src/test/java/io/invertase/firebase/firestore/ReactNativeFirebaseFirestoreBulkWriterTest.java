@@ -0,0 +1,218 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Coverage for {@link ReactNativeFirebaseFirestoreBulkWriter} batching, windowing and retries. */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestoreBulkWriterTest {
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void start_keepsAtMostMaxInFlightBatchesCommitting() throws Exception {
+    List<TaskCompletionSource<Void>> commits = new CopyOnWriteArrayList<>();
+    List<int[]> batches = new CopyOnWriteArrayList<>();
+    RecordingListener listener = new RecordingListener();
+    new ReactNativeFirebaseFirestoreBulkWriter(
+            10,
+            3,
+            2,
+            1,
+            scheduler,
+            indices -> {
+              batches.add(indices);
+              TaskCompletionSource<Void> commit = new TaskCompletionSource<>();
+              commits.add(commit);
+              return commit.getTask();
+            },
+            listener)
+        .start();
+
+    drain();
+    assertEquals(2, commits.size());
+    commits.get(0).setResult(null);
+    drain();
+    assertEquals(3, commits.size());
+    for (int i = 1; i < 4; i++) {
+      commits.get(i).setResult(null);
+      drain();
+    }
+
+    assertTrue(listener.completed.await(5, TimeUnit.SECONDS));
+    assertEquals(10, listener.succeeded);
+    assertEquals(0, listener.failed);
+    assertArrayEquals(new int[] {9}, batches.get(3));
+  }
+
+  @Test
+  public void start_retriesBatch_whenCommitFailsWithRetryableError() throws Exception {
+    List<int[]> batches = new CopyOnWriteArrayList<>();
+    RecordingListener listener = new RecordingListener();
+    new ReactNativeFirebaseFirestoreBulkWriter(
+            2,
+            500,
+            4,
+            2,
+            scheduler,
+            indices -> {
+              batches.add(indices);
+              return batches.size() == 1
+                  ? Tasks.forException(
+                      new FirebaseFirestoreException(
+                          "offline", FirebaseFirestoreException.Code.UNAVAILABLE))
+                  : Tasks.forResult(null);
+            },
+            listener)
+        .start();
+
+    assertTrue(listener.completed.await(5, TimeUnit.SECONDS));
+    assertEquals(2, batches.size());
+    assertEquals(2, listener.succeeded);
+    assertEquals(0, listener.failed);
+  }
+
+  @Test
+  public void start_failsWholeBatch_whenRetriesRunOut() throws Exception {
+    List<int[]> batches = new CopyOnWriteArrayList<>();
+    RecordingListener listener = new RecordingListener();
+    new ReactNativeFirebaseFirestoreBulkWriter(
+            4,
+            500,
+            4,
+            2,
+            scheduler,
+            indices -> {
+              batches.add(indices);
+              return Tasks.forException(
+                  new FirebaseFirestoreException(
+                      "offline", FirebaseFirestoreException.Code.UNAVAILABLE));
+            },
+            listener)
+        .start();
+
+    assertTrue(listener.completed.await(5, TimeUnit.SECONDS));
+    assertEquals(2, batches.size());
+    assertEquals(0, listener.succeeded);
+    assertEquals(4, listener.failed);
+    assertEquals(1, listener.failures.size());
+    assertArrayEquals(new int[] {0, 1, 2, 3}, listener.failures.get(0));
+  }
+
+  @Test
+  public void start_isolatesFailingWrite_whenBatchFailsWithOtherError() throws Exception {
+    RecordingListener listener = new RecordingListener();
+    new ReactNativeFirebaseFirestoreBulkWriter(
+            4,
+            500,
+            4,
+            5,
+            scheduler,
+            indices ->
+                Arrays.stream(indices).anyMatch(index -> index == 2)
+                    ? Tasks.forException(
+                        new FirebaseFirestoreException(
+                            "denied", FirebaseFirestoreException.Code.PERMISSION_DENIED))
+                    : Tasks.forResult(null),
+            listener)
+        .start();
+
+    assertTrue(listener.completed.await(5, TimeUnit.SECONDS));
+    assertEquals(3, listener.succeeded);
+    assertEquals(1, listener.failed);
+    assertEquals(1, listener.failures.size());
+    assertArrayEquals(new int[] {2}, listener.failures.get(0));
+  }
+
+  @Test
+  public void isRetryable_onlyAcceptsTransientFirestoreErrors() {
+    assertTrue(
+        ReactNativeFirebaseFirestoreBulkWriter.isRetryable(
+            new RuntimeException(
+                new FirebaseFirestoreException(
+                    "busy", FirebaseFirestoreException.Code.RESOURCE_EXHAUSTED))));
+    assertFalse(
+        ReactNativeFirebaseFirestoreBulkWriter.isRetryable(
+            new FirebaseFirestoreException(
+                "missing", FirebaseFirestoreException.Code.NOT_FOUND)));
+    assertFalse(ReactNativeFirebaseFirestoreBulkWriter.isRetryable(new IllegalStateException()));
+  }
+
+  @Test
+  public void backoffMs_growsExponentiallyUpToTheCap() {
+    assertEquals(500, ReactNativeFirebaseFirestoreBulkWriter.backoffMs(0));
+    assertEquals(1000, ReactNativeFirebaseFirestoreBulkWriter.backoffMs(1));
+    assertEquals(
+        ReactNativeFirebaseFirestoreBulkWriter.MAX_BACKOFF_MS,
+        ReactNativeFirebaseFirestoreBulkWriter.backoffMs(40));
+  }
+
+  /** Waits for the tasks queued on the scheduler so far to run. */
+  private void drain() throws Exception {
+    scheduler.submit(() -> {}).get(5, TimeUnit.SECONDS);
+  }
+
+  private static class RecordingListener
+      implements ReactNativeFirebaseFirestoreBulkWriter.Listener {
+    final CountDownLatch completed = new CountDownLatch(1);
+    final List<int[]> failures = new ArrayList<>();
+    int succeeded;
+    int failed;
+
+    @Override
+    public void onBatch(int[] indices, @Nullable Exception failure, int succeeded, int failed) {
+      if (failure != null) {
+        failures.add(indices);
+      }
+    }
+
+    @Override
+    public void onComplete(int succeeded, int failed) {
+      this.succeeded = succeeded;
+      this.failed = failed;
+      completed.countDown();
+    }
+  }
+}
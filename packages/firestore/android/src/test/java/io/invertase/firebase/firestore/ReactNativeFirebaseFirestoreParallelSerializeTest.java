@@ -0,0 +1,117 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mockStatic;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.WritableArray;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Coverage for {@link ReactNativeFirebaseFirestoreParallelSerialize}: results keep the order of
+ * the items however partitions are spread over threads. Items are serialized as {@link
+ * JavaOnlyMap} directly, as the static {@link Arguments} mock only applies to the test thread.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestoreParallelSerializeTest {
+
+  private static final int SIZE = 10 * ReactNativeFirebaseFirestoreParallelSerialize.PARTITION_SIZE;
+
+  @Test
+  public void toWritableArray_keepsItemOrder_acrossPartitions() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createArray).thenAnswer(invocation -> new JavaOnlyArray());
+
+      WritableArray array =
+          ReactNativeFirebaseFirestoreParallelSerialize.toWritableArray(
+              items(), item -> JavaOnlyMap.of("i", item), executor);
+
+      assertEquals(SIZE, array.size());
+      for (int i = 0; i < SIZE; i++) {
+        assertEquals(i, array.getMap(i).getInt("i"));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void toWritableArray_serializesOnCaller_whenExecutorRejects() throws Exception {
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createArray).thenAnswer(invocation -> new JavaOnlyArray());
+
+      WritableArray array =
+          ReactNativeFirebaseFirestoreParallelSerialize.toWritableArray(
+              items(),
+              item -> JavaOnlyMap.of("i", item),
+              runnable -> {
+                throw new RejectedExecutionException();
+              });
+
+      assertEquals(SIZE, array.size());
+      assertEquals(SIZE - 1, array.getMap(SIZE - 1).getInt("i"));
+    }
+  }
+
+  @Test
+  public void toWritableArray_rethrowsSerializerFailure() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (MockedStatic<Arguments> arguments = mockStatic(Arguments.class)) {
+      arguments.when(Arguments::createArray).thenAnswer(invocation -> new JavaOnlyArray());
+
+      assertThrows(
+          IllegalStateException.class,
+          () ->
+              ReactNativeFirebaseFirestoreParallelSerialize.toWritableArray(
+                  items(),
+                  item -> {
+                    if (item == SIZE / 2) {
+                      throw new IllegalStateException();
+                    }
+                    return JavaOnlyMap.of("i", item);
+                  },
+                  executor));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static List<Integer> items() {
+    List<Integer> items = new ArrayList<>();
+    for (int i = 0; i < SIZE; i++) {
+      items.add(i);
+    }
+    return items;
+  }
+}
@@ -0,0 +1,109 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+/** JVM coverage for {@link ReactNativeFirebaseFirestorePipelineCache} keys, eviction and stats. */
+public class ReactNativeFirebaseFirestorePipelineCacheTest {
+  private final Object firestore = new Object();
+
+  @Test
+  public void get_returnsCompiledPipeline_forAnEqualRequest() {
+    ReactNativeFirebaseFirestorePipelineCache cache =
+        new ReactNativeFirebaseFirestorePipelineCache(4);
+    ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline compiled = compiled();
+
+    assertNull(cache.get(key(firestore, "books", 4.5)));
+    cache.put(key(firestore, "books", 4.5), compiled);
+
+    assertSame(compiled, cache.get(key(firestore, "books", 4.5)));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void get_misses_whenAConstantOrTheFirestoreInstanceDiffers() {
+    ReactNativeFirebaseFirestorePipelineCache cache =
+        new ReactNativeFirebaseFirestorePipelineCache(4);
+    cache.put(key(firestore, "books", 4.5), compiled());
+
+    assertNull(cache.get(key(firestore, "books", 4.0)));
+    assertNull(cache.get(key(new Object(), "books", 4.5)));
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void put_evictsTheLeastRecentlyUsedPipeline_whenFull() {
+    ReactNativeFirebaseFirestorePipelineCache cache =
+        new ReactNativeFirebaseFirestorePipelineCache(2);
+    cache.put(key(firestore, "a", 1.0), compiled());
+    cache.put(key(firestore, "b", 1.0), compiled());
+    cache.get(key(firestore, "a", 1.0));
+
+    cache.put(key(firestore, "c", 1.0), compiled());
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(key(firestore, "b", 1.0)));
+    assertNotNull(cache.get(key(firestore, "a", 1.0)));
+    assertNotNull(cache.get(key(firestore, "c", 1.0)));
+  }
+
+  @Test
+  public void clear_dropsPipelines_andKeepsCounts() {
+    ReactNativeFirebaseFirestorePipelineCache cache =
+        new ReactNativeFirebaseFirestorePipelineCache(2);
+    cache.put(key(firestore, "a", 1.0), compiled());
+    cache.get(key(firestore, "a", 1.0));
+
+    cache.clear();
+
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getHits());
+  }
+
+  private static ReactNativeFirebaseFirestorePipelineCache.Key key(
+      Object firestore, String collection, double rating) {
+    Map<String, Object> source = new HashMap<>();
+    source.put("source", "collection");
+    source.put("path", collection);
+    Map<String, Object> constant = new HashMap<>();
+    constant.put("exprType", "Constant");
+    constant.put("value", rating);
+    Map<String, Object> where = new HashMap<>();
+    where.put("stage", "where");
+    where.put("options", constant);
+    Map<String, Object> pipeline = new HashMap<>();
+    pipeline.put("source", source);
+    pipeline.put("stages", Arrays.asList(where));
+    return new ReactNativeFirebaseFirestorePipelineCache.Key(firestore, pipeline, null);
+  }
+
+  private static ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline compiled() {
+    return new ReactNativeFirebaseFirestorePipelineCache.CompiledPipeline(null, null);
+  }
+}
@@ -0,0 +1,144 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/** JVM coverage for the row changes of {@link ReactNativeFirebaseFirestorePipelineDiff}. */
+public class ReactNativeFirebaseFirestorePipelineDiffTest {
+
+  @Test
+  public void update_addsEveryRow_onTheFirstEvaluation() {
+    ReactNativeFirebaseFirestorePipelineDiff diff = new ReactNativeFirebaseFirestorePipelineDiff();
+
+    List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes =
+        diff.update(keys("a", "b"), keys("1", "1"));
+
+    assertEquals(2, changes.size());
+    assertChange(changes.get(0), "added", -1, 0);
+    assertChange(changes.get(1), "added", -1, 1);
+  }
+
+  @Test
+  public void update_returnsNoChanges_whenNothingChanged() {
+    ReactNativeFirebaseFirestorePipelineDiff diff = new ReactNativeFirebaseFirestorePipelineDiff();
+    diff.update(keys("a", "b"), keys("1", "1"));
+
+    assertTrue(diff.update(keys("a", "b"), keys("1", "1")).isEmpty());
+  }
+
+  @Test
+  public void update_sendsOnlyRemovedAddedAndChangedRows() {
+    ReactNativeFirebaseFirestorePipelineDiff diff = new ReactNativeFirebaseFirestorePipelineDiff();
+    diff.update(keys("a", "b", "c", "d"), keys("1", "1", "1", "1"));
+
+    List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes =
+        diff.update(keys("b", "c", "e", "d"), keys("1", "2", "1", "1"));
+
+    assertEquals(3, changes.size());
+    assertChange(changes.get(0), "removed", 0, -1);
+    assertChange(changes.get(1), "modified", 1, 1);
+    assertTrue(changes.get(1).changed);
+    assertChange(changes.get(2), "added", -1, 2);
+  }
+
+  @Test
+  public void update_movesARowWithoutResendingIt_whenOnlyItsPositionChanged() {
+    ReactNativeFirebaseFirestorePipelineDiff diff = new ReactNativeFirebaseFirestorePipelineDiff();
+    diff.update(keys("a", "b", "c"), keys("1", "1", "1"));
+
+    List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes =
+        diff.update(keys("c", "a", "b"), keys("1", "1", "1"));
+
+    assertEquals(1, changes.size());
+    assertChange(changes.get(0), "modified", 2, 0);
+    assertFalse(changes.get(0).changed);
+  }
+
+  @Test
+  public void update_changesTurnThePreviousRowsIntoTheNextRows() {
+    Random random = new Random(23);
+    ReactNativeFirebaseFirestorePipelineDiff diff = new ReactNativeFirebaseFirestorePipelineDiff();
+    List<Object> rows = new ArrayList<>();
+    List<Object> contents = new ArrayList<>();
+
+    for (int evaluation = 0; evaluation < 200; evaluation++) {
+      List<Object> nextRows = new ArrayList<>();
+      List<Object> nextContents = new ArrayList<>();
+      List<Integer> ids = new ArrayList<>();
+      for (int id = 0; id < 20; id++) {
+        if (random.nextInt(3) > 0) {
+          ids.add(id);
+        }
+      }
+      Collections.shuffle(ids, random);
+      for (int id : ids) {
+        nextRows.add("row" + id);
+        nextContents.add(random.nextInt(3));
+      }
+
+      List<Object> applied = new ArrayList<>(rows);
+      List<Object> appliedContents = new ArrayList<>(contents);
+      for (ReactNativeFirebaseFirestorePipelineDiff.Change change :
+          diff.update(nextRows, nextContents)) {
+        Object row = null;
+        Object content = null;
+        if (change.oldIndex != -1) {
+          row = applied.remove(change.oldIndex);
+          content = appliedContents.remove(change.oldIndex);
+        }
+        if (change.newIndex != -1) {
+          applied.add(change.newIndex, nextRows.get(change.newIndex));
+          appliedContents.add(
+              change.newIndex, change.changed ? nextContents.get(change.newIndex) : content);
+          if (row != null) {
+            assertEquals(row, nextRows.get(change.newIndex));
+          }
+        }
+      }
+
+      assertEquals(nextRows, applied);
+      assertEquals(nextContents, appliedContents);
+      rows = nextRows;
+      contents = nextContents;
+    }
+  }
+
+  private static List<Object> keys(Object... keys) {
+    return Arrays.asList(keys);
+  }
+
+  private static void assertChange(
+      ReactNativeFirebaseFirestorePipelineDiff.Change change,
+      String type,
+      int oldIndex,
+      int newIndex) {
+    assertEquals(type, change.type);
+    assertEquals(oldIndex, change.oldIndex);
+    assertEquals(newIndex, change.newIndex);
+  }
+}
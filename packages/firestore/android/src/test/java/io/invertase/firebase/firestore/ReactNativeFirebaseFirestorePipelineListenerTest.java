@@ -0,0 +1,232 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.Filter;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.Pipeline;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SnapshotMetadata;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Coverage for {@link ReactNativeFirebaseFirestorePipelineListener} and the query it listens to,
+ * as narrowed by {@link ReactNativeFirebaseFirestorePipelineExecutor#narrowRealtimeSource}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestorePipelineListenerTest {
+
+  @Test
+  public void firstSnapshot_isEvaluated_evenFromTheCache() {
+    Query source = mockQuery();
+    Exception offline = new Exception("offline");
+    AtomicInteger evaluations = new AtomicInteger();
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineListener pipelineListener =
+        new ReactNativeFirebaseFirestorePipelineListener(
+            source,
+            () -> {
+              evaluations.incrementAndGet();
+              return Tasks.forException(offline);
+            },
+            Runnable::run,
+            listener);
+
+    pipelineListener.start();
+    capturedListener(source).onEvent(snapshot(false, true), null);
+
+    assertEquals(1, evaluations.get());
+    assertEquals(Collections.singletonList(offline), listener.errors);
+  }
+
+  @Test
+  public void laterCachedOrPendingSnapshots_areSkipped() {
+    Query source = mockQuery();
+    Pipeline.Snapshot results = mock(Pipeline.Snapshot.class);
+    when(results.getResults()).thenReturn(new ArrayList<>());
+    AtomicInteger evaluations = new AtomicInteger();
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineListener pipelineListener =
+        new ReactNativeFirebaseFirestorePipelineListener(
+            source,
+            () -> {
+              evaluations.incrementAndGet();
+              return Tasks.forResult(results);
+            },
+            Runnable::run,
+            listener);
+
+    pipelineListener.start();
+    EventListener<QuerySnapshot> onSnapshot = capturedListener(source);
+    onSnapshot.onEvent(snapshot(false, true), null);
+    onSnapshot.onEvent(snapshot(false, true), null);
+    onSnapshot.onEvent(snapshot(true, false), null);
+    assertEquals(1, evaluations.get());
+    assertEquals(1, listener.results);
+
+    onSnapshot.onEvent(snapshot(false, false), null);
+    assertEquals(2, evaluations.get());
+    // The second evaluation had the same rows, so nothing is reported.
+    assertEquals(1, listener.results);
+  }
+
+  @Test
+  public void narrowRealtimeSource_appliesLeadingWhereSortAndLimit() throws Exception {
+    Query query = mockQuery();
+
+    Query narrowed =
+        ReactNativeFirebaseFirestorePipelineExecutor.narrowRealtimeSource(
+            query,
+            Arrays.asList(
+                new ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage(
+                    comparison("greater_than", "rating", 4.5)),
+                new ReactNativeFirebaseFirestorePipelineParser.ParsedSortStage(
+                    Collections.singletonList(
+                        new ReactNativeFirebaseFirestorePipelineParser.ParsedOrderingNode(
+                            new ReactNativeFirebaseFirestorePipelineParser
+                                .ParsedFieldExpressionNode("rating"),
+                            true,
+                            true))),
+                new ReactNativeFirebaseFirestorePipelineParser.ParsedLimitStage(10.0),
+                new ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage(
+                    comparison("equal", "genre", "fiction"))));
+
+    assertSame(query, narrowed);
+    verify(query).where(any(Filter.class));
+    verify(query).orderBy("rating", Query.Direction.DESCENDING);
+    verify(query).limit(10L);
+  }
+
+  @Test
+  public void narrowRealtimeSource_stopsAtTheFirstOtherStage() throws Exception {
+    Query query = mockQuery();
+
+    ReactNativeFirebaseFirestorePipelineExecutor.narrowRealtimeSource(
+        query,
+        Arrays.asList(
+            new ReactNativeFirebaseFirestorePipelineParser.ParsedSelectStage(new ArrayList<>()),
+            new ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage(
+                comparison("equal", "genre", "fiction"))));
+
+    verifyNoInteractions(query);
+  }
+
+  @Test
+  public void narrowRealtimeSource_rejectsWhereStagesAQueryCannotExpress() {
+    Query query = mockQuery();
+
+    try {
+      ReactNativeFirebaseFirestorePipelineExecutor.narrowRealtimeSource(
+          query,
+          Collections.singletonList(
+              new ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage(
+                  comparison("array_contains_all", "tags", "fiction"))));
+      fail("expected PipelineValidationException");
+    } catch (ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException e) {
+      assertTrue(e.getMessage().startsWith("pipelineOnSnapshot()"));
+    }
+  }
+
+  private static ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode comparison(
+      String function, String field, Object value) {
+    return new ReactNativeFirebaseFirestorePipelineParser.ParsedFunctionExpressionNode(
+        function,
+        Arrays.asList(
+            new ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode(
+                new ReactNativeFirebaseFirestorePipelineParser.ParsedFieldExpressionNode(field)),
+            new ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionValueNode(
+                new ReactNativeFirebaseFirestorePipelineParser.ParsedConstantExpressionNode(
+                    new ReactNativeFirebaseFirestorePipelineParser.ParsedPrimitiveValueNode(
+                        value)))));
+  }
+
+  private static Query mockQuery() {
+    Query query = mock(Query.class);
+    when(query.where(any(Filter.class))).thenReturn(query);
+    when(query.orderBy(anyString(), any(Query.Direction.class))).thenReturn(query);
+    when(query.limit(anyLong())).thenReturn(query);
+    when(query.addSnapshotListener(
+            any(Executor.class), eq(MetadataChanges.INCLUDE), any(EventListener.class)))
+        .thenReturn(mock(ListenerRegistration.class));
+    return query;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static EventListener<QuerySnapshot> capturedListener(Query source) {
+    ArgumentCaptor<EventListener<QuerySnapshot>> captor =
+        ArgumentCaptor.forClass(EventListener.class);
+    verify(source)
+        .addSnapshotListener(any(Executor.class), eq(MetadataChanges.INCLUDE), captor.capture());
+    return captor.getValue();
+  }
+
+  private static QuerySnapshot snapshot(boolean hasPendingWrites, boolean isFromCache) {
+    SnapshotMetadata metadata = mock(SnapshotMetadata.class);
+    when(metadata.hasPendingWrites()).thenReturn(hasPendingWrites);
+    when(metadata.isFromCache()).thenReturn(isFromCache);
+    QuerySnapshot snapshot = mock(QuerySnapshot.class);
+    when(snapshot.getMetadata()).thenReturn(metadata);
+    return snapshot;
+  }
+
+  private static final class RecordingListener
+      implements ReactNativeFirebaseFirestorePipelineListener.ResultsListener {
+    final List<Exception> errors = new ArrayList<>();
+    int results;
+
+    @Override
+    public void onResults(
+        Pipeline.Snapshot snapshot,
+        List<ReactNativeFirebaseFirestorePipelineDiff.Change> changes) {
+      results++;
+    }
+
+    @Override
+    public void onError(Exception exception) {
+      errors.add(exception);
+    }
+  }
+}
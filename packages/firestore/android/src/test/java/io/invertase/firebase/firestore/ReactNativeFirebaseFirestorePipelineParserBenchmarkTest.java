@@ -0,0 +1,287 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Time and allocations to validate pipelines with {@link
+ * ReactNativeFirebaseFirestorePipelineParser} and to serialize their expressions for lowering with
+ * {@link ReactNativeFirebaseFirestorePipelineNodeSerializer}, for deep expression trees, wide
+ * selects, nested unions and large constant arrays.
+ *
+ * <p>Timings and allocations are printed rather than asserted; the assertions check that each shape
+ * parses to the same tree, and serializes to the same maps, as it was written.
+ */
+public class ReactNativeFirebaseFirestorePipelineParserBenchmarkTest {
+
+  private static final int WARMUP_ITERATIONS = 20;
+  private static final int MEASURED_ITERATIONS = 50;
+
+  @Test
+  public void deepExpressionTree() throws Exception {
+    Map<String, Object> pipeline = where(deepExpression(1_000, field("f")));
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
+        measureParse("deep expression tree (depth 1000)", pipeline);
+    Object serialized = measureSerialize("deep expression tree (depth 1000)", condition(request));
+
+    Map<?, ?> expression = (Map<?, ?>) serialized;
+    for (int depth = 999; depth >= 0; depth--) {
+      assertEquals(depth % 2 == 0 ? "add" : "multiply", expression.get("name"));
+      List<?> args = (List<?>) expression.get("args");
+      assertEquals((double) depth, ((Map<?, ?>) args.get(1)).get("value"));
+      expression = (Map<?, ?>) args.get(0);
+    }
+    assertEquals("f", expression.get("path"));
+  }
+
+  @Test
+  public void wideSelect() throws Exception {
+    List<Object> selections = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      selections.add(map("alias", "a" + i, "expr", function("add", field("f" + i), constant(i))));
+    }
+    Map<String, Object> pipeline = pipeline("c", stage("select", map("selections", selections)));
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
+        measureParse("wide select (1000 fields)", pipeline);
+
+    List<ReactNativeFirebaseFirestorePipelineParser.ParsedSelectableNode> parsed =
+        ((ReactNativeFirebaseFirestorePipelineParser.ParsedSelectStage) request.stages.get(0))
+            .selections;
+    assertEquals(1_000, parsed.size());
+    for (int i = 0; i < parsed.size(); i++) {
+      assertEquals("a" + i, parsed.get(i).alias);
+      assertEquals(
+          function("add", field("f" + i), constant(i)),
+          ReactNativeFirebaseFirestorePipelineNodeSerializer.serializeExpression(
+              parsed.get(i).expression));
+    }
+  }
+
+  @Test
+  public void nestedUnions() throws Exception {
+    Map<String, Object> pipeline = pipeline("c0", stage("limit", map("limit", 1)));
+    for (int i = 1; i < 200; i++) {
+      pipeline =
+          pipeline(
+              "c" + i,
+              stage("where", map("condition", function("equal", field("f"), constant(i)))),
+              stage("union", map("other", pipeline)));
+    }
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
+        measureParse("nested unions (depth 200)", pipeline);
+
+    for (int i = 199; i > 0; i--) {
+      assertEquals("c" + i, request.source.path);
+      assertEquals(
+          function("equal", field("f"), constant(i)),
+          ReactNativeFirebaseFirestorePipelineNodeSerializer.serializeExpression(
+              condition(request)));
+      request =
+          ((ReactNativeFirebaseFirestorePipelineParser.ParsedUnionStage) request.stages.get(1))
+              .other;
+    }
+    assertEquals("c0", request.source.path);
+    assertEquals("limit", request.stages.get(0).stageName);
+  }
+
+  @Test
+  public void largeConstantArray() throws Exception {
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      values.add(
+          i % 3 == 0
+              ? "value" + i
+              : i % 3 == 1 ? (Object) (double) i : map("key", (double) i, "tags", list("a", i)));
+    }
+    Map<String, Object> pipeline = where(function("equal_any", field("f"), constant(values)));
+
+    ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request =
+        measureParse("constant array (10000 elements)", pipeline);
+    Object serialized = measureSerialize("constant array (10000 elements)", condition(request));
+
+    List<?> args = (List<?>) ((Map<?, ?>) serialized).get("args");
+    assertEquals(values, ((Map<?, ?>) args.get(1)).get("value"));
+  }
+
+  @Test
+  public void serializedExpressions_parseToTheSameTree() throws Exception {
+    Map<String, Object> expression =
+        function(
+            "and",
+            deepExpression(50, field("f")),
+            function("equal_any", field("g"), constant(list("a", 1.0, map("k", list(true))))),
+            map("operator", "==", "fieldPath", "h", "value", map("nested", list(1.0, "x"))),
+            map("exprType", "Variable", "name", "v"));
+
+    Object serialized = parseAndSerialize(expression);
+    Object reserialized = parseAndSerialize(serialized);
+
+    assertEquals(serialized, reserialized);
+    // Key order is kept too, since the maps are read back in order.
+    assertEquals(serialized.toString(), reserialized.toString());
+  }
+
+  @Test
+  public void parse_namesTheInvalidNode_ofADeepTree() {
+    Map<String, Object> pipeline =
+        where(deepExpression(500, map("exprType", "Variable", "name", "")));
+
+    StringBuilder expected = new StringBuilder("stage.options.condition");
+    for (int depth = 0; depth < 500; depth++) {
+      expected.append(".args[0]");
+    }
+    try {
+      ReactNativeFirebaseFirestorePipelineParser.parsePipelineMap(pipeline, null);
+      fail("expected an invalid variable name to be rejected");
+    } catch (ReactNativeFirebaseFirestorePipelineExecutor.PipelineValidationException e) {
+      assertEquals(
+          "pipelineExecute() expected " + expected + ".name to be a non-empty string.",
+          e.getMessage());
+    }
+  }
+
+  private static Object parseAndSerialize(Object condition) throws Exception {
+    return ReactNativeFirebaseFirestorePipelineNodeSerializer.serializeExpression(
+        condition(
+            ReactNativeFirebaseFirestorePipelineParser.parsePipelineMap(where(condition), null)));
+  }
+
+  private static Map<String, Object> deepExpression(int depth, Map<String, Object> leaf) {
+    Map<String, Object> expression = leaf;
+    for (int i = 0; i < depth; i++) {
+      expression = function(i % 2 == 0 ? "add" : "multiply", expression, constant(i));
+    }
+    return expression;
+  }
+
+  private static ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode condition(
+      ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest request) {
+    return ((ReactNativeFirebaseFirestorePipelineParser.ParsedWhereStage) request.stages.get(0))
+        .condition;
+  }
+
+  private static Map<String, Object> where(Object condition) {
+    return pipeline("c", stage("where", map("condition", condition)));
+  }
+
+  private static Map<String, Object> pipeline(String path, Object... stages) {
+    return map("source", map("source", "collection", "path", path), "stages", list(stages));
+  }
+
+  private static Map<String, Object> stage(String name, Map<String, Object> options) {
+    return map("stage", name, "options", options);
+  }
+
+  private static Map<String, Object> field(String path) {
+    return map("__kind", "expression", "exprType", "Field", "path", path);
+  }
+
+  private static Map<String, Object> constant(Object value) {
+    return map(
+        "__kind",
+        "expression",
+        "exprType",
+        "constant",
+        "value",
+        value instanceof Integer ? (double) (Integer) value : value);
+  }
+
+  private static Map<String, Object> function(String name, Object... args) {
+    return map("__kind", "expression", "exprType", "Function", "name", name, "args", list(args));
+  }
+
+  private static Map<String, Object> map(Object... keysAndValues) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return map;
+  }
+
+  private static List<Object> list(Object... values) {
+    return new ArrayList<>(Arrays.asList(values));
+  }
+
+  private interface Measured<T> {
+    T run() throws Exception;
+  }
+
+  private static ReactNativeFirebaseFirestorePipelineParser.ParsedPipelineRequest measureParse(
+      String shape, Map<String, Object> pipeline) throws Exception {
+    return measure(
+        "parse",
+        shape,
+        () -> ReactNativeFirebaseFirestorePipelineParser.parsePipelineMap(pipeline, null));
+  }
+
+  private static Object measureSerialize(
+      String shape, ReactNativeFirebaseFirestorePipelineParser.ParsedExpressionNode expression)
+      throws Exception {
+    return measure(
+        "serialize",
+        shape,
+        () -> ReactNativeFirebaseFirestorePipelineNodeSerializer.serializeExpression(expression));
+  }
+
+  /** JMH style: warm up, then report the average time and allocations of the measured runs. */
+  private static <T> T measure(String mode, String shape, Measured<T> run) throws Exception {
+    T result = null;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      result = run.run();
+    }
+
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      result = run.run();
+    }
+    long elapsedNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    long allocated =
+        (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_ITERATIONS;
+
+    assertTrue(result != null);
+    System.out.println(
+        "[RNFB_FIRESTORE_PIPELINE benchmark] "
+            + mode
+            + " "
+            + shape
+            + ": "
+            + (elapsedNanos / 1_000)
+            + "us, "
+            + (allocated / 1024)
+            + " KiB allocated");
+    return result;
+  }
+}
@@ -0,0 +1,162 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Coverage for {@link ReactNativeFirebaseFirestorePipelineStream} chunking and backpressure. */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestorePipelineStreamTest {
+
+  @Test
+  public void request_sendsOnlyRequestedChunks_andMarksTheLast() {
+    FakeRows rows = new FakeRows(5);
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineStream stream = stream(2, 0, listener);
+
+    stream.open(Tasks.forResult(rows));
+    assertEquals(0, rows.serialized.size());
+
+    stream.request(1);
+    assertEquals("0-2", listener.chunks.get(0));
+    assertEquals(1, listener.chunks.size());
+
+    stream.request(5);
+    assertEquals(3, listener.chunks.size());
+    assertEquals("2-4", listener.chunks.get(1));
+    assertEquals("4-5 done", listener.chunks.get(2));
+    assertEquals(3, rows.serialized.size());
+  }
+
+  @Test
+  public void open_serializesPrefetchedChunksAheadOfRequests() {
+    FakeRows rows = new FakeRows(10);
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineStream stream = stream(2, 2, listener);
+
+    stream.open(Tasks.forResult(rows));
+    assertEquals(2, rows.serialized.size());
+    assertTrue(listener.chunks.isEmpty());
+
+    stream.request(1);
+    assertEquals(1, listener.chunks.size());
+    assertEquals(3, rows.serialized.size());
+  }
+
+  @Test
+  public void request_sendsOneEmptyChunk_forAnEmptyResult() {
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineStream stream = stream(2, 1, listener);
+
+    stream.open(Tasks.forResult(new FakeRows(0)));
+    stream.request(3);
+
+    assertEquals(1, listener.chunks.size());
+    assertEquals("0-0 done", listener.chunks.get(0));
+  }
+
+  @Test
+  public void close_dropsResults_whenThePipelineFinishesLater() {
+    FakeRows rows = new FakeRows(4);
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineStream stream = stream(2, 1, listener);
+    TaskCompletionSource<ReactNativeFirebaseFirestorePipelineStream.Rows> execution =
+        new TaskCompletionSource<>();
+
+    stream.open(execution.getTask());
+    stream.request(1);
+    stream.close();
+    execution.setResult(rows);
+    stream.request(1);
+
+    assertEquals(0, rows.serialized.size());
+    assertTrue(listener.chunks.isEmpty());
+  }
+
+  @Test
+  public void open_reportsAFailedPipelineOnce() {
+    RecordingListener listener = new RecordingListener();
+    ReactNativeFirebaseFirestorePipelineStream stream = stream(2, 1, listener);
+    Exception failure = new Exception("failed");
+
+    stream.open(Tasks.forException(failure));
+    stream.request(1);
+
+    assertEquals(1, listener.errors.size());
+    assertSame(failure, listener.errors.get(0));
+    assertTrue(listener.chunks.isEmpty());
+  }
+
+  private static ReactNativeFirebaseFirestorePipelineStream stream(
+      int chunkSize, int prefetch, RecordingListener listener) {
+    return new ReactNativeFirebaseFirestorePipelineStream(
+        chunkSize, prefetch, Runnable::run, listener);
+  }
+
+  private static final class FakeRows implements ReactNativeFirebaseFirestorePipelineStream.Rows {
+    private final int size;
+    final List<String> serialized = new ArrayList<>();
+
+    FakeRows(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public WritableMap serialize(int from, int to) {
+      serialized.add(from + "-" + to);
+      JavaOnlyMap chunk = new JavaOnlyMap();
+      chunk.putString("range", from + "-" + to);
+      return chunk;
+    }
+  }
+
+  private static final class RecordingListener
+      implements ReactNativeFirebaseFirestorePipelineStream.ChunkListener {
+    final List<String> chunks = new ArrayList<>();
+    final List<Exception> errors = new ArrayList<>();
+
+    @Override
+    public void onChunk(WritableMap chunk, boolean done) {
+      chunks.add(chunk.getString("range") + (done ? " done" : ""));
+    }
+
+    @Override
+    public void onError(Exception exception) {
+      errors.add(exception);
+    }
+  }
+}
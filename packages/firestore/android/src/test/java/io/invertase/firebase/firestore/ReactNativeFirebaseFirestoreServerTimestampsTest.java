@@ -0,0 +1,173 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Coverage for the server timestamp fields that {@link ReactNativeFirebaseFirestoreSerialize} sends
+ * in place of a full copy of the data for each server timestamp behavior.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestoreServerTimestampsTest {
+
+  private static final Timestamp ESTIMATE = new Timestamp(123, 456);
+  private static final Timestamp PREVIOUS = new Timestamp(42, 0);
+  private static final Timestamp SETTLED = new Timestamp(7, 0);
+
+  @Test
+  public void serverTimestampFields_listOnlyPendingFields_withTheirValuePerBehavior() {
+    DocumentSnapshot snapshot = pendingSnapshot();
+    Map<String, Object> estimate = estimatedData();
+    when(snapshot.getData(DocumentSnapshot.ServerTimestampBehavior.ESTIMATE)).thenReturn(estimate);
+
+    try (MockedStatic<Arguments> arguments = mockArguments()) {
+      WritableArray fields =
+          ReactNativeFirebaseFirestoreSerialize.serverTimestampFieldsToWritableArray(
+              snapshot, noneData(), DocumentSnapshot.ServerTimestampBehavior.NONE);
+
+      assertEquals(2, fields.size());
+      assertField(
+          fields.getArray(0),
+          Arrays.asList("createdAt"),
+          typeMap(ESTIMATE),
+          Arrays.asList(ReactNativeFirebaseFirestoreSerialize.INT_NULL),
+          Arrays.asList(ReactNativeFirebaseFirestoreSerialize.INT_NULL));
+      assertField(
+          fields.getArray(1),
+          Arrays.asList("nested", "updatedAt"),
+          typeMap(ESTIMATE),
+          typeMap(PREVIOUS),
+          Arrays.asList(ReactNativeFirebaseFirestoreSerialize.INT_NULL));
+    }
+  }
+
+  @Test
+  public void serverTimestampFields_walkTheData_whenItIsEstimated() {
+    DocumentSnapshot snapshot = pendingSnapshot();
+
+    try (MockedStatic<Arguments> arguments = mockArguments()) {
+      WritableArray fields =
+          ReactNativeFirebaseFirestoreSerialize.serverTimestampFieldsToWritableArray(
+              snapshot, estimatedData(), DocumentSnapshot.ServerTimestampBehavior.ESTIMATE);
+
+      assertEquals(2, fields.size());
+      verify(snapshot, never()).getData(any(DocumentSnapshot.ServerTimestampBehavior.class));
+    }
+  }
+
+  /** A document with pending server timestamps at `createdAt` and `nested.updatedAt`. */
+  private static DocumentSnapshot pendingSnapshot() {
+    DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+    FieldPath createdAt = FieldPath.of("createdAt");
+    FieldPath updatedAt = FieldPath.of("nested", "updatedAt");
+    FieldPath settledAt = FieldPath.of("nested", "settledAt");
+    when(snapshot.get(createdAt, DocumentSnapshot.ServerTimestampBehavior.NONE)).thenReturn(null);
+    when(snapshot.get(createdAt, DocumentSnapshot.ServerTimestampBehavior.PREVIOUS))
+        .thenReturn(null);
+    when(snapshot.get(updatedAt, DocumentSnapshot.ServerTimestampBehavior.NONE)).thenReturn(null);
+    when(snapshot.get(updatedAt, DocumentSnapshot.ServerTimestampBehavior.PREVIOUS))
+        .thenReturn(PREVIOUS);
+    when(snapshot.get(settledAt, DocumentSnapshot.ServerTimestampBehavior.NONE))
+        .thenReturn(SETTLED);
+    return snapshot;
+  }
+
+  private static Map<String, Object> estimatedData() {
+    return data(ESTIMATE, ESTIMATE);
+  }
+
+  private static Map<String, Object> noneData() {
+    return data(null, null);
+  }
+
+  private static Map<String, Object> data(Object createdAt, Object updatedAt) {
+    Map<String, Object> nested = new LinkedHashMap<>();
+    nested.put("updatedAt", updatedAt);
+    nested.put("settledAt", SETTLED);
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("name", "a");
+    data.put("createdAt", createdAt);
+    data.put("nested", nested);
+    // Server timestamps cannot be set in arrays, so arrays are not walked.
+    data.put("history", Arrays.asList(SETTLED));
+    return data;
+  }
+
+  private static MockedStatic<Arguments> mockArguments() {
+    MockedStatic<Arguments> arguments = mockStatic(Arguments.class);
+    arguments.when(Arguments::createArray).thenAnswer(invocation -> new JavaOnlyArray());
+    arguments
+        .when(() -> Arguments.fromList(any()))
+        .thenAnswer(invocation -> JavaOnlyArray.from(invocation.getArgument(0)));
+    return arguments;
+  }
+
+  private static List<Object> typeMap(Timestamp timestamp) {
+    return Arrays.asList(
+        ReactNativeFirebaseFirestoreSerialize.INT_TIMESTAMP,
+        Arrays.asList((double) timestamp.getSeconds(), timestamp.getNanoseconds()));
+  }
+
+  private static void assertField(
+      ReadableArray field,
+      List<String> fieldPath,
+      List<?> estimate,
+      List<?> previous,
+      List<?> none) {
+    assertEquals(fieldPath, field.getArray(0).toArrayList());
+    assertTypeMap(estimate, field.getArray(1));
+    assertTypeMap(previous, field.getArray(2));
+    assertTypeMap(none, field.getArray(3));
+  }
+
+  private static void assertTypeMap(List<?> expected, ReadableArray typeMap) {
+    assertEquals(((Number) expected.get(0)).intValue(), typeMap.getInt(0));
+    assertEquals(expected.size(), typeMap.size());
+    if (expected.size() > 1) {
+      List<?> value = (List<?>) expected.get(1);
+      ReadableArray actual = typeMap.getArray(1);
+      assertEquals(((Number) value.get(0)).doubleValue(), actual.getDouble(0), 0);
+      assertEquals(((Number) value.get(1)).intValue(), actual.getInt(1));
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/** JVM coverage for {@link ReactNativeFirebaseFirestoreSharedListeners} keys and ref counting. */
+public class ReactNativeFirebaseFirestoreSharedListenersTest {
+
+  @Test
+  public void canonicalKey_ignoresMapEntryOrder() {
+    Map<String, Object> first = new LinkedHashMap<>();
+    first.put("fieldPath", "a");
+    first.put("operator", "==");
+    first.put("value", 1.0);
+    Map<String, Object> second = new LinkedHashMap<>();
+    second.put("value", 1.0);
+    second.put("operator", "==");
+    second.put("fieldPath", "a");
+
+    assertEquals(
+        ReactNativeFirebaseFirestoreSharedListeners.canonicalKey("app", Arrays.asList(first)),
+        ReactNativeFirebaseFirestoreSharedListeners.canonicalKey("app", Arrays.asList(second)));
+  }
+
+  @Test
+  public void canonicalKey_distinguishesQuotedStrings() {
+    assertNotEquals(
+        ReactNativeFirebaseFirestoreSharedListeners.canonicalKey("a\",\"b"),
+        ReactNativeFirebaseFirestoreSharedListeners.canonicalKey("a", "b"));
+    assertNotEquals(
+        ReactNativeFirebaseFirestoreSharedListeners.canonicalKey("true"),
+        ReactNativeFirebaseFirestoreSharedListeners.canonicalKey(true));
+  }
+
+  @Test
+  public void join_sharesRegistration_ofSameKey() {
+    ReactNativeFirebaseFirestoreSharedListeners<String> listeners =
+        new ReactNativeFirebaseFirestoreSharedListeners<>();
+
+    ReactNativeFirebaseFirestoreSharedListeners.Registration<String> first =
+        listeners.join("k", 1);
+    ReactNativeFirebaseFirestoreSharedListeners.Registration<String> second =
+        listeners.join("k", 2);
+    ReactNativeFirebaseFirestoreSharedListeners.Registration<String> other =
+        listeners.join("other", 3);
+
+    assertSame(first, second);
+    assertEquals(1, first.id);
+    assertArrayEquals(new int[] {1, 2}, first.listenerIds());
+    assertEquals(3, other.id);
+  }
+
+  @Test
+  public void leave_returnsRegistrationOnlyWhenLastListenerLeaves() {
+    ReactNativeFirebaseFirestoreSharedListeners<String> listeners =
+        new ReactNativeFirebaseFirestoreSharedListeners<>();
+    ReactNativeFirebaseFirestoreSharedListeners.Registration<String> registration =
+        listeners.join("k", 1);
+    listeners.join("k", 2);
+
+    assertNull(listeners.leave(1));
+    assertFalse(listeners.contains(1));
+    assertTrue(listeners.contains(2));
+    assertSame(registration, listeners.leave(2));
+    assertTrue(registration.removed);
+
+    // A listener joining afterwards starts a new registration.
+    assertEquals(3, listeners.join("k", 3).id);
+  }
+
+  @Test
+  public void attach_refusesRegistration_whenAllListenersLeft() {
+    ReactNativeFirebaseFirestoreSharedListeners<String> listeners =
+        new ReactNativeFirebaseFirestoreSharedListeners<>();
+    ReactNativeFirebaseFirestoreSharedListeners.Registration<String> registration =
+        listeners.join("k", 1);
+    listeners.leave(1);
+
+    assertFalse(listeners.attach(registration, () -> {}));
+  }
+
+  @Test
+  public void drop_removesAllListenersOnce() {
+    ReactNativeFirebaseFirestoreSharedListeners<String> listeners =
+        new ReactNativeFirebaseFirestoreSharedListeners<>();
+    ReactNativeFirebaseFirestoreSharedListeners.Registration<String> registration =
+        listeners.join("k", 1);
+    listeners.join("k", 2);
+
+    assertArrayEquals(new int[] {1, 2}, listeners.drop(registration));
+    assertArrayEquals(new int[0], listeners.drop(registration));
+    assertFalse(listeners.contains(1));
+    assertNull(listeners.leave(2));
+  }
+
+  @Test
+  public void clear_removesEverySdkListener() {
+    ReactNativeFirebaseFirestoreSharedListeners<String> listeners =
+        new ReactNativeFirebaseFirestoreSharedListeners<>();
+    AtomicInteger removed = new AtomicInteger();
+    listeners.attach(listeners.join("a", 1), removed::incrementAndGet);
+    listeners.join("a", 2);
+    listeners.attach(listeners.join("b", 3), removed::incrementAndGet);
+
+    listeners.clear();
+
+    assertEquals(2, removed.get());
+    assertFalse(listeners.contains(2));
+  }
+}
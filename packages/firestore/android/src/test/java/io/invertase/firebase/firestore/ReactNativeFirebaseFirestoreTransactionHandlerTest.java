@@ -0,0 +1,162 @@
+package io.invertase.firebase.firestore;
+
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.ReadableArray;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * The transaction handshake: the transaction thread asks JS for a command buffer and waits for
+ * {@link ReactNativeFirebaseFirestoreTransactionHandler#signalBufferReceived}. JS is played by a
+ * responder thread which replies as soon as it receives the update event.
+ *
+ * <p>Handshake latency percentiles are printed rather than asserted; a real round trip also
+ * includes the bridge and the JS transaction function.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReactNativeFirebaseFirestoreTransactionHandlerTest {
+
+  private static final int WARMUP_HANDSHAKES = 1_000;
+  private static final int MEASURED_HANDSHAKES = 10_000;
+
+  @Test
+  public void await_returnsBuffer_whenSignalledBeforeWaiting() {
+    ReactNativeFirebaseFirestoreTransactionHandler handler = handler(15000);
+    ReadableArray buffer = JavaOnlyArray.of();
+
+    handler.resetState(null);
+    handler.signalBufferReceived(buffer);
+    handler.await();
+
+    assertSame(buffer, handler.getCommandBuffer());
+    assertFalse(handler.aborted);
+    assertFalse(handler.timeout);
+  }
+
+  @Test
+  public void await_returns_whenAborted() throws Exception {
+    ReactNativeFirebaseFirestoreTransactionHandler handler = handler(15000);
+    ExecutorService responder = Executors.newSingleThreadExecutor();
+    try {
+      handler.resetState(null);
+      responder.execute(handler::abort);
+      handler.await();
+
+      assertTrue(handler.aborted);
+      assertFalse(handler.timeout);
+    } finally {
+      responder.shutdownNow();
+    }
+  }
+
+  @Test
+  public void await_timesOut_whenNoBufferIsReceived() {
+    ReactNativeFirebaseFirestoreTransactionHandler handler = handler(50);
+
+    handler.resetState(null);
+    handler.await();
+
+    assertTrue(handler.timeout);
+  }
+
+  @Test
+  public void await_returnsEachAttemptsBuffer_whenRetried() {
+    ReactNativeFirebaseFirestoreTransactionHandler handler = handler(15000);
+    ReadableArray first = JavaOnlyArray.of();
+    ReadableArray second = JavaOnlyArray.of();
+
+    handler.resetState(null);
+    handler.signalBufferReceived(first);
+    handler.await();
+    assertSame(first, handler.getCommandBuffer());
+
+    handler.resetState(null);
+    assertNull(handler.getCommandBuffer());
+    handler.signalBufferReceived(second);
+    handler.await();
+    assertSame(second, handler.getCommandBuffer());
+  }
+
+  @Test
+  public void handshakeLatency() throws Exception {
+    ReactNativeFirebaseFirestoreTransactionHandler handler = handler(15000);
+    ReadableArray buffer = JavaOnlyArray.of();
+    ExecutorService responder = Executors.newSingleThreadExecutor();
+    try {
+      for (int i = 0; i < WARMUP_HANDSHAKES; i++) {
+        handshake(handler, responder, buffer);
+      }
+
+      long[] latencies = new long[MEASURED_HANDSHAKES];
+      for (int i = 0; i < MEASURED_HANDSHAKES; i++) {
+        latencies[i] = handshake(handler, responder, buffer);
+        assertFalse(handler.timeout);
+        assertSame(buffer, handler.getCommandBuffer());
+      }
+      Arrays.sort(latencies);
+
+      System.out.println(
+          String.format(
+              "[RNFB_FIRESTORE_TRANSACTION benchmark] %d handshakes: p50 %.3f ms, p90 %.3f ms,"
+                  + " p99 %.3f ms, max %.3f ms",
+              MEASURED_HANDSHAKES,
+              percentileMs(latencies, 50),
+              percentileMs(latencies, 90),
+              percentileMs(latencies, 99),
+              latencies[latencies.length - 1] / 1e6));
+    } finally {
+      responder.shutdownNow();
+      responder.awaitTermination(1, TimeUnit.SECONDS);
+    }
+  }
+
+  private static ReactNativeFirebaseFirestoreTransactionHandler handler(long timeoutMs) {
+    return new ReactNativeFirebaseFirestoreTransactionHandler("[DEFAULT]", 1, timeoutMs);
+  }
+
+  /** One attempt as the transaction function runs it, timed from update event to buffer. */
+  private static long handshake(
+      ReactNativeFirebaseFirestoreTransactionHandler handler,
+      ExecutorService responder,
+      ReadableArray buffer) {
+    long start = System.nanoTime();
+    handler.resetState(null);
+    responder.execute(() -> handler.signalBufferReceived(buffer));
+    handler.await();
+    return System.nanoTime() - start;
+  }
+
+  private static double percentileMs(long[] sorted, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+}
@@ -370,6 +370,14 @@ RCT_EXPORT_MODULE(NativeRNFBTurboFirestoreCollection);
                      }];
 }
 
+// Compiled pipelines are only cached on Android.
+- (void)pipelineCacheStats:(NSString *)appName
+                databaseId:(NSString *)databaseId
+                   resolve:(RCTPromiseResolveBlock)resolve
+                    reject:(RCTPromiseRejectBlock)reject {
+  resolve(@{@"hits" : @0, @"misses" : @0, @"size" : @0, @"maxSize" : @0});
+}
+
 - (void)collectionGet:(NSString *)appName
            databaseId:(NSString *)databaseId
                  path:(NSString *)path
@@ -400,6 +408,80 @@ RCT_EXPORT_MODULE(NativeRNFBTurboFirestoreCollection);
                 reject:reject];
 }
 
+// Lazy document data (`lazyData` get option) is Android only: iOS always sends the data with the
+// snapshot, so JS never holds a handle to read from or release here.
+- (NSDictionary *)collectionSnapshotData:(NSString *)appName
+                              databaseId:(NSString *)databaseId
+                                  handle:(double)handle
+                                   paths:(NSArray *)paths
+                                 options:(NSDictionary *)options {
+  return @{};
+}
+
+- (void)collectionSnapshotRelease:(NSString *)appName
+                       databaseId:(NSString *)databaseId
+                           handle:(double)handle {
+}
+
+// Native page cursors (`getDocsInPages`) are Android only: on iOS, JS reads the pages itself with
+// `startAfter` queries and never opens a cursor here.
+- (void)collectionCursorOpen:(NSString *)appName
+                  databaseId:(NSString *)databaseId
+                        path:(NSString *)path
+                        type:(NSString *)type
+                     filters:(NSArray *)filters
+                      orders:(NSArray *)orders
+                     options:(NSDictionary *)options
+                    cursorId:(double)cursorId
+               cursorOptions:(NSDictionary *)cursorOptions {
+}
+
+- (void)collectionCursorRequest:(NSString *)appName
+                     databaseId:(NSString *)databaseId
+                       cursorId:(double)cursorId
+                          pages:(double)pages {
+}
+
+- (void)collectionCursorClose:(NSString *)appName
+                   databaseId:(NSString *)databaseId
+                     cursorId:(double)cursorId {
+}
+
+// Streamed pipeline results (`executeStream`) are Android only: on iOS, JS slices the result of a
+// single `pipelineExecute` into chunks and never opens a stream here.
+- (void)pipelineStreamOpen:(NSString *)appName
+                databaseId:(NSString *)databaseId
+                  pipeline:(NSDictionary *)pipeline
+                   options:(NSDictionary *)options
+                  streamId:(double)streamId
+             streamOptions:(NSDictionary *)streamOptions {
+}
+
+- (void)pipelineStreamRequest:(NSString *)appName
+                   databaseId:(NSString *)databaseId
+                     streamId:(double)streamId
+                       chunks:(double)chunks {
+}
+
+- (void)pipelineStreamClose:(NSString *)appName
+                 databaseId:(NSString *)databaseId
+                   streamId:(double)streamId {
+}
+
+// Pipeline listeners (`onPipelineSnapshot`) are Android only; JS rejects them on other platforms
+// before listening here.
+- (void)pipelineOnSnapshot:(NSString *)appName
+                databaseId:(NSString *)databaseId
+                  pipeline:(NSDictionary *)pipeline
+                   options:(NSDictionary *)options
+                listenerId:(double)listenerId {
+}
+
+- (void)pipelineOffSnapshot:(NSString *)appName
+                 databaseId:(NSString *)databaseId
+                 listenerId:(double)listenerId {
+}
+
 - (void)handleQueryOnSnapshot:(FIRApp *)firebaseApp
                    databaseId:(NSString *)databaseId
                firestoreQuery:(RNFBFirestoreQuery *)firestoreQuery
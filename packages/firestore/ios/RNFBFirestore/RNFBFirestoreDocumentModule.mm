@@ -318,6 +318,18 @@ RCT_EXPORT_MODULE(NativeRNFBTurboFirestoreDocument);
   }];
 }
 
+// The native bulk writer is Android only: on iOS, JS commits the batches of a bulk writer itself
+// with `documentBatch` and never calls this.
+- (void)documentBulkWrite:(NSString *)appName
+               databaseId:(NSString *)databaseId
+                   writes:(NSArray *)writes
+              bulkWriteId:(double)bulkWriteId
+                  options:(NSDictionary *)options
+                  resolve:(RCTPromiseResolveBlock)resolve
+                   reject:(RCTPromiseRejectBlock)reject {
+  reject(@"firestore/unsupported", @"The native bulk writer is not available on iOS", nil);
+}
+
 - (void)sendSnapshotEvent:(FIRApp *)firApp
                databaseId:(NSString *)databaseId
                listenerId:(nonnull NSNumber *)listenerId
@@ -28,6 +28,9 @@
 NSMutableDictionary *emulatorConfigs;
 static __strong NSMutableDictionary *snapshotsInSyncListeners;
 static NSString *const RNFB_FIRESTORE_SNAPSHOTS_IN_SYNC = @"firestore_snapshots_in_sync_event";
+static NSString *const RNFB_FIRESTORE_LOAD_BUNDLE = @"firestore_load_bundle_event";
+// A bundle reports progress after each document; JS is sent at most one update per interval.
+static const CFTimeInterval RNFB_FIRESTORE_LOAD_BUNDLE_PROGRESS_INTERVAL = 0.1;
 
 @interface RNFBFirestoreModule () <NativeRNFBTurboFirestoreSpec, RCTBridgeModule>
 @end
@@ -146,6 +149,51 @@ RCT_EXPORT_MODULE(NativeRNFBTurboFirestore);
       }];
 }
 
+- (void)loadBundleFromUri:(NSString *)appName
+               databaseId:(NSString *)databaseId
+                      uri:(NSString *)uri
+                   taskId:(double)taskId
+                  resolve:(RCTPromiseResolveBlock)resolve
+                   reject:(RCTPromiseRejectBlock)reject {
+  NSURL *url = [NSURL URLWithString:uri];
+  // Streamed from the file, so the bundle is never held in memory at once.
+  NSInputStream *bundleStream = url.isFileURL ? [NSInputStream inputStreamWithURL:url] : nil;
+  if (bundleStream == nil) {
+    reject(@"firestore/not-found",
+           [NSString stringWithFormat:@"The bundle at '%@' could not be opened.", uri], nil);
+    return;
+  }
+
+  FIRApp *firebaseApp = [RCTConvert firAppFromString:appName];
+  FIRLoadBundleTask *task = [[RNFBFirestoreCommon getFirestoreForApp:firebaseApp
+                                                          databaseId:databaseId]
+      loadBundleStream:bundleStream
+            completion:^(FIRLoadBundleTaskProgress *progress, NSError *error) {
+              if (error) {
+                [RNFBFirestoreCommon promiseRejectFirestoreException:reject error:error];
+              } else {
+                resolve([self taskProgressToDictionary:progress]);
+              }
+            }];
+
+  __block CFAbsoluteTime lastProgressAt = 0;
+  [task addObserver:^(FIRLoadBundleTaskProgress *progress) {
+    CFAbsoluteTime now = CFAbsoluteTimeGetCurrent();
+    if (progress.state != FIRLoadBundleTaskStateInProgress ||
+        now - lastProgressAt < RNFB_FIRESTORE_LOAD_BUNDLE_PROGRESS_INTERVAL) {
+      return;
+    }
+    lastProgressAt = now;
+    [[RNFBRCTEventEmitter shared] sendEventWithName:RNFB_FIRESTORE_LOAD_BUNDLE
+                                               body:@{
+                                                 @"appName" : appName,
+                                                 @"databaseId" : databaseId,
+                                                 @"listenerId" : @((int)taskId),
+                                                 @"body" : [self taskProgressToDictionary:progress]
+                                               }];
+  }];
+}
+
 - (void)clearPersistence:(NSString *)appName
               databaseId:(NSString *)databaseId
                  resolve:(RCTPromiseResolveBlock)resolve
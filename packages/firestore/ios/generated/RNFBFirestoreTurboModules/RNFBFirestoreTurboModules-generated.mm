@@ -34,6 +34,10 @@ namespace facebook::react {
       return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "loadBundle", @selector(loadBundle:databaseId:bundle:resolve:reject:), args, count);
     }
 
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadBundleFromUri(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "loadBundleFromUri", @selector(loadBundleFromUri:databaseId:uri:taskId:resolve:reject:), args, count);
+    }
+
     static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreSpecJSI_clearPersistence(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
       return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "clearPersistence", @selector(clearPersistence:databaseId:resolve:reject:), args, count);
     }
@@ -83,6 +87,9 @@ namespace facebook::react {
         methodMap_["loadBundle"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadBundle};
         
         
+        methodMap_["loadBundleFromUri"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_loadBundleFromUri};
+        
+        
         methodMap_["clearPersistence"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboFirestoreSpecJSI_clearPersistence};
         
         
@@ -159,6 +166,50 @@ namespace facebook::react {
       return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "pipelineExecute", @selector(pipelineExecute:databaseId:pipeline:options:resolve:reject:), args, count);
     }
 
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineCacheStats(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "pipelineCacheStats", @selector(pipelineCacheStats:databaseId:resolve:reject:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotData(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, ObjectKind, "collectionSnapshotData", @selector(collectionSnapshotData:databaseId:handle:paths:options:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotRelease(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "collectionSnapshotRelease", @selector(collectionSnapshotRelease:databaseId:handle:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorOpen(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "collectionCursorOpen", @selector(collectionCursorOpen:databaseId:path:type:filters:orders:options:cursorId:cursorOptions:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorRequest(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "collectionCursorRequest", @selector(collectionCursorRequest:databaseId:cursorId:pages:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorClose(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "collectionCursorClose", @selector(collectionCursorClose:databaseId:cursorId:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamOpen(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "pipelineStreamOpen", @selector(pipelineStreamOpen:databaseId:pipeline:options:streamId:streamOptions:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamRequest(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "pipelineStreamRequest", @selector(pipelineStreamRequest:databaseId:streamId:chunks:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamClose(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "pipelineStreamClose", @selector(pipelineStreamClose:databaseId:streamId:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOnSnapshot(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "pipelineOnSnapshot", @selector(pipelineOnSnapshot:databaseId:pipeline:options:listenerId:), args, count);
+    }
+
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOffSnapshot(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, VoidKind, "pipelineOffSnapshot", @selector(pipelineOffSnapshot:databaseId:listenerId:), args, count);
+    }
+
   NativeRNFBTurboFirestoreCollectionSpecJSI::NativeRNFBTurboFirestoreCollectionSpecJSI(const ObjCTurboModule::InitParams &params)
     : ObjCTurboModule(params) {
       
@@ -185,6 +236,39 @@ namespace facebook::react {
         
         methodMap_["pipelineExecute"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineExecute};
         
+        
+        methodMap_["pipelineCacheStats"] = MethodMetadata {2, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineCacheStats};
+        
+        
+        methodMap_["collectionSnapshotData"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotData};
+        
+        
+        methodMap_["collectionSnapshotRelease"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionSnapshotRelease};
+        
+        
+        methodMap_["collectionCursorOpen"] = MethodMetadata {9, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorOpen};
+        
+        
+        methodMap_["collectionCursorRequest"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorRequest};
+        
+        
+        methodMap_["collectionCursorClose"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_collectionCursorClose};
+        
+        
+        methodMap_["pipelineStreamOpen"] = MethodMetadata {6, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamOpen};
+        
+        
+        methodMap_["pipelineStreamRequest"] = MethodMetadata {4, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamRequest};
+        
+        
+        methodMap_["pipelineStreamClose"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineStreamClose};
+        
+        
+        methodMap_["pipelineOnSnapshot"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOnSnapshot};
+        
+        
+        methodMap_["pipelineOffSnapshot"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreCollectionSpecJSI_pipelineOffSnapshot};
+        
   }
 } // namespace facebook::react
 
@@ -239,6 +323,10 @@ namespace facebook::react {
       return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "documentBatch", @selector(documentBatch:databaseId:writes:resolve:reject:), args, count);
     }
 
+    static facebook::jsi::Value __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentBulkWrite(facebook::jsi::Runtime& rt, TurboModule &turboModule, const facebook::jsi::Value* args, size_t count) {
+      return static_cast<ObjCTurboModule&>(turboModule).invokeObjCMethod(rt, PromiseKind, "documentBulkWrite", @selector(documentBulkWrite:databaseId:writes:bulkWriteId:options:resolve:reject:), args, count);
+    }
+
   NativeRNFBTurboFirestoreDocumentSpecJSI::NativeRNFBTurboFirestoreDocumentSpecJSI(const ObjCTurboModule::InitParams &params)
     : ObjCTurboModule(params) {
       
@@ -262,6 +350,9 @@ namespace facebook::react {
         
         methodMap_["documentBatch"] = MethodMetadata {3, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentBatch};
         
+        
+        methodMap_["documentBulkWrite"] = MethodMetadata {5, __hostFunction_NativeRNFBTurboFirestoreDocumentSpecJSI_documentBulkWrite};
+        
   }
 } // namespace facebook::react
 
@@ -41,6 +41,12 @@ NS_ASSUME_NONNULL_BEGIN
             bundle:(NSString *)bundle
            resolve:(RCTPromiseResolveBlock)resolve
             reject:(RCTPromiseRejectBlock)reject;
+- (void)loadBundleFromUri:(NSString *)appName
+               databaseId:(NSString *)databaseId
+                      uri:(NSString *)uri
+                   taskId:(double)taskId
+                  resolve:(RCTPromiseResolveBlock)resolve
+                   reject:(RCTPromiseRejectBlock)reject;
 - (void)clearPersistence:(NSString *)appName
               databaseId:(NSString *)databaseId
                  resolve:(RCTPromiseResolveBlock)resolve
@@ -171,6 +177,55 @@ namespace facebook::react {
                 options:(NSDictionary *)options
                 resolve:(RCTPromiseResolveBlock)resolve
                  reject:(RCTPromiseRejectBlock)reject;
+- (void)pipelineCacheStats:(NSString *)appName
+                databaseId:(NSString *)databaseId
+                   resolve:(RCTPromiseResolveBlock)resolve
+                    reject:(RCTPromiseRejectBlock)reject;
+- (NSDictionary *)collectionSnapshotData:(NSString *)appName
+                              databaseId:(NSString *)databaseId
+                                  handle:(double)handle
+                                   paths:(NSArray *)paths
+                                 options:(NSDictionary *)options;
+- (void)collectionSnapshotRelease:(NSString *)appName
+                       databaseId:(NSString *)databaseId
+                           handle:(double)handle;
+- (void)collectionCursorOpen:(NSString *)appName
+                  databaseId:(NSString *)databaseId
+                        path:(NSString *)path
+                        type:(NSString *)type
+                     filters:(NSArray *)filters
+                      orders:(NSArray *)orders
+                     options:(NSDictionary *)options
+                    cursorId:(double)cursorId
+               cursorOptions:(NSDictionary *)cursorOptions;
+- (void)collectionCursorRequest:(NSString *)appName
+                     databaseId:(NSString *)databaseId
+                       cursorId:(double)cursorId
+                          pages:(double)pages;
+- (void)collectionCursorClose:(NSString *)appName
+                   databaseId:(NSString *)databaseId
+                     cursorId:(double)cursorId;
+- (void)pipelineStreamOpen:(NSString *)appName
+                databaseId:(NSString *)databaseId
+                  pipeline:(NSDictionary *)pipeline
+                   options:(NSDictionary * _Nullable)options
+                  streamId:(double)streamId
+             streamOptions:(NSDictionary *)streamOptions;
+- (void)pipelineStreamRequest:(NSString *)appName
+                   databaseId:(NSString *)databaseId
+                     streamId:(double)streamId
+                       chunks:(double)chunks;
+- (void)pipelineStreamClose:(NSString *)appName
+                 databaseId:(NSString *)databaseId
+                   streamId:(double)streamId;
+- (void)pipelineOnSnapshot:(NSString *)appName
+                databaseId:(NSString *)databaseId
+                  pipeline:(NSDictionary *)pipeline
+                   options:(NSDictionary * _Nullable)options
+                listenerId:(double)listenerId;
+- (void)pipelineOffSnapshot:(NSString *)appName
+                 databaseId:(NSString *)databaseId
+                 listenerId:(double)listenerId;
 
 @end
 
@@ -262,6 +317,13 @@ namespace JS {
                writes:(NSArray *)writes
               resolve:(RCTPromiseResolveBlock)resolve
                reject:(RCTPromiseRejectBlock)reject;
+- (void)documentBulkWrite:(NSString *)appName
+               databaseId:(NSString *)databaseId
+                   writes:(NSArray *)writes
+              bulkWriteId:(double)bulkWriteId
+                  options:(NSDictionary *)options
+                  resolve:(RCTPromiseResolveBlock)resolve
+                   reject:(RCTPromiseRejectBlock)reject;
 
 @end
 
@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import {
+  isAndroid,
+  isNumber,
+  isObject,
+  isUndefined,
+} from '@react-native-firebase/app/dist/module/common';
+import NativeError from '@react-native-firebase/app/dist/module/internal/NativeFirebaseError';
+import { nextDocumentEventId } from './FirestoreDocumentReference';
+import WriteBatch from './FirestoreWriteBatch';
+import type { BatchWrite } from './FirestoreWriteBatch';
+import type {
+  BulkWriterOptions,
+  BulkWriterProgress,
+  BulkWriterResult,
+  DocumentData,
+  DocumentReference,
+  FirestoreError,
+  PartialWithFieldValue,
+  SetOptions,
+  WithFieldValue,
+} from './types/firestore';
+import type {
+  FirestoreInternal,
+  FirestoreSyncEventBodyInternal,
+  FirestoreSyncEventErrorInternal,
+} from './types/internal';
+
+export const MAX_BATCH_SIZE = 500;
+const DEFAULT_MAX_IN_FLIGHT = 4;
+const DEFAULT_MAX_ATTEMPTS = 5;
+const INITIAL_BACKOFF_MS = 500;
+const MAX_BACKOFF_MS = 10000;
+
+// The same codes the native bulk writer retries.
+const RETRYABLE_CODES = [
+  'aborted',
+  'deadline-exceeded',
+  'internal',
+  'resource-exhausted',
+  'unavailable',
+];
+
+type BatchSettledListener = (indices: number[], error: Error | null) => void;
+
+interface Batch {
+  indices: number[];
+  attempt: number;
+}
+
+export function isRetryable(error: unknown): boolean {
+  const code = (error as { code?: unknown } | null)?.code;
+  return typeof code === 'string' && RETRYABLE_CODES.includes(code.replace(/^firestore\//, ''));
+}
+
+export function backoffMs(attempt: number): number {
+  return Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS * 2 ** attempt);
+}
+
+/**
+ * Commits `writeCount` writes in batches with `commit`, where there is no native bulk writer. As
+ * on Android, up to `maxInFlight` batches commit at once, a batch failing with a transient error is
+ * committed again after a backoff until `maxAttempts` is reached and its writes all fail, and a
+ * batch failing otherwise is split in two until each failing write fails on its own. Resolves once
+ * every write has been passed to `onBatch`.
+ */
+export function commitInBatches(
+  writeCount: number,
+  options: Required<BulkWriterOptions>,
+  commit: (indices: number[]) => Promise<void>,
+  onBatch: BatchSettledListener,
+): Promise<void> {
+  return new Promise(resolve => {
+    const pending: Batch[] = [];
+    for (let start = 0; start < writeCount; start += options.batchSize) {
+      const indices: number[] = [];
+      for (let i = start; i < Math.min(writeCount, start + options.batchSize); i++) {
+        indices.push(i);
+      }
+      pending.push({ indices, attempt: 0 });
+    }
+    let inFlight = 0;
+    let backingOff = 0;
+
+    const onFailed = (batch: Batch, error: Error): void => {
+      if (isRetryable(error)) {
+        if (batch.attempt + 1 < options.maxAttempts) {
+          backingOff++;
+          setTimeout(() => {
+            backingOff--;
+            pending.unshift({ indices: batch.indices, attempt: batch.attempt + 1 });
+            commitPending();
+          }, backoffMs(batch.attempt));
+        } else {
+          // The error is not down to any one write, so splitting would only retry it again.
+          onBatch(batch.indices, error);
+        }
+      } else if (batch.indices.length > 1) {
+        const half = batch.indices.length >> 1;
+        pending.unshift(
+          { indices: batch.indices.slice(0, half), attempt: 0 },
+          { indices: batch.indices.slice(half), attempt: 0 },
+        );
+      } else {
+        onBatch(batch.indices, error);
+      }
+    };
+
+    const commitPending = (): void => {
+      while (inFlight < options.maxInFlight && pending.length > 0) {
+        const batch = pending.shift()!;
+        inFlight++;
+        commit(batch.indices).then(
+          () => {
+            inFlight--;
+            onBatch(batch.indices, null);
+            commitPending();
+          },
+          (error: Error) => {
+            inFlight--;
+            onFailed(batch, error);
+            commitPending();
+          },
+        );
+      }
+      if (inFlight === 0 && backingOff === 0 && pending.length === 0) {
+        resolve();
+      }
+    };
+
+    commitPending();
+  });
+}
+
+/**
+ * Writes any number of documents, in batches committed in parallel. Writes are queued with `set()`,
+ * `update()` and `delete()`, and committed by `flush()` or `close()`; unlike a write batch, each
+ * write succeeds or fails on its own. On Android the batches are committed by a native bulk writer,
+ * which reports the writes of each batch as it settles.
+ */
+export default class BulkWriter {
+  _firestore: FirestoreInternal;
+  _options: Required<BulkWriterOptions>;
+  _batch: WriteBatch;
+  _refs: DocumentReference[] = [];
+  _flushed: Promise<unknown> = Promise.resolve();
+  _closed = false;
+  _onWriteResult: ((documentRef: DocumentReference) => void) | null = null;
+  _onWriteError: ((error: FirestoreError, documentRef: DocumentReference) => void) | null = null;
+  _onProgress: ((progress: BulkWriterProgress) => void) | null = null;
+
+  constructor(firestore: FirestoreInternal, options?: BulkWriterOptions) {
+    if (!isUndefined(options) && !isObject(options)) {
+      throw new Error("firebase.firestore().bulkWriter(*) 'options' must be an object.");
+    }
+
+    const { batchSize, maxInFlight, maxAttempts } = options ?? {};
+    if (
+      !isUndefined(batchSize) &&
+      (!isNumber(batchSize) ||
+        !Number.isInteger(batchSize) ||
+        batchSize < 1 ||
+        batchSize > MAX_BATCH_SIZE)
+    ) {
+      throw new Error(
+        `firebase.firestore().bulkWriter(*) 'options.batchSize' must be an integer between 1 and ${MAX_BATCH_SIZE}.`,
+      );
+    }
+
+    if (
+      !isUndefined(maxInFlight) &&
+      (!isNumber(maxInFlight) || !Number.isInteger(maxInFlight) || maxInFlight < 1)
+    ) {
+      throw new Error(
+        "firebase.firestore().bulkWriter(*) 'options.maxInFlight' must be a positive integer.",
+      );
+    }
+
+    if (
+      !isUndefined(maxAttempts) &&
+      (!isNumber(maxAttempts) || !Number.isInteger(maxAttempts) || maxAttempts < 1)
+    ) {
+      throw new Error(
+        "firebase.firestore().bulkWriter(*) 'options.maxAttempts' must be a positive integer.",
+      );
+    }
+
+    this._firestore = firestore;
+    this._options = {
+      batchSize: batchSize ?? MAX_BATCH_SIZE,
+      maxInFlight: maxInFlight ?? DEFAULT_MAX_IN_FLIGHT,
+      maxAttempts: maxAttempts ?? DEFAULT_MAX_ATTEMPTS,
+    };
+    this._batch = new WriteBatch(firestore);
+  }
+
+  _verifyNotClosed(method: string): void {
+    if (this._closed) {
+      throw new Error(
+        `firebase.firestore().bulkWriter().${method}(*) A bulk writer can no longer be used after close() has been called.`,
+      );
+    }
+  }
+
+  set<AppModelType = DocumentData, DbModelType extends DocumentData = DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    data: WithFieldValue<AppModelType>,
+  ): this;
+  set<AppModelType = DocumentData, DbModelType extends DocumentData = DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    data: PartialWithFieldValue<AppModelType>,
+    options: SetOptions,
+  ): this;
+  set<AppModelType = DocumentData, DbModelType extends DocumentData = DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    data: Record<string, unknown>,
+    options?: SetOptions,
+  ): this {
+    this._verifyNotClosed('set');
+    this._batch.set(documentRef, data, options as SetOptions);
+    this._refs.push(documentRef as DocumentReference);
+    return this;
+  }
+
+  update<AppModelType = DocumentData, DbModelType extends DocumentData = DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    ...args: unknown[]
+  ): this {
+    this._verifyNotClosed('update');
+    this._batch.update(documentRef, ...args);
+    this._refs.push(documentRef as DocumentReference);
+    return this;
+  }
+
+  delete<AppModelType = DocumentData, DbModelType extends DocumentData = DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+  ): this {
+    this._verifyNotClosed('delete');
+    this._batch.delete(documentRef);
+    this._refs.push(documentRef as DocumentReference);
+    return this;
+  }
+
+  onWriteResult(callback: (documentRef: DocumentReference) => void): void {
+    this._onWriteResult = callback;
+  }
+
+  onWriteError(callback: (error: FirestoreError, documentRef: DocumentReference) => void): void {
+    this._onWriteError = callback;
+  }
+
+  onProgress(callback: (progress: BulkWriterProgress) => void): void {
+    this._onProgress = callback;
+  }
+
+  /**
+   * Commits the writes queued so far. Flushes run one after another, so writes queued while one
+   * runs are committed by the next.
+   */
+  flush(): Promise<BulkWriterResult> {
+    const writes = this._batch._writes;
+    const refs = this._refs;
+    this._batch = new WriteBatch(this._firestore);
+    this._refs = [];
+
+    const commit = (): Promise<BulkWriterResult> => this._commit(writes, refs);
+    const flushed = this._flushed.then(commit, commit);
+    this._flushed = flushed;
+    return flushed;
+  }
+
+  close(): Promise<BulkWriterResult> {
+    this._closed = true;
+    return this.flush();
+  }
+
+  _commit(writes: BatchWrite[], refs: DocumentReference[]): Promise<BulkWriterResult> {
+    const total = writes.length;
+    let succeeded = 0;
+    let failed = 0;
+    if (total === 0) {
+      return Promise.resolve({ succeeded, failed });
+    }
+
+    const onBatch: BatchSettledListener = (indices, error) => {
+      if (error) {
+        failed += indices.length;
+        for (const index of indices) {
+          this._onWriteError?.(error as FirestoreError, refs[index]!);
+        }
+      } else {
+        succeeded += indices.length;
+        for (const index of indices) {
+          this._onWriteResult?.(refs[index]!);
+        }
+      }
+      this._onProgress?.({ succeeded, failed, total });
+    };
+
+    const committed = isAndroid
+      ? this._commitNative(writes, onBatch)
+      : commitInBatches(
+          total,
+          this._options,
+          indices =>
+            this._firestore.native.documentBatch(
+              indices.map(index => writes[index]) as unknown as Array<Record<string, unknown>>,
+            ),
+          onBatch,
+        );
+    return committed.then(() => ({ succeeded, failed }));
+  }
+
+  _commitNative(writes: BatchWrite[], onBatch: BatchSettledListener): Promise<void> {
+    const bulkWriteId = nextDocumentEventId();
+    return new Promise((resolve, reject) => {
+      // Batch events and the result travel separately; the result counts the writes to wait for.
+      let settled = 0;
+      let expected = -1;
+      const subscription = this._firestore.emitter.addListener(
+        this._firestore.eventNameForApp(`firestore_document_sync_event:${bulkWriteId}`),
+        (event: { body: FirestoreSyncEventBodyInternal }) => {
+          const { bulkWrite } = event.body as {
+            bulkWrite?: { indices: number[]; error?: FirestoreSyncEventErrorInternal };
+          };
+          if (!bulkWrite) return;
+          settled += bulkWrite.indices.length;
+          onBatch(
+            bulkWrite.indices,
+            bulkWrite.error ? NativeError.fromEvent(bulkWrite.error, 'firestore') : null,
+          );
+          if (settled === expected) {
+            subscription.remove();
+            resolve();
+          }
+        },
+      );
+
+      this._firestore.native
+        .documentBulkWrite(
+          writes as unknown as Array<Record<string, unknown>>,
+          bulkWriteId,
+          this._options,
+        )
+        .then(
+          result => {
+            expected = result.succeeded + result.failed;
+            if (settled === expected) {
+              subscription.remove();
+              resolve();
+            }
+          },
+          error => {
+            subscription.remove();
+            reject(error);
+          },
+        );
+    });
+  }
+}
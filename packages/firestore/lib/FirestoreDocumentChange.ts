@@ -16,6 +16,7 @@
  */
 
 import DocumentSnapshot from './FirestoreDocumentSnapshot';
+import type { ServerTimestampField } from './FirestoreDocumentSnapshot';
 import type { FirestoreInternal } from './types/internal';
 import type { DocumentData, FirestoreDataConverter } from './types/firestore';
 
@@ -33,6 +34,7 @@ export interface DocumentChangeNativeData {
     dataEstimate?: unknown;
     dataPrevious?: unknown;
     dataNone?: unknown;
+    serverTimestamps?: ServerTimestampField[];
     metadata?: [boolean, boolean];
     exists?: boolean;
   };
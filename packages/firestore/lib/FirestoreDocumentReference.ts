@@ -30,11 +30,16 @@ import {
   applyFirestoreDataConverter,
   throwIfLiteSdkSnapshotListenerUnsupported,
 } from './utils';
+import { DocumentFieldDiffState } from './utils/fieldDiff';
 import { buildNativeMap, provideDocumentReferenceClass } from './utils/serialize';
 
 import type FirestoreCollectionReferenceClass from './FirestoreCollectionReference';
 import type DocumentSnapshot from './FirestoreDocumentSnapshot';
-import type { FirestoreInternal, FirestoreSyncEventBodyInternal } from './types/internal';
+import type {
+  FirestoreDocumentSnapshotDataInternal,
+  FirestoreInternal,
+  FirestoreSyncEventBodyInternal,
+} from './types/internal';
 import type { DocumentSnapshotNativeData } from './FirestoreDocumentSnapshot';
 import type FirestorePath from './FirestorePath';
 import type { DocumentData, FirestoreDataConverter, ListenSource } from './types/firestore';
@@ -77,6 +82,11 @@ export function provideDocumentSnapshotClass(
 
 let _id = 0;
 
+/** Returns a new id for document sync events, unique among all the listeners of those events. */
+export function nextDocumentEventId(): number {
+  return _id++;
+}
+
 export default class DocumentReference<
   AppModelType = DocumentData,
   DbModelType extends DocumentData = DocumentData,
@@ -199,7 +209,11 @@ export default class DocumentReference<
   onSnapshot(...args: unknown[]): () => void {
     throwIfLiteSdkSnapshotListenerUnsupported();
 
-    let snapshotListenOptions: { includeMetadataChanges?: boolean; source?: ListenSource };
+    let snapshotListenOptions: {
+      includeMetadataChanges?: boolean;
+      source?: ListenSource;
+      fieldDiffs?: boolean;
+    };
     let callback: (
       snapshot: DocumentSnapshot<AppModelType, DbModelType> | null,
       error: Error | null,
@@ -227,34 +241,54 @@ export default class DocumentReference<
       onError(error);
     }
 
-    const listenerId = _id++;
-
-    const onSnapshotSubscription = this._firestore.emitter.addListener(
-      this._firestore.eventNameForApp(`firestore_document_sync_event:${listenerId}`),
-      (event: { body: FirestoreSyncEventBodyInternal }) => {
-        if (event.body.error) {
-          handleError(NativeError.fromEvent(event.body.error, 'firestore'));
-        } else {
-          const snapshot = event.body.snapshot;
-          if (!snapshot) return;
-          const documentSnapshot = new FirestoreDocumentSnapshotClass!(
-            this._firestore,
-            snapshot,
-            this._converter as unknown as FirestoreDataConverter<DocumentData, DocumentData> | null,
-          ) as DocumentSnapshot<AppModelType, DbModelType>;
-          handleSuccess(documentSnapshot);
-        }
-      },
-    );
-
-    const unsubscribe = (): void => {
-      onSnapshotSubscription.remove();
+    // With `fieldDiffs`, a changed document arrives as a diff against the previous one and is
+    // rebuilt here. If one is missed, listen again under a new id so the document is sent in full.
+    const diffState = snapshotListenOptions.fieldDiffs
+      ? new DocumentFieldDiffState<FirestoreDocumentSnapshotDataInternal>()
+      : null;
+    let listenerId = -1;
+    let onSnapshotSubscription: { remove(): void } | null = null;
+
+    const stopListening = (): void => {
+      onSnapshotSubscription?.remove();
+      onSnapshotSubscription = null;
       this._firestore.native.documentOffSnapshot(listenerId);
     };
 
-    this._firestore.native.documentOnSnapshot(this.path, listenerId, snapshotListenOptions);
+    const listen = (): void => {
+      listenerId = _id++;
+      onSnapshotSubscription = this._firestore.emitter.addListener(
+        this._firestore.eventNameForApp(`firestore_document_sync_event:${listenerId}`),
+        (event: { body: FirestoreSyncEventBodyInternal }) => {
+          if (event.body.error) {
+            handleError(NativeError.fromEvent(event.body.error, 'firestore'));
+          } else {
+            if (!event.body.snapshot) return;
+            const snapshot = diffState ? diffState.apply(event.body.snapshot) : event.body.snapshot;
+            if (!snapshot) {
+              stopListening();
+              listen();
+              return;
+            }
+            const documentSnapshot = new FirestoreDocumentSnapshotClass!(
+              this._firestore,
+              snapshot,
+              this._converter as unknown as FirestoreDataConverter<
+                DocumentData,
+                DocumentData
+              > | null,
+            ) as DocumentSnapshot<AppModelType, DbModelType>;
+            handleSuccess(documentSnapshot);
+          }
+        },
+      );
+
+      this._firestore.native.documentOnSnapshot(this.path, listenerId, snapshotListenOptions);
+    };
+
+    listen();
 
-    return unsubscribe;
+    return stopListening;
   }
 
   set(data: unknown, options?: unknown): Promise<void> {
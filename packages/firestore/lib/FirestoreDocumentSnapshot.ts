@@ -22,7 +22,8 @@ import FirestorePath from './FirestorePath';
 import SnapshotMetadata from './FirestoreSnapshotMetadata';
 import type { SnapshotOptions } from './types/firestore';
 import { extractFieldPathData } from './utils';
-import { parseNativeMap } from './utils/serialize';
+import { parseNativeData, parseNativeMap } from './utils/serialize';
+import type { LazySnapshotData } from './utils/lazySnapshot';
 import type {
   FirestoreInternal,
   ConverterWithFromFirestoreInternal,
@@ -41,20 +42,27 @@ export interface DocumentSnapshotNativeData {
   dataEstimate?: unknown;
   dataPrevious?: unknown;
   dataNone?: unknown;
+  /** Sent by Android instead of the `data*` variants, see `_serverTimestampVariant`. */
+  serverTimestamps?: ServerTimestampField[];
   metadata?: [boolean, boolean];
   exists?: boolean;
+  lazy?: LazySnapshotData;
 }
 
+/** A pending server timestamp field: its path, then its type map for each variant. */
+export type ServerTimestampField = [string[], unknown, unknown, unknown];
+
+type DataKey = 'data' | 'dataEstimate' | 'dataPrevious' | 'dataNone';
+
+const SERVER_TIMESTAMP_VARIANTS: DataKey[] = ['dataEstimate', 'dataPrevious', 'dataNone'];
+
 export default class DocumentSnapshot<
   AppModelType = DocumentData,
   DbModelType extends DocumentData = DocumentData,
 > {
   _firestore: FirestoreInternal;
   _nativeData: DocumentSnapshotNativeData;
-  _data: Record<string, unknown> | undefined;
-  _dataEstimate: Record<string, unknown> | undefined;
-  _dataPrevious: Record<string, unknown> | undefined;
-  _dataNone: Record<string, unknown> | undefined;
+  _parsedData: Partial<Record<DataKey, Record<string, unknown> | undefined>> = {};
   _metadata: SnapshotMetadata;
   _ref: DocumentReference<AppModelType, DbModelType>;
   _exists: boolean;
@@ -68,23 +76,6 @@ export default class DocumentSnapshot<
     this._firestore = firestore;
     this._nativeData = nativeData;
     this._converter = converter;
-    this._data = parseNativeMap(firestore, nativeData.data as Record<string, unknown> | undefined);
-    // The native side only sends `dataEstimate`/`dataPrevious`/`dataNone` when the
-    // document has pending writes (these variants are otherwise identical to `data`).
-    // Avoid the extra parse work entirely for the common settled-document case rather
-    // than relying on `parseNativeMap`'s own `undefined` short-circuit.
-    this._dataEstimate =
-      nativeData.dataEstimate === undefined
-        ? undefined
-        : parseNativeMap(firestore, nativeData.dataEstimate as Record<string, unknown>);
-    this._dataPrevious =
-      nativeData.dataPrevious === undefined
-        ? undefined
-        : parseNativeMap(firestore, nativeData.dataPrevious as Record<string, unknown>);
-    this._dataNone =
-      nativeData.dataNone === undefined
-        ? undefined
-        : parseNativeMap(firestore, nativeData.dataNone as Record<string, unknown>);
     this._metadata = new SnapshotMetadata(nativeData.metadata ?? [false, false]);
     this._ref = new DocumentReference<AppModelType, DbModelType>(
       firestore,
@@ -94,6 +85,71 @@ export default class DocumentSnapshot<
     this._exists = nativeData.exists ?? false;
   }
 
+  // Data is parsed when first read, so documents that are never read cost nothing (and, for binary
+  // or lazy snapshots, are never decoded or fetched from native).
+  get _data(): Record<string, unknown> | undefined {
+    return this._parse('data');
+  }
+
+  // The native side only sends `dataEstimate`/`dataPrevious`/`dataNone` (or, on Android, the
+  // `serverTimestamps` fields they differ in) when the document has pending writes (these
+  // variants are otherwise identical to `data`).
+  get _dataEstimate(): Record<string, unknown> | undefined {
+    return this._parse('dataEstimate');
+  }
+
+  get _dataPrevious(): Record<string, unknown> | undefined {
+    return this._parse('dataPrevious');
+  }
+
+  get _dataNone(): Record<string, unknown> | undefined {
+    return this._parse('dataNone');
+  }
+
+  _parse(key: DataKey): Record<string, unknown> | undefined {
+    if (!(key in this._parsedData)) {
+      const nativeMap = this._nativeData[key] as Record<string, unknown> | undefined;
+      if (nativeMap !== undefined) {
+        this._parsedData[key] = parseNativeMap(this._firestore, nativeMap);
+      } else {
+        this._parsedData[key] = key === 'data' ? undefined : this._serverTimestampVariant(key);
+      }
+    }
+    return this._parsedData[key];
+  }
+
+  // Builds a variant from `data` with its pending server timestamp fields replaced, copying only
+  // the maps on the way to them; the rest of the tree is shared with `data`.
+  _serverTimestampVariant(key: DataKey): Record<string, unknown> | undefined {
+    const fields = this._nativeData.serverTimestamps;
+    const data = this._data;
+    if (fields === undefined || data === undefined) {
+      return undefined;
+    }
+
+    const index = SERVER_TIMESTAMP_VARIANTS.indexOf(key) + 1;
+    const variant = { ...data };
+    const copied = new Set<object>([variant]);
+    for (const field of fields) {
+      const fieldPath = field[0];
+      let parent = variant;
+      for (let i = 0; i < fieldPath.length - 1; i++) {
+        let child = parent[fieldPath[i]!] as Record<string, unknown>;
+        if (!copied.has(child)) {
+          child = { ...child };
+          copied.add(child);
+          parent[fieldPath[i]!] = child;
+        }
+        parent = child;
+      }
+      parent[fieldPath[fieldPath.length - 1]!] = parseNativeData(
+        this._firestore,
+        field[index] as [number, unknown?],
+      );
+    }
+    return variant;
+  }
+
   _dataForOptions(options?: SnapshotOptions): Record<string, unknown> | undefined {
     // Older native payloads only include `data`; fall back to it if an option-specific map is absent.
     switch (options?.serverTimestamps) {
@@ -165,6 +221,21 @@ export default class DocumentSnapshot<
       path = fieldPath;
     }
 
+    // A lazy document whose data was not read yet only reads this field from native.
+    const lazy = this._nativeData.lazy;
+    if (lazy && this._exists && !lazy.isLoaded(this._nativeData.path)) {
+      const nativeValue = lazy.field(
+        this._nativeData.path,
+        path._segments,
+        options?.serverTimestamps,
+      );
+      return (
+        nativeValue === undefined
+          ? undefined
+          : parseNativeData(this._firestore, nativeValue as [number, unknown?])
+      ) as DocumentFieldValueInternal;
+    }
+
     return extractFieldPathData(
       this._dataForOptions(options),
       path._segments,
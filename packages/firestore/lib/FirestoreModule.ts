@@ -28,6 +28,7 @@ import {
 import type { ReactNativeFirebase } from '@react-native-firebase/app';
 import { FirebaseModule, type ModuleConfig } from '@react-native-firebase/app/dist/module/internal';
 import { setReactNativeModule } from '@react-native-firebase/app/dist/module/internal/nativeModule';
+import FirestoreBulkWriter from './FirestoreBulkWriter';
 import CollectionReferenceClass from './FirestoreCollectionReference';
 import DocumentReferenceClass from './FirestoreDocumentReference';
 import FirestorePath from './FirestorePath';
@@ -38,7 +39,8 @@ import FirestoreStatics from './FirestoreStatics';
 import FirestoreTransactionHandler from './FirestoreTransactionHandler';
 import FirestoreWriteBatch from './FirestoreWriteBatch';
 import { LoadBundleTask } from './LoadBundleTask';
-import type { LoadBundleTaskProgress } from './types/firestore';
+import { syncEventListenerIds } from './utils';
+import type { BulkWriterOptions, LoadBundleTaskProgress } from './types/firestore';
 import type { FirestoreInternal } from './types/internal';
 import fallBackModule from './web/RNFBFirestoreModule';
 
@@ -56,6 +58,7 @@ const nativeEvents = [
   'firestore_document_sync_event',
   'firestore_transaction_event',
   'firestore_snapshots_in_sync_event',
+  'firestore_load_bundle_event',
 ] as const;
 
 export const config: ModuleConfig = {
@@ -73,7 +76,20 @@ type FirestoreModuleSettingsState = {
 };
 
 /** Sync event payload from emitter when fanning out collection/document/snapshots-in-sync events. */
-type FirestoreSyncEventWithListenerId = { listenerId: string | number };
+type FirestoreSyncEventWithListenerId = {
+  listenerId: string | number;
+  listenerIds?: (string | number)[];
+};
+
+let _loadBundleTaskId = 0;
+
+/** Returns a `file://` URI for an absolute path, or the path itself if it already is one. */
+function fileUri(path: string): string {
+  if (path.startsWith('file://')) {
+    return path;
+  }
+  return `file://${path.split('/').map(encodeURIComponent).join('/')}`;
+}
 
 export class FirebaseFirestoreModule extends FirebaseModule<'NativeRNFBTurboFirestore'> {
   type = 'firestore' as const;
@@ -102,27 +118,40 @@ export class FirebaseFirestoreModule extends FirebaseModule<'NativeRNFBTurboFire
       this as unknown as FirestoreInternal,
     );
 
-    // Fan out native events
+    // Fan out native events; a snapshot shared by several listeners of the same query or document
+    // is sent once for all of them
     this.emitter.addListener(this.eventNameForApp('firestore_collection_sync_event'), event => {
       const syncEvent = event as FirestoreSyncEventWithListenerId;
-      this.emitter.emit(
-        this.eventNameForApp(`firestore_collection_sync_event:${syncEvent.listenerId}`),
-        event,
-      );
+      for (const listenerId of syncEventListenerIds(syncEvent)) {
+        this.emitter.emit(
+          this.eventNameForApp(`firestore_collection_sync_event:${listenerId}`),
+          event,
+        );
+      }
     });
 
     this.emitter.addListener(this.eventNameForApp('firestore_document_sync_event'), event => {
+      const syncEvent = event as FirestoreSyncEventWithListenerId;
+      for (const listenerId of syncEventListenerIds(syncEvent)) {
+        this.emitter.emit(
+          this.eventNameForApp(`firestore_document_sync_event:${listenerId}`),
+          event,
+        );
+      }
+    });
+
+    this.emitter.addListener(this.eventNameForApp('firestore_snapshots_in_sync_event'), event => {
       const syncEvent = event as FirestoreSyncEventWithListenerId;
       this.emitter.emit(
-        this.eventNameForApp(`firestore_document_sync_event:${syncEvent.listenerId}`),
+        this.eventNameForApp(`firestore_snapshots_in_sync_event:${syncEvent.listenerId}`),
         event,
       );
     });
 
-    this.emitter.addListener(this.eventNameForApp('firestore_snapshots_in_sync_event'), event => {
+    this.emitter.addListener(this.eventNameForApp('firestore_load_bundle_event'), event => {
       const syncEvent = event as FirestoreSyncEventWithListenerId;
       this.emitter.emit(
-        this.eventNameForApp(`firestore_snapshots_in_sync_event:${syncEvent.listenerId}`),
+        this.eventNameForApp(`firestore_load_bundle_event:${syncEvent.listenerId}`),
         event,
       );
     });
@@ -154,6 +183,10 @@ export class FirebaseFirestoreModule extends FirebaseModule<'NativeRNFBTurboFire
     return new FirestoreWriteBatch(this as unknown as FirestoreInternal);
   }
 
+  bulkWriter(options?: BulkWriterOptions): FirestoreBulkWriter {
+    return new FirestoreBulkWriter(this as unknown as FirestoreInternal, options);
+  }
+
   loadBundle(bundle: string): LoadBundleTask {
     if (!isString(bundle)) {
       throw new Error("firebase.firestore().loadBundle(*) 'bundle' must be a string value.");
@@ -171,6 +204,45 @@ export class FirebaseFirestoreModule extends FirebaseModule<'NativeRNFBTurboFire
     return task;
   }
 
+  loadBundleFromFile(path: string): LoadBundleTask {
+    if (!isString(path) || !(path.startsWith('/') || path.startsWith('file://'))) {
+      throw new Error(
+        "firebase.firestore().loadBundleFromFile(*) 'path' must be an absolute path or a file:// URI.",
+      );
+    }
+
+    return this._loadBundleFromUri(fileUri(path));
+  }
+
+  loadBundleFromUri(uri: string): LoadBundleTask {
+    if (!isString(uri) || uri === '') {
+      throw new Error(
+        "firebase.firestore().loadBundleFromUri(*) 'uri' must be a non-empty string.",
+      );
+    }
+
+    return this._loadBundleFromUri(uri);
+  }
+
+  /**
+   * Loads a bundle that native reads from the URI as a stream, so it never passes through JS.
+   * Progress arrives in load bundle events under the task id, at most a few times per second.
+   */
+  _loadBundleFromUri(uri: string): LoadBundleTask {
+    const taskId = _loadBundleTaskId++;
+    const task = new LoadBundleTask();
+    const subscription = this.emitter.addListener(
+      this.eventNameForApp(`firestore_load_bundle_event:${taskId}`),
+      (event: { body: LoadBundleTaskProgress }) => task._updateProgress(event.body),
+    );
+    this.native
+      .loadBundleFromUri(uri, taskId)
+      .then((progress: LoadBundleTaskProgress) => task._completeWith(progress))
+      .catch((error: Error) => task._failWith(error))
+      .finally(() => subscription.remove());
+    return task;
+  }
+
   namedQuery(queryName: string): QueryClass | null {
     if (!isString(queryName)) {
       throw new Error("firebase.firestore().namedQuery(*) 'queryName' must be a string value.");
@@ -16,8 +16,12 @@
  */
 
 import {
+  isAndroid,
   isArray,
+  isBoolean,
+  isFunction,
   isNull,
+  isNumber,
   isObject,
   isString,
   isUndefined,
@@ -28,12 +32,21 @@ import DocumentSnapshot from './FirestoreDocumentSnapshot';
 import { FieldPath, fromDotSeparatedString } from './FieldPath';
 import { _Filter, generateFilters } from './FirestoreFilter';
 import QueryModifiers from './FirestoreQueryModifiers';
-import QuerySnapshot, { type QuerySnapshotNativeData } from './FirestoreQuerySnapshot';
+import QueryPageReader, { GetQueryPager, NativeQueryPager } from './FirestoreQueryPageReader';
+import QuerySnapshot, {
+  QuerySnapshotDeltaState,
+  type QuerySnapshotDeltaNativeData,
+  type QuerySnapshotNativeData,
+} from './FirestoreQuerySnapshot';
 import {
   parseSnapshotArgs,
   throwIfLiteSdkSnapshotListenerUnsupported,
   validateWithConverter,
 } from './utils';
+import {
+  ChunkedSnapshotReceiver,
+  type QuerySnapshotChunkNativeData,
+} from './utils/chunkedSnapshot';
 
 import type FirestorePath from './FirestorePath';
 import type {
@@ -45,12 +58,21 @@ import type {
 import type {
   FirestoreInternal,
   DocumentFieldValueInternal,
+  FirestoreQueryGetOptionsInternal,
   FirestoreSyncEventErrorInternal,
   FirestoreSyncEventBodyInternal,
 } from './types/internal';
 
 let _id = 0;
 
+/**
+ * Returns a new id for collection sync events, unique among all the listeners and cursors of those
+ * events.
+ */
+export function nextCollectionEventId(): number {
+  return _id++;
+}
+
 /** @internal */
 export class Query<
   AppModelType = DocumentData,
@@ -230,6 +252,9 @@ export class Query<
 
   get(options?: {
     source?: 'default' | 'server' | 'cache';
+    lazyData?: boolean;
+    chunkSize?: number;
+    onChunk?: (documents: DocumentSnapshot<AppModelType, DbModelType>[]) => void;
   }): Promise<QuerySnapshot<AppModelType, DbModelType>> {
     if (!isUndefined(options) && !isObject(options)) {
       throw new Error(
@@ -249,47 +274,189 @@ export class Query<
       );
     }
 
-    if (!isUndefined(this._queryName)) {
-      return this._firestore.native
-        .namedQueryGet(
+    if (options && !isUndefined(options.lazyData) && !isBoolean(options.lazyData)) {
+      throw new Error(
+        "firebase.firestore().collection().get(*) 'options' GetOptions.lazyData must be a boolean value.",
+      );
+    }
+
+    if (
+      options &&
+      !isUndefined(options.chunkSize) &&
+      (!isNumber(options.chunkSize) ||
+        !Number.isInteger(options.chunkSize) ||
+        options.chunkSize < 1)
+    ) {
+      throw new Error(
+        "firebase.firestore().collection().get(*) 'options' GetOptions.chunkSize must be a positive integer.",
+      );
+    }
+
+    if (options && !isUndefined(options.onChunk) && !isFunction(options.onChunk)) {
+      throw new Error(
+        "firebase.firestore().collection().get(*) 'options' GetOptions.onChunk must be a function.",
+      );
+    }
+
+    if (options && options.lazyData && !isUndefined(options.chunkSize)) {
+      throw new Error(
+        "firebase.firestore().collection().get(*) 'options' GetOptions.lazyData and GetOptions.chunkSize cannot be used together.",
+      );
+    }
+
+    if (isUndefined(this._queryName)) {
+      this._modifiers.validatelimitToLast();
+    }
+
+    let getOptions: FirestoreQueryGetOptionsInternal | undefined = options;
+    let chunks: ChunkedSnapshotReceiver | null = null;
+    let chunkSubscription: { remove(): void } | null = null;
+    if (options && (!isUndefined(options.chunkSize) || !isUndefined(options.onChunk))) {
+      const { onChunk, ...nativeOptions } = options;
+      getOptions = nativeOptions;
+      chunks = new ChunkedSnapshotReceiver(
+        onChunk &&
+          (documents =>
+            onChunk(
+              documents.map(
+                document =>
+                  new DocumentSnapshot<AppModelType, DbModelType>(
+                    this._firestore,
+                    document,
+                    this._converter,
+                  ),
+              ),
+            )),
+      );
+
+      // Android sends the documents in chunk events, listened to like snapshots under an id.
+      if (!isUndefined(options.chunkSize)) {
+        const receiver = chunks;
+        const listenerId = nextCollectionEventId();
+        chunkSubscription = this._firestore.emitter.addListener(
+          this._firestore.eventNameForApp(`firestore_collection_sync_event:${listenerId}`),
+          (event: { body: { chunk?: QuerySnapshotChunkNativeData } }) => {
+            if (event.body.chunk) {
+              receiver.add(event.body.chunk);
+            }
+          },
+        );
+        getOptions = { ...nativeOptions, chunkListenerId: listenerId };
+      }
+    }
+
+    const get = !isUndefined(this._queryName)
+      ? this._firestore.native.namedQueryGet(
           this._queryName,
           this._modifiers.type,
           this._modifiers.filters,
           this._modifiers.orders,
           this._modifiers.options,
-          options,
+          getOptions,
         )
-        .then(
-          (data: unknown) =>
-            new QuerySnapshot(
-              this._firestore,
-              this,
-              data as QuerySnapshotNativeData,
-              this._converter,
-            ),
+      : this._firestore.native.collectionGet(
+          this._collectionPath.relativeName,
+          this._modifiers.type,
+          this._modifiers.filters,
+          this._modifiers.orders,
+          this._modifiers.options,
+          getOptions,
         );
+
+    return get
+      .then(async (data: unknown) => {
+        const nativeData = chunks
+          ? await chunks.complete(data as object)
+          : (data as QuerySnapshotNativeData);
+        return new QuerySnapshot(this._firestore, this, nativeData, this._converter);
+      })
+      .finally(() => chunkSubscription?.remove());
+  }
+
+  getPages(options: {
+    pageSize: number;
+    prefetch?: number;
+    source?: 'default' | 'server' | 'cache';
+  }): QueryPageReader<AppModelType, DbModelType> {
+    if (!isObject(options)) {
+      throw new Error("firebase.firestore().collection().getPages(*) 'options' must be an object.");
     }
 
-    this._modifiers.validatelimitToLast();
+    if (
+      !isNumber(options.pageSize) ||
+      !Number.isInteger(options.pageSize) ||
+      options.pageSize < 1
+    ) {
+      throw new Error(
+        "firebase.firestore().collection().getPages(*) 'options.pageSize' must be a positive integer.",
+      );
+    }
 
-    return this._firestore.native
-      .collectionGet(
-        this._collectionPath.relativeName,
-        this._modifiers.type,
-        this._modifiers.filters,
-        this._modifiers.orders,
-        this._modifiers.options,
-        options,
-      )
-      .then(
-        (data: unknown) =>
-          new QuerySnapshot(
-            this._firestore,
-            this,
-            data as QuerySnapshotNativeData,
-            this._converter,
-          ),
+    if (
+      !isUndefined(options.prefetch) &&
+      (!isNumber(options.prefetch) || !Number.isInteger(options.prefetch) || options.prefetch < 0)
+    ) {
+      throw new Error(
+        "firebase.firestore().collection().getPages(*) 'options.prefetch' must be a non-negative integer.",
       );
+    }
+
+    if (
+      options.source &&
+      options.source !== 'default' &&
+      options.source !== 'server' &&
+      options.source !== 'cache'
+    ) {
+      throw new Error(
+        "firebase.firestore().collection().getPages(*) 'options.source' must be one of 'default', 'server' or 'cache'.",
+      );
+    }
+
+    if (this._modifiers._limit || this._modifiers._limitToLast) {
+      throw new Error(
+        "firebase.firestore().collection().getPages(*) cannot read pages of a query with limit() or limitToLast(); use 'options.pageSize' instead.",
+      );
+    }
+
+    const { pageSize, source } = options;
+    const prefetch = isUndefined(options.prefetch) ? 1 : options.prefetch;
+
+    // Android keeps the cursor in native; elsewhere, and for named queries, each page is a get.
+    if (isAndroid && isUndefined(this._queryName)) {
+      const cursorId = nextCollectionEventId();
+      return new QueryPageReader(
+        new NativeQueryPager(
+          this._firestore,
+          cursorId,
+          (nativeData: QuerySnapshotNativeData) =>
+            new QuerySnapshot(this._firestore, this, nativeData, this._converter),
+          () =>
+            this._firestore.native.collectionCursorOpen(
+              this._collectionPath.relativeName,
+              this._modifiers.type,
+              this._modifiers.filters,
+              this._modifiers.orders,
+              this._modifiers.options,
+              cursorId,
+              source ? { pageSize, prefetch, source } : { pageSize, prefetch },
+            ),
+        ),
+      );
+    }
+
+    return new QueryPageReader(
+      new GetQueryPager<QuerySnapshot<AppModelType, DbModelType>>(
+        after => {
+          let query = this.limit(pageSize);
+          if (after) {
+            query = query.startAfter(after.docs[after.docs.length - 1]!);
+          }
+          return query.get({ source });
+        },
+        pageSize,
+        prefetch,
+      ),
+    );
   }
 
   isEqual(other: Query<AppModelType, DbModelType>): boolean {
@@ -361,7 +528,12 @@ export class Query<
   onSnapshot(...args: unknown[]): () => void {
     throwIfLiteSdkSnapshotListenerUnsupported();
 
-    let snapshotListenOptions: { includeMetadataChanges?: boolean; source?: ListenSource };
+    let snapshotListenOptions: {
+      includeMetadataChanges?: boolean;
+      source?: ListenSource;
+      deltaSnapshots?: boolean;
+      fieldDiffs?: boolean;
+    };
     let callback: (
       snapshot: QuerySnapshot<AppModelType, DbModelType> | null,
       error: Error | null,
@@ -391,52 +563,82 @@ export class Query<
       onError(error);
     }
 
-    const listenerId = _id++;
-
-    const onSnapshotSubscription = this._firestore.emitter.addListener(
-      this._firestore.eventNameForApp(`firestore_collection_sync_event:${listenerId}`),
-      (event: { body: FirestoreSyncEventBodyInternal }) => {
-        const body = event.body as {
-          error?: FirestoreSyncEventErrorInternal;
-          snapshot?: QuerySnapshotNativeData;
-        };
-        if (body.error) {
-          handleError(NativeError.fromEvent(body.error, 'firestore'));
-        } else {
-          const snapshot = body.snapshot;
-          if (!snapshot) return;
-          const querySnapshot = new QuerySnapshot(this._firestore, this, snapshot, this._converter);
-          handleSuccess(querySnapshot);
-        }
-      },
-    );
-
-    const unsubscribe = (): void => {
-      onSnapshotSubscription.remove();
+    // With `deltaSnapshots` (implied by `fieldDiffs`), only the first snapshot carries every
+    // document; later ones are rebuilt here from their document changes. If one is missed, listen
+    // again under a new id so the next snapshot is a full one.
+    const deltaState =
+      snapshotListenOptions.deltaSnapshots || snapshotListenOptions.fieldDiffs
+        ? new QuerySnapshotDeltaState()
+        : null;
+    let listenerId = -1;
+    let onSnapshotSubscription: { remove(): void } | null = null;
+
+    const stopListening = (): void => {
+      onSnapshotSubscription?.remove();
+      onSnapshotSubscription = null;
       this._firestore.native.collectionOffSnapshot(listenerId);
     };
 
-    if (!isUndefined(this._queryName)) {
-      this._firestore.native.namedQueryOnSnapshot(
-        this._queryName,
-        this._modifiers.type,
-        this._modifiers.filters,
-        this._modifiers.orders,
-        this._modifiers.options,
-        listenerId,
-        snapshotListenOptions,
-      );
-    } else {
-      this._firestore.native.collectionOnSnapshot(
-        this._collectionPath.relativeName,
-        this._modifiers.type,
-        this._modifiers.filters,
-        this._modifiers.orders,
-        this._modifiers.options,
-        listenerId,
-        snapshotListenOptions,
+    const listen = (): void => {
+      listenerId = nextCollectionEventId();
+      onSnapshotSubscription = this._firestore.emitter.addListener(
+        this._firestore.eventNameForApp(`firestore_collection_sync_event:${listenerId}`),
+        (event: { body: FirestoreSyncEventBodyInternal }) => {
+          const body = event.body as {
+            error?: FirestoreSyncEventErrorInternal;
+            snapshot?: QuerySnapshotDeltaNativeData;
+          };
+          if (body.error) {
+            handleError(NativeError.fromEvent(body.error, 'firestore'));
+          } else {
+            if (!body.snapshot) return;
+            const snapshot = deltaState
+              ? deltaState.apply(body.snapshot)
+              : (body.snapshot as QuerySnapshotNativeData);
+            if (!snapshot) {
+              stopListening();
+              listen();
+              return;
+            }
+            const querySnapshot = new QuerySnapshot(
+              this._firestore,
+              this,
+              snapshot,
+              this._converter,
+            );
+            handleSuccess(querySnapshot);
+          }
+        },
       );
-    }
+
+      if (!isUndefined(this._queryName)) {
+        this._firestore.native.namedQueryOnSnapshot(
+          this._queryName,
+          this._modifiers.type,
+          this._modifiers.filters,
+          this._modifiers.orders,
+          this._modifiers.options,
+          listenerId,
+          snapshotListenOptions,
+        );
+      } else {
+        this._firestore.native.collectionOnSnapshot(
+          this._collectionPath.relativeName,
+          this._modifiers.type,
+          this._modifiers.filters,
+          this._modifiers.orders,
+          this._modifiers.options,
+          listenerId,
+          snapshotListenOptions,
+        );
+      }
+    };
+
+    listen();
+
+    const unsubscribe = (): void => {
+      stopListening();
+    };
 
     return unsubscribe;
   }
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import NativeError from '@react-native-firebase/app/dist/module/internal/NativeFirebaseError';
+
+import type QuerySnapshot from './FirestoreQuerySnapshot';
+import type { QuerySnapshotNativeData } from './FirestoreQuerySnapshot';
+import type { DocumentData } from './types/firestore';
+import type {
+  FirestoreInternal,
+  FirestoreSyncEventBodyInternal,
+  FirestoreSyncEventErrorInternal,
+} from './types/internal';
+
+/** One page read by a pager; `done` is set on the last page. */
+export interface QueryPage<T> {
+  page: T;
+  done: boolean;
+}
+
+/** Reads the pages of a query in order. `next()` resolves with `null` once closed. */
+export interface QueryPager<T> {
+  next(): Promise<QueryPage<T> | null>;
+  close(): void;
+}
+
+/** The native calls that request pages from, and close, a native cursor. */
+export interface NativeCursor {
+  request(pages: number): void;
+  close(): void;
+}
+
+/**
+ * Reads pages from a native cursor (Android). The cursor keeps the last document of each page to
+ * start the next one, and fetches pages ahead of the requests; each `next()` requests one page,
+ * which arrives in a collection sync event under the cursor id.
+ */
+export class NativeQueryPager<T, N = QuerySnapshotNativeData> implements QueryPager<T> {
+  _firestore: FirestoreInternal;
+  _cursorId: number;
+  _toPage: (nativeData: N) => T;
+  _cursor: NativeCursor;
+  _subscription: { remove(): void } | null;
+  _pages: QueryPage<T>[] = [];
+  _waiting: Array<{
+    resolve: (page: QueryPage<T> | null) => void;
+    reject: (error: Error) => void;
+  }> = [];
+  _error: Error | null = null;
+  _finished = false;
+  _closed = false;
+
+  /**
+   * @param toPage builds a page from the snapshot data of a page event
+   * @param open opens the native cursor; called once the cursor's events are listened to
+   * @param cursor the cursor's native calls; defaults to those of a query cursor
+   */
+  constructor(
+    firestore: FirestoreInternal,
+    cursorId: number,
+    toPage: (nativeData: N) => T,
+    open: () => void,
+    cursor: NativeCursor = {
+      request: pages => firestore.native.collectionCursorRequest(cursorId, pages),
+      close: () => firestore.native.collectionCursorClose(cursorId),
+    },
+  ) {
+    this._firestore = firestore;
+    this._cursorId = cursorId;
+    this._toPage = toPage;
+    this._cursor = cursor;
+    this._subscription = firestore.emitter.addListener(
+      firestore.eventNameForApp(`firestore_collection_sync_event:${cursorId}`),
+      (event: { body: FirestoreSyncEventBodyInternal }) => this._onEvent(event.body),
+    );
+    open();
+  }
+
+  _onEvent(body: FirestoreSyncEventBodyInternal): void {
+    const { error, page, done } = body as {
+      error?: FirestoreSyncEventErrorInternal;
+      page?: N;
+      done?: boolean;
+    };
+    if (error) {
+      this._error = NativeError.fromEvent(error, 'firestore');
+      for (const waiting of this._waiting.splice(0)) {
+        waiting.reject(this._error);
+      }
+      return;
+    }
+    if (!page) return;
+
+    const queryPage = { page: this._toPage(page), done: done === true };
+    this._finished = queryPage.done;
+    const waiting = this._waiting.shift();
+    if (waiting) {
+      waiting.resolve(queryPage);
+    } else {
+      this._pages.push(queryPage);
+    }
+  }
+
+  next(): Promise<QueryPage<T> | null> {
+    const page = this._pages.shift();
+    if (page) {
+      return Promise.resolve(page);
+    }
+    if (this._error) {
+      return Promise.reject(this._error);
+    }
+    if (this._closed || this._finished) {
+      return Promise.resolve(null);
+    }
+    return new Promise((resolve, reject) => {
+      this._waiting.push({ resolve, reject });
+      this._cursor.request(1);
+    });
+  }
+
+  close(): void {
+    if (this._closed) return;
+    this._closed = true;
+    this._subscription?.remove();
+    this._subscription = null;
+    this._cursor.close();
+    for (const waiting of this._waiting.splice(0)) {
+      waiting.resolve(null);
+    }
+  }
+}
+
+/**
+ * Reads pages with one `startAfter` get per page, where there is no native cursor. The gets are
+ * chained, each starting once the page before it has arrived, and up to `prefetch` of them run
+ * ahead of `next()`.
+ */
+export class GetQueryPager<T extends { size: number }> implements QueryPager<T> {
+  _getPage: (after: T | null) => Promise<T>;
+  _pageSize: number;
+  _prefetch: number;
+  _ahead: Promise<QueryPage<T> | null>[] = [];
+  _tail: Promise<QueryPage<T> | null> | null = null;
+  _closed = false;
+
+  /**
+   * @param getPage gets the page that starts after the given page, or the first page for `null`
+   */
+  constructor(getPage: (after: T | null) => Promise<T>, pageSize: number, prefetch: number) {
+    this._getPage = getPage;
+    this._pageSize = pageSize;
+    this._prefetch = prefetch;
+  }
+
+  _fill(count: number): void {
+    while (this._ahead.length < count) {
+      const previous = this._tail;
+      const read = (after: T | null): Promise<QueryPage<T>> =>
+        this._getPage(after).then(page => ({ page, done: page.size < this._pageSize }));
+      const next = previous
+        ? previous.then(result =>
+            this._closed || !result || result.done ? null : read(result.page),
+          )
+        : read(null);
+      // Only surfaces through next(); a failed prefetch must not be reported as unhandled.
+      next.catch(() => {});
+      this._tail = next;
+      this._ahead.push(next);
+    }
+  }
+
+  next(): Promise<QueryPage<T> | null> {
+    if (this._closed) {
+      return Promise.resolve(null);
+    }
+    this._fill(1);
+    const next = this._ahead.shift()!;
+    this._fill(this._prefetch);
+    return next;
+  }
+
+  close(): void {
+    this._closed = true;
+    this._ahead = [];
+  }
+}
+
+/**
+ * Reads the pages of a query as snapshots, with `next()` or `for await`. The reader closes itself
+ * after the last page or a failed read; close it to stop early.
+ */
+export default class QueryPageReader<
+  AppModelType = DocumentData,
+  DbModelType extends DocumentData = DocumentData,
+> implements AsyncIterableIterator<QuerySnapshot<AppModelType, DbModelType>> {
+  _pager: QueryPager<QuerySnapshot<AppModelType, DbModelType>>;
+  _pagesRead = 0;
+  _closed = false;
+
+  constructor(pager: QueryPager<QuerySnapshot<AppModelType, DbModelType>>) {
+    this._pager = pager;
+  }
+
+  async next(): Promise<IteratorResult<QuerySnapshot<AppModelType, DbModelType>, undefined>> {
+    if (this._closed) {
+      return { done: true, value: undefined };
+    }
+
+    let result: QueryPage<QuerySnapshot<AppModelType, DbModelType>> | null;
+    try {
+      result = await this._pager.next();
+    } catch (e) {
+      this.close();
+      throw e;
+    }
+    if (result?.done) {
+      this.close();
+    }
+    // A full page can be followed by an empty last page, which only marks the end.
+    if (!result || (result.done && result.page.size === 0 && this._pagesRead > 0)) {
+      this.close();
+      return { done: true, value: undefined };
+    }
+    this._pagesRead++;
+    return { done: false, value: result.page };
+  }
+
+  async return(): Promise<IteratorResult<QuerySnapshot<AppModelType, DbModelType>, undefined>> {
+    this.close();
+    return { done: true, value: undefined };
+  }
+
+  [Symbol.asyncIterator](): this {
+    return this;
+  }
+
+  close(): void {
+    if (this._closed) return;
+    this._closed = true;
+    this._pager.close();
+  }
+}
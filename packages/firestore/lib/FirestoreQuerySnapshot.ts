@@ -24,10 +24,16 @@ import {
 import DocumentChange from './FirestoreDocumentChange';
 import DocumentSnapshot from './FirestoreDocumentSnapshot';
 import SnapshotMetadata from './FirestoreSnapshotMetadata';
+import { decodeBinarySnapshot, isBinarySnapshot } from './utils/binarySnapshot';
+import { applyFieldDiff } from './utils/fieldDiff';
+import { attachLazyData, isLazySnapshot } from './utils/lazySnapshot';
 
+import type { ServerTimestampField } from './FirestoreDocumentSnapshot';
 import type { Query as QueryImplementation } from './FirestoreQuery';
 import type { DocumentData, FirestoreDataConverter, Query } from './types/firestore';
 import type { FirestoreInternal } from './types/internal';
+import type { FieldDiffOperation } from './utils/fieldDiff';
+import type { LazySnapshotData } from './utils/lazySnapshot';
 
 export interface QuerySnapshotNativeData {
   source?: string;
@@ -40,8 +46,10 @@ export interface QuerySnapshotNativeData {
       dataEstimate?: unknown;
       dataPrevious?: unknown;
       dataNone?: unknown;
+      serverTimestamps?: ServerTimestampField[];
       metadata?: [boolean, boolean];
       exists?: boolean;
+      diff?: FieldDiffOperation[];
     };
     ni: number;
     oi: number;
@@ -53,12 +61,80 @@ export interface QuerySnapshotNativeData {
     dataEstimate?: unknown;
     dataPrevious?: unknown;
     dataNone?: unknown;
+    serverTimestamps?: ServerTimestampField[];
     metadata?: [boolean, boolean];
     exists?: boolean;
   }>;
   metadata: [boolean, boolean];
 }
 
+/**
+ * Snapshot event data for a listener with `deltaSnapshots` enabled: `documents` is only sent with
+ * the first snapshot, and `seq` numbers the snapshots sent to the listener.
+ */
+export type QuerySnapshotDeltaNativeData = Omit<QuerySnapshotNativeData, 'documents'> & {
+  documents?: QuerySnapshotNativeData['documents'];
+  seq?: number;
+};
+
+/**
+ * Applies document changes, in order, to the documents of the previous snapshot. Each old index
+ * refers to the documents as left by the changes before it, and each new index to the documents
+ * after the change, as in the Firestore SDKs. A changed document sent as a field diff is rebuilt
+ * from its previous version, and replaces the diff on its change.
+ */
+export function applyDocumentChanges(
+  documents: QuerySnapshotNativeData['documents'],
+  changes: QuerySnapshotNativeData['changes'],
+): QuerySnapshotNativeData['documents'] {
+  const next = documents.slice();
+  for (const change of changes) {
+    if (change.type !== 'a' && change.doc.diff) {
+      change.doc = applyFieldDiff(next[change.oi]!, change.doc);
+    }
+
+    if (change.type === 'r') {
+      next.splice(change.oi, 1);
+    } else if (change.type === 'a') {
+      next.splice(change.ni, 0, change.doc);
+    } else if (change.oi === change.ni) {
+      next[change.ni] = change.doc;
+    } else {
+      next.splice(change.oi, 1);
+      next.splice(change.ni, 0, change.doc);
+    }
+  }
+  return next;
+}
+
+/** The documents of a `deltaSnapshots` listener, carried from one snapshot event to the next. */
+export class QuerySnapshotDeltaState {
+  _documents: QuerySnapshotNativeData['documents'] = [];
+  _nextSequence = 0;
+
+  /**
+   * Returns the complete snapshot data for an event, or `null` if an earlier event was missed and
+   * the listener needs a fresh full snapshot.
+   */
+  apply(nativeData: QuerySnapshotDeltaNativeData): QuerySnapshotNativeData | null {
+    if (isBinarySnapshot(nativeData)) {
+      nativeData = decodeBinarySnapshot(nativeData);
+    }
+    if (nativeData.documents) {
+      this._documents = nativeData.documents;
+      this._nextSequence = (nativeData.seq ?? 0) + 1;
+      return nativeData as QuerySnapshotNativeData;
+    }
+
+    if (nativeData.seq !== this._nextSequence) {
+      return null;
+    }
+    this._nextSequence++;
+    this._documents = applyDocumentChanges(this._documents, nativeData.changes);
+    return { ...nativeData, documents: this._documents };
+  }
+}
+
 export default class QuerySnapshot<
   AppModelType = DocumentData,
   DbModelType extends DocumentData = DocumentData,
@@ -69,6 +145,7 @@ export default class QuerySnapshot<
   _changes: DocumentChange[];
   _docs: DocumentSnapshot<AppModelType, DbModelType>[];
   _metadata: SnapshotMetadata;
+  _lazy: LazySnapshotData | null = null;
 
   constructor(
     firestore: FirestoreInternal,
@@ -76,6 +153,11 @@ export default class QuerySnapshot<
     nativeData: QuerySnapshotNativeData,
     converter: FirestoreDataConverter<AppModelType, DbModelType> | null,
   ) {
+    if (isBinarySnapshot(nativeData)) {
+      nativeData = decodeBinarySnapshot(nativeData);
+    } else if (isLazySnapshot(nativeData)) {
+      this._lazy = attachLazyData(firestore.native, nativeData);
+    }
     this._query = query;
     this._source = nativeData.source;
     this._excludesMetadataChanges = nativeData.excludesMetadataChanges;
@@ -151,6 +233,10 @@ export default class QuerySnapshot<
     });
   }
 
+  release(): void {
+    this._lazy?.release();
+  }
+
   forEach(
     callback: (doc: DocumentSnapshot<AppModelType, DbModelType>, index: number) => void,
     thisArg?: unknown,
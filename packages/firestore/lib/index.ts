@@ -57,6 +57,9 @@ export type {
   QueryConstraintType,
   SnapshotListenOptions,
   SnapshotOptions,
+  GetDocsOptions,
+  GetDocsInPagesOptions,
+  QueryPageReader,
   DocumentChangeType,
   FirestoreError,
   Unsubscribe,
@@ -81,4 +84,8 @@ export type {
   Transaction,
   TransactionOptions,
   WriteBatch,
+  BulkWriter,
+  BulkWriterOptions,
+  BulkWriterProgress,
+  BulkWriterResult,
 } from './types/firestore';
@@ -45,6 +45,8 @@ import type {
   WithFieldValue,
   PartialWithFieldValue,
   WriteBatch,
+  BulkWriter,
+  BulkWriterOptions,
   AggregateSpec,
   LogLevel,
   Unsubscribe,
@@ -518,6 +520,22 @@ export function loadBundle(
   return task;
 }
 
+/**
+ * React Native Firebase only. Loads a bundle from a file, read natively as a stream so a large
+ * bundle never passes through JS. Progress is reported through the task's `onProgress()`.
+ */
+export function loadBundleFromFile(firestore: Firestore, path: string): LoadBundleTask {
+  return (firestore as FirestoreInternal).loadBundleFromFile(path);
+}
+
+/**
+ * React Native Firebase only. Loads a bundle from a URI, as `loadBundleFromFile()` does from a
+ * file. On Android this can also be a `content://` URI.
+ */
+export function loadBundleFromUri(firestore: Firestore, uri: string): LoadBundleTask {
+  return (firestore as FirestoreInternal).loadBundleFromUri(uri);
+}
+
 export function namedQuery(firestore: Firestore, name: string): Promise<Query | null> {
   return Promise.resolve((firestore as FirestoreInternal).namedQuery(name));
 }
@@ -526,6 +544,15 @@ export function writeBatch(firestore: Firestore): WriteBatch {
   return (firestore as FirestoreInternal).batch();
 }
 
+/**
+ * React Native Firebase only. Returns a bulk writer, which writes any number of documents in
+ * batches committed in parallel, retrying transient failures. On Android a native bulk writer
+ * commits the batches.
+ */
+export function bulkWriter(firestore: Firestore, options?: BulkWriterOptions): BulkWriter {
+  return (firestore as FirestoreInternal).bulkWriter(options);
+}
+
 export function getPersistentCacheIndexManager(
   firestore: Firestore,
 ): PersistentCacheIndexManager | null {
@@ -20,9 +20,12 @@ import type {
   DocumentData,
   DocumentReference,
   DocumentSnapshot,
+  GetDocsInPagesOptions,
+  GetDocsOptions,
   OrderByDirection,
   Query,
   QueryConstraintType,
+  QueryPageReader,
   QuerySnapshot,
   WhereFilterOp,
 } from '../types/firestore';
@@ -372,25 +375,50 @@ export function getDocFromServer<
 export function getDocs<
   AppModelType = DocumentData,
   DbModelType extends DocumentData = DocumentData,
->(queryRef: Query<AppModelType, DbModelType>): Promise<QuerySnapshot<AppModelType, DbModelType>> {
+>(
+  queryRef: Query<AppModelType, DbModelType>,
+  options?: GetDocsOptions<AppModelType, DbModelType>,
+): Promise<QuerySnapshot<AppModelType, DbModelType>> {
   const get = (queryRef as unknown as QueryInternal<AppModelType, DbModelType>).get;
-  return get.call(queryRef, { source: 'default' });
+  return get.call(queryRef, { ...options, source: 'default' });
 }
 
 export function getDocsFromCache<
   AppModelType = DocumentData,
   DbModelType extends DocumentData = DocumentData,
->(queryRef: Query<AppModelType, DbModelType>): Promise<QuerySnapshot<AppModelType, DbModelType>> {
+>(
+  queryRef: Query<AppModelType, DbModelType>,
+  options?: GetDocsOptions<AppModelType, DbModelType>,
+): Promise<QuerySnapshot<AppModelType, DbModelType>> {
   const get = (queryRef as unknown as QueryInternal<AppModelType, DbModelType>).get;
-  return get.call(queryRef, { source: 'cache' });
+  return get.call(queryRef, { ...options, source: 'cache' });
 }
 
 export function getDocsFromServer<
   AppModelType = DocumentData,
   DbModelType extends DocumentData = DocumentData,
->(queryRef: Query<AppModelType, DbModelType>): Promise<QuerySnapshot<AppModelType, DbModelType>> {
+>(
+  queryRef: Query<AppModelType, DbModelType>,
+  options?: GetDocsOptions<AppModelType, DbModelType>,
+): Promise<QuerySnapshot<AppModelType, DbModelType>> {
   const get = (queryRef as unknown as QueryInternal<AppModelType, DbModelType>).get;
-  return get.call(queryRef, { source: 'server' });
+  return get.call(queryRef, { ...options, source: 'server' });
+}
+
+/**
+ * React Native Firebase only. Reads the documents of a query page by page, such as to sync a large
+ * collection, without holding all the documents at once. On Android a native cursor reads the
+ * pages, each starting after the last document of the previous one.
+ */
+export function getDocsInPages<
+  AppModelType = DocumentData,
+  DbModelType extends DocumentData = DocumentData,
+>(
+  queryRef: Query<AppModelType, DbModelType>,
+  options: GetDocsInPagesOptions,
+): QueryPageReader<AppModelType, DbModelType> {
+  const getPages = (queryRef as unknown as QueryInternal<AppModelType, DbModelType>).getPages;
+  return getPages.call(queryRef, options);
 }
 
 export function deleteDoc<
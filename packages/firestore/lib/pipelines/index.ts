@@ -66,9 +66,21 @@ export type {
   WhereStageOptions,
 } from './stage_options';
 export type { PipelineExecuteOptions } from './pipeline_options';
-export type { OneOf } from './types';
+export type {
+  OneOf,
+  PipelineCacheStats,
+  PipelineChangeSnapshot,
+  PipelineResultChange,
+  PipelineResultStream,
+  PipelineStreamOptions,
+} from './types';
 
-export { execute } from './pipeline_impl';
+export {
+  execute,
+  executeStream,
+  getPipelineCacheStats,
+  onPipelineSnapshot,
+} from './pipeline_impl';
 export { subcollection } from './subcollection';
 export {
   field,
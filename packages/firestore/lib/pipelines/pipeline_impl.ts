@@ -15,10 +15,23 @@
  *
  */
 
+import { getFirestore } from '../modular';
+import type { Firestore } from '../types/firestore';
+import type { FirestoreInternal } from '../types/internal';
 import type { Pipeline } from './pipeline';
 import type { PipelineSnapshot } from './pipeline-result';
 import type { PipelineExecuteOptions } from './pipeline_options';
-import { executeRuntimePipeline } from './pipeline_runtime';
+import {
+  executeRuntimePipeline,
+  listenRuntimePipeline,
+  streamRuntimePipeline,
+} from './pipeline_runtime';
+import type {
+  PipelineCacheStats,
+  PipelineChangeSnapshot,
+  PipelineResultStream,
+  PipelineStreamOptions,
+} from './types';
 
 /**
  * @beta
@@ -44,3 +57,95 @@ export function execute(
 ): Promise<PipelineSnapshot> {
   return executeRuntimePipeline(pipelineOrOptions);
 }
+
+/**
+ * @beta
+ * React Native Firebase only. Executes a pipeline and reads its results in chunks of
+ * `streamOptions.chunkSize`, so a large result never crosses the bridge as one response. Each chunk
+ * is requested when it is read; close the stream to stop early and drop the remaining results.
+ *
+ * On Android the chunks are serialized in native, up to `streamOptions.prefetch` ahead of the
+ * reads. Elsewhere the pipeline is executed once and its results are read in chunks.
+ *
+ * @example
+ * ```
+ * const stream = executeStream(firestore.pipeline().collection('books'), { chunkSize: 200 });
+ * for await (const chunk of stream) {
+ *   render(chunk.results);
+ * }
+ * ```
+ */
+export function executeStream(
+  pipeline: Pipeline,
+  streamOptions?: PipelineStreamOptions,
+): PipelineResultStream;
+
+/**
+ * @beta
+ * React Native Firebase only. Executes a pipeline with options and reads its results in chunks.
+ */
+export function executeStream(
+  options: PipelineExecuteOptions,
+  streamOptions?: PipelineStreamOptions,
+): PipelineResultStream;
+
+export function executeStream(
+  pipelineOrOptions: Pipeline | PipelineExecuteOptions,
+  streamOptions?: PipelineStreamOptions,
+): PipelineResultStream {
+  return streamRuntimePipeline(pipelineOrOptions, streamOptions);
+}
+
+/**
+ * @beta
+ * React Native Firebase only, Android only. Listens to the results of a pipeline, evaluating it
+ * again whenever the documents of its source change. `onNext` receives every result each time, and
+ * `changes` lists those that were added, removed or modified since the previous evaluation; only
+ * those cross the bridge.
+ *
+ * The pipeline's source must be a collection, a collection group or a query, and it must not have
+ * a union stage. The source's documents are listened to, so narrowing it with a query source
+ * limits the documents read. Changes with pending writes are picked up once they are committed.
+ *
+ * @example
+ * ```
+ * const unsubscribe = onPipelineSnapshot(
+ *   firestore.pipeline().collection('books').where(gt(field('rating'), 4.5)),
+ *   snapshot => console.log(snapshot.results.length, snapshot.changes.length),
+ * );
+ * ```
+ */
+export function onPipelineSnapshot(
+  pipeline: Pipeline,
+  onNext: (snapshot: PipelineChangeSnapshot) => void,
+  onError?: (error: Error) => void,
+): () => void;
+
+/**
+ * @beta
+ * React Native Firebase only, Android only. Listens to the results of a pipeline with options.
+ */
+export function onPipelineSnapshot(
+  options: PipelineExecuteOptions,
+  onNext: (snapshot: PipelineChangeSnapshot) => void,
+  onError?: (error: Error) => void,
+): () => void;
+
+export function onPipelineSnapshot(
+  pipelineOrOptions: Pipeline | PipelineExecuteOptions,
+  onNext: (snapshot: PipelineChangeSnapshot) => void,
+  onError?: (error: Error) => void,
+): () => void {
+  return listenRuntimePipeline(pipelineOrOptions, onNext, onError);
+}
+
+/**
+ * @beta
+ * Returns how often executing a pipeline reused a compiled pipeline instead of compiling it again.
+ * A pipeline is reused when the same pipeline, with the same constants, is executed again.
+ * Compiled pipelines are only cached on Android; elsewhere every count is 0.
+ */
+export function getPipelineCacheStats(firestore?: Firestore): Promise<PipelineCacheStats> {
+  const instance = (firestore ?? getFirestore()) as unknown as FirestoreInternal;
+  return instance.native.pipelineCacheStats();
+}
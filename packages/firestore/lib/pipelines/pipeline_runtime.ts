@@ -16,22 +16,27 @@
  */
 
 import {
+  isAndroid,
   isArray,
   isNumber,
   isObject,
   isString,
   isUndefined,
 } from '@react-native-firebase/app/dist/module/common';
+import NativeError from '@react-native-firebase/app/dist/module/internal/NativeFirebaseError';
 import type {
   FirestoreInternal,
   FirestorePipelineExecuteOptionsInternal,
   FirestorePipelinePrototypeInternal,
+  FirestorePipelineResultChangeInternal,
   FirestorePipelineResultInternal,
   FirestorePipelineSerializedInternal,
   FirestorePipelineSnapshotInternal,
   FirestorePipelineSourceInternal,
   FirestorePipelineStageInternal,
   FirestorePipelineTimestampInternal,
+  FirestoreSyncEventBodyInternal,
+  FirestoreSyncEventErrorInternal,
   QueryWithAggregateInternals,
 } from '../types/internal';
 import type {
@@ -47,6 +52,8 @@ import { FieldPath, fromDotSeparatedString } from '../FieldPath';
 import { extractFieldPathData } from '../utils';
 import { parseNativeMap } from '../utils/serialize';
 import { getFirestore } from '../modular';
+import { nextCollectionEventId } from '../FirestoreQuery';
+import { NativeQueryPager } from '../FirestoreQueryPageReader';
 
 import type {
   AliasedAggregate,
@@ -79,6 +86,13 @@ import type {
   SearchStageOptions,
 } from './stage_options';
 import type { PipelineExecuteOptions } from './pipeline_options';
+import PipelineResultReader, { SlicedPipelinePager } from './pipeline_stream';
+import type {
+  PipelineChangeSnapshot,
+  PipelineResultChange,
+  PipelineResultStream,
+  PipelineStreamOptions,
+} from './types';
 import { validateExecuteOptions, validateSerializedPipeline } from './pipeline_validate';
 import {
   createPipelineSubqueryExpression,
@@ -901,14 +915,177 @@ export async function executeRuntimePipeline(
     executeOptions,
   )) as FirestorePipelineSnapshotInternal;
 
+  return toPipelineSnapshot(runtimePipeline.firestore, nativeResponse, 'pipelineExecute()');
+}
+
+const DEFAULT_STREAM_CHUNK_SIZE = 100;
+
+export function streamRuntimePipeline(
+  pipelineOrOptions: Pipeline | PipelineExecuteOptions,
+  streamOptions: PipelineStreamOptions = {},
+): PipelineResultStream {
+  if (!isRecord(streamOptions)) {
+    throw new Error(
+      "firebase.firestore().pipeline().executeStream(*) 'streamOptions' must be an object.",
+    );
+  }
+
+  const { chunkSize = DEFAULT_STREAM_CHUNK_SIZE, prefetch = 1 } = streamOptions;
+  if (!isNumber(chunkSize) || !Number.isInteger(chunkSize) || chunkSize < 1) {
+    throw new Error(
+      "firebase.firestore().pipeline().executeStream(*) 'streamOptions.chunkSize' must be a positive integer.",
+    );
+  }
+  if (!isNumber(prefetch) || !Number.isInteger(prefetch) || prefetch < 0) {
+    throw new Error(
+      "firebase.firestore().pipeline().executeStream(*) 'streamOptions.prefetch' must be a non-negative integer.",
+    );
+  }
+
+  const { runtimePipeline, executeOptions } = parseExecuteInput(pipelineOrOptions);
+  const firestore = runtimePipeline.firestore;
+  if (!firestore) {
+    throw new Error(
+      'This pipeline was created without a database (e.g., as a subcollection pipeline) and cannot be executed directly. It can only be used as part of another pipeline.',
+    );
+  }
+
+  const serializedPipeline = runtimePipeline.serialize();
+  validateSerializedPipeline(serializedPipeline);
+
+  // Android serializes the results in native, one chunk per request; elsewhere the pipeline is
+  // executed once and its results are sliced in JS.
+  if (isAndroid) {
+    const streamId = nextCollectionEventId();
+    return new PipelineResultReader(
+      new NativeQueryPager(
+        firestore,
+        streamId,
+        (nativeChunk: FirestorePipelineSnapshotInternal) =>
+          toPipelineSnapshot(firestore, nativeChunk, 'pipelineStreamOpen()'),
+        () =>
+          firestore.native.pipelineStreamOpen(serializedPipeline, executeOptions, streamId, {
+            chunkSize,
+            prefetch,
+          }),
+        {
+          request: chunks => firestore.native.pipelineStreamRequest(streamId, chunks),
+          close: () => firestore.native.pipelineStreamClose(streamId),
+        },
+      ),
+    );
+  }
+
+  return new PipelineResultReader(
+    new SlicedPipelinePager(
+      () =>
+        firestore.native
+          .pipelineExecute(serializedPipeline, executeOptions)
+          .then(nativeResponse =>
+            toPipelineSnapshot(firestore, nativeResponse, 'pipelineExecute()'),
+          ),
+      chunkSize,
+    ),
+  );
+}
+
+export function listenRuntimePipeline(
+  pipelineOrOptions: Pipeline | PipelineExecuteOptions,
+  onNext: (snapshot: PipelineChangeSnapshot) => void,
+  onError?: (error: Error) => void,
+): () => void {
+  if (!isAndroid) {
+    throw new Error(
+      'firebase.firestore().pipeline().onSnapshot(*) is only supported on Android; use execute() or executeStream() on other platforms.',
+    );
+  }
+
+  const { runtimePipeline, executeOptions } = parseExecuteInput(pipelineOrOptions);
+  const firestore = runtimePipeline.firestore;
+  if (!firestore) {
+    throw new Error(
+      'This pipeline was created without a database (e.g., as a subcollection pipeline) and cannot be executed directly. It can only be used as part of another pipeline.',
+    );
+  }
+
+  const serializedPipeline = runtimePipeline.serialize();
+  validateSerializedPipeline(serializedPipeline);
+
+  // Native only sends the rows that changed; the full results are kept here and patched.
+  let results: PipelineResult[] = [];
+  const listenerId = nextCollectionEventId();
+  let subscription: { remove(): void } | null = null;
+  const unsubscribe = (): void => {
+    if (!subscription) return;
+    subscription.remove();
+    subscription = null;
+    firestore.native.pipelineOffSnapshot(listenerId);
+  };
+
+  subscription = firestore.emitter.addListener(
+    firestore.eventNameForApp(`firestore_collection_sync_event:${listenerId}`),
+    (event: { body: FirestoreSyncEventBodyInternal }) => {
+      const body = event.body as {
+        error?: FirestoreSyncEventErrorInternal;
+        changes?: FirestorePipelineResultChangeInternal[];
+        executionTime?: FirestorePipelineTimestampInternal;
+      };
+      if (body.error) {
+        unsubscribe();
+        onError?.(NativeError.fromEvent(body.error, 'firestore'));
+        return;
+      }
+      if (!body.changes) return;
+
+      const executionTime = parseTimestamp(body.executionTime);
+      if (!executionTime) {
+        unsubscribe();
+        onError?.(
+          new Error(
+            'firebase.firestore().pipeline().onSnapshot(*) expected pipelineOnSnapshot() to return executionTime.',
+          ),
+        );
+        return;
+      }
+      const next = results.slice();
+      const changes: PipelineResultChange[] = [];
+      for (const change of body.changes) {
+        const previous = change.oldIndex === -1 ? undefined : next.splice(change.oldIndex, 1)[0]!;
+        const result = change.result
+          ? new RuntimePipelineResult(firestore, change.result)
+          : previous!;
+        if (change.newIndex !== -1) {
+          next.splice(change.newIndex, 0, result);
+        }
+        changes.push({
+          type: change.type,
+          result,
+          oldIndex: change.oldIndex,
+          newIndex: change.newIndex,
+        });
+      }
+      results = next;
+      onNext({ results: next, changes, executionTime });
+    },
+  );
+
+  firestore.native.pipelineOnSnapshot(serializedPipeline, executeOptions, listenerId);
+  return unsubscribe;
+}
+
+function toPipelineSnapshot(
+  firestore: FirestoreInternal,
+  nativeResponse: FirestorePipelineSnapshotInternal | undefined,
+  source: string,
+): PipelineSnapshot {
   const executionTime = parseTimestamp(nativeResponse?.executionTime);
   if (!executionTime) {
     throw new Error(
-      'firebase.firestore().pipeline().execute(*) expected pipelineExecute() to return executionTime.',
+      `firebase.firestore().pipeline().execute(*) expected ${source} to return executionTime.`,
     );
   }
   const results = (nativeResponse?.results ?? []).map(
-    result => new RuntimePipelineResult(runtimePipeline.firestore!, result),
+    result => new RuntimePipelineResult(firestore, result),
   );
 
   return {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import type { QueryPage, QueryPager } from '../FirestoreQueryPageReader';
+import type { DocumentData } from '../types/firestore';
+import type { PipelineSnapshot } from './pipeline-result';
+import type { PipelineResultStream } from './types';
+
+/**
+ * Reads the chunks of a pipeline executed once, where there is no native stream. The pipeline is
+ * executed on the first `next()`, and each chunk is a slice of its results.
+ */
+export class SlicedPipelinePager<T = DocumentData> implements QueryPager<PipelineSnapshot<T>> {
+  _execute: () => Promise<PipelineSnapshot<T>>;
+  _chunkSize: number;
+  _snapshot: Promise<PipelineSnapshot<T>> | null = null;
+  _nextResult = 0;
+  _finished = false;
+  _closed = false;
+
+  constructor(execute: () => Promise<PipelineSnapshot<T>>, chunkSize: number) {
+    this._execute = execute;
+    this._chunkSize = chunkSize;
+  }
+
+  async next(): Promise<QueryPage<PipelineSnapshot<T>> | null> {
+    if (this._closed || this._finished) {
+      return null;
+    }
+    if (!this._snapshot) {
+      this._snapshot = this._execute();
+    }
+    const snapshot = await this._snapshot;
+    if (this._closed) {
+      return null;
+    }
+
+    // An empty result is still read as one empty chunk.
+    const results = snapshot.results.slice(this._nextResult, this._nextResult + this._chunkSize);
+    this._nextResult += results.length;
+    this._finished = this._nextResult >= snapshot.results.length;
+    return {
+      page: { results, executionTime: snapshot.executionTime },
+      done: this._finished,
+    };
+  }
+
+  close(): void {
+    this._closed = true;
+    this._snapshot = null;
+  }
+}
+
+/**
+ * Reads the chunks of a pipeline's results as snapshots, with `next()` or `for await`. The stream
+ * closes itself after the last chunk or a failed read; close it to stop early.
+ */
+export default class PipelineResultReader<T = DocumentData> implements PipelineResultStream<T> {
+  _pager: QueryPager<PipelineSnapshot<T>>;
+  _closed = false;
+
+  constructor(pager: QueryPager<PipelineSnapshot<T>>) {
+    this._pager = pager;
+  }
+
+  async next(): Promise<IteratorResult<PipelineSnapshot<T>, undefined>> {
+    if (this._closed) {
+      return { done: true, value: undefined };
+    }
+
+    let result: QueryPage<PipelineSnapshot<T>> | null;
+    try {
+      result = await this._pager.next();
+    } catch (e) {
+      this.close();
+      throw e;
+    }
+    if (!result) {
+      this.close();
+      return { done: true, value: undefined };
+    }
+    if (result.done) {
+      this.close();
+    }
+    return { done: false, value: result.page };
+  }
+
+  async return(): Promise<IteratorResult<PipelineSnapshot<T>, undefined>> {
+    this.close();
+    return { done: true, value: undefined };
+  }
+
+  [Symbol.asyncIterator](): this {
+    return this;
+  }
+
+  close(): void {
+    if (this._closed) return;
+    this._closed = true;
+    this._pager.close();
+  }
+}
@@ -15,6 +15,9 @@
  *
  */
 
+import type { DocumentData } from '../types/firestore';
+import type { PipelineResult, PipelineSnapshot } from './pipeline-result';
+
 /**
  * @beta
  * Utility type: only one property of T may be set.
@@ -24,3 +27,72 @@ export type OneOf<T> = {
     [P in Exclude<keyof T, K>]?: undefined;
   };
 }[keyof T];
+
+/**
+ * @beta
+ * Counts for the cache of compiled pipelines reused when the same pipeline is executed again.
+ */
+export interface PipelineCacheStats {
+  /** Executions that reused a compiled pipeline. */
+  hits: number;
+  /** Executions that parsed and compiled their pipeline. */
+  misses: number;
+  /** Compiled pipelines currently cached. */
+  size: number;
+  /** The most compiled pipelines kept; the least recently used is dropped first. */
+  maxSize: number;
+}
+
+/**
+ * @beta
+ * React Native Firebase only. Options for `executeStream()`.
+ */
+export interface PipelineStreamOptions {
+  /** The number of results of each chunk. Defaults to `100`. */
+  chunkSize?: number;
+  /**
+   * The number of chunks prepared ahead of the chunk being processed, so the next chunk is usually
+   * ready when it is asked for. Defaults to `1`; `0` prepares each chunk only when it is asked for.
+   */
+  prefetch?: number;
+}
+
+/**
+ * @beta
+ * React Native Firebase only. Reads the results of a pipeline in chunks, as pipeline snapshots
+ * sharing the execution time, with `next()` or `for await`. Returned by `executeStream()`.
+ */
+export interface PipelineResultStream<T = DocumentData>
+  extends AsyncIterableIterator<PipelineSnapshot<T>> {
+  /**
+   * Stops reading and drops the results not read yet. Called automatically after the last chunk,
+   * when the pipeline fails, and when a `for await` loop exits early.
+   */
+  close(): void;
+}
+
+/**
+ * @beta
+ * React Native Firebase only. A result that was added, removed or modified between two evaluations
+ * of a listened pipeline. Changes apply in order: each index refers to the results as left by the
+ * changes before it, as for query document changes.
+ */
+export interface PipelineResultChange<T = DocumentData> {
+  /** `'modified'` is also used for a result that only moved. */
+  readonly type: 'added' | 'removed' | 'modified';
+  readonly result: PipelineResult<T>;
+  /** The index of the result before this change, or `-1` when it was added. */
+  readonly oldIndex: number;
+  /** The index of the result after this change, or `-1` when it was removed. */
+  readonly newIndex: number;
+}
+
+/**
+ * @beta
+ * React Native Firebase only. The results of a listened pipeline after an evaluation, and how they
+ * changed since the previous one. Passed to the `onPipelineSnapshot()` listener.
+ */
+export interface PipelineChangeSnapshot<T = DocumentData> extends PipelineSnapshot<T> {
+  /** Every result on the first snapshot; after that, only the results that changed. */
+  readonly changes: PipelineResultChange<T>[];
+}
@@ -213,6 +213,80 @@ export type ListenSource = 'default' | 'cache';
 export interface SnapshotListenOptions {
   readonly includeMetadataChanges?: boolean;
   readonly source?: ListenSource;
+  /**
+   * React Native Firebase only, Android only; ignored elsewhere. When listening to a query, send
+   * only the document changes from native after the first snapshot, and rebuild each snapshot's
+   * documents in JavaScript. Reduces the per-snapshot cost of large result sets from the size of
+   * the result to the number of changes. Defaults to `false`.
+   */
+  readonly deltaSnapshots?: boolean;
+  /**
+   * React Native Firebase only, Android only; ignored elsewhere. Send modified documents from
+   * native as the fields that changed since the listener last saw them, and rebuild them in
+   * JavaScript. Useful for large documents that change a few fields at a time. The listener keeps
+   * the last data of each document it has seen, on both sides. On a query this also turns on
+   * `deltaSnapshots`. Defaults to `false`.
+   */
+  readonly fieldDiffs?: boolean;
+}
+
+/**
+ * React Native Firebase only. Options for `getDocs()`, `getDocsFromCache()` and
+ * `getDocsFromServer()`.
+ */
+export interface GetDocsOptions<
+  AppModelType = DocumentData,
+  DbModelType extends DocumentData = DocumentData,
+> {
+  /**
+   * Android only; ignored elsewhere. Keep the documents' data in native and read each document's
+   * data into JavaScript only when it is first accessed, a few documents at a time. Useful for
+   * large results of which only some documents, or some fields, are read. The data stays available
+   * until `QuerySnapshot.release()` is called or the snapshot is garbage collected. Defaults to
+   * `false`. Cannot be used with `chunkSize`.
+   */
+  readonly lazyData?: boolean;
+  /**
+   * Android only; ignored elsewhere. Send the documents from native in chunks of this many, each
+   * passed to `onChunk` as soon as it arrives, so large results can be shown progressively. The
+   * returned promise still resolves with the complete snapshot once every chunk has arrived.
+   */
+  readonly chunkSize?: number;
+  /**
+   * Called with the documents of each chunk, in order, when `chunkSize` is set. Elsewhere, and
+   * without `chunkSize`, it is called once with all the documents before the promise resolves.
+   */
+  readonly onChunk?: (documents: QueryDocumentSnapshot<AppModelType, DbModelType>[]) => void;
+}
+
+/**
+ * React Native Firebase only. Options for `getDocsInPages()`.
+ */
+export interface GetDocsInPagesOptions {
+  /** The number of documents of each page. */
+  readonly pageSize: number;
+  /**
+   * The number of pages read ahead of the page being processed, so the next page is usually ready
+   * when it is asked for. Defaults to `1`; `0` reads each page only when it is asked for.
+   */
+  readonly prefetch?: number;
+  /** Where the pages are read from, as for `getDocs()`. Defaults to `'default'`. */
+  readonly source?: 'default' | 'server' | 'cache';
+}
+
+/**
+ * React Native Firebase only. Reads the pages of a query in order, as query snapshots, with
+ * `next()` or `for await`. Returned by `getDocsInPages()`.
+ */
+export interface QueryPageReader<
+  AppModelType = DocumentData,
+  DbModelType extends DocumentData = DocumentData,
+> extends AsyncIterableIterator<QuerySnapshot<AppModelType, DbModelType>> {
+  /**
+   * Stops reading. Called automatically after the last page, when a page fails to read, and when
+   * a `for await` loop exits early.
+   */
+  close(): void;
 }
 
 /**
@@ -415,6 +489,80 @@ export declare class WriteBatch {
   commit(): Promise<void>;
 }
 
+/**
+ * React Native Firebase only. Options for `bulkWriter()`.
+ */
+export interface BulkWriterOptions {
+  /** The number of writes committed in each batch, at most `500`. Defaults to `500`. */
+  readonly batchSize?: number;
+  /** The number of batches committing at once. Defaults to `4`. */
+  readonly maxInFlight?: number;
+  /**
+   * How many times a batch is committed when it fails with a transient error, such as
+   * `unavailable`, before its writes fail. Defaults to `5`.
+   */
+  readonly maxAttempts?: number;
+}
+
+/**
+ * React Native Firebase only. The number of writes of a flush that succeeded and failed.
+ */
+export interface BulkWriterResult {
+  readonly succeeded: number;
+  readonly failed: number;
+}
+
+/**
+ * React Native Firebase only. The progress of a flush, reported as each batch settles.
+ */
+export interface BulkWriterProgress extends BulkWriterResult {
+  /** The number of writes the flush commits. */
+  readonly total: number;
+}
+
+/**
+ * React Native Firebase only. Writes any number of documents, in batches committed in parallel.
+ * Unlike a `WriteBatch`, the writes are not atomic: each write succeeds or fails on its own.
+ * Returned by `bulkWriter()`.
+ */
+export declare class BulkWriter {
+  set<AppModelType, DbModelType extends DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    data: WithFieldValue<AppModelType>,
+  ): BulkWriter;
+  set<AppModelType, DbModelType extends DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    data: PartialWithFieldValue<AppModelType>,
+    options: SetOptions,
+  ): BulkWriter;
+  update<AppModelType, DbModelType extends DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    data: UpdateData<DbModelType>,
+  ): BulkWriter;
+  update<AppModelType, DbModelType extends DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+    field: string | FieldPath,
+    value: unknown,
+    ...moreFieldsAndValues: unknown[]
+  ): BulkWriter;
+  delete<AppModelType, DbModelType extends DocumentData>(
+    documentRef: DocumentReference<AppModelType, DbModelType>,
+  ): BulkWriter;
+  /** Called for each write that succeeded. */
+  onWriteResult(callback: (documentRef: DocumentReference) => void): void;
+  /** Called for each write that failed, with the error it failed with. */
+  onWriteError(callback: (error: FirestoreError, documentRef: DocumentReference) => void): void;
+  /** Called as each batch of a flush settles. */
+  onProgress(callback: (progress: BulkWriterProgress) => void): void;
+  /**
+   * Commits the writes queued so far, resolving once each has succeeded or failed. Failed writes
+   * are reported to `onWriteError()`; the promise only rejects if the writes could not be sent.
+   */
+  flush(): Promise<BulkWriterResult>;
+  /** Flushes the queued writes; the bulk writer can no longer be used afterwards. */
+  close(): Promise<BulkWriterResult>;
+}
+
 export interface TransactionOptions {
   readonly maxAttempts?: number;
 }
@@ -488,4 +636,10 @@ export declare class QuerySnapshot<
     thisArg?: unknown,
   ): void;
   docChanges(options?: SnapshotListenOptions): Array<DocumentChange<AppModelType, DbModelType>>;
+  /**
+   * React Native Firebase only. Frees the native copy of the documents of a snapshot returned with
+   * `lazyData`; document data that was not yet read can no longer be read afterwards. Does nothing
+   * for other snapshots.
+   */
+  release(): void;
 }
@@ -16,17 +16,22 @@
  */
 
 import type {
+  BulkWriter,
+  BulkWriterOptions,
   CollectionReference,
   DocumentData,
   DocumentReference,
   DocumentSnapshot,
   Firestore,
   FirestoreSettings,
+  GetDocsInPagesOptions,
+  GetDocsOptions,
   LoadBundleTask,
   LoadBundleTaskProgress,
   LogLevel,
   Primitive,
   Query,
+  QueryPageReader,
   QuerySnapshot,
   SetOptions,
   SnapshotOptions,
@@ -42,6 +47,7 @@ import type { PersistentCacheIndexManager } from '../FirestorePersistentCacheInd
 import type { QueryConstraint } from '../modular/query';
 import type { _Filter } from '../FirestoreFilter';
 import type { Timestamp } from '../FirestoreTimestamp';
+import type { PipelineCacheStats } from '../pipelines/types';
 import { Blob } from '../FirestoreBlob';
 
 /** Reserved optional trailing argument on legacy internal method signatures. */
@@ -50,6 +56,17 @@ export type FirestoreModularDeprecationArg = string;
 /** Query type passed to native ('collection' or 'collectionGroup'). */
 export type FirestoreQueryTypeInternal = 'collection' | 'collectionGroup';
 
+/**
+ * Options of a native query get. `chunkListenerId` is the listener id the chunk events of a
+ * `chunkSize` get are sent under.
+ */
+export interface FirestoreQueryGetOptionsInternal {
+  source?: string;
+  lazyData?: boolean;
+  chunkSize?: number;
+  chunkListenerId?: number;
+}
+
 /** App instance with firestore() method (e.g. from getApp() when used for getFirestore()). */
 export interface AppWithFirestoreInternal {
   firestore(databaseId?: string): Firestore;
@@ -389,10 +406,20 @@ export interface FirestorePipelineSnapshotInternal {
   executionTime: FirestorePipelineTimestampInternal;
 }
 
+/** A row change of a pipeline listener; `result` is omitted for rows that did not change. */
+export interface FirestorePipelineResultChangeInternal {
+  type: 'added' | 'removed' | 'modified';
+  oldIndex: number;
+  newIndex: number;
+  result?: FirestorePipelineResultInternal;
+}
+
 /** Options for snapshot listeners (includeMetadataChanges, source). */
 export interface FirestoreSnapshotListenOptionsInternal {
   includeMetadataChanges?: boolean;
   source?: ListenSource;
+  deltaSnapshots?: boolean;
+  fieldDiffs?: boolean;
 }
 
 /** Settings state on the Firestore module instance (ignoreUndefinedProperties, persistence). */
@@ -420,7 +447,12 @@ export interface FirestoreDocumentSnapshotDataInternal {
   dataEstimate?: Record<string, unknown>;
   dataPrevious?: Record<string, unknown>;
   dataNone?: Record<string, unknown>;
+  /** Sent by Android in place of the variants above, see `FirestoreDocumentSnapshot`. */
+  serverTimestamps?: [string[], unknown, unknown, unknown][];
   metadata: [boolean, boolean];
+  /** Set instead of `data` by listeners with `fieldDiffs` enabled, see `utils/fieldDiff`. */
+  diff?: [string[], unknown?][];
+  seq?: number;
 }
 
 /** Sync event body (document or collection) from native. */
@@ -452,6 +484,7 @@ export interface RNFBFirestoreModule {
   setLogLevel(level: LogLevel): Promise<void>;
   // --- Main Firestore module (NativeRNFBTurboFirestore) ---
   loadBundle(bundle: string): Promise<LoadBundleTaskProgress>;
+  loadBundleFromUri(uri: string, taskId: number): Promise<LoadBundleTaskProgress>;
   clearPersistence(): Promise<void>;
   waitForPendingWrites(): Promise<void>;
   terminate(): Promise<void>;
@@ -497,7 +530,7 @@ export interface RNFBFirestoreModule {
     filters: FirestoreFilterSpecInternal[],
     orders: FirestoreOrderSpecInternal[],
     options: FirestoreQueryOptionsInternal,
-    getOptions?: { source?: string },
+    getOptions?: FirestoreQueryGetOptionsInternal,
   ): Promise<unknown>;
   collectionGet(
     path: string,
@@ -505,7 +538,7 @@ export interface RNFBFirestoreModule {
     filters: FirestoreFilterSpecInternal[],
     orders: FirestoreOrderSpecInternal[],
     options: FirestoreQueryOptionsInternal,
-    getOptions?: { source?: string },
+    getOptions?: FirestoreQueryGetOptionsInternal,
   ): Promise<unknown>;
   collectionCount(
     path: string,
@@ -526,6 +559,43 @@ export interface RNFBFirestoreModule {
     pipeline: FirestorePipelineSerializedInternal,
     options?: FirestorePipelineExecuteOptionsInternal,
   ): Promise<FirestorePipelineSnapshotInternal>;
+  pipelineCacheStats(): Promise<PipelineCacheStats>;
+  /**
+   * Synchronously reads documents of a snapshot returned by a `lazyData` query get, keyed by path:
+   * each is the document's native data, or with `fieldPaths` an array with each field's type map
+   * (`null` where the document has no such field). Paths that are missing were released.
+   */
+  collectionSnapshotData(
+    handle: number,
+    paths: string[],
+    options: { fieldPaths?: string[][]; serverTimestamps?: string },
+  ): Record<string, unknown>;
+  collectionSnapshotRelease(handle: number): void;
+  collectionCursorOpen(
+    path: string,
+    type: FirestoreQueryTypeInternal | string,
+    filters: FirestoreFilterSpecInternal[],
+    orders: FirestoreOrderSpecInternal[],
+    options: FirestoreQueryOptionsInternal,
+    cursorId: number,
+    cursorOptions: { pageSize: number; prefetch: number; source?: string },
+  ): void;
+  collectionCursorRequest(cursorId: number, pages: number): void;
+  collectionCursorClose(cursorId: number): void;
+  pipelineStreamOpen(
+    pipeline: FirestorePipelineSerializedInternal,
+    options: FirestorePipelineExecuteOptionsInternal | null,
+    streamId: number,
+    streamOptions: { chunkSize: number; prefetch: number },
+  ): void;
+  pipelineStreamRequest(streamId: number, chunks: number): void;
+  pipelineStreamClose(streamId: number): void;
+  pipelineOnSnapshot(
+    pipeline: FirestorePipelineSerializedInternal,
+    options: FirestorePipelineExecuteOptionsInternal | null,
+    listenerId: number,
+  ): void;
+  pipelineOffSnapshot(listenerId: number): void;
 
   // --- Document module (NativeRNFBTurboFirestoreDocument) ---
   documentDelete(path: string): Promise<void>;
@@ -543,6 +613,11 @@ export interface RNFBFirestoreModule {
   ): Promise<void>;
   documentUpdate(path: string, data: Record<string, unknown>): Promise<void>;
   documentBatch(writes: Array<Record<string, unknown>>): Promise<void>;
+  documentBulkWrite(
+    writes: Array<Record<string, unknown>>,
+    bulkWriteId: number,
+    options: { batchSize?: number; maxInFlight?: number; maxAttempts?: number },
+  ): Promise<{ succeeded: number; failed: number }>;
 
   // --- Transaction module (NativeRNFBTurboFirestoreTransaction) ---
   transactionBegin(transactionId: number, maxAttempts?: number): Promise<void>;
@@ -709,9 +784,10 @@ export interface QueryInternal<
   DbModelType extends DocumentData = DocumentData,
 > extends ReferenceInternal<AppModelType, DbModelType> {
   get(
-    getOptions?: { source?: string },
+    getOptions?: GetDocsOptions<AppModelType, DbModelType> & { source?: string },
     deprecationArg?: FirestoreModularDeprecationArg,
   ): Promise<QuerySnapshot<AppModelType, DbModelType>>;
+  getPages(options: GetDocsInPagesOptions): QueryPageReader<AppModelType, DbModelType>;
   count(deprecationArg?: FirestoreModularDeprecationArg): { get(): Promise<unknown> };
   where(
     queryConstraintOrFilter: unknown,
@@ -754,8 +830,11 @@ export interface FirestoreInternal extends ParentReferenceInternal, Firestore {
     bundleData: ReadableStream<Uint8Array> | ArrayBuffer | string,
     deprecationArg?: FirestoreModularDeprecationArg,
   ): LoadBundleTask;
+  loadBundleFromFile(path: string): LoadBundleTask;
+  loadBundleFromUri(uri: string): LoadBundleTask;
   namedQuery(name: string, deprecationArg?: FirestoreModularDeprecationArg): Query | null;
   batch(deprecationArg?: FirestoreModularDeprecationArg): WriteBatch;
+  bulkWriter(options?: BulkWriterOptions): BulkWriter;
   persistentCacheIndexManager(
     deprecationArg?: FirestoreModularDeprecationArg,
   ): PersistentCacheIndexManager | null;
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import { Base64 } from '@react-native-firebase/app/dist/module/common';
+import { getTypeMapInt } from './typemap';
+import type { QuerySnapshotNativeData } from '../FirestoreQuerySnapshot';
+
+/**
+ * Query snapshot sent by Android with `android_firestore_binary_snapshots` enabled: the snapshot
+ * is one Base64 encoded buffer, in the format described in
+ * `ReactNativeFirebaseFirestoreBinarySerialize.java`.
+ */
+export interface BinaryQuerySnapshotNativeData {
+  source?: string;
+  binary: string;
+  seq?: number;
+}
+
+type DocumentNativeData = QuerySnapshotNativeData['documents'][number];
+
+const VERSION = 1;
+const BINARY_TYPE_UNKNOWN = -1;
+const CHANGE_TYPES = ['a', 'm', 'r'];
+const DATA_KEYS: Array<[number, 'data' | 'dataEstimate' | 'dataPrevious' | 'dataNone']> = [
+  [8, 'data'],
+  [16, 'dataEstimate'],
+  [32, 'dataPrevious'],
+  [64, 'dataNone'],
+];
+
+const typeCode = (name: string): number => getTypeMapInt(name)![0];
+const DOUBLE = typeCode('double');
+const STRING = typeCode('string');
+const ARRAY = typeCode('array');
+const REFERENCE = typeCode('reference');
+const GEOPOINT = typeCode('geopoint');
+const TIMESTAMP = typeCode('timestamp');
+const BLOB = typeCode('blob');
+const OBJECT = typeCode('object');
+const VECTOR = typeCode('vector');
+const UNKNOWN = typeCode('unknown');
+
+const BASE64_CHARS = 'ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/';
+const BASE64_LOOKUP = new Uint8Array(128);
+for (let i = 0; i < BASE64_CHARS.length; i++) {
+  BASE64_LOOKUP[BASE64_CHARS.charCodeAt(i)] = i;
+}
+
+export function isBinarySnapshot(nativeData: unknown): nativeData is BinaryQuerySnapshotNativeData {
+  return typeof (nativeData as { binary?: unknown }).binary === 'string';
+}
+
+function base64ToBytes(base64: string): Uint8Array {
+  const padding = base64.endsWith('==') ? 2 : base64.endsWith('=') ? 1 : 0;
+  const length = (base64.length / 4) * 3 - padding;
+  const bytes = new Uint8Array(length);
+  for (let i = 0, j = 0; i < base64.length; i += 4) {
+    const a = BASE64_LOOKUP[base64.charCodeAt(i)]!;
+    const b = BASE64_LOOKUP[base64.charCodeAt(i + 1)]!;
+    const c = BASE64_LOOKUP[base64.charCodeAt(i + 2)]!;
+    const d = BASE64_LOOKUP[base64.charCodeAt(i + 3)]!;
+    bytes[j++] = (a << 2) | (b >> 4);
+    if (j < length) bytes[j++] = ((b & 15) << 4) | (c >> 2);
+    if (j < length) bytes[j++] = ((c & 3) << 6) | d;
+  }
+  return bytes;
+}
+
+class Reader {
+  _bytes: Uint8Array;
+  _view: DataView;
+  _offset: number;
+
+  constructor(bytes: Uint8Array, offset: number) {
+    this._bytes = bytes;
+    this._view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+    this._offset = offset;
+  }
+
+  u8(): number {
+    return this._bytes[this._offset++]!;
+  }
+
+  i32(): number {
+    const value = this._view.getInt32(this._offset, true);
+    this._offset += 4;
+    return value;
+  }
+
+  u32(): number {
+    const value = this._view.getUint32(this._offset, true);
+    this._offset += 4;
+    return value;
+  }
+
+  f64(): number {
+    const value = this._view.getFloat64(this._offset, true);
+    this._offset += 8;
+    return value;
+  }
+
+  string(): string {
+    const length = this.u32();
+    const end = this._offset + length;
+    const bytes = this._bytes;
+    const codes: number[] = [];
+    let output = '';
+    let i = this._offset;
+    while (i < end) {
+      const byte = bytes[i++]!;
+      if (byte < 0x80) {
+        codes.push(byte);
+      } else if (byte < 0xe0) {
+        codes.push(((byte & 0x1f) << 6) | (bytes[i++]! & 0x3f));
+      } else if (byte < 0xf0) {
+        codes.push(((byte & 0x0f) << 12) | ((bytes[i++]! & 0x3f) << 6) | (bytes[i++]! & 0x3f));
+      } else {
+        const codePoint =
+          (((byte & 0x07) << 18) |
+            ((bytes[i++]! & 0x3f) << 12) |
+            ((bytes[i++]! & 0x3f) << 6) |
+            (bytes[i++]! & 0x3f)) -
+          0x10000;
+        codes.push(0xd800 + (codePoint >> 10), 0xdc00 + (codePoint & 0x3ff));
+      }
+      if (codes.length >= 4096) {
+        output += String.fromCharCode(...codes);
+        codes.length = 0;
+      }
+    }
+    this._offset = end;
+    return output + String.fromCharCode(...codes);
+  }
+
+  map(): Record<string, unknown> {
+    const count = this.u32();
+    const map: Record<string, unknown> = {};
+    for (let i = 0; i < count; i++) {
+      const key = this.string();
+      map[key] = this.value();
+    }
+    return map;
+  }
+
+  /** Reads a value into the same type map form as the non-binary payloads. */
+  value(): unknown[] {
+    const type = (this.u8() << 24) >> 24;
+    switch (type) {
+      case DOUBLE:
+        return [type, this.f64()];
+      case STRING:
+      case REFERENCE:
+        return [type, this.string()];
+      case OBJECT:
+        return [type, this.map()];
+      case ARRAY: {
+        const items = new Array(this.u32());
+        for (let i = 0; i < items.length; i++) {
+          items[i] = this.value();
+        }
+        return [type, items];
+      }
+      case TIMESTAMP:
+        return [type, [this.f64(), this.i32()]];
+      case GEOPOINT:
+        return [type, [this.f64(), this.f64()]];
+      case BLOB: {
+        const length = this.u32();
+        const end = this._offset + length;
+        let latin1 = '';
+        for (let i = this._offset; i < end; i++) {
+          latin1 += String.fromCharCode(this._bytes[i]!);
+        }
+        this._offset = end;
+        return [type, Base64.btoa(latin1)];
+      }
+      case VECTOR: {
+        const values = new Array<number>(this.u32());
+        for (let i = 0; i < values.length; i++) {
+          values[i] = this.f64();
+        }
+        return [type, values];
+      }
+      case BINARY_TYPE_UNKNOWN:
+        return [UNKNOWN];
+      default:
+        // NaN, infinities, null, booleans and empty strings have no payload.
+        return [type];
+    }
+  }
+
+  document(): DocumentNativeData {
+    const path = this.string();
+    const flags = this.u8();
+    const document: DocumentNativeData = {
+      path,
+      exists: (flags & 1) !== 0,
+      metadata: [(flags & 2) !== 0, (flags & 4) !== 0],
+    };
+    for (const [bit, key] of DATA_KEYS) {
+      if ((flags & bit) !== 0) {
+        const length = this.u32();
+        defineLazyMap(document, key, this._bytes, this._offset);
+        this._offset += length;
+      }
+    }
+    return document;
+  }
+}
+
+/** Defines `key` to read its map from the buffer the first time it is accessed. */
+function defineLazyMap(
+  document: DocumentNativeData,
+  key: string,
+  bytes: Uint8Array,
+  offset: number,
+): void {
+  let value: Record<string, unknown> | undefined;
+  Object.defineProperty(document, key, {
+    configurable: true,
+    enumerable: true,
+    get() {
+      if (value === undefined) {
+        value = new Reader(bytes, offset).map();
+      }
+      return value;
+    },
+    set(next: Record<string, unknown>) {
+      value = next;
+    },
+  });
+}
+
+/**
+ * Decodes a binary query snapshot. Paths, metadata and changes are read straight away; each
+ * document's data is only read when first accessed.
+ */
+export function decodeBinarySnapshot(
+  nativeData: BinaryQuerySnapshotNativeData,
+): QuerySnapshotNativeData & { seq?: number } {
+  const reader = new Reader(base64ToBytes(nativeData.binary), 0);
+  const version = reader.u8();
+  if (version !== VERSION) {
+    throw new Error(`firebase.firestore() unsupported binary snapshot version ${version}.`);
+  }
+  const flags = reader.u8();
+
+  const documents = new Array<DocumentNativeData>(reader.u32());
+  for (let i = 0; i < documents.length; i++) {
+    documents[i] = reader.document();
+  }
+
+  const changes = new Array<QuerySnapshotNativeData['changes'][number]>(reader.u32());
+  for (let i = 0; i < changes.length; i++) {
+    const type = CHANGE_TYPES[reader.u8()]!;
+    const isMetadataChange = reader.u8() === 1;
+    const ni = reader.i32();
+    const oi = reader.i32();
+    const doc = type === 'r' ? reader.document() : documents[ni]!;
+    changes[i] = { type, doc, ni, oi, isMetadataChange };
+  }
+
+  const snapshot: QuerySnapshotNativeData & { seq?: number } = {
+    source: nativeData.source,
+    excludesMetadataChanges: (flags & 4) !== 0,
+    changes,
+    documents,
+    metadata: [(flags & 1) !== 0, (flags & 2) !== 0],
+  };
+  if (nativeData.seq !== undefined) {
+    snapshot.seq = nativeData.seq;
+  }
+  return snapshot;
+}
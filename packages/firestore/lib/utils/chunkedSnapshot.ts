@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import type { QuerySnapshotNativeData } from '../FirestoreQuerySnapshot';
+
+type DocumentNativeData = QuerySnapshotNativeData['documents'][number];
+
+/**
+ * Query snapshot returned by a `chunkSize` get on Android: the documents were sent separately, in
+ * `chunks` chunk events, and the document changes are left for JS to rebuild.
+ */
+export type ChunkedQuerySnapshotNativeData = Omit<
+  QuerySnapshotNativeData,
+  'documents' | 'changes'
+> & { chunks: number };
+
+/** One chunk event of a `chunkSize` get. */
+export interface QuerySnapshotChunkNativeData {
+  index: number;
+  documents: DocumentNativeData[];
+}
+
+export function isChunkedSnapshot(
+  nativeData: object,
+): nativeData is ChunkedQuerySnapshotNativeData {
+  return typeof (nativeData as { chunks?: unknown }).chunks === 'number';
+}
+
+/**
+ * Collects the chunk events of a `chunkSize` get, passing each to `onChunk` as it arrives, and
+ * rebuilds the complete snapshot data once all the chunks the result counts have arrived. Chunks
+ * and the result travel separately, so either may arrive first.
+ */
+export class ChunkedSnapshotReceiver {
+  _onChunk: ((documents: DocumentNativeData[]) => void) | undefined;
+  _chunks: DocumentNativeData[][] = [];
+  _received = 0;
+  _expected = -1;
+  _complete: (() => void) | null = null;
+
+  constructor(onChunk?: (documents: DocumentNativeData[]) => void) {
+    this._onChunk = onChunk;
+  }
+
+  add(chunk: QuerySnapshotChunkNativeData): void {
+    this._chunks[chunk.index] = chunk.documents;
+    this._received++;
+    this._onChunk?.(chunk.documents);
+    if (this._received === this._expected) {
+      this._complete?.();
+    }
+  }
+
+  /**
+   * Returns the complete snapshot data for the result of the get. A result that was not chunked,
+   * as on other platforms, is returned as is, after passing all its documents to `onChunk`.
+   */
+  complete(nativeData: QuerySnapshotNativeData | object): Promise<QuerySnapshotNativeData> {
+    if (!isChunkedSnapshot(nativeData)) {
+      const snapshot = nativeData as QuerySnapshotNativeData;
+      this._onChunk?.(snapshot.documents);
+      return Promise.resolve(snapshot);
+    }
+
+    const build = (): QuerySnapshotNativeData => {
+      const { source, excludesMetadataChanges, metadata } = nativeData;
+      const documents: DocumentNativeData[] = [];
+      for (const chunk of this._chunks) {
+        documents.push(...chunk);
+      }
+      return {
+        source,
+        excludesMetadataChanges,
+        metadata,
+        documents,
+        // A get has no previous snapshot, so every document is added, in order.
+        changes: documents.map((doc, i) => ({
+          type: 'a',
+          doc,
+          ni: i,
+          oi: -1,
+          isMetadataChange: false,
+        })),
+      };
+    };
+
+    this._expected = nativeData.chunks;
+    if (this._received === this._expected) {
+      return Promise.resolve(build());
+    }
+    return new Promise(resolve => {
+      this._complete = () => resolve(build());
+    });
+  }
+}
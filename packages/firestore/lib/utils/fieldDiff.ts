@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import { getTypeMapInt } from './typemap';
+import type { DocumentSnapshotNativeData } from '../FirestoreDocumentSnapshot';
+
+/**
+ * A `[fieldPath, typeMap]` operation sets a field, a `[fieldPath]` operation deletes it. Sent by
+ * listeners with `fieldDiffs` enabled in place of `data`.
+ */
+export type FieldDiffOperation = [string[], unknown?];
+
+const TYPE_OBJECT = getTypeMapInt('object')![0];
+
+/**
+ * Rebuilds a document sent as a field diff from the previous native data of the same document.
+ * The previous data is left untouched, as earlier snapshots may still reference it.
+ */
+export function applyFieldDiff<T extends DocumentSnapshotNativeData>(
+  previous: DocumentSnapshotNativeData,
+  next: T & { diff?: FieldDiffOperation[] },
+): T {
+  const { diff, ...document } = next;
+  if (!diff) {
+    return next;
+  }
+
+  const data: Record<string, unknown> = { ...(previous.data as Record<string, unknown>) };
+  for (const [fieldPath, typeMap] of diff) {
+    let parent = data;
+    for (let i = 0; i < fieldPath.length - 1; i++) {
+      const current = parent[fieldPath[i]!] as [number, Record<string, unknown>] | undefined;
+      const child: Record<string, unknown> =
+        current && current[0] === TYPE_OBJECT ? { ...current[1] } : {};
+      parent[fieldPath[i]!] = [TYPE_OBJECT, child];
+      parent = child;
+    }
+
+    const key = fieldPath[fieldPath.length - 1]!;
+    if (typeMap === undefined) {
+      delete parent[key];
+    } else {
+      parent[key] = typeMap;
+    }
+  }
+
+  // Diffs are only sent without pending writes, so the server timestamp variants are dropped.
+  return { ...document, data } as unknown as T;
+}
+
+/** The document last seen by a document listener with `fieldDiffs` enabled. */
+export class DocumentFieldDiffState<T extends DocumentSnapshotNativeData> {
+  _previous: T | null = null;
+  _nextSequence = 0;
+
+  /**
+   * Returns the complete document for an event, or `null` if an earlier event was missed and the
+   * listener needs to be sent the document in full again.
+   */
+  apply(nativeData: T & { diff?: FieldDiffOperation[]; seq?: number }): T | null {
+    if (nativeData.diff && (!this._previous || nativeData.seq !== this._nextSequence)) {
+      return null;
+    }
+    this._nextSequence = (nativeData.seq ?? this._nextSequence) + 1;
+    this._previous = nativeData.diff ? applyFieldDiff(this._previous!, nativeData) : nativeData;
+    return this._previous;
+  }
+}
@@ -157,6 +157,8 @@ export interface ParseSnapshotArgsResult {
   snapshotListenOptions: {
     includeMetadataChanges?: boolean;
     source?: ListenSource;
+    deltaSnapshots?: boolean;
+    fieldDiffs?: boolean;
   };
   callback: (snapshot: unknown, error: Error | null) => void;
   onNext: (snapshot: unknown) => void;
@@ -172,6 +174,8 @@ export function parseSnapshotArgs(args: unknown[]): ParseSnapshotArgsResult {
   const snapshotListenOptions: {
     includeMetadataChanges?: boolean;
     source?: ListenSource;
+    deltaSnapshots?: boolean;
+    fieldDiffs?: boolean;
   } = {};
   let callback: (snapshot: unknown, error: Error | null) => void = NOOP;
   let onError: (error: Error) => void = NOOP;
@@ -198,10 +202,22 @@ export function parseSnapshotArgs(args: unknown[]): ParseSnapshotArgsResult {
   }
 
   if (isObject(args[0]) && !isPartialObserver(args[0])) {
-    const opts = args[0] as { includeMetadataChanges?: boolean; source?: ListenSource };
+    const opts = args[0] as {
+      includeMetadataChanges?: boolean;
+      source?: ListenSource;
+      deltaSnapshots?: boolean;
+      fieldDiffs?: boolean;
+    fieldDiffs?: boolean;
+    };
     snapshotListenOptions.includeMetadataChanges =
       opts.includeMetadataChanges == null ? false : opts.includeMetadataChanges;
     snapshotListenOptions.source = opts.source == null ? 'default' : opts.source;
+    if (opts.deltaSnapshots != null) {
+      snapshotListenOptions.deltaSnapshots = opts.deltaSnapshots;
+    }
+    if (opts.fieldDiffs != null) {
+      snapshotListenOptions.fieldDiffs = opts.fieldDiffs;
+    }
     if (isFunction(args[1])) {
       if (isFunction(args[2])) {
         onNext = args[1] as (snapshot: unknown) => void;
@@ -227,6 +243,18 @@ export function parseSnapshotArgs(args: unknown[]): ParseSnapshotArgsResult {
     }
   }
 
+  if (hasOwnProperty(snapshotListenOptions, 'deltaSnapshots')) {
+    if (!isBoolean(snapshotListenOptions.deltaSnapshots)) {
+      throw new Error("'options' SnapshotOptions.deltaSnapshots must be a boolean value.");
+    }
+  }
+
+  if (hasOwnProperty(snapshotListenOptions, 'fieldDiffs')) {
+    if (!isBoolean(snapshotListenOptions.fieldDiffs)) {
+      throw new Error("'options' SnapshotOptions.fieldDiffs must be a boolean value.");
+    }
+  }
+
   if (hasOwnProperty(snapshotListenOptions, 'source')) {
     if (snapshotListenOptions.source !== 'default' && snapshotListenOptions.source !== 'cache') {
       throw new Error("'options' SnapshotOptions.source must be one of 'default' or 'cache'.");
@@ -244,6 +272,17 @@ export function parseSnapshotArgs(args: unknown[]): ParseSnapshotArgsResult {
   return { snapshotListenOptions, callback, onNext, onError };
 }
 
+/**
+ * Returns the ids of the listeners a sync event is for: those in `listenerIds` when native shares
+ * one listener between several identical queries or documents, otherwise only `listenerId`.
+ */
+export function syncEventListenerIds(event: {
+  listenerId: string | number;
+  listenerIds?: (string | number)[];
+}): (string | number)[] {
+  return event.listenerIds ?? [event.listenerId];
+}
+
 export function throwIfLiteSdkSnapshotListenerUnsupported(): void {
   if (!isOther) {
     return;
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2016-present Invertase Limited & Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this library except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import type { QuerySnapshotNativeData } from '../FirestoreQuerySnapshot';
+import type { RNFBFirestoreModule } from '../types/internal';
+
+/**
+ * Query snapshot returned by a `lazyData` get on Android: the documents only carry their path and
+ * metadata, and their data is read from the native snapshot kept under `handle`.
+ */
+export type LazyQuerySnapshotNativeData = QuerySnapshotNativeData & { handle: number };
+
+type DocumentNativeData = QuerySnapshotNativeData['documents'][number];
+type LazySnapshotNative = Pick<
+  RNFBFirestoreModule,
+  'collectionSnapshotData' | 'collectionSnapshotRelease'
+>;
+
+/** Number of documents read from native at a time, starting at the one being accessed. */
+export const LAZY_BATCH_SIZE = 32;
+
+const DATA_KEYS = [
+  'data',
+  'dataEstimate',
+  'dataPrevious',
+  'dataNone',
+  'serverTimestamps',
+] as const;
+
+// Releases the native snapshot of a lazy snapshot that was garbage collected without release().
+const finalizer =
+  typeof FinalizationRegistry === 'undefined'
+    ? null
+    : new FinalizationRegistry<{ native: LazySnapshotNative; handle: number }>(
+        ({ native, handle }) => native.collectionSnapshotRelease(handle),
+      );
+
+export function isLazySnapshot(nativeData: object): nativeData is LazyQuerySnapshotNativeData {
+  return typeof (nativeData as { handle?: unknown }).handle === 'number';
+}
+
+/**
+ * Reads the data of the documents of a lazy snapshot from native when first needed, and caches
+ * it. Shared by all the documents of the snapshot, so it is only garbage collected (releasing the
+ * native snapshot) once none of them are reachable.
+ */
+export class LazySnapshotData {
+  _native: LazySnapshotNative;
+  _handle: number;
+  _paths: string[];
+  _indexes = new Map<string, number>();
+  _documents = new Map<string, Record<string, unknown>>();
+  _fields = new Map<string, Map<string, unknown>>();
+  _released = false;
+
+  constructor(native: LazySnapshotNative, handle: number, paths: string[]) {
+    this._native = native;
+    this._handle = handle;
+    this._paths = paths;
+    for (let i = 0; i < paths.length; i++) {
+      this._indexes.set(paths[i]!, i);
+    }
+    finalizer?.register(this, { native, handle }, this);
+  }
+
+  isLoaded(path: string): boolean {
+    return this._documents.has(path);
+  }
+
+  /** Returns the native data of a document, reading it along with the documents after it. */
+  document(path: string): Record<string, unknown> {
+    let document = this._documents.get(path);
+    if (document === undefined) {
+      const paths = this._batch(path, next => this._documents.has(next));
+      const result = this._read(paths, {});
+      for (const next of paths) {
+        if (result[next] !== undefined) {
+          this._documents.set(next, result[next] as Record<string, unknown>);
+          this._fields.delete(next);
+        }
+      }
+      document = this._documents.get(path)!;
+    }
+    return document;
+  }
+
+  /**
+   * Returns the native type map of one field of a document, or `undefined` if the document has no
+   * such field, reading that field of the documents after it as well.
+   */
+  field(path: string, segments: string[], serverTimestamps?: string): unknown {
+    const key = JSON.stringify([serverTimestamps ?? '', segments]);
+    const fields = this._fields.get(path);
+    if (fields === undefined || !fields.has(key)) {
+      const paths = this._batch(
+        path,
+        next => this._documents.has(next) || (this._fields.get(next)?.has(key) ?? false),
+      );
+      const options: { fieldPaths: string[][]; serverTimestamps?: string } = {
+        fieldPaths: [segments],
+      };
+      if (serverTimestamps !== undefined) {
+        options.serverTimestamps = serverTimestamps;
+      }
+      const result = this._read(paths, options);
+      for (const next of paths) {
+        if (result[next] === undefined) {
+          continue;
+        }
+        let nextFields = this._fields.get(next);
+        if (nextFields === undefined) {
+          nextFields = new Map();
+          this._fields.set(next, nextFields);
+        }
+        nextFields.set(key, (result[next] as unknown[])[0]);
+      }
+    }
+    return this._fields.get(path)!.get(key) ?? undefined;
+  }
+
+  release(): void {
+    if (!this._released) {
+      this._released = true;
+      finalizer?.unregister(this);
+      this._native.collectionSnapshotRelease(this._handle);
+    }
+  }
+
+  /** The given document and up to `LAZY_BATCH_SIZE - 1` following ones that are not yet read. */
+  _batch(path: string, isRead: (path: string) => boolean): string[] {
+    const paths = [path];
+    const start = this._indexes.get(path) ?? this._paths.length;
+    for (let i = start + 1; i < this._paths.length && paths.length < LAZY_BATCH_SIZE; i++) {
+      if (!isRead(this._paths[i]!)) {
+        paths.push(this._paths[i]!);
+      }
+    }
+    return paths;
+  }
+
+  _read(
+    paths: string[],
+    options: { fieldPaths?: string[][]; serverTimestamps?: string },
+  ): Record<string, unknown> {
+    const result = this._released
+      ? {}
+      : this._native.collectionSnapshotData(this._handle, paths, options);
+    if (result[paths[0]!] === undefined) {
+      throw new Error(
+        'firebase.firestore() DocumentSnapshot data is no longer available: its QuerySnapshot was ' +
+          'released, or too many lazyData snapshots were kept at once.',
+      );
+    }
+    return result;
+  }
+}
+
+/**
+ * Sets up the documents of a lazy snapshot to read their data when first accessed, and returns
+ * the object reading it. Changes share the document objects, so a document's data is only read
+ * once; the native snapshot only keeps its current documents, so removed documents have no data.
+ */
+export function attachLazyData(
+  native: LazySnapshotNative,
+  nativeData: LazyQuerySnapshotNativeData,
+): LazySnapshotData {
+  const documents = nativeData.documents;
+  const lazy = new LazySnapshotData(
+    native,
+    nativeData.handle,
+    documents.filter(document => document.exists).map(document => document.path),
+  );
+
+  const byPath = new Map<string, DocumentNativeData>();
+  for (const document of documents) {
+    byPath.set(document.path, document);
+    Object.defineProperty(document, 'lazy', { value: lazy });
+    if (document.exists) {
+      for (const key of DATA_KEYS) {
+        defineLazyKey(document, key, lazy);
+      }
+    }
+  }
+  for (const change of nativeData.changes) {
+    const document = byPath.get(change.doc.path);
+    if (document !== undefined) {
+      change.doc = document;
+    }
+  }
+  return lazy;
+}
+
+function defineLazyKey(
+  document: DocumentNativeData,
+  key: (typeof DATA_KEYS)[number],
+  lazy: LazySnapshotData,
+): void {
+  Object.defineProperty(document, key, {
+    configurable: true,
+    enumerable: true,
+    get() {
+      return lazy.document(document.path)[key];
+    },
+    set(value: unknown) {
+      Object.defineProperty(document, key, {
+        configurable: true,
+        enumerable: true,
+        writable: true,
+        value,
+      });
+    },
+  });
+}
@@ -56,6 +56,7 @@ import type {
   FirestorePipelineSnapshotInternal,
   FirestorePipelineSerializedInternal,
 } from '../types/internal';
+import type { PipelineCacheStats } from '../pipelines/types';
 import { executeWebSdkPipeline } from './pipelines/pipeline';
 
 function rejectWithCodeAndMessage(code: string, message: string): Promise<never> {
@@ -172,6 +173,10 @@ export default {
     return rejectWithCodeAndMessage('unsupported', 'Not supported in the lite SDK.');
   },
 
+  loadBundleFromUri(): Promise<never> {
+    return rejectWithCodeAndMessage('unsupported', 'Not supported in the lite SDK.');
+  },
+
   clearPersistence(): Promise<never> {
     return rejectWithCodeAndMessage('unsupported', 'Not supported in the lite SDK.');
   },
@@ -316,6 +321,37 @@ export default {
     });
   },
 
+  // Compiled pipelines are only cached on Android.
+  pipelineCacheStats(): Promise<PipelineCacheStats> {
+    return Promise.resolve({ hits: 0, misses: 0, size: 0, maxSize: 0 });
+  },
+
+  // Lazy document data is Android only; the web SDK always returns the data with the snapshot.
+  collectionSnapshotData(): Record<string, unknown> {
+    return {};
+  },
+
+  collectionSnapshotRelease(): void {},
+
+  // Native page cursors are Android only; on web, JS reads the pages itself.
+  collectionCursorOpen(): void {},
+
+  collectionCursorRequest(): void {},
+
+  collectionCursorClose(): void {},
+
+  // Streamed pipeline results are Android only; on web, JS slices a single execute into chunks.
+  pipelineStreamOpen(): void {},
+
+  pipelineStreamRequest(): void {},
+
+  pipelineStreamClose(): void {},
+
+  // Pipeline listeners are Android only; JS rejects them on web before listening here.
+  pipelineOnSnapshot(): void {},
+
+  pipelineOffSnapshot(): void {},
+
   collectionGet(
     appName: string,
     databaseId: string,
@@ -454,6 +490,14 @@ export default {
     });
   },
 
+  // The native bulk writer is Android only; on web, JS commits the batches itself.
+  documentBulkWrite(): Promise<Record<string, unknown>> {
+    return rejectWithCodeAndMessage(
+      'unsupported',
+      'The native bulk writer is not available on web.',
+    );
+  },
+
   transactionGetDocument(
     appName: string,
     databaseId: string,
@@ -17,6 +17,12 @@ export interface Spec extends TurboModule {
     databaseId: string,
     bundle: string,
   ): Promise<FirestoreLoadBundleTaskProgress>;
+  loadBundleFromUri(
+    appName: string,
+    databaseId: string,
+    uri: string,
+    taskId: number,
+  ): Promise<FirestoreLoadBundleTaskProgress>;
   clearPersistence(appName: string, databaseId: string): Promise<void>;
   waitForPendingWrites(appName: string, databaseId: string): Promise<void>;
   disableNetwork(appName: string, databaseId: string): Promise<void>;
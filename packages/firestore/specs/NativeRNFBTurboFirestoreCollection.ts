@@ -75,6 +75,56 @@ export interface Spec extends TurboModule {
     pipeline: Object,
     options?: Object,
   ): Promise<Object>;
+  pipelineCacheStats(appName: string, databaseId: string): Promise<Object>;
+  collectionSnapshotData(
+    appName: string,
+    databaseId: string,
+    handle: number,
+    paths: ReadonlyArray<string>,
+    options: Object,
+  ): Object;
+  collectionSnapshotRelease(appName: string, databaseId: string, handle: number): void;
+  collectionCursorOpen(
+    appName: string,
+    databaseId: string,
+    path: string,
+    type: string,
+    filters: ReadonlyArray<Object>,
+    orders: ReadonlyArray<Object>,
+    options: Object,
+    cursorId: number,
+    cursorOptions: Object,
+  ): void;
+  collectionCursorRequest(
+    appName: string,
+    databaseId: string,
+    cursorId: number,
+    pages: number,
+  ): void;
+  collectionCursorClose(appName: string, databaseId: string, cursorId: number): void;
+  pipelineStreamOpen(
+    appName: string,
+    databaseId: string,
+    pipeline: Object,
+    options: Object | null,
+    streamId: number,
+    streamOptions: Object,
+  ): void;
+  pipelineStreamRequest(
+    appName: string,
+    databaseId: string,
+    streamId: number,
+    chunks: number,
+  ): void;
+  pipelineStreamClose(appName: string, databaseId: string, streamId: number): void;
+  pipelineOnSnapshot(
+    appName: string,
+    databaseId: string,
+    pipeline: Object,
+    options: Object | null,
+    listenerId: number,
+  ): void;
+  pipelineOffSnapshot(appName: string, databaseId: string, listenerId: number): void;
 }
 
 export default TurboModuleRegistry.getEnforcing<Spec>('NativeRNFBTurboFirestoreCollection');
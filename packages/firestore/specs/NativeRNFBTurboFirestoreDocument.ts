@@ -32,6 +32,13 @@ export interface Spec extends TurboModule {
   ): Promise<void>;
   documentUpdate(appName: string, databaseId: string, path: string, data: Object): Promise<void>;
   documentBatch(appName: string, databaseId: string, writes: Object[]): Promise<void>;
+  documentBulkWrite(
+    appName: string,
+    databaseId: string,
+    writes: Object[],
+    bulkWriteId: number,
+    options: Object,
+  ): Promise<Object>;
 }
 
 export default TurboModuleRegistry.getEnforcing<Spec>('NativeRNFBTurboFirestoreDocument');
@@ -29,8 +29,11 @@ import {
   average,
   count,
   loadBundle,
+  loadBundleFromFile,
+  loadBundleFromUri,
   namedQuery,
   writeBatch,
+  bulkWriter,
   getPersistentCacheIndexManager,
   enablePersistentCacheIndexAutoCreation,
   disablePersistentCacheIndexAutoCreation,
@@ -53,6 +56,7 @@ import {
   getDocs,
   getDocsFromCache,
   getDocsFromServer,
+  getDocsInPages,
   deleteDoc,
   onSnapshot,
   snapshotEqual,
@@ -232,6 +236,9 @@ import {
   parent,
   vectorLength,
   pipelineResultEqual,
+  getPipelineCacheStats,
+  executeStream,
+  onPipelineSnapshot,
 } from '@react-native-firebase/firestore/pipelines';
 import type {
   PipelineResult,
@@ -274,6 +281,11 @@ import type {
   WhereStageOptions,
   PipelineExecuteOptions,
   OneOf,
+  PipelineCacheStats,
+  PipelineResultStream,
+  PipelineStreamOptions,
+  PipelineChangeSnapshot,
+  PipelineResultChange,
 } from '@react-native-firebase/firestore/pipelines';
 
 // ----- getFirestore -----
@@ -448,6 +460,11 @@ getDocs(modQuery1).then(snap => snap.docs);
 getDocsFromCache(modQuery1).then(snap => snap.docs);
 getDocsFromServer(modQuery1).then(snap => snap.docs);
 
+// ----- getDocsInPages -----
+const pageReader = getDocsInPages(modQuery1, { pageSize: 100, prefetch: 2 });
+pageReader.next().then(result => result.value?.docs);
+pageReader.close();
+
 // ----- deleteDoc -----
 deleteDoc(modDoc).then(() => {});
 
@@ -542,6 +559,12 @@ console.log(v1.isEqual(v2));
 
 // ----- loadBundle -----
 loadBundle(modFirestore1, 'bundle-data').then((_progress: LoadBundleTaskProgress) => {});
+loadBundleFromFile(modFirestore1, '/data/bundle.txt').onProgress(progress => {
+  console.log(progress.documentsLoaded, progress.totalDocuments);
+});
+loadBundleFromUri(modFirestore1, 'content://bundles/1').then(
+  (_progress: LoadBundleTaskProgress) => {},
+);
 
 // ----- namedQuery -----
 namedQuery(modFirestore1, 'my-query').then((q: Query | null) => {
@@ -555,6 +578,15 @@ modBatch.update(modDoc, { age: 30 });
 modBatch.delete(modDoc);
 modBatch.commit().then(() => {});
 
+// ----- bulkWriter -----
+const modBulkWriter = bulkWriter(modFirestore1, { batchSize: 250, maxInFlight: 2 });
+modBulkWriter.onWriteResult(ref => console.log(ref.path));
+modBulkWriter.onWriteError((error, ref) => console.log(error.message, ref.path));
+modBulkWriter.onProgress(({ succeeded, failed, total }) => console.log(succeeded, failed, total));
+modBulkWriter.set(modDoc, { name: 'test' }).update(modDoc, { age: 30 }).delete(modDoc);
+modBulkWriter.flush().then(({ succeeded, failed }) => console.log(succeeded, failed));
+modBulkWriter.close().then(() => {});
+
 // ----- Persistent cache index manager (modular) -----
 const modIndexManager = getPersistentCacheIndexManager(modFirestore1);
 if (modIndexManager) {
@@ -1446,6 +1478,39 @@ execute(pipelineFromCollectionRef).then(snapshot => {
   }
 });
 
+// ----- getPipelineCacheStats -----
+getPipelineCacheStats(xDb).then((stats: PipelineCacheStats) => {
+  const reused: number = stats.hits;
+  console.log(reused, stats.misses, stats.size, stats.maxSize);
+});
+
+// ----- executeStream -----
+const pipelineStreamOptions: PipelineStreamOptions = { chunkSize: 200, prefetch: 2 };
+const pipelineStream: PipelineResultStream = executeStream(
+  pipelineFromCollectionRef,
+  pipelineStreamOptions,
+);
+(async () => {
+  for await (const chunk of pipelineStream) {
+    const chunkResults: PipelineResult[] = chunk.results;
+    console.log(chunkResults.length, chunk.executionTime.toMillis());
+  }
+})();
+executeStream({ pipeline: pipelineFromCollectionRef }).close();
+
+// ----- onPipelineSnapshot -----
+const unsubscribePipeline: () => void = onPipelineSnapshot(
+  pipelineFromCollectionRef,
+  (snapshot: PipelineChangeSnapshot) => {
+    snapshot.changes.forEach((change: PipelineResultChange) => {
+      console.log(change.type, change.oldIndex, change.newIndex, change.result.id);
+    });
+    console.log(snapshot.results.length, snapshot.executionTime.toMillis());
+  },
+  (error: Error) => console.log(error.message),
+);
+unsubscribePipeline();
+
 // ---------------------------------------------------------------------------
 // PART 3c — PIPELINES: integration pipelines exercising all groups together
 // ---------------------------------------------------------------------------
@@ -6,6 +6,7 @@ import com.facebook.react.HeadlessJsTaskService;
 import com.facebook.react.jstasks.HeadlessJsTaskConfig;
 import com.google.firebase.messaging.RemoteMessage;
 import io.invertase.firebase.common.ReactNativeFirebaseJSON;
+import io.invertase.firebase.common.UniversalFirebasePreferences;
 import javax.annotation.Nullable;
 
 public class ReactNativeFirebaseMessagingHeadlessService extends HeadlessJsTaskService {
@@ -27,4 +28,12 @@ public class ReactNativeFirebaseMessagingHeadlessService extends HeadlessJsTaskS
         // is delivered, causing a crash.
         true);
   }
+
+  @Override
+  public void onDestroy() {
+    // Write anything the headless task left in the preferences write-behind window before the
+    // process can be reclaimed.
+    UniversalFirebasePreferences.getSharedInstance().flush();
+    super.onDestroy();
+  }
 }
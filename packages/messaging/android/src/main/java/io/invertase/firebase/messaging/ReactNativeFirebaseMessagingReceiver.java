@@ -10,6 +10,7 @@ import com.google.firebase.messaging.RemoteMessage;
 import io.invertase.firebase.app.ReactNativeFirebaseApp;
 import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
 import io.invertase.firebase.common.SharedUtils;
+import io.invertase.firebase.common.UniversalFirebasePreferences;
 import java.util.HashMap;
 
 public class ReactNativeFirebaseMessagingReceiver extends BroadcastReceiver {
@@ -66,6 +67,12 @@ public class ReactNativeFirebaseMessagingReceiver extends BroadcastReceiver {
     //    App in Background/Quit
     //   ------------------------
 
+    // The process may be killed once this receiver returns, so write the stored message now
+    // rather than at the end of the preferences write-behind window.
+    if (remoteMessage.getNotification() != null) {
+      UniversalFirebasePreferences.getSharedInstance().flush();
+    }
+
     try {
       Intent backgroundIntent =
           new Intent(context, ReactNativeFirebaseMessagingHeadlessService.class);
@@ -3,6 +3,7 @@ package io.invertase.firebase.messaging;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
 import io.invertase.firebase.common.ReactNativeFirebaseEventEmitter;
+import io.invertase.firebase.common.UniversalFirebasePreferences;
 
 public class ReactNativeFirebaseMessagingService extends FirebaseMessagingService {
   @Override
@@ -34,4 +35,10 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
   public void onMessageReceived(RemoteMessage remoteMessage) {
     // noop - handled in receiver
   }
+
+  @Override
+  public void onDestroy() {
+    UniversalFirebasePreferences.getSharedInstance().flush();
+    super.onDestroy();
+  }
 }
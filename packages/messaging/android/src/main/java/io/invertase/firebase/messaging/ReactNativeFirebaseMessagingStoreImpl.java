@@ -9,9 +9,7 @@ import android.util.Log;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.google.firebase.messaging.RemoteMessage;
-import io.invertase.firebase.common.ReactNativeFirebaseJSON;
-import io.invertase.firebase.common.ReactNativeFirebaseMeta;
-import io.invertase.firebase.common.ReactNativeFirebasePreferences;
+import io.invertase.firebase.common.ReactNativeFirebaseConfig;
 import io.invertase.firebase.common.UniversalFirebasePreferences;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,24 +27,12 @@ public class ReactNativeFirebaseMessagingStoreImpl implements ReactNativeFirebas
   private static volatile int maxNotificationSize = -1;
 
   private static int resolveMaxNotificationSize() {
-    int maxSize = DEFAULT_MAX_SIZE_NOTIFICATIONS;
-    String source = "default";
-    ReactNativeFirebaseJSON json = ReactNativeFirebaseJSON.getSharedInstance();
-    ReactNativeFirebaseMeta meta = ReactNativeFirebaseMeta.getSharedInstance();
-    ReactNativeFirebasePreferences prefs = ReactNativeFirebasePreferences.getSharedInstance();
+    ReactNativeFirebaseConfig config = ReactNativeFirebaseConfig.getSharedInstance();
 
     try {
-      if (prefs.contains(KEY_MAX_STORED_NOTIFICATIONS)) {
-        maxSize = prefs.getIntValue(KEY_MAX_STORED_NOTIFICATIONS, DEFAULT_MAX_SIZE_NOTIFICATIONS);
-        source = "SharedPreferences";
-      } else if (json.contains(KEY_MAX_STORED_NOTIFICATIONS)) {
-        maxSize = json.getIntValue(KEY_MAX_STORED_NOTIFICATIONS, DEFAULT_MAX_SIZE_NOTIFICATIONS);
-        source = "firebase.json";
-      } else if (meta.contains(KEY_MAX_STORED_NOTIFICATIONS)) {
-        maxSize = meta.getIntValue(KEY_MAX_STORED_NOTIFICATIONS, DEFAULT_MAX_SIZE_NOTIFICATIONS);
-        source = "AndroidManifest";
-      }
-
+      int maxSize =
+          config.getIntValue(KEY_MAX_STORED_NOTIFICATIONS, DEFAULT_MAX_SIZE_NOTIFICATIONS);
+      String source = config.getSource(KEY_MAX_STORED_NOTIFICATIONS);
       Log.d(TAG, "messaging_max_stored_notifications: " + maxSize + " (from " + source + ")");
       return maxSize;
     } catch (Exception e) {
@@ -72,18 +58,21 @@ public class ReactNativeFirebaseMessagingStoreImpl implements ReactNativeFirebas
           reactToJSON(remoteMessageToWritableMap(remoteMessage)).toString();
       UniversalFirebasePreferences preferences = UniversalFirebasePreferences.getSharedInstance();
 
+      // Evictions, the message and the updated id list are one batch, so storing a message is a
+      // single preferences write however many messages it evicts.
+      UniversalFirebasePreferences.Batch batch = preferences.batch();
       int limit = getMaxNotificationSize();
       String notificationIds = preferences.getStringValue(S_KEY_ALL_NOTIFICATION_IDS, "");
       List<String> allNotificationList = convertToArray(notificationIds);
       while (allNotificationList.size() > limit - 1) {
-        clearFirebaseMessage(allNotificationList.get(0));
-        allNotificationList.remove(0);
+        String evictedId = allNotificationList.remove(0);
+        batch.remove(evictedId);
+        notificationIds = removeRemoteMessageId(evictedId, notificationIds);
       }
 
-      notificationIds = preferences.getStringValue(S_KEY_ALL_NOTIFICATION_IDS, "");
-      preferences.setStringValue(remoteMessage.getMessageId(), remoteMessageString);
+      batch.putString(remoteMessage.getMessageId(), remoteMessageString);
       notificationIds += remoteMessage.getMessageId() + DELIMITER;
-      preferences.setStringValue(S_KEY_ALL_NOTIFICATION_IDS, notificationIds);
+      batch.putString(S_KEY_ALL_NOTIFICATION_IDS, notificationIds).commit();
     } catch (JSONException e) {
       e.printStackTrace();
     }
@@ -118,12 +107,13 @@ public class ReactNativeFirebaseMessagingStoreImpl implements ReactNativeFirebas
   @Override
   public void clearFirebaseMessage(String remoteMessageId) {
     UniversalFirebasePreferences preferences = UniversalFirebasePreferences.getSharedInstance();
-    preferences.remove(remoteMessageId).apply();
+    UniversalFirebasePreferences.Batch batch = preferences.batch().remove(remoteMessageId);
     String notificationIds = preferences.getStringValue(S_KEY_ALL_NOTIFICATION_IDS, "");
     if (!notificationIds.isEmpty()) {
       notificationIds = removeRemoteMessageId(remoteMessageId, notificationIds);
-      preferences.setStringValue(S_KEY_ALL_NOTIFICATION_IDS, notificationIds);
+      batch.putString(S_KEY_ALL_NOTIFICATION_IDS, notificationIds);
     }
+    batch.commit();
   }
 
   private String removeRemoteMessageId(String remoteMessageId, String notificationIds) {